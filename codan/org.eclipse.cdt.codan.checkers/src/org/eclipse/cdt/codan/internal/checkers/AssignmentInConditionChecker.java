@@ -31,9 +31,9 @@ public class AssignmentInConditionChecker extends AbstractIndexAstChecker {
 	private static final String ER_ID = "org.eclipse.cdt.codan.internal.checkers.AssignmentInConditionProblem"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		// traverse the ast using the visitor pattern.
-		ast.accept(new CheckCodeVisitor());
+		return new CheckCodeVisitor();
 	}
 
 	class CheckCodeVisitor extends ASTVisitor {
@@ -41,8 +41,8 @@ public class AssignmentOperatorChecker extends AbstractIndexAstChecker {
 	private static final String OPERATOR_EQ = "operator ="; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new OnEachClass());
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new OnEachClass();
 	}
 
 	private static class OperatorEqInfo {
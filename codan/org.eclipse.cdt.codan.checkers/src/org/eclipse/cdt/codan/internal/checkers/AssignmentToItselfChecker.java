@@ -28,9 +28,9 @@ public class AssignmentToItselfChecker extends AbstractIndexAstChecker {
 	private static final String ER_ID = "org.eclipse.cdt.codan.internal.checkers.AssignmentToItselfProblem"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		// Traverse the ast using the visitor pattern.
-		ast.accept(new ASTVisitor() {
+		return new ASTVisitor() {
 			{ // constructor
 				shouldVisitExpressions = true;
 			}
@@ -62,6 +62,6 @@ public class AssignmentToItselfChecker extends AbstractIndexAstChecker {
 				}
 				return false;
 			}
-		});
+		};
 	}
 }
\ No newline at end of file
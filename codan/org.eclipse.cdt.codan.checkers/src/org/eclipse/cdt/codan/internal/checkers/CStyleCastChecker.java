@@ -38,25 +38,25 @@ public class CStyleCastChecker extends AbstractIndexAstChecker {
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		final IProblem pt = getProblemById(ERR_ID, getFile());
 		checkMacro = (boolean) getPreference(pt, PARAM_MACRO);
-		if (ast.getLinkage().getLinkageID() == ILinkage.CPP_LINKAGE_ID) {
-			ast.accept(new ASTVisitor() {
-				{
-					shouldVisitExpressions = true;
-				}
+		if (ast.getLinkage().getLinkageID() != ILinkage.CPP_LINKAGE_ID)
+			return null;
+		return new ASTVisitor() {
+			{
+				shouldVisitExpressions = true;
+			}
 
-				@Override
-				public int visit(IASTExpression expression) {
-					if (expression instanceof IASTCastExpression
-							&& (checkMacro || !enclosedInMacroExpansion(expression))) {
-						if (((IASTCastExpression) expression).getOperator() == IASTCastExpression.op_cast)
-							reportProblem(ERR_ID, expression);
-					}
-					return PROCESS_CONTINUE;
+			@Override
+			public int visit(IASTExpression expression) {
+				if (expression instanceof IASTCastExpression
+						&& (checkMacro || !enclosedInMacroExpansion(expression))) {
+					if (((IASTCastExpression) expression).getOperator() == IASTCastExpression.op_cast)
+						reportProblem(ERR_ID, expression);
 				}
-			});
-		}
+				return PROCESS_CONTINUE;
+			}
+		};
 	}
 }
@@ -74,8 +74,8 @@ public class ClassMembersInitializationChecker extends AbstractIndexAstChecker {
 	public static final String PARAM_SKIP = "skip"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new OnEachClass());
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new OnEachClass();
 	}
 
 	class OnEachClass extends ASTVisitor {
@@ -97,12 +97,12 @@ public class MagicNumberChecker extends AbstractIndexAstChecker {
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		final IProblem pt = getProblemById(ERR_ID, getFile());
 		checkArray = (Boolean) getPreference(pt, PARAM_ARRAY);
 		checkOperatorParen = (Boolean) getPreference(pt, PARAM_OPERATOR_PAREN);
 		initExceptions();
-		ast.accept(new ASTVisitor() {
+		return new ASTVisitor() {
 			{
 				shouldVisitExpressions = true;
 			}
@@ -160,7 +160,7 @@ public class MagicNumberChecker extends AbstractIndexAstChecker {
 				}
 				return PROCESS_CONTINUE;
 			}
-		});
+		};
 	}
 
 	/**
@@ -17,6 +17,7 @@
 package org.eclipse.cdt.codan.internal.checkers;
 
 import java.util.HashSet;
+import java.util.Set;
 
 import org.eclipse.cdt.codan.core.cxx.model.AbstractIndexAstChecker;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
@@ -46,13 +47,10 @@ import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPTemplates;
 public class NonVirtualDestructorChecker extends AbstractIndexAstChecker {
 	public static final String PROBLEM_ID = "org.eclipse.cdt.codan.internal.checkers.NonVirtualDestructorProblem"; //$NON-NLS-1$
 
-	// Prevent stack overflow in case: class A: public A {};
-	private static HashSet<ICPPClassType> checkedClassTypes = new HashSet<>();
-
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		// Traverse the AST using the visitor pattern.
-		ast.accept(new OnEachClass());
+		return new OnEachClass();
 	}
 
 	private static ICPPMethod getDestructor(ICPPClassType classType) {
@@ -69,7 +67,7 @@ public class NonVirtualDestructorChecker extends AbstractIndexAstChecker {
 		return null;
 	}
 
-	private static boolean hasVirtualDestructor(ICPPClassType classType) {
+	private static boolean hasVirtualDestructor(ICPPClassType classType, Set<ICPPClassType> checkedClassTypes) {
 		checkedClassTypes.add(classType);
 		ICPPMethod destructor = getDestructor(classType);
 		if (destructor != null && destructor.isVirtual()) {
@@ -84,7 +82,8 @@ public class NonVirtualDestructorChecker extends AbstractIndexAstChecker {
 			IBinding baseClass = base.getBaseClass();
 			if (baseClass instanceof ICPPClassType) {
 				ICPPClassType cppClassType = (ICPPClassType) baseClass;
-				if (!checkedClassTypes.contains(cppClassType) && hasVirtualDestructor(cppClassType)) {
+				if (!checkedClassTypes.contains(cppClassType)
+						&& hasVirtualDestructor(cppClassType, checkedClassTypes)) {
 					return true;
 				}
 			} else if (baseClass instanceof ICPPTemplateTypeParameter) {
@@ -96,6 +95,10 @@ public class NonVirtualDestructorChecker extends AbstractIndexAstChecker {
 	}
 
 	private class OnEachClass extends ASTVisitor {
+		// Prevent stack overflow in case: class A: public A {};
+		// Owned by the visitor, instances of the checker may run concurrently.
+		private final Set<ICPPClassType> checkedClassTypes = new HashSet<>();
+
 		OnEachClass() {
 			shouldVisitDeclSpecifiers = true;
 		}
@@ -112,7 +115,7 @@ public class NonVirtualDestructorChecker extends AbstractIndexAstChecker {
 				try {
 					CPPSemantics.pushLookupPoint(className);
 					ICPPClassType classType = (ICPPClassType) binding;
-					boolean hasVirtualDestructor = hasVirtualDestructor(classType);
+					boolean hasVirtualDestructor = hasVirtualDestructor(classType, checkedClassTypes);
 					checkedClassTypes.clear();
 					if (hasVirtualDestructor) {
 						return PROCESS_CONTINUE;
@@ -15,6 +15,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.checkers;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.Stack;
@@ -28,7 +29,7 @@ import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
 import org.eclipse.cdt.codan.core.model.cfg.ICfgData;
 import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
 import org.eclipse.cdt.codan.core.model.cfg.IExitNode;
-import org.eclipse.cdt.codan.internal.core.cfg.ControlFlowGraph;
+import org.eclipse.cdt.codan.internal.core.cfg.DataFlowGraph;
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.DOMException;
 import org.eclipse.cdt.core.dom.ast.EScopeKind;
@@ -321,19 +322,30 @@ public class ReturnChecker extends AbstractAstFunctionChecker {
 	}
 
 	private boolean isInDeadCode(IASTFunctionDefinition func, IASTStatement last) {
-		Collection<IBasicBlock> deadBlocks = getDeadBlocks(func);
-		for (Iterator<IBasicBlock> iterator = deadBlocks.iterator(); iterator.hasNext();) {
-			IBasicBlock bb = iterator.next();
-			if (((ICfgData) bb).getData() == last)
+		DataFlowGraph graph = getDataFlowGraph(func);
+		for (int i = 0; i < graph.size(); i++) {
+			IBasicBlock bb = graph.getNode(i);
+			if (bb instanceof ICfgData && ((ICfgData) bb).getData() == last && !graph.isReachable(i))
 				return true;
 		}
 		return false;
 	}
 
-	// TODO: Any reason not to just expose getDeadNodes() in IControlFlowGraph?
 	public Collection<IBasicBlock> getDeadBlocks(IASTFunctionDefinition func) {
-		IControlFlowGraph graph = getModelCache().getControlFlowGraph(func);
-		return ((ControlFlowGraph) graph).getDeadNodes();
+		DataFlowGraph graph = getDataFlowGraph(func);
+		Collection<IBasicBlock> result = new ArrayList<>();
+		for (int i = 0; i < graph.size(); i++) {
+			if (!graph.isReachable(i))
+				result.add(graph.getNode(i));
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the data flow graph of the function, shared with other checkers through the model cache.
+	 */
+	private DataFlowGraph getDataFlowGraph(IASTFunctionDefinition func) {
+		return getModelCache().getFunctionAnalysis(func, DataFlowGraph.class, DataFlowGraph::new);
 	}
 
 	protected void reportNoRet(IASTFunctionDefinition func, boolean hasRet) {
@@ -370,6 +382,7 @@ public class ReturnChecker extends AbstractAstFunctionChecker {
 
 	protected boolean endsWithNoExitNode(IASTFunctionDefinition func) {
 		IControlFlowGraph graph = getModelCache().getControlFlowGraph(func);
+		DataFlowGraph dataFlowGraph = getDataFlowGraph(func);
 		Iterator<IExitNode> exitNodeIterator = graph.getExitNodeIterator();
 		for (; exitNodeIterator.hasNext();) {
 			IExitNode node = exitNodeIterator.next();
@@ -377,8 +390,8 @@ public class ReturnChecker extends AbstractAstFunctionChecker {
 			if (astNode == null) {
 				// If it real exit node such as return, exit or throw data will be an AST node,
 				// if it is null it is a fake node added by the graph builder.
-				Collection<IBasicBlock> deadBlocks = getDeadBlocks(func);
-				if (!deadBlocks.contains(node)) // exit node is in dead code, not reporting Bug 350168
+				int index = dataFlowGraph.indexOf(node);
+				if (index < 0 || dataFlowGraph.isReachable(index)) // exit node is in dead code, not reporting Bug 350168
 					return true;
 			}
 		}
@@ -46,8 +46,8 @@ public class StatementHasNoEffectChecker extends AbstractIndexAstChecker {
 	public static final String PARAM_EXCEPT_ARG_LIST = "exceptions"; //$NON-NLS-1$
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new CheckStmpVisitor());
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new CheckStmpVisitor();
 	}
 
 	class CheckStmpVisitor extends ASTVisitor {
@@ -62,11 +62,11 @@ public class SymbolShadowingChecker extends AbstractIndexAstChecker {
 	}
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
 		this.ast = ast;
 		index = ast.getIndex();
 		checkFuncParams = (Boolean) getPreference(getProblemById(ERR_ID, getFile()), PARAM_FUNC_PARAM);
-		ast.accept(new VariableDeclarationVisitor());
+		return new VariableDeclarationVisitor();
 	}
 
 	/**
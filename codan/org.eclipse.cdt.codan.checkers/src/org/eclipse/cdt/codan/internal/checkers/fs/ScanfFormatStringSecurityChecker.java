@@ -83,8 +83,8 @@ public class ScanfFormatStringSecurityChecker extends AbstractIndexAstChecker {
 	};
 
 	@Override
-	public void processAst(IASTTranslationUnit ast) {
-		ast.accept(new FormatStringVisitor());
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return new FormatStringVisitor();
 	}
 
 	private static final class VulnerableFunction {
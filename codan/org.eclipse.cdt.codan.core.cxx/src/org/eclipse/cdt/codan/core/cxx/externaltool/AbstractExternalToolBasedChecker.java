@@ -14,15 +14,28 @@
 package org.eclipse.cdt.codan.core.cxx.externaltool;
 
 import java.net.URI;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 import org.eclipse.cdt.codan.core.CodanRuntime;
 import org.eclipse.cdt.codan.core.cxx.Activator;
+import org.eclipse.cdt.codan.core.cxx.internal.externaltool.BatchingExecutor;
+import org.eclipse.cdt.codan.core.cxx.internal.externaltool.ExternalToolBatch;
 import org.eclipse.cdt.codan.core.cxx.internal.externaltool.ExternalToolInvoker;
+import org.eclipse.cdt.codan.core.cxx.internal.externaltool.ExternalToolResultCache;
 import org.eclipse.cdt.codan.core.model.AbstractCheckerWithProblemPreferences;
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IDeferredProblems;
 import org.eclipse.cdt.codan.core.model.IProblem;
 import org.eclipse.cdt.codan.core.model.IProblemLocation;
 import org.eclipse.cdt.codan.core.model.IProblemLocationFactory;
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.codan.core.model.IProblemReporterPersistent;
+import org.eclipse.cdt.codan.core.model.IProblemReporterSessionPersistent;
 import org.eclipse.cdt.codan.core.model.IProblemWorkingCopy;
 import org.eclipse.cdt.codan.core.param.IProblemPreference;
 import org.eclipse.cdt.codan.core.param.MapProblemPreference;
@@ -48,16 +61,91 @@ import org.eclipse.core.resources.IResource;
  * </p>
  * By default, implementations of this checker are not allowed to run while the user types, since
  * external tools cannot see unsaved changes.
+ * <p>
+ * Checkers for tools accepting several files in one invocation may enable batch mode, see
+ * {@link #isBatchingEnabled()}. Checkers for tools whose results depend only on the contents of
+ * the checked file and on the configured settings may enable the result cache, see
+ * {@link #isResultCacheEnabled()}.
+ * </p>
  *
  * @since 2.1
  */
 public abstract class AbstractExternalToolBasedChecker extends AbstractCheckerWithProblemPreferences
 		implements IMarkerGenerator {
+	// The checkers of one external tool share the remembered results and the background invocations,
+	// both keyed by the name of the tool.
+	private static final Map<String, ExternalToolResultCache> resultCaches = new HashMap<>();
+	private static final Map<String, BatchingExecutor<PendingFile>> batchingExecutors = new HashMap<>();
+
 	private final IInvocationParametersProvider parametersProvider;
 	private final ArgsSeparator argsSeparator;
 	private final ConfigurationSettings settings;
 	private final ExternalToolInvoker externalToolInvoker;
 	private final RootProblemPreference preferences;
+	private final ExternalToolResultCache resultCache;
+	/** The reporter of the problems found by a batch, set while the batch reports them */
+	private final ThreadLocal<IProblemReporter> batchReporter;
+
+	/**
+	 * A file waiting to be checked in batch mode.
+	 */
+	private static class PendingFile {
+		final AbstractExternalToolBasedChecker checker;
+		final InvocationParameters parameters;
+		final ConfigurationSettings settings;
+		final String cacheKey;
+		/** Only files with equal keys are checked by the same invocation */
+		final List<Object> batchKey;
+		/** Tracks the problems reported once the batch finishes, or <code>null</code> */
+		final IDeferredProblems deferredProblems;
+
+		PendingFile(AbstractExternalToolBasedChecker checker, InvocationParameters parameters,
+				ConfigurationSettings settings, String cacheKey, IDeferredProblems deferredProblems) {
+			this.checker = checker;
+			this.parameters = parameters;
+			this.settings = settings;
+			this.cacheKey = cacheKey;
+			this.deferredProblems = deferredProblems;
+			batchKey = Arrays.asList(checker, parameters.getActualFile().getProject(),
+					parameters.getWorkingDirectory(), settings.getPath().getValue(), settings.getArgs().getValue());
+		}
+	}
+
+	/**
+	 * Collects the problems found by the parsers of the output of the external tool, and passes
+	 * them on to a marker generator, if any.
+	 */
+	private static class ProblemCollector implements IMarkerGenerator {
+		private final IMarkerGenerator delegate;
+		private final List<ProblemMarkerInfo> problems = new ArrayList<>();
+
+		ProblemCollector(IMarkerGenerator delegate) {
+			this.delegate = delegate;
+		}
+
+		@Deprecated
+		@Override
+		public void addMarker(IResource file, int lineNumber, String description, int severity,
+				String variableName) {
+			addMarker(new ProblemMarkerInfo(file, lineNumber, description, severity, variableName));
+		}
+
+		@Override
+		public void addMarker(ProblemMarkerInfo info) {
+			// The output and the error streams of the tool are parsed by different threads.
+			synchronized (problems) {
+				problems.add(info);
+			}
+			if (delegate != null)
+				delegate.addMarker(info);
+		}
+
+		List<ProblemMarkerInfo> getProblems() {
+			synchronized (problems) {
+				return new ArrayList<>(problems);
+			}
+		}
+	}
 
 	/**
 	 * Constructor.
@@ -81,6 +169,8 @@ public abstract class AbstractExternalToolBasedChecker extends AbstractCheckerWi
 		this.settings = settings;
 		externalToolInvoker = new ExternalToolInvoker();
 		preferences = new SharedRootProblemPreference();
+		resultCache = getResultCache(settings.getExternalToolName());
+		batchReporter = new ThreadLocal<>();
 	}
 
 	/**
@@ -92,6 +182,91 @@ public abstract class AbstractExternalToolBasedChecker extends AbstractCheckerWi
 		return false;
 	}
 
+	/**
+	 * Returns whether files are checked in batch mode. In batch mode, processing a file only
+	 * schedules it to be checked. The external tool is invoked in the background with up to
+	 * {@link #getMaxFilesPerInvocation()} files at once, by at most
+	 * {@link #getMaxConcurrentInvocations()} processes at the same time, and the problems found in
+	 * a file are reported when the invocation checking it finishes. As long as fewer processes
+	 * than allowed are running, a file is checked right away, otherwise the scheduled files are
+	 * accumulated until a process finishes.
+	 * <p>
+	 * The paths of the files are passed to the external tool before the configured arguments.
+	 * In batch mode {@link #addMarker(ProblemMarkerInfo)} and
+	 * {@link #handleInvocationFailure(InvocationFailure, InvocationParameters)} are called by
+	 * background threads, possibly while another file is being processed.
+	 * </p>
+	 * This implementation returns {@code false}. The returned value must not change.
+	 *
+	 * @return {@code true} if files are checked in batch mode.
+	 * @since 3.5
+	 */
+	protected boolean isBatchingEnabled() {
+		return false;
+	}
+
+	/**
+	 * Returns the maximum number of files to pass to one invocation of the external tool in batch
+	 * mode. This implementation returns 16.
+	 *
+	 * The invocations are shared by the checkers of the same external tool, the value of the first
+	 * checker running the tool applies.
+	 *
+	 * @return the maximum number of files to check with one invocation.
+	 * @since 3.5
+	 */
+	protected int getMaxFilesPerInvocation() {
+		return 16;
+	}
+
+	/**
+	 * Returns the maximum number of processes of the external tool running at the same time in
+	 * batch mode. This implementation returns the number of available processors.
+	 *
+	 * The invocations are shared by the checkers of the same external tool, the value of the first
+	 * checker running the tool applies.
+	 *
+	 * @return the maximum number of concurrent invocations.
+	 * @since 3.5
+	 */
+	protected int getMaxConcurrentInvocations() {
+		return Runtime.getRuntime().availableProcessors();
+	}
+
+	/**
+	 * Returns whether the problems found by the external tool are remembered and reported again
+	 * without invoking the tool when a file is checked with the same contents and the same
+	 * settings. The results are kept in memory for the most recently checked files. Tools whose
+	 * results depend on other files, for example on the headers included by the checked file, must
+	 * not enable the cache. Results of invocations reporting problems in files other than the
+	 * checked ones are not remembered. This implementation returns {@code false}.
+	 *
+	 * @return {@code true} if the results of the external tool may be reused.
+	 * @since 3.5
+	 */
+	protected boolean isResultCacheEnabled() {
+		return false;
+	}
+
+	@Override
+	public void before(IResource resource) {
+		// In batch mode the problems are reported when the batch checking the file finishes.
+		if (!isBatchingEnabled())
+			super.before(resource);
+	}
+
+	@Override
+	public void after(IResource resource) {
+		if (!isBatchingEnabled())
+			super.after(resource);
+	}
+
+	@Override
+	public IProblemReporter getProblemReporter() {
+		IProblemReporter reporter = batchReporter.get();
+		return reporter != null ? reporter : super.getProblemReporter();
+	}
+
 	@Override
 	public boolean processResource(IResource resource) {
 		process(resource);
@@ -103,6 +278,8 @@ public abstract class AbstractExternalToolBasedChecker extends AbstractCheckerWi
 			InvocationParameters parameters = parametersProvider.createParameters(resource);
 			if (parameters != null) {
 				invokeExternalTool(parameters);
+			} else if (isBatchingEnabled()) {
+				reportProblems(resource, Collections.<ProblemMarkerInfo>emptyList());
 			}
 		} catch (Throwable error) {
 			logResourceProcessingFailure(error, resource);
@@ -110,25 +287,157 @@ public abstract class AbstractExternalToolBasedChecker extends AbstractCheckerWi
 	}
 
 	private void invokeExternalTool(InvocationParameters parameters) throws Throwable {
-		updateConfigurationSettingsFromPreferences(parameters.getActualFile());
-		IConsoleParser[] parsers = new IConsoleParser[] { createErrorParserManager(parameters) };
+		if (isBatchingEnabled()) {
+			// The shared settings change with the preferences of the next file.
+			ConfigurationSettings fileSettings = new ConfigurationSettings(settings.getExternalToolName(),
+					settings.getPath().getDefaultValue(), settings.getArgs().getDefaultValue());
+			updateConfigurationSettingsFromPreferences(parameters.getActualFile(), fileSettings);
+			String cacheKey = getCacheKey(parameters, fileSettings);
+			List<ProblemMarkerInfo> cached = cacheKey != null ? resultCache.get(cacheKey) : null;
+			if (cached != null) {
+				reportProblems(parameters.getOriginalFile(), cached);
+			} else {
+				// The builder must not consider the file up to date before the batch reports its problems.
+				IDeferredProblems deferredProblems = getContext() != null ? getContext().get(IDeferredProblems.class)
+						: null;
+				if (deferredProblems != null)
+					deferredProblems.defer();
+				getBatchingExecutor()
+						.submit(new PendingFile(this, parameters, fileSettings, cacheKey, deferredProblems));
+			}
+			return;
+		}
+		updateConfigurationSettingsFromPreferences(parameters.getActualFile(), settings);
+		String cacheKey = getCacheKey(parameters, settings);
+		List<ProblemMarkerInfo> cached = cacheKey != null ? resultCache.get(cacheKey) : null;
+		if (cached != null) {
+			for (ProblemMarkerInfo info : cached) {
+				addMarker(info);
+			}
+			return;
+		}
+		ProblemCollector collector = new ProblemCollector(this);
+		IConsoleParser[] parsers = new IConsoleParser[] { createErrorParserManager(parameters, collector) };
 		try {
 			externalToolInvoker.invoke(parameters, settings, argsSeparator, parsers);
 		} catch (InvocationFailure error) {
 			handleInvocationFailure(error, parameters);
+			return;
+		}
+		if (cacheKey != null)
+			cacheProblems(parameters, settings, cacheKey, collector.getProblems());
+	}
+
+	private static ExternalToolResultCache getResultCache(String externalToolName) {
+		synchronized (resultCaches) {
+			return resultCaches.computeIfAbsent(externalToolName, name -> new ExternalToolResultCache());
+		}
+	}
+
+	private BatchingExecutor<PendingFile> getBatchingExecutor() {
+		synchronized (batchingExecutors) {
+			return batchingExecutors.computeIfAbsent(settings.getExternalToolName(),
+					name -> new BatchingExecutor<>(name, getMaxFilesPerInvocation(), getMaxConcurrentInvocations(),
+							file -> file.batchKey, batch -> batch.get(0).checker.processBatch(batch)));
+		}
+	}
+
+	/**
+	 * Checks a batch of files with one invocation of the external tool, in a background thread.
+	 * All files of the batch have been submitted by this checker.
+	 */
+	private void processBatch(List<PendingFile> batch) {
+		PendingFile first = batch.get(0);
+		List<InvocationParameters> parameters = new ArrayList<>(batch.size());
+		List<IResource> files = new ArrayList<>(batch.size());
+		for (PendingFile file : batch) {
+			parameters.add(file.parameters);
+			files.add(file.parameters.getActualFile());
+		}
+		ExternalToolBatch results = new ExternalToolBatch(files);
+		IConsoleParser[] parsers = new IConsoleParser[] { createErrorParserManager(first.parameters, results) };
+		boolean success = false;
+		try {
+			externalToolInvoker.invoke(parameters, first.settings, argsSeparator, parsers);
+			success = true;
+		} catch (InvocationFailure error) {
+			for (PendingFile file : batch) {
+				handleInvocationFailure(error, file.parameters);
+			}
+		} catch (Throwable error) {
+			logResourceProcessingFailure(error, first.parameters.getActualFile());
+		}
+
+		boolean cacheable = success && !results.hasProblemsInOtherFiles();
+		for (PendingFile file : batch) {
+			List<ProblemMarkerInfo> fileProblems = success ? results.getProblems(file.parameters.getActualFile())
+					: Collections.<ProblemMarkerInfo>emptyList();
+			reportProblems(file.parameters.getOriginalFile(), fileProblems);
+			if (cacheable && file.cacheKey != null)
+				cacheProblems(file.parameters, file.settings, file.cacheKey, fileProblems);
+			if (file.deferredProblems != null)
+				file.deferredProblems.complete(success);
+		}
+	}
+
+	/**
+	 * Reports the problems found in a file, replacing the problems reported by this checker
+	 * the last time the file was checked.
+	 */
+	private void reportProblems(IResource resource, List<ProblemMarkerInfo> problems) {
+		IProblemReporter reporter = CodanRuntime.getInstance().getProblemReporter();
+		IProblemReporterSessionPersistent session = null;
+		if (reporter instanceof IProblemReporterSessionPersistent) {
+			session = ((IProblemReporterSessionPersistent) reporter).createReporter(resource, this);
+			session.start();
+			reporter = session;
+		} else if (reporter instanceof IProblemReporterPersistent) {
+			((IProblemReporterPersistent) reporter).deleteProblems(resource, this);
+		}
+		batchReporter.set(reporter);
+		try {
+			for (ProblemMarkerInfo info : problems) {
+				addMarker(info);
+			}
+		} finally {
+			batchReporter.remove();
+			if (session != null)
+				session.done();
+		}
+	}
+
+	private String getCacheKey(InvocationParameters parameters, ConfigurationSettings fileSettings) {
+		if (!isResultCacheEnabled())
+			return null;
+		return ExternalToolResultCache.getKey(parameters, fileSettings, getParserIDs());
+	}
+
+	/**
+	 * Remembers the problems found in a file, unless the file has changed while it was checked
+	 * or problems were found in other files.
+	 */
+	private void cacheProblems(InvocationParameters parameters, ConfigurationSettings fileSettings,
+			String cacheKey, List<ProblemMarkerInfo> problems) {
+		for (ProblemMarkerInfo info : problems) {
+			if (!parameters.getActualFile().equals(info.file))
+				return;
 		}
+		if (cacheKey.equals(getCacheKey(parameters, fileSettings)))
+			resultCache.put(cacheKey, problems);
 	}
 
-	private void updateConfigurationSettingsFromPreferences(IResource fileToProcess) {
+	private void updateConfigurationSettingsFromPreferences(IResource fileToProcess,
+			ConfigurationSettings fileSettings) {
 		IProblem problem = getProblemById(getReferenceProblemId(), fileToProcess);
 		MapProblemPreference preferences = (MapProblemPreference) problem.getPreference();
-		settings.updateValuesFrom(preferences);
+		fileSettings.updateValuesFrom(preferences);
 	}
 
-	private ErrorParserManager createErrorParserManager(InvocationParameters parameters) {
+	private ErrorParserManager createErrorParserManager(InvocationParameters parameters,
+			IMarkerGenerator markerGenerator) {
 		IProject project = parameters.getActualFile().getProject();
 		URI workingDirectory = URIUtil.toURI(parameters.getWorkingDirectory());
-		return new ErrorParserManager(project, workingDirectory, this, getParserIDs());
+		return new ErrorParserManager(project, workingDirectory, markerGenerator, getParserIDs());
 	}
 
 	/**
@@ -0,0 +1,126 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+import org.eclipse.cdt.codan.core.cxx.Activator;
+
+/**
+ * Processes submitted items in batches on a bounded number of background threads. As long as
+ * fewer batches than allowed are being processed, a submitted item is processed right away.
+ * Otherwise items accumulate until a thread becomes available, which then takes up to the maximum
+ * batch size of them. Only items with equal keys are processed in the same batch.
+ *
+ * @param <T> the type of the items
+ */
+public class BatchingExecutor<T> {
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
+	private final int maxBatchSize;
+	private final int maxConcurrency;
+	private final Function<T, ?> batchKey;
+	private final Consumer<List<T>> processor;
+	private final ExecutorService executor;
+	private final LinkedList<T> pending = new LinkedList<>();
+	private int running;
+
+	/**
+	 * @param name - the name of the background threads
+	 * @param maxBatchSize - the maximum number of items in a batch
+	 * @param maxConcurrency - the maximum number of batches processed at the same time
+	 * @param batchKey - returns the key of an item, only items with equal keys are batched together
+	 * @param processor - processes a batch of items
+	 */
+	public BatchingExecutor(String name, int maxBatchSize, int maxConcurrency, Function<T, ?> batchKey,
+			Consumer<List<T>> processor) {
+		this.maxBatchSize = Math.max(1, maxBatchSize);
+		this.maxConcurrency = Math.max(1, maxConcurrency);
+		this.batchKey = batchKey;
+		this.processor = processor;
+		executor = Executors.newCachedThreadPool(r -> {
+			Thread thread = new Thread(r, name + " " + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Schedules an item for processing.
+	 */
+	public synchronized void submit(T item) {
+		pending.add(item);
+		if (running < maxConcurrency) {
+			running++;
+			executor.execute(this::processBatches);
+		}
+	}
+
+	/**
+	 * Waits until all submitted items have been processed.
+	 *
+	 * @param timeout - the maximum time to wait in milliseconds
+	 * @return <code>false</code> if the items were not processed in time
+	 */
+	public synchronized boolean waitUntilIdle(long timeout) throws InterruptedException {
+		long end = System.currentTimeMillis() + timeout;
+		while (running > 0) {
+			long remaining = end - System.currentTimeMillis();
+			if (remaining <= 0)
+				return false;
+			wait(remaining);
+		}
+		return true;
+	}
+
+	private void processBatches() {
+		List<T> batch;
+		while ((batch = nextBatch()) != null) {
+			try {
+				processor.accept(batch);
+			} catch (Throwable e) {
+				Activator.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Removes the next batch from the pending items.
+	 *
+	 * @return the batch, or <code>null</code> if there are no pending items
+	 */
+	private synchronized List<T> nextBatch() {
+		if (pending.isEmpty()) {
+			running--;
+			notifyAll();
+			return null;
+		}
+		List<T> batch = new ArrayList<>(Math.min(maxBatchSize, pending.size()));
+		Object key = batchKey.apply(pending.getFirst());
+		for (Iterator<T> iterator = pending.iterator(); iterator.hasNext() && batch.size() < maxBatchSize;) {
+			T item = iterator.next();
+			if (Objects.equals(key, batchKey.apply(item))) {
+				batch.add(item);
+				iterator.remove();
+			}
+		}
+		return batch;
+	}
+}
@@ -18,7 +18,7 @@ import org.eclipse.core.runtime.IPath;
 /**
  * The command to execute to invoke an external tool.
  */
-class Command {
+public class Command {
 	private final IPath path;
 	private final String[] args;
 	private final String[] env;
@@ -33,15 +33,15 @@ class Command {
 		this.env = env;
 	}
 
-	IPath getPath() {
+	public IPath getPath() {
 		return path;
 	}
 
-	String[] getArgs() {
+	public String[] getArgs() {
 		return args;
 	}
 
-	String[] getEnv() {
+	public String[] getEnv() {
 		return env;
 	}
 }
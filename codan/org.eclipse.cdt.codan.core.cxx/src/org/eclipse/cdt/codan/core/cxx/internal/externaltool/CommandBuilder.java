@@ -14,6 +14,8 @@
 package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
 
 import java.io.File;
+import java.util.Collections;
+import java.util.List;
 
 import org.eclipse.cdt.codan.core.cxx.externaltool.ArgsSeparator;
 import org.eclipse.cdt.codan.core.cxx.externaltool.ConfigurationSettings;
@@ -24,8 +26,18 @@ import org.eclipse.core.runtime.Path;
 /**
  * Creates the command to use to invoke an external tool.
  */
-class CommandBuilder {
-	Command buildCommand(InvocationParameters parameters, ConfigurationSettings settings, ArgsSeparator argsSeparator) {
+public class CommandBuilder {
+	public Command buildCommand(InvocationParameters parameters, ConfigurationSettings settings,
+			ArgsSeparator argsSeparator) {
+		return buildCommand(Collections.singletonList(parameters), settings, argsSeparator);
+	}
+
+	/**
+	 * Builds the command invoking an external tool on several files. The paths of the files are
+	 * passed before the configured arguments, in the order of the given parameters.
+	 */
+	public Command buildCommand(List<InvocationParameters> parameters, ConfigurationSettings settings,
+			ArgsSeparator argsSeparator) {
 		IPath executablePath = executablePath(settings);
 		String[] args = argsToPass(parameters, settings, argsSeparator);
 		return new Command(executablePath, args);
@@ -36,11 +48,10 @@ class CommandBuilder {
 		return new Path(executablePath.toString());
 	}
 
-	private String[] argsToPass(InvocationParameters parameters, ConfigurationSettings configurationSettings,
+	private String[] argsToPass(List<InvocationParameters> parameters, ConfigurationSettings configurationSettings,
 			ArgsSeparator argsSeparator) {
-		String actualFilePath = parameters.getActualFilePath();
 		String[] args = configuredArgs(configurationSettings, argsSeparator);
-		return addFilePathToArgs(actualFilePath, args);
+		return addFilePathsToArgs(parameters, args);
 	}
 
 	private String[] configuredArgs(ConfigurationSettings settings, ArgsSeparator argsSeparator) {
@@ -48,12 +59,15 @@ class CommandBuilder {
 		return argsSeparator.splitArguments(args);
 	}
 
-	private String[] addFilePathToArgs(String actualFilePath, String[] configuredArgs) {
+	private String[] addFilePathsToArgs(List<InvocationParameters> parameters, String[] configuredArgs) {
+		int fileCount = parameters.size();
 		int argCount = configuredArgs.length;
-		String[] allArgs = new String[argCount + 1];
-		allArgs[0] = actualFilePath;
+		String[] allArgs = new String[fileCount + argCount];
+		for (int i = 0; i < fileCount; i++) {
+			allArgs[i] = parameters.get(i).getActualFilePath();
+		}
 		// Copy arguments
-		System.arraycopy(configuredArgs, 0, allArgs, 1, argCount);
+		System.arraycopy(configuredArgs, 0, allArgs, fileCount, argCount);
 		return allArgs;
 	}
-}
\ No newline at end of file
+}
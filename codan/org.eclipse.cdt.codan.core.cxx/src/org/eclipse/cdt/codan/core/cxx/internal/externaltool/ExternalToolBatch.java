@@ -0,0 +1,82 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.cdt.core.IMarkerGenerator;
+import org.eclipse.cdt.core.ProblemMarkerInfo;
+import org.eclipse.core.resources.IResource;
+
+/**
+ * The files checked by one invocation of an external tool in batch mode. Collects the problems
+ * found by the parsers of the output of the tool and assigns them to the checked files.
+ * This class is thread-safe.
+ */
+public class ExternalToolBatch implements IMarkerGenerator {
+	private final IResource firstFile;
+	private final Set<IResource> files;
+	private final List<ProblemMarkerInfo> problems = new ArrayList<>();
+
+	/**
+	 * @param files - the files passed to the external tool, at least one
+	 */
+	public ExternalToolBatch(List<? extends IResource> files) {
+		firstFile = files.get(0);
+		this.files = new HashSet<>(files);
+	}
+
+	@Deprecated
+	@Override
+	public void addMarker(IResource file, int lineNumber, String description, int severity, String variableName) {
+		addMarker(new ProblemMarkerInfo(file, lineNumber, description, severity, variableName));
+	}
+
+	@Override
+	public void addMarker(ProblemMarkerInfo info) {
+		// The output and the error streams of the tool are parsed by different threads.
+		synchronized (problems) {
+			problems.add(info);
+		}
+	}
+
+	/**
+	 * Returns the problems found in a checked file. Like without batching, the problems found in
+	 * files that were not checked, such as included headers, are returned with the problems of
+	 * the first file.
+	 */
+	public List<ProblemMarkerInfo> getProblems(IResource file) {
+		List<ProblemMarkerInfo> result = new ArrayList<>();
+		synchronized (problems) {
+			for (ProblemMarkerInfo info : problems) {
+				if (file.equals(info.file) || file.equals(firstFile) && !files.contains(info.file))
+					result.add(info);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * @return <code>true</code> if problems were found in files that were not checked
+	 */
+	public boolean hasProblemsInOtherFiles() {
+		synchronized (problems) {
+			for (ProblemMarkerInfo info : problems) {
+				if (!files.contains(info.file))
+					return true;
+			}
+		}
+		return false;
+	}
+}
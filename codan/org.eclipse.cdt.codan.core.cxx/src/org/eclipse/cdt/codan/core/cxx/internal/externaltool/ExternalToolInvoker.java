@@ -15,6 +15,7 @@ package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
 
 import java.io.IOException;
 import java.io.OutputStream;
+import java.util.List;
 
 import org.eclipse.cdt.codan.core.cxx.externaltool.ArgsSeparator;
 import org.eclipse.cdt.codan.core.cxx.externaltool.ConfigurationSettings;
@@ -34,7 +35,7 @@ import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.SubProgressMonitor;
 
 /**
- * Invokes an external tool to perform checks on a single file.
+ * Invokes an external tool to perform checks on a single file or on several files at once.
  */
 public class ExternalToolInvoker {
 	private static final String DEFAULT_CONTEXT_MENU_ID = "org.eclipse.cdt.ui.CDTBuildConsole"; //$NON-NLS-1$
@@ -62,6 +63,26 @@ public class ExternalToolInvoker {
 		launchCommand(command, parsers, parameters, settings);
 	}
 
+	/**
+	 * Invokes an external tool on several files. The paths of the files are passed to the tool
+	 * in the order of the given parameters, followed by the configured arguments.
+	 *
+	 * @param parameters the parameters of the files to check. They must belong to the same
+	 *        project and have the same working directory.
+	 * @param settings user-configurable settings.
+	 * @param argsSeparator separates the arguments to pass to the external tool
+	 *        executable.
+	 * @param parsers parse the output of the external tool.
+	 * @throws InvocationFailure if the external tool could not be invoked or if
+	 *         the external tool itself reports that it cannot be executed.
+	 * @throws Throwable if something else goes wrong.
+	 */
+	public void invoke(List<InvocationParameters> parameters, ConfigurationSettings settings,
+			ArgsSeparator argsSeparator, IConsoleParser[] parsers) throws InvocationFailure, Throwable {
+		Command command = commandBuilder.buildCommand(parameters, settings, argsSeparator);
+		launchCommand(command, parsers, parameters.get(0), settings);
+	}
+
 	private void launchCommand(Command command, IConsoleParser[] parsers, InvocationParameters parameters,
 			ConfigurationSettings settings) throws InvocationFailure, CoreException {
 		IProject project = parameters.getActualFile().getProject();
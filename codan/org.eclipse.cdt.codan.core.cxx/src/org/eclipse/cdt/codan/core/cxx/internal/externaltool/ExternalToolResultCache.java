@@ -0,0 +1,113 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.codan.core.cxx.externaltool.ConfigurationSettings;
+import org.eclipse.cdt.codan.core.cxx.externaltool.InvocationParameters;
+import org.eclipse.cdt.core.ProblemMarkerInfo;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * Remembers the problems an external tool reported for a file. The results are keyed by
+ * a digest of the contents of the file and of everything determining how the tool is invoked,
+ * so they are only reused if the tool would be invoked the same way on the same contents.
+ * The least recently used results are discarded first.
+ */
+public class ExternalToolResultCache {
+	private static final int DEFAULT_MAX_ENTRIES = 1000;
+
+	private final Map<String, List<ProblemMarkerInfo>> results;
+
+	public ExternalToolResultCache() {
+		this(DEFAULT_MAX_ENTRIES);
+	}
+
+	/**
+	 * @param maxEntries - the maximum number of files to remember the results for
+	 */
+	public ExternalToolResultCache(int maxEntries) {
+		results = new LinkedHashMap<String, List<ProblemMarkerInfo>>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, List<ProblemMarkerInfo>> eldest) {
+				return size() > maxEntries;
+			}
+		};
+	}
+
+	/**
+	 * Computes the key of the results of invoking an external tool on a file.
+	 *
+	 * @param parameters - the parameters of the invocation
+	 * @param settings - the settings of the external tool
+	 * @param parserIDs - the IDs of the parsers of the output of the tool
+	 * @return the key, or <code>null</code> if the contents of the file cannot be read
+	 */
+	public static String getKey(InvocationParameters parameters, ConfigurationSettings settings, String[] parserIDs) {
+		IResource actualFile = parameters.getActualFile();
+		if (!(actualFile instanceof IFile))
+			return null;
+		try {
+			MessageDigest digest = MessageDigest.getInstance("SHA-1"); //$NON-NLS-1$
+			StringBuilder invocation = new StringBuilder();
+			invocation.append(settings.getPath().getValue()).append('\n').append(settings.getArgs().getValue())
+					.append('\n').append(parameters.getWorkingDirectory()).append('\n')
+					.append(parameters.getActualFilePath()).append('\n').append(actualFile.getFullPath());
+			for (String id : parserIDs) {
+				invocation.append('\n').append(id);
+			}
+			invocation.append('\0');
+			digest.update(invocation.toString().getBytes(StandardCharsets.UTF_8));
+			try (InputStream contents = ((IFile) actualFile).getContents(true)) {
+				byte[] buffer = new byte[8192];
+				int n;
+				while ((n = contents.read(buffer)) > 0) {
+					digest.update(buffer, 0, n);
+				}
+			}
+			StringBuilder buf = new StringBuilder(40);
+			for (byte b : digest.digest()) {
+				buf.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return buf.toString();
+		} catch (CoreException | IOException e) {
+			return null;
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-1.
+			throw new IllegalStateException(e);
+		}
+	}
+
+	/**
+	 * @return the problems reported for the given key, or <code>null</code> if there are none
+	 *     remembered
+	 */
+	public synchronized List<ProblemMarkerInfo> get(String key) {
+		return results.get(key);
+	}
+
+	/**
+	 * Remembers the problems reported in a file.
+	 */
+	public synchronized void put(String key, List<ProblemMarkerInfo> problems) {
+		results.put(key, problems);
+	}
+}
@@ -0,0 +1,610 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model;
+
+import java.util.List;
+
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTArrayModifier;
+import org.eclipse.cdt.core.dom.ast.IASTAttribute;
+import org.eclipse.cdt.core.dom.ast.IASTAttributeSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
+import org.eclipse.cdt.core.dom.ast.IASTEnumerationSpecifier.IASTEnumerator;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTInitializer;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTParameterDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTPointerOperator;
+import org.eclipse.cdt.core.dom.ast.IASTProblem;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTToken;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IASTTypeId;
+import org.eclipse.cdt.core.dom.ast.c.ICASTDesignator;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCapture;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTClassVirtSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTCompositeTypeSpecifier.ICPPASTBaseSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDecltypeSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDesignator;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTTemplateParameter;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVirtSpecifier;
+import org.eclipse.cdt.internal.core.dom.parser.ASTAmbiguousNode;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Visitor passing the nodes of a single traversal of an AST on to several visitors. Each visitor
+ * receives the callbacks for the kinds of nodes it is interested in, as if it traversed the AST on
+ * its own. {@link ASTVisitor#PROCESS_SKIP} and {@link ASTVisitor#PROCESS_ABORT} returned by a visitor
+ * affect only that visitor. The visitors have to agree on the flags that determine which nodes
+ * the traversal reaches, see {@link #getTraversalFlags(ASTVisitor)}.
+ */
+public final class FusedAstVisitor extends ASTVisitor {
+	private interface Callback<T> {
+		int call(ASTVisitor visitor, T node);
+	}
+
+	private static final int TRANSLATION_UNIT = 0;
+	private static final int NAME = 1;
+	private static final int DECLARATION = 2;
+	private static final int INITIALIZER = 3;
+	private static final int PARAMETER_DECLARATION = 4;
+	private static final int DECLARATOR = 5;
+	private static final int DECL_SPECIFIER = 6;
+	private static final int ARRAY_MODIFIER = 7;
+	private static final int POINTER_OPERATOR = 8;
+	private static final int ATTRIBUTE = 9;
+	private static final int ATTRIBUTE_SPECIFIER = 10;
+	private static final int TOKEN = 11;
+	private static final int EXPRESSION = 12;
+	private static final int STATEMENT = 13;
+	private static final int TYPE_ID = 14;
+	private static final int ENUMERATOR = 15;
+	private static final int PROBLEM = 16;
+	private static final int BASE_SPECIFIER = 17;
+	private static final int NAMESPACE = 18;
+	private static final int TEMPLATE_PARAMETER = 19;
+	private static final int CAPTURE = 20;
+	private static final int C_DESIGNATOR = 21;
+	private static final int CPP_DESIGNATOR = 22;
+	private static final int VIRT_SPECIFIER = 23;
+	private static final int CLASS_VIRT_SPECIFIER = 24;
+	private static final int DECLTYPE_SPECIFIER = 25;
+	private static final int AMBIGUOUS_NODE = 26;
+	private static final int KINDS = 27;
+
+	private final ASTVisitor[] visitors;
+	// For each visitor the kinds of nodes it is interested in.
+	private final boolean[][] interests;
+	// For each visitor the node and its kind for which the visitor returned PROCESS_SKIP.
+	private final IASTNode[] skippedNodes;
+	private final int[] skippedKinds;
+	private final boolean[] aborted;
+	private final RuntimeException[] failures;
+	// Time spent in each visitor in nanoseconds, or null if not measured.
+	private final long[] times;
+	private int active;
+
+	/**
+	 * @param visitors the visitors, all having the same traversal flags.
+	 * @param measureTime whether to measure the time spent in each visitor.
+	 */
+	public FusedAstVisitor(List<? extends ASTVisitor> visitors, boolean measureTime) {
+		int n = visitors.size();
+		this.visitors = visitors.toArray(new ASTVisitor[n]);
+		interests = new boolean[n][];
+		skippedNodes = new IASTNode[n];
+		skippedKinds = new int[n];
+		aborted = new boolean[n];
+		failures = new RuntimeException[n];
+		times = measureTime ? new long[n] : null;
+		active = n;
+		for (int i = 0; i < n; i++) {
+			ASTVisitor visitor = this.visitors[i];
+			boolean[] interest = getInterests(visitor);
+			interests[i] = interest;
+			shouldVisitTranslationUnit |= interest[TRANSLATION_UNIT];
+			shouldVisitNames |= interest[NAME];
+			shouldVisitDeclarations |= interest[DECLARATION];
+			shouldVisitInitializers |= interest[INITIALIZER];
+			shouldVisitParameterDeclarations |= interest[PARAMETER_DECLARATION];
+			shouldVisitDeclarators |= interest[DECLARATOR];
+			shouldVisitDeclSpecifiers |= interest[DECL_SPECIFIER];
+			shouldVisitArrayModifiers |= interest[ARRAY_MODIFIER];
+			shouldVisitPointerOperators |= interest[POINTER_OPERATOR];
+			shouldVisitAttributes |= interest[ATTRIBUTE];
+			shouldVisitTokens |= interest[TOKEN];
+			shouldVisitExpressions |= interest[EXPRESSION];
+			shouldVisitStatements |= interest[STATEMENT];
+			shouldVisitTypeIds |= interest[TYPE_ID];
+			shouldVisitEnumerators |= interest[ENUMERATOR];
+			shouldVisitProblems |= interest[PROBLEM];
+			shouldVisitBaseSpecifiers |= interest[BASE_SPECIFIER];
+			shouldVisitNamespaces |= interest[NAMESPACE];
+			shouldVisitTemplateParameters |= interest[TEMPLATE_PARAMETER];
+			shouldVisitCaptures |= interest[CAPTURE];
+			shouldVisitDesignators |= interest[C_DESIGNATOR];
+			shouldVisitVirtSpecifiers |= interest[VIRT_SPECIFIER];
+			shouldVisitDecltypeSpecifiers |= interest[DECLTYPE_SPECIFIER];
+		}
+		if (n > 0) {
+			ASTVisitor visitor = this.visitors[0];
+			includeInactiveNodes = visitor.includeInactiveNodes;
+			shouldVisitAmbiguousNodes = visitor.shouldVisitAmbiguousNodes;
+			shouldVisitImplicitNames = visitor.shouldVisitImplicitNames;
+			shouldVisitImplicitNameAlternates = visitor.shouldVisitImplicitNameAlternates;
+			shouldVisitImplicitDestructorNames = visitor.shouldVisitImplicitDestructorNames;
+		}
+	}
+
+	/**
+	 * Returns the flags of the visitor that determine which nodes a traversal reaches, independently
+	 * of the kinds of nodes the visitor is interested in. Only visitors with equal traversal flags can
+	 * be combined.
+	 */
+	public static int getTraversalFlags(ASTVisitor visitor) {
+		int flags = 0;
+		if (visitor.includeInactiveNodes)
+			flags |= 0x01;
+		if (visitor.shouldVisitAmbiguousNodes)
+			flags |= 0x02;
+		if (visitor.shouldVisitImplicitNames)
+			flags |= 0x04;
+		if (visitor.shouldVisitImplicitNameAlternates)
+			flags |= 0x08;
+		if (visitor.shouldVisitImplicitDestructorNames)
+			flags |= 0x10;
+		return flags;
+	}
+
+	private static boolean[] getInterests(ASTVisitor visitor) {
+		boolean[] interest = new boolean[KINDS];
+		interest[TRANSLATION_UNIT] = visitor.shouldVisitTranslationUnit;
+		interest[NAME] = visitor.shouldVisitNames;
+		interest[DECLARATION] = visitor.shouldVisitDeclarations;
+		interest[INITIALIZER] = visitor.shouldVisitInitializers;
+		interest[PARAMETER_DECLARATION] = visitor.shouldVisitParameterDeclarations;
+		interest[DECLARATOR] = visitor.shouldVisitDeclarators;
+		interest[DECL_SPECIFIER] = visitor.shouldVisitDeclSpecifiers;
+		interest[ARRAY_MODIFIER] = visitor.shouldVisitArrayModifiers;
+		interest[POINTER_OPERATOR] = visitor.shouldVisitPointerOperators;
+		interest[ATTRIBUTE] = visitor.shouldVisitAttributes;
+		interest[ATTRIBUTE_SPECIFIER] = visitor.shouldVisitAttributes;
+		interest[TOKEN] = visitor.shouldVisitTokens;
+		interest[EXPRESSION] = visitor.shouldVisitExpressions;
+		interest[STATEMENT] = visitor.shouldVisitStatements;
+		interest[TYPE_ID] = visitor.shouldVisitTypeIds;
+		interest[ENUMERATOR] = visitor.shouldVisitEnumerators;
+		interest[PROBLEM] = visitor.shouldVisitProblems;
+		interest[BASE_SPECIFIER] = visitor.shouldVisitBaseSpecifiers;
+		interest[NAMESPACE] = visitor.shouldVisitNamespaces;
+		interest[TEMPLATE_PARAMETER] = visitor.shouldVisitTemplateParameters;
+		interest[CAPTURE] = visitor.shouldVisitCaptures;
+		interest[C_DESIGNATOR] = visitor.shouldVisitDesignators;
+		interest[CPP_DESIGNATOR] = visitor.shouldVisitDesignators;
+		interest[VIRT_SPECIFIER] = visitor.shouldVisitVirtSpecifiers;
+		interest[CLASS_VIRT_SPECIFIER] = visitor.shouldVisitVirtSpecifiers;
+		interest[DECLTYPE_SPECIFIER] = visitor.shouldVisitDecltypeSpecifiers;
+		interest[AMBIGUOUS_NODE] = visitor.shouldVisitAmbiguousNodes;
+		return interest;
+	}
+
+	/**
+	 * Returns the exception thrown by the visitor with the given index, or <code>null</code>.
+	 * A visitor that has thrown an exception receives no further callbacks.
+	 */
+	public RuntimeException getFailure(int index) {
+		return failures[index];
+	}
+
+	/**
+	 * Returns the time in nanoseconds spent in the visitor with the given index, or 0 if the time
+	 * is not measured.
+	 */
+	public long getTime(int index) {
+		return times == null ? 0 : times[index];
+	}
+
+	private <T extends IASTNode> int visit(int kind, T node, Callback<T> callback) {
+		boolean proceed = false;
+		for (int i = 0; i < visitors.length; i++) {
+			if (aborted[i] || skippedNodes[i] != null)
+				continue;
+			if (interests[i][kind]) {
+				switch (call(i, callback, node)) {
+				case PROCESS_ABORT:
+					abort(i);
+					continue;
+				case PROCESS_SKIP:
+					skippedNodes[i] = node;
+					skippedKinds[i] = kind;
+					continue;
+				}
+			}
+			proceed = true;
+		}
+		if (active == 0)
+			return PROCESS_ABORT;
+		if (!proceed) {
+			// The children and the leave callback of the node are not going to be visited.
+			for (int i = 0; i < visitors.length; i++) {
+				if (skippedNodes[i] == node && skippedKinds[i] == kind)
+					skippedNodes[i] = null;
+			}
+			return PROCESS_SKIP;
+		}
+		return PROCESS_CONTINUE;
+	}
+
+	private <T extends IASTNode> int leave(int kind, T node, Callback<T> callback) {
+		for (int i = 0; i < visitors.length; i++) {
+			if (aborted[i])
+				continue;
+			if (skippedNodes[i] != null) {
+				if (skippedNodes[i] == node && skippedKinds[i] == kind)
+					skippedNodes[i] = null;
+				continue;
+			}
+			if (interests[i][kind] && call(i, callback, node) == PROCESS_ABORT)
+				abort(i);
+		}
+		return active == 0 ? PROCESS_ABORT : PROCESS_CONTINUE;
+	}
+
+	private <T extends IASTNode> int call(int i, Callback<T> callback, T node) {
+		long start = times == null ? 0 : System.nanoTime();
+		try {
+			return callback.call(visitors[i], node);
+		} catch (OperationCanceledException e) {
+			throw e;
+		} catch (RuntimeException e) {
+			failures[i] = e;
+			return PROCESS_ABORT;
+		} finally {
+			if (times != null)
+				times[i] += System.nanoTime() - start;
+		}
+	}
+
+	private void abort(int i) {
+		aborted[i] = true;
+		active--;
+	}
+
+	private static final Callback<IASTTranslationUnit> VISIT_TRANSLATION_UNIT = ASTVisitor::visit;
+	private static final Callback<IASTName> VISIT_NAME = ASTVisitor::visit;
+	private static final Callback<IASTDeclaration> VISIT_DECLARATION = ASTVisitor::visit;
+	private static final Callback<IASTInitializer> VISIT_INITIALIZER = ASTVisitor::visit;
+	private static final Callback<IASTParameterDeclaration> VISIT_PARAMETER_DECLARATION = ASTVisitor::visit;
+	private static final Callback<IASTDeclarator> VISIT_DECLARATOR = ASTVisitor::visit;
+	private static final Callback<IASTDeclSpecifier> VISIT_DECL_SPECIFIER = ASTVisitor::visit;
+	private static final Callback<IASTArrayModifier> VISIT_ARRAY_MODIFIER = ASTVisitor::visit;
+	private static final Callback<IASTPointerOperator> VISIT_POINTER_OPERATOR = ASTVisitor::visit;
+	private static final Callback<IASTAttribute> VISIT_ATTRIBUTE = ASTVisitor::visit;
+	private static final Callback<IASTAttributeSpecifier> VISIT_ATTRIBUTE_SPECIFIER = ASTVisitor::visit;
+	private static final Callback<IASTToken> VISIT_TOKEN = ASTVisitor::visit;
+	private static final Callback<IASTExpression> VISIT_EXPRESSION = ASTVisitor::visit;
+	private static final Callback<IASTStatement> VISIT_STATEMENT = ASTVisitor::visit;
+	private static final Callback<IASTTypeId> VISIT_TYPE_ID = ASTVisitor::visit;
+	private static final Callback<IASTEnumerator> VISIT_ENUMERATOR = ASTVisitor::visit;
+	private static final Callback<IASTProblem> VISIT_PROBLEM = ASTVisitor::visit;
+	private static final Callback<ICPPASTBaseSpecifier> VISIT_BASE_SPECIFIER = ASTVisitor::visit;
+	private static final Callback<ICPPASTNamespaceDefinition> VISIT_NAMESPACE = ASTVisitor::visit;
+	private static final Callback<ICPPASTTemplateParameter> VISIT_TEMPLATE_PARAMETER = ASTVisitor::visit;
+	private static final Callback<ICPPASTCapture> VISIT_CAPTURE = ASTVisitor::visit;
+	private static final Callback<ICASTDesignator> VISIT_C_DESIGNATOR = ASTVisitor::visit;
+	private static final Callback<ICPPASTDesignator> VISIT_CPP_DESIGNATOR = ASTVisitor::visit;
+	private static final Callback<ICPPASTVirtSpecifier> VISIT_VIRT_SPECIFIER = ASTVisitor::visit;
+	private static final Callback<ICPPASTClassVirtSpecifier> VISIT_CLASS_VIRT_SPECIFIER = ASTVisitor::visit;
+	private static final Callback<ICPPASTDecltypeSpecifier> VISIT_DECLTYPE_SPECIFIER = ASTVisitor::visit;
+	private static final Callback<ASTAmbiguousNode> VISIT_AMBIGUOUS_NODE = ASTVisitor::visit;
+
+	private static final Callback<IASTTranslationUnit> LEAVE_TRANSLATION_UNIT = ASTVisitor::leave;
+	private static final Callback<IASTName> LEAVE_NAME = ASTVisitor::leave;
+	private static final Callback<IASTDeclaration> LEAVE_DECLARATION = ASTVisitor::leave;
+	private static final Callback<IASTInitializer> LEAVE_INITIALIZER = ASTVisitor::leave;
+	private static final Callback<IASTParameterDeclaration> LEAVE_PARAMETER_DECLARATION = ASTVisitor::leave;
+	private static final Callback<IASTDeclarator> LEAVE_DECLARATOR = ASTVisitor::leave;
+	private static final Callback<IASTDeclSpecifier> LEAVE_DECL_SPECIFIER = ASTVisitor::leave;
+	private static final Callback<IASTArrayModifier> LEAVE_ARRAY_MODIFIER = ASTVisitor::leave;
+	private static final Callback<IASTPointerOperator> LEAVE_POINTER_OPERATOR = ASTVisitor::leave;
+	private static final Callback<IASTAttribute> LEAVE_ATTRIBUTE = ASTVisitor::leave;
+	private static final Callback<IASTAttributeSpecifier> LEAVE_ATTRIBUTE_SPECIFIER = ASTVisitor::leave;
+	private static final Callback<IASTToken> LEAVE_TOKEN = ASTVisitor::leave;
+	private static final Callback<IASTExpression> LEAVE_EXPRESSION = ASTVisitor::leave;
+	private static final Callback<IASTStatement> LEAVE_STATEMENT = ASTVisitor::leave;
+	private static final Callback<IASTTypeId> LEAVE_TYPE_ID = ASTVisitor::leave;
+	private static final Callback<IASTEnumerator> LEAVE_ENUMERATOR = ASTVisitor::leave;
+	private static final Callback<IASTProblem> LEAVE_PROBLEM = ASTVisitor::leave;
+	private static final Callback<ICPPASTBaseSpecifier> LEAVE_BASE_SPECIFIER = ASTVisitor::leave;
+	private static final Callback<ICPPASTNamespaceDefinition> LEAVE_NAMESPACE = ASTVisitor::leave;
+	private static final Callback<ICPPASTTemplateParameter> LEAVE_TEMPLATE_PARAMETER = ASTVisitor::leave;
+	private static final Callback<ICPPASTCapture> LEAVE_CAPTURE = ASTVisitor::leave;
+	private static final Callback<ICASTDesignator> LEAVE_C_DESIGNATOR = ASTVisitor::leave;
+	private static final Callback<ICPPASTDesignator> LEAVE_CPP_DESIGNATOR = ASTVisitor::leave;
+	private static final Callback<ICPPASTVirtSpecifier> LEAVE_VIRT_SPECIFIER = ASTVisitor::leave;
+	private static final Callback<ICPPASTClassVirtSpecifier> LEAVE_CLASS_VIRT_SPECIFIER = ASTVisitor::leave;
+	private static final Callback<ICPPASTDecltypeSpecifier> LEAVE_DECLTYPE_SPECIFIER = ASTVisitor::leave;
+
+	@Override
+	public int visit(IASTTranslationUnit tu) {
+		return visit(TRANSLATION_UNIT, tu, VISIT_TRANSLATION_UNIT);
+	}
+
+	@Override
+	public int visit(IASTName name) {
+		return visit(NAME, name, VISIT_NAME);
+	}
+
+	@Override
+	public int visit(IASTDeclaration declaration) {
+		return visit(DECLARATION, declaration, VISIT_DECLARATION);
+	}
+
+	@Override
+	public int visit(IASTInitializer initializer) {
+		return visit(INITIALIZER, initializer, VISIT_INITIALIZER);
+	}
+
+	@Override
+	public int visit(IASTParameterDeclaration parameterDeclaration) {
+		return visit(PARAMETER_DECLARATION, parameterDeclaration, VISIT_PARAMETER_DECLARATION);
+	}
+
+	@Override
+	public int visit(IASTDeclarator declarator) {
+		return visit(DECLARATOR, declarator, VISIT_DECLARATOR);
+	}
+
+	@Override
+	public int visit(IASTDeclSpecifier declSpec) {
+		return visit(DECL_SPECIFIER, declSpec, VISIT_DECL_SPECIFIER);
+	}
+
+	@Override
+	public int visit(IASTArrayModifier arrayModifier) {
+		return visit(ARRAY_MODIFIER, arrayModifier, VISIT_ARRAY_MODIFIER);
+	}
+
+	@Override
+	public int visit(IASTPointerOperator ptrOperator) {
+		return visit(POINTER_OPERATOR, ptrOperator, VISIT_POINTER_OPERATOR);
+	}
+
+	@Override
+	public int visit(IASTAttribute attribute) {
+		return visit(ATTRIBUTE, attribute, VISIT_ATTRIBUTE);
+	}
+
+	@Override
+	public int visit(IASTAttributeSpecifier specifier) {
+		return visit(ATTRIBUTE_SPECIFIER, specifier, VISIT_ATTRIBUTE_SPECIFIER);
+	}
+
+	@Override
+	public int visit(IASTToken token) {
+		return visit(TOKEN, token, VISIT_TOKEN);
+	}
+
+	@Override
+	public int visit(IASTExpression expression) {
+		return visit(EXPRESSION, expression, VISIT_EXPRESSION);
+	}
+
+	@Override
+	public int visit(IASTStatement statement) {
+		return visit(STATEMENT, statement, VISIT_STATEMENT);
+	}
+
+	@Override
+	public int visit(IASTTypeId typeId) {
+		return visit(TYPE_ID, typeId, VISIT_TYPE_ID);
+	}
+
+	@Override
+	public int visit(IASTEnumerator enumerator) {
+		return visit(ENUMERATOR, enumerator, VISIT_ENUMERATOR);
+	}
+
+	@Override
+	public int visit(IASTProblem problem) {
+		return visit(PROBLEM, problem, VISIT_PROBLEM);
+	}
+
+	@Override
+	public int visit(ICPPASTBaseSpecifier baseSpecifier) {
+		return visit(BASE_SPECIFIER, baseSpecifier, VISIT_BASE_SPECIFIER);
+	}
+
+	@Override
+	public int visit(ICPPASTNamespaceDefinition namespaceDefinition) {
+		return visit(NAMESPACE, namespaceDefinition, VISIT_NAMESPACE);
+	}
+
+	@Override
+	public int visit(ICPPASTTemplateParameter templateParameter) {
+		return visit(TEMPLATE_PARAMETER, templateParameter, VISIT_TEMPLATE_PARAMETER);
+	}
+
+	@Override
+	public int visit(ICPPASTCapture capture) {
+		return visit(CAPTURE, capture, VISIT_CAPTURE);
+	}
+
+	@Override
+	public int visit(ICASTDesignator designator) {
+		return visit(C_DESIGNATOR, designator, VISIT_C_DESIGNATOR);
+	}
+
+	@Override
+	public int visit(ICPPASTDesignator designator) {
+		return visit(CPP_DESIGNATOR, designator, VISIT_CPP_DESIGNATOR);
+	}
+
+	@Override
+	public int visit(ICPPASTVirtSpecifier virtSpecifier) {
+		return visit(VIRT_SPECIFIER, virtSpecifier, VISIT_VIRT_SPECIFIER);
+	}
+
+	@Override
+	public int visit(ICPPASTClassVirtSpecifier classVirtSpecifier) {
+		return visit(CLASS_VIRT_SPECIFIER, classVirtSpecifier, VISIT_CLASS_VIRT_SPECIFIER);
+	}
+
+	@Override
+	public int visit(ICPPASTDecltypeSpecifier decltypeSpecifier) {
+		return visit(DECLTYPE_SPECIFIER, decltypeSpecifier, VISIT_DECLTYPE_SPECIFIER);
+	}
+
+	@Override
+	public int visit(ASTAmbiguousNode astAmbiguousNode) {
+		// The children of ambiguous nodes are not traversed, so there is no matching leave callback.
+		int result = visit(AMBIGUOUS_NODE, astAmbiguousNode, VISIT_AMBIGUOUS_NODE);
+		for (int i = 0; i < visitors.length; i++) {
+			if (skippedNodes[i] == astAmbiguousNode)
+				skippedNodes[i] = null;
+		}
+		return result;
+	}
+
+	@Override
+	public int leave(IASTTranslationUnit tu) {
+		return leave(TRANSLATION_UNIT, tu, LEAVE_TRANSLATION_UNIT);
+	}
+
+	@Override
+	public int leave(IASTName name) {
+		return leave(NAME, name, LEAVE_NAME);
+	}
+
+	@Override
+	public int leave(IASTDeclaration declaration) {
+		return leave(DECLARATION, declaration, LEAVE_DECLARATION);
+	}
+
+	@Override
+	public int leave(IASTInitializer initializer) {
+		return leave(INITIALIZER, initializer, LEAVE_INITIALIZER);
+	}
+
+	@Override
+	public int leave(IASTParameterDeclaration parameterDeclaration) {
+		return leave(PARAMETER_DECLARATION, parameterDeclaration, LEAVE_PARAMETER_DECLARATION);
+	}
+
+	@Override
+	public int leave(IASTDeclarator declarator) {
+		return leave(DECLARATOR, declarator, LEAVE_DECLARATOR);
+	}
+
+	@Override
+	public int leave(IASTDeclSpecifier declSpec) {
+		return leave(DECL_SPECIFIER, declSpec, LEAVE_DECL_SPECIFIER);
+	}
+
+	@Override
+	public int leave(IASTArrayModifier arrayModifier) {
+		return leave(ARRAY_MODIFIER, arrayModifier, LEAVE_ARRAY_MODIFIER);
+	}
+
+	@Override
+	public int leave(IASTPointerOperator ptrOperator) {
+		return leave(POINTER_OPERATOR, ptrOperator, LEAVE_POINTER_OPERATOR);
+	}
+
+	@Override
+	public int leave(IASTAttribute attribute) {
+		return leave(ATTRIBUTE, attribute, LEAVE_ATTRIBUTE);
+	}
+
+	@Override
+	public int leave(IASTAttributeSpecifier specifier) {
+		return leave(ATTRIBUTE_SPECIFIER, specifier, LEAVE_ATTRIBUTE_SPECIFIER);
+	}
+
+	@Override
+	public int leave(IASTToken token) {
+		return leave(TOKEN, token, LEAVE_TOKEN);
+	}
+
+	@Override
+	public int leave(IASTExpression expression) {
+		return leave(EXPRESSION, expression, LEAVE_EXPRESSION);
+	}
+
+	@Override
+	public int leave(IASTStatement statement) {
+		return leave(STATEMENT, statement, LEAVE_STATEMENT);
+	}
+
+	@Override
+	public int leave(IASTTypeId typeId) {
+		return leave(TYPE_ID, typeId, LEAVE_TYPE_ID);
+	}
+
+	@Override
+	public int leave(IASTEnumerator enumerator) {
+		return leave(ENUMERATOR, enumerator, LEAVE_ENUMERATOR);
+	}
+
+	@Override
+	public int leave(IASTProblem problem) {
+		return leave(PROBLEM, problem, LEAVE_PROBLEM);
+	}
+
+	@Override
+	public int leave(ICPPASTBaseSpecifier baseSpecifier) {
+		return leave(BASE_SPECIFIER, baseSpecifier, LEAVE_BASE_SPECIFIER);
+	}
+
+	@Override
+	public int leave(ICPPASTNamespaceDefinition namespaceDefinition) {
+		return leave(NAMESPACE, namespaceDefinition, LEAVE_NAMESPACE);
+	}
+
+	@Override
+	public int leave(ICPPASTTemplateParameter templateParameter) {
+		return leave(TEMPLATE_PARAMETER, templateParameter, LEAVE_TEMPLATE_PARAMETER);
+	}
+
+	@Override
+	public int leave(ICPPASTCapture capture) {
+		return leave(CAPTURE, capture, LEAVE_CAPTURE);
+	}
+
+	@Override
+	public int leave(ICASTDesignator designator) {
+		return leave(C_DESIGNATOR, designator, LEAVE_C_DESIGNATOR);
+	}
+
+	@Override
+	public int leave(ICPPASTDesignator designator) {
+		return leave(CPP_DESIGNATOR, designator, LEAVE_CPP_DESIGNATOR);
+	}
+
+	@Override
+	public int leave(ICPPASTVirtSpecifier virtSpecifier) {
+		return leave(VIRT_SPECIFIER, virtSpecifier, LEAVE_VIRT_SPECIFIER);
+	}
+
+	@Override
+	public int leave(ICPPASTClassVirtSpecifier virtSpecifier) {
+		return leave(CLASS_VIRT_SPECIFIER, virtSpecifier, LEAVE_CLASS_VIRT_SPECIFIER);
+	}
+
+	@Override
+	public int leave(ICPPASTDecltypeSpecifier decltypeSpecifier) {
+		return leave(DECLTYPE_SPECIFIER, decltypeSpecifier, LEAVE_DECLTYPE_SPECIFIER);
+	}
+}
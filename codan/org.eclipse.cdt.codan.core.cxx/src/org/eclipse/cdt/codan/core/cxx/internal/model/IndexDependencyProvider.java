@@ -0,0 +1,205 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.model;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+import org.eclipse.cdt.codan.core.cxx.Activator;
+import org.eclipse.cdt.codan.internal.core.IAnalysisDependencyProvider;
+import org.eclipse.cdt.core.CCorePlugin;
+import org.eclipse.cdt.core.index.IIndex;
+import org.eclipse.cdt.core.index.IIndexFile;
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexInclude;
+import org.eclipse.cdt.core.index.IIndexManager;
+import org.eclipse.cdt.core.index.IndexLocationFactory;
+import org.eclipse.cdt.core.model.CoreModel;
+import org.eclipse.cdt.core.model.ICElement;
+import org.eclipse.cdt.core.model.ICProject;
+import org.eclipse.cdt.core.model.ILanguage;
+import org.eclipse.cdt.core.model.ITranslationUnit;
+import org.eclipse.cdt.core.parser.IExtendedScannerInfo;
+import org.eclipse.cdt.core.parser.IScannerInfo;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IProject;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Provides the dependencies of the analysis of C/C++ files based on the include graph stored
+ * in the index. The files affected by a change of a file are the files including it, directly or
+ * indirectly. The fingerprint of a file covers the current build configuration of the file, and
+ * the contents, the significant macros and the encoding of all variants of the file and of
+ * the variants of the headers they include. Files whose index data is out of date have no
+ * fingerprint.
+ */
+public class IndexDependencyProvider implements IAnalysisDependencyProvider {
+	@Override
+	public void addDependentFiles(Collection<IFile> files, Set<IFile> dependents) {
+		Map<IProject, List<IFile>> filesByProject = new LinkedHashMap<>();
+		for (IFile file : files) {
+			IProject project = file.getProject();
+			if (project.isOpen() && CoreModel.hasCNature(project))
+				filesByProject.computeIfAbsent(project, p -> new ArrayList<>()).add(file);
+		}
+		for (Map.Entry<IProject, List<IFile>> entry : filesByProject.entrySet()) {
+			ICProject cproject = CoreModel.getDefault().create(entry.getKey());
+			try {
+				// Includers may belong to projects referencing the project of the file.
+				IIndex index = CCorePlugin.getIndexManager().getIndex(cproject, IIndexManager.ADD_DEPENDENT);
+				index.acquireReadLock();
+				try {
+					for (IFile file : entry.getValue()) {
+						// All variants of the file, they differ by the significant macros.
+						for (IIndexFile indexFile : index.getFiles(IndexLocationFactory.getWorkspaceIFL(file))) {
+							for (IIndexInclude include : index.findIncludedBy(indexFile, IIndex.DEPTH_INFINITE)) {
+								IFile includer = getWorkspaceFile(include.getIncludedByLocation());
+								if (includer != null)
+									dependents.add(includer);
+							}
+						}
+					}
+				} finally {
+					index.releaseReadLock();
+				}
+			} catch (CoreException e) {
+				Activator.log(e);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+				return;
+			}
+		}
+	}
+
+	@Override
+	public String getFingerprint(IFile file) {
+		ICElement celement = CoreModel.getDefault().create(file);
+		if (!(celement instanceof ITranslationUnit))
+			return null;
+		try {
+			IIndex index = CCorePlugin.getIndexManager().getIndex(celement.getCProject(),
+					IIndexManager.ADD_DEPENDENCIES);
+			index.acquireReadLock();
+			try {
+				IIndexFile[] variants = index.getFiles(IndexLocationFactory.getWorkspaceIFL(file));
+				if (variants.length == 0)
+					return null;
+				StringBuilder fingerprint = new StringBuilder();
+				// The index does not record the build configuration, the current one is used.
+				addConfiguration((ITranslationUnit) celement, fingerprint);
+				Set<IIndexFile> handled = new HashSet<>();
+				for (IIndexFile variant : variants) {
+					if (!addFile(variant, fingerprint, handled))
+						return null;
+					for (IIndexInclude include : index.findIncludes(variant, IIndex.DEPTH_INFINITE)) {
+						if (!include.isActive())
+							continue;
+						// A header may have been created for an unresolved include.
+						IIndexFile included = include.isResolved() ? index.resolveInclude(include) : null;
+						if (included == null || !addFile(included, fingerprint, handled))
+							return null;
+					}
+				}
+				return fingerprint.toString();
+			} finally {
+				index.releaseReadLock();
+			}
+		} catch (CoreException e) {
+			Activator.log(e);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+		return null;
+	}
+
+	/**
+	 * Adds the description of a file to the fingerprint.
+	 *
+	 * @return <code>false</code> if the index data of the file is out of date
+	 */
+	private static boolean addFile(IIndexFile file, StringBuilder fingerprint, Set<IIndexFile> handled)
+			throws CoreException {
+		if (!handled.add(file))
+			return true;
+		IIndexFileLocation location = file.getLocation();
+		// The time stamp is 0 if the file was indexed with errors.
+		long timestamp = file.getTimestamp();
+		if (timestamp == 0 || timestamp != getLastModified(location))
+			return false;
+		IFile workspaceFile = getWorkspaceFile(location);
+		fingerprint.append(location.getURI()).append(',').append(file.getLinkageID()).append(',')
+				.append(file.getSignificantMacros().encode()).append(',').append(file.getContentsHash()).append(',')
+				.append(workspaceFile != null ? workspaceFile.getCharset() : "").append('\n'); //$NON-NLS-1$
+		return true;
+	}
+
+	/**
+	 * Adds the language and the scanner configuration of a translation unit to the fingerprint.
+	 */
+	private static void addConfiguration(ITranslationUnit tu, StringBuilder fingerprint) throws CoreException {
+		ILanguage language = tu.getLanguage();
+		fingerprint.append(language != null ? language.getId() : "").append('\n'); //$NON-NLS-1$
+		IScannerInfo scannerInfo = tu.getScannerInfo(true);
+		Map<String, String> definedSymbols = scannerInfo.getDefinedSymbols();
+		if (definedSymbols != null) {
+			for (Map.Entry<String, String> entry : new TreeMap<>(definedSymbols).entrySet()) {
+				fingerprint.append("-D").append(entry.getKey()).append('=').append(entry.getValue()) //$NON-NLS-1$
+						.append('\n');
+			}
+		}
+		addPaths("-I", scannerInfo.getIncludePaths(), fingerprint); //$NON-NLS-1$
+		if (scannerInfo instanceof IExtendedScannerInfo) {
+			IExtendedScannerInfo extendedInfo = (IExtendedScannerInfo) scannerInfo;
+			addPaths("-iquote", extendedInfo.getLocalIncludePath(), fingerprint); //$NON-NLS-1$
+			addPaths("-include", extendedInfo.getIncludeFiles(), fingerprint); //$NON-NLS-1$
+			addPaths("-imacros", extendedInfo.getMacroFiles(), fingerprint); //$NON-NLS-1$
+		}
+	}
+
+	private static void addPaths(String option, String[] paths, StringBuilder fingerprint) {
+		if (paths == null)
+			return;
+		for (String path : paths) {
+			fingerprint.append(option).append(path).append('\n');
+		}
+	}
+
+	/**
+	 * Returns the modification time of a file the same way the indexer does.
+	 */
+	private static long getLastModified(IIndexFileLocation location) {
+		String fullPath = location.getFullPath();
+		if (fullPath != null) {
+			IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(fullPath);
+			return resource != null ? resource.getLocalTimeStamp() : 0;
+		}
+		IPath path = IndexLocationFactory.getAbsolutePath(location);
+		return path != null ? path.toFile().lastModified() : 0;
+	}
+
+	private static IFile getWorkspaceFile(IIndexFileLocation location) {
+		String fullPath = location.getFullPath();
+		if (fullPath == null)
+			return null;
+		IResource resource = ResourcesPlugin.getWorkspace().getRoot().findMember(new Path(fullPath));
+		return resource instanceof IFile ? (IFile) resource : null;
+	}
+}
@@ -19,11 +19,14 @@ import java.util.List;
 
 import org.eclipse.cdt.codan.core.cxx.Activator;
 import org.eclipse.cdt.codan.core.model.AbstractCheckerWithProblemPreferences;
+import org.eclipse.cdt.codan.core.model.ICheckerGroup;
 import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.core.model.IGroupedChecker;
 import org.eclipse.cdt.codan.core.model.IProblem;
 import org.eclipse.cdt.codan.core.model.IProblemLocation;
 import org.eclipse.cdt.codan.core.model.IProblemLocationFactory;
 import org.eclipse.cdt.codan.core.model.IRunnableInEditorChecker;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.IASTComment;
 import org.eclipse.cdt.core.dom.ast.IASTCompositeTypeSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
@@ -51,7 +54,7 @@ import org.eclipse.core.runtime.OperationCanceledException;
  * Clients may extend this class.
  */
 public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblemPreferences
-		implements ICAstChecker, IRunnableInEditorChecker {
+		implements ICAstChecker, IRunnableInEditorChecker, IGroupedChecker {
 	private CxxModelsCache modelCache;
 
 	@Override
@@ -65,18 +68,9 @@ public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblem
 	}
 
 	private void processFile(IFile file) throws OperationCanceledException {
-		ICheckerInvocationContext context = getContext();
-		synchronized (context) {
-			modelCache = context.get(CxxModelsCache.class);
-			if (modelCache == null) {
-				ICElement celement = CoreModel.getDefault().create(file);
-				if (!(celement instanceof ITranslationUnit)) {
-					return;
-				}
-				modelCache = new CxxModelsCache((ITranslationUnit) celement);
-				context.add(modelCache);
-			}
-		}
+		modelCache = getModelCache(getContext(), file);
+		if (modelCache == null)
+			return;
 		try {
 			// Run the checker only if the index is fully initialized. Otherwise it may produce
 			// false positives.
@@ -104,13 +98,7 @@ public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblem
 			if (ast.isBasedOnIncompleteIndex())
 				return;
 			setContext(context);
-			synchronized (context) {
-				modelCache = context.get(CxxModelsCache.class);
-				if (modelCache == null) {
-					modelCache = new CxxModelsCache(ast);
-					context.add(modelCache);
-				}
-			}
+			modelCache = getModelCache(context, ast);
 			CPPSemantics.pushLookupPoint(ast);
 			try {
 				processAst(ast);
@@ -122,6 +110,110 @@ public abstract class AbstractIndexAstChecker extends AbstractCheckerWithProblem
 		}
 	}
 
+	/**
+	 * Returns the models cache shared by the checkers processing the given file, or
+	 * <code>null</code> if the file is not a translation unit.
+	 */
+	static CxxModelsCache getModelCache(ICheckerInvocationContext context, IFile file) {
+		synchronized (context) {
+			CxxModelsCache modelCache = context.get(CxxModelsCache.class);
+			if (modelCache == null) {
+				ICElement celement = CoreModel.getDefault().create(file);
+				if (!(celement instanceof ITranslationUnit)) {
+					return null;
+				}
+				modelCache = new CxxModelsCache((ITranslationUnit) celement);
+				context.add(modelCache);
+			}
+			return modelCache;
+		}
+	}
+
+	/**
+	 * Returns the models cache shared by the checkers processing the given AST.
+	 */
+	static CxxModelsCache getModelCache(ICheckerInvocationContext context, IASTTranslationUnit ast) {
+		synchronized (context) {
+			CxxModelsCache modelCache = context.get(CxxModelsCache.class);
+			if (modelCache == null) {
+				modelCache = new CxxModelsCache(ast);
+				context.add(modelCache);
+			}
+			return modelCache;
+		}
+	}
+
+	/**
+	 * Returns a visitor doing all the work of {@link #processAst(IASTTranslationUnit)}, or
+	 * <code>null</code> if the checker has to process the AST on its own. Providing a visitor
+	 * allows the checker to share a single traversal of the AST with other checkers.
+	 * While the visitor is in use, {@link #getFile()}, {@link #getModelCache()} and the problem
+	 * reporting methods are available, like in {@link #processAst(IASTTranslationUnit)}.
+	 * The default implementation returns <code>null</code>.
+	 *
+	 * @param ast the AST the visitor is going to traverse
+	 * @return the visitor, or <code>null</code>
+	 * @since 3.5
+	 */
+	protected ASTVisitor createVisitor(IASTTranslationUnit ast) {
+		return null;
+	}
+
+	/**
+	 * Traverses the AST with the visitor returned by {@link #createVisitor(IASTTranslationUnit)}.
+	 * Checkers not providing a visitor have to override this method.
+	 *
+	 * @since 3.5
+	 */
+	@Override
+	public void processAst(IASTTranslationUnit ast) {
+		ASTVisitor visitor = createVisitor(ast);
+		if (visitor != null)
+			ast.accept(visitor);
+	}
+
+	/**
+	 * Returns the group traversing the AST of a file once for all checkers providing
+	 * a visitor, see {@link #createVisitor(IASTTranslationUnit)}.
+	 *
+	 * @since 3.5
+	 */
+	@Override
+	public ICheckerGroup getCheckerGroup() {
+		return AstCheckerGroup.INSTANCE;
+	}
+
+	/**
+	 * Prepares the checker for a traversal of the AST shared with other checkers.
+	 *
+	 * @param checkScope whether to check that problems should be produced for the resource
+	 * @return the visitor of the checker, or <code>null</code> if the checker does not take part
+	 *     in the traversal
+	 */
+	ASTVisitor startSharedTraversal(IResource resource, ICheckerInvocationContext context, CxxModelsCache cache,
+			IASTTranslationUnit ast, boolean checkScope) {
+		if (checkScope && !shouldProduceProblems(resource))
+			return null;
+		setContext(context);
+		modelCache = cache;
+		ASTVisitor visitor = null;
+		try {
+			visitor = createVisitor(ast);
+			return visitor;
+		} finally {
+			if (visitor == null)
+				endSharedTraversal();
+		}
+	}
+
+	/**
+	 * Cleans up after a traversal of the AST shared with other checkers.
+	 */
+	void endSharedTraversal() {
+		modelCache = null;
+		setContext(null);
+	}
+
 	@Override
 	public boolean runInEditor() {
 		return true;
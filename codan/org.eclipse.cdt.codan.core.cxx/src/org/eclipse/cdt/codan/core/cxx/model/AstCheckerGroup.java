@@ -0,0 +1,164 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.model;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.cxx.Activator;
+import org.eclipse.cdt.codan.core.cxx.internal.model.FusedAstVisitor;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerGroup;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.core.model.IRunnableInEditorChecker;
+import org.eclipse.cdt.codan.internal.core.CheckersTimeStats;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Runs the AST checkers on a file. The checkers providing a visitor share a single traversal
+ * of the AST, the remaining checkers process the AST one after another.
+ */
+final class AstCheckerGroup implements ICheckerGroup {
+	static final AstCheckerGroup INSTANCE = new AstCheckerGroup();
+
+	private AstCheckerGroup() {
+	}
+
+	@Override
+	public void process(IResource resource, Object model, List<IChecker> checkers, ICheckerInvocationContext context)
+			throws OperationCanceledException {
+		List<IChecker> remaining = new ArrayList<>(checkers);
+		if (model instanceof IASTTranslationUnit) {
+			IASTTranslationUnit ast = (IASTTranslationUnit) model;
+			// Run the checkers only if the index was fully initialized when the file was parsed.
+			if (!ast.isBasedOnIncompleteIndex()) {
+				CxxModelsCache modelCache = AbstractIndexAstChecker.getModelCache(context, ast);
+				CPPSemantics.pushLookupPoint(ast);
+				try {
+					traverse(resource, context, modelCache, ast, false, remaining);
+				} finally {
+					CPPSemantics.popLookupPoint();
+				}
+			}
+		} else if (model == null && resource instanceof IFile) {
+			CxxModelsCache modelCache = AbstractIndexAstChecker.getModelCache(context, (IFile) resource);
+			try {
+				// Run the checkers only if the index is fully initialized.
+				if (modelCache != null && modelCache.getIndex().isFullyInitialized()) {
+					IASTTranslationUnit ast = modelCache.getAST();
+					if (ast != null) {
+						synchronized (ast) {
+							traverse(resource, context, modelCache, ast, true, remaining);
+						}
+					}
+				}
+			} catch (CoreException e) {
+				Activator.log(e);
+			}
+		}
+
+		for (IChecker checker : remaining) {
+			String id = checker.getClass().getName();
+			CheckersTimeStats.getInstance().checkerStart(id);
+			try {
+				if (model != null) {
+					((IRunnableInEditorChecker) checker).processModel(model, context);
+				} else {
+					checker.processResource(resource, context);
+				}
+			} catch (OperationCanceledException e) {
+				throw e;
+			} catch (Throwable e) {
+				CodanCorePlugin.log(e);
+			} finally {
+				CheckersTimeStats.getInstance().checkerStop(id);
+			}
+		}
+	}
+
+	/**
+	 * Traverses the AST once for the checkers providing a visitor and removes them from
+	 * the given list.
+	 */
+	private static void traverse(IResource resource, ICheckerInvocationContext context, CxxModelsCache modelCache,
+			IASTTranslationUnit ast, boolean checkScope, List<IChecker> checkers) {
+		boolean measureTime = CheckersTimeStats.getInstance().isEnabled();
+		List<AbstractIndexAstChecker> participants = new ArrayList<>();
+		List<Long> times = new ArrayList<>();
+		// Visitors and their checkers by traversal flags.
+		Map<Integer, List<ASTVisitor>> visitors = new LinkedHashMap<>();
+		Map<Integer, List<AbstractIndexAstChecker>> visitorCheckers = new LinkedHashMap<>();
+		List<Throwable> failures = new ArrayList<>();
+		try {
+			for (Iterator<IChecker> iterator = checkers.iterator(); iterator.hasNext();) {
+				IChecker element = iterator.next();
+				if (!(element instanceof AbstractIndexAstChecker))
+					continue;
+				AbstractIndexAstChecker checker = (AbstractIndexAstChecker) element;
+				long start = System.nanoTime();
+				ASTVisitor visitor;
+				try {
+					visitor = checker.startSharedTraversal(resource, context, modelCache, ast, checkScope);
+				} catch (OperationCanceledException e) {
+					throw e;
+				} catch (Throwable e) {
+					iterator.remove();
+					failures.add(e);
+					continue;
+				}
+				if (visitor == null)
+					continue;
+				iterator.remove();
+				participants.add(checker);
+				times.add(System.nanoTime() - start);
+				Integer flags = FusedAstVisitor.getTraversalFlags(visitor);
+				visitors.computeIfAbsent(flags, f -> new ArrayList<>()).add(visitor);
+				visitorCheckers.computeIfAbsent(flags, f -> new ArrayList<>()).add(checker);
+			}
+
+			for (Map.Entry<Integer, List<ASTVisitor>> entry : visitors.entrySet()) {
+				FusedAstVisitor fusedVisitor = new FusedAstVisitor(entry.getValue(), measureTime);
+				ast.accept(fusedVisitor);
+				List<AbstractIndexAstChecker> group = visitorCheckers.get(entry.getKey());
+				for (int i = 0; i < group.size(); i++) {
+					int index = participants.indexOf(group.get(i));
+					times.set(index, times.get(index) + fusedVisitor.getTime(i));
+					if (fusedVisitor.getFailure(i) != null)
+						failures.add(fusedVisitor.getFailure(i));
+				}
+			}
+		} finally {
+			for (AbstractIndexAstChecker checker : participants) {
+				checker.endSharedTraversal();
+			}
+		}
+
+		if (measureTime) {
+			for (int i = 0; i < participants.size(); i++) {
+				CheckersTimeStats.getInstance().checkerTime(participants.get(i).getClass().getName(),
+						(times.get(i) + 500000) / 1000000);
+			}
+		}
+		for (Throwable failure : failures) {
+			CodanCorePlugin.log(failure);
+		}
+	}
+}
@@ -14,7 +14,10 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.cxx.model;
 
-import java.util.WeakHashMap;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Function;
 
 import org.eclipse.cdt.codan.core.cxx.internal.model.CodanCommentMap;
 import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.CxxControlFlowGraph;
@@ -44,14 +47,31 @@ public class CxxModelsCache implements ICodanDisposable {
 	private final ITranslationUnit tu;
 	private IASTTranslationUnit ast;
 	private IIndex index;
-	private final WeakHashMap<IASTFunctionDefinition, IControlFlowGraph> cfgmap;
+	/** Control flow graphs and analysis results by function, the least recently used first. */
+	private final Map<IASTFunctionDefinition, FunctionModels> functionModels;
 	private ICodanCommentMap commentMap;
 	private boolean disposed;
 
+	private static final int MAX_CACHED_FUNCTIONS = 100;
+
+	private static class FunctionModels {
+		final IControlFlowGraph cfg;
+		final Map<Object, Object> analyses = new HashMap<>(4);
+
+		FunctionModels(IControlFlowGraph cfg) {
+			this.cfg = cfg;
+		}
+	}
+
 	CxxModelsCache(ITranslationUnit tu) {
 		this.tu = tu;
 		this.file = tu != null ? (IFile) tu.getResource() : null;
-		cfgmap = new WeakHashMap<>(0);
+		functionModels = new LinkedHashMap<IASTFunctionDefinition, FunctionModels>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<IASTFunctionDefinition, FunctionModels> eldest) {
+				return size() > MAX_CACHED_FUNCTIONS;
+			}
+		};
 	}
 
 	CxxModelsCache(IASTTranslationUnit ast) {
@@ -83,16 +103,42 @@ public class CxxModelsCache implements ICodanDisposable {
 	}
 
 	public synchronized IControlFlowGraph getControlFlowGraph(IASTFunctionDefinition func) {
-		IControlFlowGraph cfg = cfgmap.get(func);
-		if (cfg != null)
-			return cfg;
-		cfg = CxxControlFlowGraph.build(func);
-		// TODO(Alena Laskavaia): Change to LRU.
-		if (cfgmap.size() > 20) { // if too many function better drop the cache
-			cfgmap.clear();
+		return getFunctionModels(func).cfg;
+	}
+
+	/**
+	 * Returns the result of an analysis of the control flow graph of a function, computing it
+	 * if necessary. The results are shared by all checkers processing the file, so that every
+	 * analysis runs at most once per function, e.g.
+	 * <pre>
+	 * DataFlowGraph graph = cache.getFunctionAnalysis(func, DataFlowGraph.class, DataFlowGraph::new);
+	 * </pre>
+	 *
+	 * @param func the function to analyze
+	 * @param key the key identifying the analysis, for example its class
+	 * @param analysis computes the result from the control flow graph of the function
+	 * @return the result of the analysis
+	 * @since 3.5
+	 */
+	@SuppressWarnings("unchecked")
+	public synchronized <T> T getFunctionAnalysis(IASTFunctionDefinition func, Object key,
+			Function<IControlFlowGraph, T> analysis) {
+		FunctionModels models = getFunctionModels(func);
+		Object result = models.analyses.get(key);
+		if (result == null) {
+			result = analysis.apply(models.cfg);
+			models.analyses.put(key, result);
+		}
+		return (T) result;
+	}
+
+	private FunctionModels getFunctionModels(IASTFunctionDefinition func) {
+		FunctionModels models = functionModels.get(func);
+		if (models == null) {
+			models = new FunctionModels(CxxControlFlowGraph.build(func));
+			functionModels.put(func, models);
 		}
-		cfgmap.put(func, cfg);
-		return cfg;
+		return models;
 	}
 
 	public synchronized ICodanCommentMap getCommentedNodeMap() {
@@ -139,6 +185,7 @@ public class CxxModelsCache implements ICodanDisposable {
 	public void dispose() {
 		Assert.isTrue(!disposed, "CxxASTCache.dispose() called more than once."); //$NON-NLS-1$
 		disposed = true;
+		functionModels.clear();
 		if (index != null) {
 			index.releaseReadLock();
 		}
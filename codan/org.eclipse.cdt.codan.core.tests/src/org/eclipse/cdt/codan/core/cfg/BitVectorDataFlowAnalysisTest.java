@@ -0,0 +1,230 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cfg;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.cfg.ControlFlowGraphBuilder;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.ICfgData;
+import org.eclipse.cdt.codan.core.model.cfg.IStartNode;
+import org.eclipse.cdt.codan.core.tests.CodanFastCxxAstTestCase;
+import org.eclipse.cdt.codan.internal.core.cfg.AbstractBasicBlock;
+import org.eclipse.cdt.codan.internal.core.cfg.BitVectorDataFlowAnalysis;
+import org.eclipse.cdt.codan.internal.core.cfg.DataFlowGraph;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTBinaryExpression;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTExpressionStatement;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTIdExpression;
+import org.eclipse.cdt.core.parser.ParserLanguage;
+
+/**
+ * Tests for {@link DataFlowGraph} and {@link BitVectorDataFlowAnalysis}
+ */
+public class BitVectorDataFlowAnalysisTest extends CodanFastCxxAstTestCase {
+	private DataFlowGraph graph;
+
+	/**
+	 * Reaching definitions, the facts are the indices of the nodes assigning a variable.
+	 */
+	private static class ReachingDefinitions extends BitVectorDataFlowAnalysis {
+		private final String[] assigned;
+
+		ReachingDefinitions(DataFlowGraph graph) {
+			super(graph, graph.size(), true, true);
+			assigned = new String[graph.size()];
+			for (int i = 0; i < graph.size(); i++) {
+				assigned[i] = getAssignedVariable(graph.getNode(i));
+			}
+		}
+
+		@Override
+		protected void initialize(int index, IBasicBlock node) {
+			if (assigned[index] == null)
+				return;
+			for (int i = 0; i < assigned.length; i++) {
+				if (assigned[index].equals(assigned[i]))
+					kill(index, i);
+			}
+			gen(index, index);
+		}
+
+		private static String getAssignedVariable(IBasicBlock node) {
+			if (!(node instanceof ICfgData) || !(((ICfgData) node).getData() instanceof IASTExpressionStatement))
+				return null;
+			IASTExpression expression = ((IASTExpressionStatement) ((ICfgData) node).getData()).getExpression();
+			if (!(expression instanceof IASTBinaryExpression))
+				return null;
+			IASTBinaryExpression binary = (IASTBinaryExpression) expression;
+			if (binary.getOperator() != IASTBinaryExpression.op_assign
+					|| !(binary.getOperand1() instanceof IASTIdExpression))
+				return null;
+			return ((IASTIdExpression) binary.getOperand1()).getName().toString();
+		}
+	}
+
+	/**
+	 * Dominators if forward, post-dominators otherwise, the facts are the indices of the nodes.
+	 */
+	private static class Dominators extends BitVectorDataFlowAnalysis {
+		Dominators(DataFlowGraph graph, boolean forward) {
+			super(graph, graph.size(), forward, false);
+		}
+
+		@Override
+		protected void initialize(int index, IBasicBlock node) {
+			gen(index, index);
+		}
+	}
+
+	@Override
+	public IChecker getChecker() {
+		return null;
+	}
+
+	private void buildGraph(String code) {
+		parse(code, ParserLanguage.CPP, true);
+		graph = null;
+		tu.accept(new ASTVisitor() {
+			{
+				shouldVisitDeclarations = true;
+			}
+
+			@Override
+			public int visit(IASTDeclaration decl) {
+				if (decl instanceof IASTFunctionDefinition) {
+					graph = new DataFlowGraph(new ControlFlowGraphBuilder().build((IASTFunctionDefinition) decl));
+					return PROCESS_ABORT;
+				}
+				return PROCESS_CONTINUE;
+			}
+		});
+		assertNotNull(graph);
+	}
+
+	/**
+	 * Returns the index of the node with the given data.
+	 */
+	private int indexOf(String data) {
+		for (int i = 0; i < graph.size(); i++) {
+			IBasicBlock node = graph.getNode(i);
+			if (node instanceof AbstractBasicBlock && data.equals(((AbstractBasicBlock) node).toStringData()))
+				return i;
+		}
+		fail("No node " + data); //$NON-NLS-1$
+		return -1;
+	}
+
+	//	int main(int a) {
+	//		if (a) {
+	//			return 1;
+	//		}
+	//		a++;
+	//		return 2;
+	//		a--;
+	//	}
+	public void testNumbering() {
+		buildGraph(getAboveComment());
+		assertTrue(graph.getNode(0) instanceof IStartNode);
+		assertEquals(0, graph.getPredecessorCount(0));
+		assertTrue(graph.isReachable(indexOf("a++;"))); //$NON-NLS-1$
+		assertFalse(graph.isReachable(indexOf("a--;"))); //$NON-NLS-1$
+		for (int i = 0; i < graph.size(); i++) {
+			assertEquals(i, graph.indexOf(graph.getNode(i)));
+			for (int j = 0; j < graph.getSuccessorCount(i); j++) {
+				int successor = graph.getSuccessor(i, j);
+				boolean found = false;
+				for (int k = 0; k < graph.getPredecessorCount(successor); k++) {
+					found |= graph.getPredecessor(successor, k) == i;
+				}
+				assertTrue(found);
+				// Reverse postorder, edges go forward unless they close a loop.
+				assertTrue(!graph.isReachable(i) || i < successor);
+			}
+		}
+	}
+
+	//	int main(int a) {
+	//		int x;
+	//		x = 0;
+	//		if (a) {
+	//			x = 1;
+	//		}
+	//		return x;
+	//	}
+	public void testReachingDefinitions() {
+		buildGraph(getAboveComment());
+		BitVectorDataFlowAnalysis analysis = new ReachingDefinitions(graph).solve();
+		int x0 = indexOf("x = 0;"); //$NON-NLS-1$
+		int x1 = indexOf("x = 1;"); //$NON-NLS-1$
+		int ret = indexOf("return x;"); //$NON-NLS-1$
+		assertTrue(analysis.isSetOnEntry(ret, x0));
+		assertTrue(analysis.isSetOnEntry(ret, x1));
+		assertTrue(analysis.isSetOnEntry(x1, x0));
+		assertFalse(analysis.isSetOnExit(x1, x0));
+		assertEquals(2, analysis.getEntry(ret).cardinality());
+	}
+
+	//	int main(int a) {
+	//		int x;
+	//		x = 0;
+	//		while (a) {
+	//			x = 1;
+	//			a--;
+	//		}
+	//		return x;
+	//	}
+	public void testReachingDefinitionsInLoop() {
+		buildGraph(getAboveComment());
+		BitVectorDataFlowAnalysis analysis = new ReachingDefinitions(graph).solve();
+		int x0 = indexOf("x = 0;"); //$NON-NLS-1$
+		int x1 = indexOf("x = 1;"); //$NON-NLS-1$
+		int ret = indexOf("return x;"); //$NON-NLS-1$
+		// The second definition reaches itself through the back edge of the loop.
+		assertTrue(analysis.isSetOnEntry(x1, x0));
+		assertTrue(analysis.isSetOnEntry(x1, x1));
+		assertTrue(analysis.isSetOnEntry(ret, x0));
+		assertTrue(analysis.isSetOnEntry(ret, x1));
+	}
+
+	//	int main(int a) {
+	//		int x;
+	//		x = 0;
+	//		if (a) {
+	//			x = 1;
+	//		} else {
+	//			x = 2;
+	//		}
+	//		return x;
+	//	}
+	public void testDominators() {
+		buildGraph(getAboveComment());
+		int x0 = indexOf("x = 0;"); //$NON-NLS-1$
+		int x1 = indexOf("x = 1;"); //$NON-NLS-1$
+		int x2 = indexOf("x = 2;"); //$NON-NLS-1$
+		int ret = indexOf("return x;"); //$NON-NLS-1$
+
+		BitVectorDataFlowAnalysis dominators = new Dominators(graph, true).solve();
+		assertTrue(dominators.isSetOnEntry(ret, 0));
+		assertTrue(dominators.isSetOnEntry(ret, x0));
+		assertFalse(dominators.isSetOnEntry(ret, x1));
+		assertFalse(dominators.isSetOnEntry(ret, x2));
+		assertTrue(dominators.isSetOnExit(ret, ret));
+
+		BitVectorDataFlowAnalysis postDominators = new Dominators(graph, false).solve();
+		assertTrue(postDominators.isSetOnExit(x0, ret));
+		assertFalse(postDominators.isSetOnExit(x0, x1));
+		assertFalse(postDominators.isSetOnExit(x0, x2));
+		assertTrue(postDominators.isSetOnEntry(x1, x1));
+	}
+}
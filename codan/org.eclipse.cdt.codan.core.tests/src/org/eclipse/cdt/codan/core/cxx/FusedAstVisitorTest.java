@@ -0,0 +1,180 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.cxx.internal.model.FusedAstVisitor;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.tests.CodanFastCxxAstTestCase;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
+import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
+import org.eclipse.cdt.core.dom.ast.IASTName;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTStatement;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+
+/**
+ * Tests for {@link FusedAstVisitor}.
+ */
+@SuppressWarnings("restriction")
+public class FusedAstVisitorTest extends CodanFastCxxAstTestCase {
+	/**
+	 * Records the callbacks it receives, skips function bodies of functions with the given name
+	 * and aborts on a name with the given name.
+	 */
+	private static class RecordingVisitor extends ASTVisitor {
+		final List<String> log = new ArrayList<>();
+		private final String skipFunction;
+		private final String abortName;
+
+		RecordingVisitor(boolean visitNodes, String skipFunction, String abortName) {
+			super(visitNodes);
+			this.skipFunction = skipFunction;
+			this.abortName = abortName;
+		}
+
+		private void record(String callback, IASTNode node) {
+			log.add(callback + ' ' + node.getClass().getSimpleName() + ' ' + node.getRawSignature());
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			record("visit", declaration);
+			if (declaration instanceof IASTFunctionDefinition && ((IASTFunctionDefinition) declaration)
+					.getDeclarator().getName().toString().equals(skipFunction)) {
+				return PROCESS_SKIP;
+			}
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int leave(IASTDeclaration declaration) {
+			record("leave", declaration);
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTName name) {
+			record("visit", name);
+			return name.toString().equals(abortName) ? PROCESS_ABORT : PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTStatement statement) {
+			record("visit", statement);
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int leave(IASTStatement statement) {
+			record("leave", statement);
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int visit(IASTExpression expression) {
+			record("visit", expression);
+			return PROCESS_CONTINUE;
+		}
+
+		@Override
+		public int leave(IASTExpression expression) {
+			record("leave", expression);
+			return PROCESS_CONTINUE;
+		}
+	}
+
+	@Override
+	public IChecker getChecker() {
+		return null; // not testing checker
+	}
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	private RecordingVisitor statementVisitor(String skipFunction) {
+		RecordingVisitor visitor = new RecordingVisitor(false, skipFunction, null);
+		visitor.shouldVisitDeclarations = true;
+		visitor.shouldVisitStatements = true;
+		return visitor;
+	}
+
+	private void checkFused(IASTTranslationUnit tu, RecordingVisitor[] visitors, RecordingVisitor[] expected) {
+		for (RecordingVisitor visitor : expected) {
+			tu.accept(visitor);
+		}
+		tu.accept(new FusedAstVisitor(Arrays.asList(visitors), true));
+		for (int i = 0; i < visitors.length; i++) {
+			assertEquals(expected[i].log, visitors[i].log);
+		}
+	}
+
+	// int f(int a) {
+	//   if (a > 0) {
+	//     a++;
+	//   }
+	//   return a;
+	// }
+	// int g(int b) {
+	//   int c = b * 2;
+	//   return f(c) + c;
+	// }
+	// int h() {
+	//   return g(1);
+	// }
+	public void testSkipAndAbort() throws Exception {
+		IASTTranslationUnit tu = parse(getAboveComment());
+		RecordingVisitor[] visitors = { new RecordingVisitor(true, null, null), statementVisitor("f"),
+				new RecordingVisitor(true, "g", "c"), statementVisitor("h"), new RecordingVisitor(true, null, "h") };
+		RecordingVisitor[] expected = { new RecordingVisitor(true, null, null), statementVisitor("f"),
+				new RecordingVisitor(true, "g", "c"), statementVisitor("h"), new RecordingVisitor(true, null, "h") };
+		checkFused(tu, visitors, expected);
+	}
+
+	// void f(int a) {
+	//   a;
+	//   a + 1;
+	// }
+	public void testExpressionStatement() throws Exception {
+		IASTTranslationUnit tu = parse(getAboveComment());
+		RecordingVisitor[] visitors = { statementVisitor(null), new RecordingVisitor(true, null, null) };
+		RecordingVisitor[] expected = { statementVisitor(null), new RecordingVisitor(true, null, null) };
+		checkFused(tu, visitors, expected);
+	}
+
+	// int f() {
+	//   return 1;
+	// }
+	public void testFailure() throws Exception {
+		IASTTranslationUnit tu = parse(getAboveComment());
+		RecordingVisitor failing = new RecordingVisitor(true, null, null) {
+			@Override
+			public int visit(IASTStatement statement) {
+				throw new IllegalStateException();
+			}
+		};
+		RecordingVisitor visitor = new RecordingVisitor(true, null, null);
+		RecordingVisitor expected = new RecordingVisitor(true, null, null);
+		tu.accept(expected);
+		FusedAstVisitor fused = new FusedAstVisitor(Arrays.asList(failing, visitor), false);
+		tu.accept(fused);
+		assertTrue(fused.getFailure(0) instanceof IllegalStateException);
+		assertNull(fused.getFailure(1));
+		assertEquals(expected.log, visitor.log);
+	}
+}
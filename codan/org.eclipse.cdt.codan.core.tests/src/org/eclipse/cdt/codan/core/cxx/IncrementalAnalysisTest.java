@@ -0,0 +1,119 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx;
+
+import java.util.Collections;
+import java.util.Set;
+
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.codan.core.tests.CheckerTestCase;
+import org.eclipse.cdt.codan.internal.checkers.GotoStatementChecker;
+import org.eclipse.cdt.codan.internal.core.IncrementalAnalysis;
+import org.eclipse.cdt.core.testplugin.TestScannerProvider;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.NullProgressMonitor;
+
+/**
+ * Tests for {@link IncrementalAnalysis} with the index based dependency provider.
+ */
+@SuppressWarnings("nls")
+public class IncrementalAnalysisTest extends CheckerTestCase {
+	private static final String ERR_ID = GotoStatementChecker.ERR_ID;
+
+	@Override
+	public void setUp() throws Exception {
+		super.setUp();
+		enableProblems(ERR_ID);
+	}
+
+	@Override
+	public boolean isCpp() {
+		return true;
+	}
+
+	//void foo() {
+	//  goto label;
+	//label:
+	//  return;
+	//}
+	public void testUpToDateFileIsSkipped() throws Exception {
+		loadcode(getAboveComment());
+		runOnProject();
+		checkErrorLine(2, ERR_ID);
+		// Markers removed behind the back of Codan are not restored as long as the file is up to date.
+		currentIFile.deleteMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true, IResource.DEPTH_ZERO);
+		runCodan();
+		checkNoErrors();
+		IncrementalAnalysis.getInstance().invalidate(cproject.getProject());
+		runCodan();
+		checkErrorLine(2, ERR_ID);
+	}
+
+	//void foo() {
+	//  goto label;
+	//label:
+	//  return;
+	//}
+	public void testInvalidateAll() throws Exception {
+		loadcode(getAboveComment());
+		runOnProject();
+		String fingerprint = getFingerprint();
+		IncrementalAnalysis.getInstance().invalidateAll();
+		assertFalse(fingerprint.equals(getFingerprint()));
+		currentIFile.deleteMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true, IResource.DEPTH_ZERO);
+		runCodan();
+		checkErrorLine(2, ERR_ID);
+	}
+
+	// @file:test.h
+	// void foo();
+
+	// @file:test.cpp
+	// #include "test.h"
+	// void foo() {
+	// }
+	public void testIncluderDependsOnHeader() throws Exception {
+		CharSequence[] code = getContents(2);
+		loadcode(code[0].toString());
+		IFile header = currentIFile;
+		loadcode(code[1].toString());
+		indexFiles();
+		Set<IFile> dependents = IncrementalAnalysis.getInstance()
+				.getDependentFiles(Collections.singleton(header));
+		assertEquals(Collections.singleton(currentIFile), dependents);
+	}
+
+	private String getFingerprint() {
+		return IncrementalAnalysis.getInstance().getFingerprint(currentIFile, CheckerLaunchMode.RUN_ON_FULL_BUILD);
+	}
+
+	//void foo() {
+	//}
+	public void testBuildConfigurationChangesFingerprint() throws Exception {
+		loadcode(getAboveComment());
+		indexFiles();
+		String fingerprint = getFingerprint();
+		assertNotNull(fingerprint);
+
+		TestScannerProvider.sDefinedSymbols.put("FLAG", "1");
+		try {
+			assertFalse(fingerprint.equals(getFingerprint()));
+		} finally {
+			TestScannerProvider.sDefinedSymbols.remove("FLAG");
+		}
+		assertEquals(fingerprint, getFingerprint());
+
+		currentIFile.setCharset("UTF-16", new NullProgressMonitor());
+		assertFalse(fingerprint.equals(getFingerprint()));
+	}
+}
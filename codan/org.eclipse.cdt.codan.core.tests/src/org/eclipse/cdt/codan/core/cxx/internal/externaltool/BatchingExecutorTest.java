@@ -0,0 +1,103 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for <code>{@link BatchingExecutor}</code>.
+ */
+@SuppressWarnings("nls")
+public class BatchingExecutorTest extends TestCase {
+	private static final long TIMEOUT = 10000;
+
+	private final List<List<Integer>> batches = Collections.synchronizedList(new ArrayList<>());
+
+	public void testItemsAccumulateWhileBusy() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		BatchingExecutor<Integer> executor = new BatchingExecutor<>("Test", 3, 1, item -> null, batch -> {
+			batches.add(batch);
+			started.countDown();
+			await(release);
+		});
+		// The first item is processed right away, the others wait for the only thread.
+		executor.submit(0);
+		await(started);
+		for (int i = 1; i < 7; i++) {
+			executor.submit(i);
+		}
+		release.countDown();
+		assertTrue(executor.waitUntilIdle(TIMEOUT));
+		assertEquals(3, batches.size());
+		assertEquals(Collections.singletonList(0), batches.get(0));
+		assertEquals(Arrays.asList(1, 2, 3), batches.get(1));
+		assertEquals(Arrays.asList(4, 5, 6), batches.get(2));
+	}
+
+	public void testOnlyItemsWithEqualKeysAreBatched() throws Exception {
+		CountDownLatch started = new CountDownLatch(1);
+		CountDownLatch release = new CountDownLatch(1);
+		BatchingExecutor<Integer> executor = new BatchingExecutor<>("Test", 10, 1, item -> item % 2, batch -> {
+			batches.add(batch);
+			started.countDown();
+			await(release);
+		});
+		executor.submit(0);
+		await(started);
+		for (int i = 1; i < 6; i++) {
+			executor.submit(i);
+		}
+		release.countDown();
+		assertTrue(executor.waitUntilIdle(TIMEOUT));
+		assertEquals(3, batches.size());
+		assertEquals(Collections.singletonList(0), batches.get(0));
+		assertEquals(Arrays.asList(1, 3, 5), batches.get(1));
+		assertEquals(Arrays.asList(2, 4), batches.get(2));
+	}
+
+	public void testConcurrencyIsBounded() throws Exception {
+		AtomicInteger running = new AtomicInteger();
+		AtomicInteger maxRunning = new AtomicInteger();
+		BatchingExecutor<Integer> executor = new BatchingExecutor<>("Test", 1, 3, item -> null, batch -> {
+			maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+			try {
+				Thread.sleep(20);
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+			running.decrementAndGet();
+			batches.add(batch);
+		});
+		for (int i = 0; i < 20; i++) {
+			executor.submit(i);
+		}
+		assertTrue(executor.waitUntilIdle(TIMEOUT));
+		assertEquals(20, batches.size());
+		assertTrue(maxRunning.get() <= 3);
+	}
+
+	private static void await(CountDownLatch latch) {
+		try {
+			assertTrue(latch.await(TIMEOUT, TimeUnit.MILLISECONDS));
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+}
@@ -0,0 +1,57 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
+
+import static org.junit.Assert.assertArrayEquals;
+
+import java.util.Arrays;
+
+import org.eclipse.cdt.codan.core.cxx.externaltool.ArgsSeparator;
+import org.eclipse.cdt.codan.core.cxx.externaltool.ConfigurationSettings;
+import org.eclipse.cdt.codan.core.cxx.externaltool.InvocationParameters;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for <code>{@link CommandBuilder}</code>.
+ */
+@SuppressWarnings("nls")
+public class CommandBuilderTest extends TestCase {
+	private final CommandBuilder builder = new CommandBuilder();
+	private final ConfigurationSettings settings = FakeTool.settings("--enable=all 'two words'");
+
+	private static InvocationParameters parameters(String path) {
+		return new InvocationParameters(null, FakeTool.file(path, ""), path, new Path("/src"));
+	}
+
+	public void testSingleFile() {
+		Command command = builder.buildCommand(parameters("/src/a.cpp"), settings, new ArgsSeparator());
+		assertEquals(new Path(FakeTool.PATH.toString()), command.getPath());
+		assertArrayEquals(new String[] { "/src/a.cpp", "--enable=all", "two words" }, command.getArgs());
+	}
+
+	public void testFilesArePassedInOrderBeforeArguments() {
+		Command command = builder.buildCommand(
+				Arrays.asList(parameters("/src/b.cpp"), parameters("/src/a.cpp"), parameters("/src/c.cpp")),
+				settings, new ArgsSeparator());
+		assertEquals(new Path(FakeTool.PATH.toString()), command.getPath());
+		assertArrayEquals(new String[] { "/src/b.cpp", "/src/a.cpp", "/src/c.cpp", "--enable=all", "two words" },
+				command.getArgs());
+	}
+
+	public void testFilesWithoutArguments() {
+		ConfigurationSettings noArgs = FakeTool.settings("");
+		Command command = builder.buildCommand(Arrays.asList(parameters("/src/a.cpp"), parameters("/src/b.cpp")),
+				noArgs, new ArgsSeparator());
+		assertArrayEquals(new String[] { "/src/a.cpp", "/src/b.cpp" }, command.getArgs());
+	}
+}
@@ -0,0 +1,76 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.core.IMarkerGenerator;
+import org.eclipse.cdt.core.ProblemMarkerInfo;
+import org.eclipse.core.resources.IResource;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for <code>{@link ExternalToolBatch}</code>.
+ */
+@SuppressWarnings("nls")
+public class ExternalToolBatchTest extends TestCase {
+	private final IResource a = FakeTool.file("/p/a.cpp", "");
+	private final IResource b = FakeTool.file("/p/b.cpp", "");
+	private final IResource c = FakeTool.file("/p/c.cpp", "");
+	private final IResource header = FakeTool.file("/p/a.h", "");
+
+	private static ProblemMarkerInfo problem(IResource file, int line) {
+		return new ProblemMarkerInfo(file, line, file + ":" + line, IMarkerGenerator.SEVERITY_WARNING, null);
+	}
+
+	/**
+	 * Reports the problems the way the parsers of the output of a tool checking the batch do.
+	 */
+	private static void runFakeTool(ExternalToolBatch batch, ProblemMarkerInfo... output) {
+		for (ProblemMarkerInfo info : output) {
+			batch.addMarker(info);
+		}
+	}
+
+	public void testProblemsAreSplitByFile() {
+		ExternalToolBatch batch = new ExternalToolBatch(Arrays.asList(a, b, c));
+		ProblemMarkerInfo a1 = problem(a, 1);
+		ProblemMarkerInfo b2 = problem(b, 2);
+		ProblemMarkerInfo a3 = problem(a, 3);
+		runFakeTool(batch, a1, b2, a3);
+		assertEquals(Arrays.asList(a1, a3), batch.getProblems(a));
+		assertEquals(Collections.singletonList(b2), batch.getProblems(b));
+		assertEquals(Collections.emptyList(), batch.getProblems(c));
+		assertFalse(batch.hasProblemsInOtherFiles());
+	}
+
+	public void testProblemsInOtherFilesGoWithFirstFile() {
+		ExternalToolBatch batch = new ExternalToolBatch(Arrays.asList(b, a));
+		ProblemMarkerInfo a1 = problem(a, 1);
+		ProblemMarkerInfo h2 = problem(header, 2);
+		ProblemMarkerInfo b3 = problem(b, 3);
+		runFakeTool(batch, a1, h2, b3);
+		List<ProblemMarkerInfo> first = batch.getProblems(b);
+		assertEquals(Arrays.asList(h2, b3), first);
+		assertEquals(Collections.singletonList(a1), batch.getProblems(a));
+		assertTrue(batch.hasProblemsInOtherFiles());
+	}
+
+	public void testNoProblems() {
+		ExternalToolBatch batch = new ExternalToolBatch(Collections.singletonList(a));
+		runFakeTool(batch);
+		assertEquals(Collections.emptyList(), batch.getProblems(a));
+		assertFalse(batch.hasProblemsInOtherFiles());
+	}
+}
@@ -0,0 +1,79 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
+
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.cdt.codan.core.cxx.externaltool.InvocationParameters;
+import org.eclipse.cdt.core.IMarkerGenerator;
+import org.eclipse.cdt.core.ProblemMarkerInfo;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.TestCase;
+
+/**
+ * Tests for <code>{@link ExternalToolResultCache}</code>.
+ */
+@SuppressWarnings("nls")
+public class ExternalToolResultCacheTest extends TestCase {
+	private static final String[] PARSERS = { "org.example.FakeToolParser" };
+
+	private static InvocationParameters parameters(IResource file) {
+		return new InvocationParameters(file, file, "/src/a.cpp", new Path("/src"));
+	}
+
+	private static List<ProblemMarkerInfo> problems(IResource file, String description) {
+		return Collections.singletonList(
+				new ProblemMarkerInfo(file, 1, description, IMarkerGenerator.SEVERITY_WARNING, null));
+	}
+
+	public void testKeyDependsOnContentsAndInvocation() {
+		String key = ExternalToolResultCache.getKey(parameters(FakeTool.file("/p/a.cpp", "int a;")),
+				FakeTool.settings("-q"), PARSERS);
+		assertNotNull(key);
+		assertEquals(40, key.length());
+		// The same contents and invocation.
+		assertEquals(key, ExternalToolResultCache.getKey(parameters(FakeTool.file("/p/a.cpp", "int a;")),
+				FakeTool.settings("-q"), PARSERS));
+
+		assertFalse(key.equals(ExternalToolResultCache.getKey(parameters(FakeTool.file("/p/a.cpp", "int b;")),
+				FakeTool.settings("-q"), PARSERS)));
+		assertFalse(key.equals(ExternalToolResultCache.getKey(parameters(FakeTool.file("/p/b.cpp", "int a;")),
+				FakeTool.settings("-q"), PARSERS)));
+		assertFalse(key.equals(ExternalToolResultCache.getKey(parameters(FakeTool.file("/p/a.cpp", "int a;")),
+				FakeTool.settings("-q --std=c++11"), PARSERS)));
+		assertFalse(key.equals(ExternalToolResultCache.getKey(parameters(FakeTool.file("/p/a.cpp", "int a;")),
+				FakeTool.settings("-q"), new String[] { "org.example.OtherParser" })));
+	}
+
+	public void testNoKeyForFolder() {
+		assertNull(ExternalToolResultCache.getKey(parameters(FakeTool.folder("/p/src")), FakeTool.settings("-q"),
+				PARSERS));
+	}
+
+	public void testLeastRecentlyUsedResultsAreEvicted() {
+		IResource file = FakeTool.file("/p/a.cpp", "");
+		ExternalToolResultCache cache = new ExternalToolResultCache(2);
+		List<ProblemMarkerInfo> a = problems(file, "a");
+		List<ProblemMarkerInfo> b = problems(file, "b");
+		List<ProblemMarkerInfo> c = problems(file, "c");
+		cache.put("a", a);
+		cache.put("b", b);
+		// Using "a" makes "b" the least recently used entry.
+		assertSame(a, cache.get("a"));
+		cache.put("c", c);
+		assertSame(a, cache.get("a"));
+		assertNull(cache.get("b"));
+		assertSame(c, cache.get("c"));
+	}
+}
@@ -0,0 +1,88 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.cxx.internal.externaltool;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.lang.reflect.Proxy;
+import java.nio.charset.StandardCharsets;
+
+import org.eclipse.cdt.codan.core.cxx.externaltool.ConfigurationSettings;
+import org.eclipse.cdt.codan.core.cxx.externaltool.SingleConfigurationSetting;
+import org.eclipse.cdt.codan.core.param.IProblemPreference;
+import org.eclipse.cdt.codan.core.param.MapProblemPreference;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IFolder;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.Path;
+
+/**
+ * Creates the settings of an external tool that is never run, and resources outside of
+ * the workspace supporting only the methods used by the code invoking the tool.
+ */
+@SuppressWarnings("nls")
+class FakeTool {
+	static final File PATH = new File("/opt/fake/bin/fake-tool");
+	static final String NAME = "FakeTool";
+
+	/**
+	 * Creates the settings of the tool with the given arguments, as they are read from
+	 * the preferences of a checker.
+	 */
+	static ConfigurationSettings settings(String args) {
+		ConfigurationSettings settings = new ConfigurationSettings(NAME, PATH, args);
+		MapProblemPreference preferences = new MapProblemPreference();
+		for (SingleConfigurationSetting<?> setting : new SingleConfigurationSetting<?>[] { settings.getPath(),
+				settings.getArgs() }) {
+			IProblemPreference preference = (IProblemPreference) setting.getDescriptor();
+			preference.setValue(setting.getDefaultValue());
+			preferences.addChildDescriptor(preference);
+		}
+		settings.updateValuesFrom(preferences);
+		return settings;
+	}
+
+	/**
+	 * Creates a file with the given path and contents.
+	 */
+	static IFile file(String path, String contents) {
+		return create(IFile.class, path, contents);
+	}
+
+	/**
+	 * Creates a folder with the given path.
+	 */
+	static IFolder folder(String path) {
+		return create(IFolder.class, path, null);
+	}
+
+	private static <T extends IResource> T create(Class<T> type, String path, String contents) {
+		return type.cast(Proxy.newProxyInstance(FakeTool.class.getClassLoader(), new Class<?>[] { type },
+				(proxy, method, args) -> {
+					switch (method.getName()) {
+					case "getContents":
+						return new ByteArrayInputStream(contents.getBytes(StandardCharsets.UTF_8));
+					case "getFullPath":
+						return new Path(path);
+					case "getProject":
+						return null;
+					case "equals":
+						return proxy == args[0];
+					case "hashCode":
+						return System.identityHashCode(proxy);
+					case "toString":
+						return path;
+					default:
+						throw new UnsupportedOperationException(method.getName());
+					}
+				}));
+	}
+}
@@ -623,4 +623,67 @@ public class ReturnCheckerTest extends CheckerTestCase {
 	public void testReturnLambda_Bug546173() throws Exception {
 		checkSampleAboveCpp();
 	}
+
+	//	int foo(int x) {
+	//		do {
+	//			return 1;
+	//			x--;
+	//		} while (x);
+	//	}
+	//	int bar(int x) { // error
+	//		do {
+	//			if (x)
+	//				return 1;
+	//			x--;
+	//		} while (x);
+	//	}
+	public void testDeadCodeAfterReturnInLoop() throws Exception {
+		checkSampleAboveCpp();
+	}
+
+	//	int foo(int x) {
+	//		if (x)
+	//			return 1;
+	//		else
+	//			return 0;
+	//		x++;
+	//	}
+	public void testDeadCodeAfterIfElseJoin() throws Exception {
+		checkSampleAboveCpp();
+	}
+
+	//	int foo(int x) {
+	//	loop:
+	//		if (x--)
+	//			return x;
+	//		goto loop;
+	//		x++;
+	//	}
+	public void testDeadCodeAfterGoto() throws Exception {
+		checkSampleAboveCpp();
+	}
+
+	//	int foo(int x) {
+	//		switch (x) {
+	//		case 0:
+	//			x++;
+	//		case 1:
+	//			return x;
+	//		default:
+	//			return 0;
+	//		}
+	//	}
+	//	int bar(int x) { // error
+	//		switch (x) {
+	//		case 0:
+	//			return 0;
+	//		case 1:
+	//			x++;
+	//		default:
+	//			x--;
+	//		}
+	//	}
+	public void testSwitchFallThrough() throws Exception {
+		checkSampleAboveCpp();
+	}
 }
@@ -122,6 +122,32 @@ public class StatementHasNoEffectCheckerTest extends CheckerTestCase {
 		checkErrorLine(f2, 4);
 	}
 
+	public void testManyFilesInParallel() throws Exception {
+		String parallelism = System.getProperty("codan.parallelism");
+		System.setProperty("codan.parallelism", "4");
+		try {
+			File[] files = new File[12];
+			for (int i = 0; i < files.length; i++) {
+				StringBuilder code = new StringBuilder("void foo" + i + "() {\n");
+				for (int j = 0; j < i; j++) {
+					code.append("\n");
+				}
+				code.append("int a;\n+a;\n}\n");
+				files[i] = loadcode(code.toString());
+			}
+			runOnProject();
+			for (int i = 0; i < files.length; i++) {
+				checkErrorLine(files[i], i + 3);
+			}
+		} finally {
+			if (parallelism == null) {
+				System.clearProperty("codan.parallelism");
+			} else {
+				System.setProperty("codan.parallelism", parallelism);
+			}
+		}
+	}
+
 	// int main() {
 	// 	for (a=b;a;a=a->next);
 	// }
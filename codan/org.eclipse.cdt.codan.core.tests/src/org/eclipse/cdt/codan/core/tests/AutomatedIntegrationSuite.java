@@ -14,6 +14,7 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.tests;
 
+import org.eclipse.cdt.codan.core.cxx.IncrementalAnalysisTest;
 import org.eclipse.cdt.codan.core.internal.checkers.AbstractClassInstantiationCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.AssignmentInConditionCheckerTest;
 import org.eclipse.cdt.codan.core.internal.checkers.AssignmentOperatorCheckerTest;
@@ -111,6 +112,7 @@ public class AutomatedIntegrationSuite extends TestSuite {
 		suite.addTestSuite(MagicNumberCheckerTest.class);
 		// framework
 		suite.addTest(CodanFastTestSuite.suite());
+		suite.addTestSuite(IncrementalAnalysisTest.class);
 		// quick fixes
 		suite.addTestSuite(CreateLocalVariableQuickFixTest.class);
 		suite.addTestSuite(SuggestedParenthesisQuickFixTest.class);
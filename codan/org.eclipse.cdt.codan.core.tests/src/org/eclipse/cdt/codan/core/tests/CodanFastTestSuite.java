@@ -14,8 +14,14 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.core.tests;
 
+import org.eclipse.cdt.codan.core.cfg.BitVectorDataFlowAnalysisTest;
 import org.eclipse.cdt.codan.core.cfg.ControlFlowGraphTest;
 import org.eclipse.cdt.codan.core.cxx.CxxAstUtilsTest;
+import org.eclipse.cdt.codan.core.cxx.FusedAstVisitorTest;
+import org.eclipse.cdt.codan.core.cxx.internal.externaltool.BatchingExecutorTest;
+import org.eclipse.cdt.codan.core.cxx.internal.externaltool.CommandBuilderTest;
+import org.eclipse.cdt.codan.core.cxx.internal.externaltool.ExternalToolBatchTest;
+import org.eclipse.cdt.codan.core.cxx.internal.externaltool.ExternalToolResultCacheTest;
 import org.eclipse.cdt.codan.core.param.BasicProblemPreferenceTest;
 import org.eclipse.cdt.codan.core.param.ListProblemPreferenceTest;
 import org.eclipse.cdt.codan.core.param.MapProblemPreferenceTest;
@@ -47,6 +53,12 @@ public class CodanFastTestSuite extends TestSuite {
 		suite.addTestSuite(MapProblemPreferenceTest.class);
 		suite.addTestSuite(CxxAstUtilsTest.class);
 		suite.addTestSuite(ControlFlowGraphTest.class);
+		suite.addTestSuite(BitVectorDataFlowAnalysisTest.class);
+		suite.addTestSuite(FusedAstVisitorTest.class);
+		suite.addTestSuite(BatchingExecutorTest.class);
+		suite.addTestSuite(CommandBuilderTest.class);
+		suite.addTestSuite(ExternalToolResultCacheTest.class);
+		suite.addTestSuite(ExternalToolBatchTest.class);
 		return suite;
 	}
 }
@@ -0,0 +1,46 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.model;
+
+import java.util.List;
+
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.OperationCanceledException;
+
+/**
+ * Processes a resource with several checkers at once, for example in a single
+ * traversal of a model shared by the checkers. Checkers join a group by implementing
+ * {@link IGroupedChecker}.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class or interface has been added as part
+ * of a work in progress. There is no guarantee that this API will work or that
+ * it will remain the same.
+ * </p>
+ *
+ * @since 4.1
+ */
+public interface ICheckerGroup {
+	/**
+	 * Processes a resource with the given checkers of the group. {@link IChecker#before(IResource)}
+	 * has been called for each of the checkers, {@link IChecker#after(IResource)} is called
+	 * once this method returns.
+	 *
+	 * @param resource the resource to process.
+	 * @param model the model of the resource such as AST when running as you type, or
+	 * 		<code>null</code> otherwise.
+	 * @param checkers the enabled checkers of the group.
+	 * @param context container object for sharing data between different checkers
+	 * 		operating on the resource.
+	 * @throws OperationCanceledException if the processing was interrupted.
+	 */
+	void process(IResource resource, Object model, List<IChecker> checkers, ICheckerInvocationContext context)
+			throws OperationCanceledException;
+}
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.model;
+
+/**
+ * Tracks the problems a checker reports in a file after it has finished processing the file,
+ * for example from a background thread. The file is not considered up to date before all
+ * deferred problems have been reported. If present, an instance is available from
+ * {@link ICheckerInvocationContext#get(Class)}.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class or interface has been added as part
+ * of a work in progress. There is no guarantee that this API will work or that
+ * it will remain the same.
+ * </p>
+ *
+ * @noimplement This interface is not intended to be implemented by clients.
+ * @since 4.1
+ */
+public interface IDeferredProblems {
+	/**
+	 * Announces problems to be reported later, to be followed by a matching call of
+	 * {@link #complete(boolean)}. Called while processing the file.
+	 */
+	void defer();
+
+	/**
+	 * Reports that the problems announced by {@link #defer()} have been reported.
+	 *
+	 * @param success - <code>false</code> if the file could not be checked
+	 */
+	void complete(boolean success);
+}
@@ -0,0 +1,34 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.core.model;
+
+/**
+ * Interface for checkers that process resources together with other checkers of
+ * the same {@link ICheckerGroup}. Instead of {@link IChecker#processResource} and
+ * {@link IRunnableInEditorChecker#processModel}, the group is invoked once for all
+ * enabled checkers belonging to it. Only checkers declaring <code>multipleInstances="true"</code>
+ * in the <code>checkers</code> extension point are processed by their group, the others keep
+ * processing resources on their own and have to support that as well.
+ * <p>
+ * <strong>EXPERIMENTAL</strong>. This class or interface has been added as part
+ * of a work in progress. There is no guarantee that this API will work or that
+ * it will remain the same.
+ * </p>
+ *
+ * @since 4.1
+ */
+public interface IGroupedChecker extends IChecker {
+	/**
+	 * @return the group processing resources for this checker, or <code>null</code>
+	 * 		if the checker processes resources on its own.
+	 */
+	ICheckerGroup getCheckerGroup();
+}
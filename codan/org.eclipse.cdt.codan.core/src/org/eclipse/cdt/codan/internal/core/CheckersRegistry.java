@@ -16,10 +16,12 @@ package org.eclipse.cdt.codan.internal.core;
 
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.cdt.codan.core.CodanCorePlugin;
 import org.eclipse.cdt.codan.core.PreferenceConstants;
@@ -57,6 +59,7 @@ public class CheckersRegistry implements ICheckersRegistry {
 	private static final String NAME_ATTR = "name"; //$NON-NLS-1$
 	private static final String ID_ATTR = "id"; //$NON-NLS-1$
 	private static final String CLASS_ATTR = "class"; //$NON-NLS-1$
+	private static final String MULTIPLE_INSTANCES_ATTR = "multipleInstances"; //$NON-NLS-1$
 	private static final String CHECKERS_EXTENSION_POINT_NAME = "checkers"; //$NON-NLS-1$
 	private static final String CHECKER_ENABLEMENT_EXTENSION_POINT_NAME = "checkerEnablement"; //$NON-NLS-1$
 	private static final String CHECKER_ELEMENT = "checker"; //$NON-NLS-1$
@@ -71,6 +74,11 @@ public class CheckersRegistry implements ICheckersRegistry {
 	private final Map<IChecker, Collection<IProblem>> problemList = new HashMap<>();
 	private final Map<String, IChecker> problemCheckerMapping = new HashMap<>();
 	private final List<ICheckerEnablementVerifier> checkerEnablementVerifiers = new ArrayList<>();
+	// Configuration elements of the checkers that allow multiple instances.
+	private final Map<IChecker, IConfigurationElement> checkerElements = new HashMap<>();
+	private final Map<IChecker, List<IChecker>> checkerInstances = new HashMap<>();
+	// Maps additional checker instances to the registered checkers.
+	private final Map<IChecker, IChecker> registeredCheckers = new ConcurrentHashMap<>();
 
 	private CheckersRegistry() {
 		instance = this;
@@ -153,6 +161,8 @@ public class CheckersRegistry implements ICheckersRegistry {
 					Object checker = configurationElement.createExecutableExtension(CLASS_ATTR);
 					checkerObj = (IChecker) checker;
 					addChecker(checkerObj);
+					if (Boolean.parseBoolean(getAtt(configurationElement, MULTIPLE_INSTANCES_ATTR, false)))
+						checkerElements.put(checkerObj, configurationElement);
 				} catch (CoreException e) {
 					CodanCorePlugin.log(e);
 					return;
@@ -324,7 +334,53 @@ public class CheckersRegistry implements ICheckersRegistry {
 	 */
 	@Override
 	public Collection<IProblem> getRefProblems(IChecker checker) {
-		return problemList.get(checker);
+		IChecker registeredChecker = registeredCheckers.get(checker);
+		return problemList.get(registeredChecker != null ? registeredChecker : checker);
+	}
+
+	/**
+	 * Returns whether additional instances of the given registered checker may be created, see
+	 * {@link #getCheckerInstances(IChecker, int)}.
+	 *
+	 * @param checker - a registered checker
+	 * @return <code>true</code> if the checker declares <code>multipleInstances="true"</code>
+	 */
+	public synchronized boolean allowsMultipleInstances(IChecker checker) {
+		return checkerElements.containsKey(checker);
+	}
+
+	/**
+	 * Returns instances of a checker for use by the given number of threads. The first instance is
+	 * the given checker itself. Additional instances are only created for checkers declaring
+	 * <code>multipleInstances="true"</code>, they share problems and preferences with the given
+	 * checker. If fewer instances than requested are returned, threads have to share them.
+	 *
+	 * @param checker - a registered checker
+	 * @param count - the number of threads
+	 * @return list of at least one and at most <code>count</code> instances
+	 */
+	public synchronized List<IChecker> getCheckerInstances(IChecker checker, int count) {
+		IConfigurationElement element = checkerElements.get(checker);
+		if (element == null || count <= 1)
+			return Collections.singletonList(checker);
+		List<IChecker> instances = checkerInstances.get(checker);
+		if (instances == null) {
+			instances = new ArrayList<>();
+			instances.add(checker);
+			checkerInstances.put(checker, instances);
+		}
+		while (instances.size() < count) {
+			try {
+				IChecker instance = (IChecker) element.createExecutableExtension(CLASS_ATTR);
+				registeredCheckers.put(instance, checker);
+				instances.add(instance);
+			} catch (CoreException e) {
+				CodanCorePlugin.log(e);
+				checkerElements.remove(checker);
+				break;
+			}
+		}
+		return new ArrayList<>(instances.subList(0, Math.min(count, instances.size())));
 	}
 
 	@Override
@@ -333,7 +389,7 @@ public class CheckersRegistry implements ICheckersRegistry {
 	}
 
 	@Override
-	public IProblemProfile getWorkspaceProfile() {
+	public synchronized IProblemProfile getWorkspaceProfile() {
 		IProblemProfile wp = profiles.get(ResourcesPlugin.getWorkspace());
 		if (wp == null) {
 			wp = (IProblemProfile) getDefaultProfile().clone();
@@ -350,7 +406,7 @@ public class CheckersRegistry implements ICheckersRegistry {
 	}
 
 	@Override
-	public void updateProfile(IResource element, IProblemProfile profile) {
+	public synchronized void updateProfile(IResource element, IProblemProfile profile) {
 		// Updating profile can invalidate all cached profiles
 		IProblemProfile defaultProfile = getDefaultProfile();
 		profiles.clear();
@@ -360,7 +416,7 @@ public class CheckersRegistry implements ICheckersRegistry {
 	}
 
 	@Override
-	public IProblemProfile getResourceProfile(IResource element) {
+	public synchronized IProblemProfile getResourceProfile(IResource element) {
 		IProblemProfile prof = profiles.get(element);
 		if (prof == null) {
 			if (element instanceof IProject) {
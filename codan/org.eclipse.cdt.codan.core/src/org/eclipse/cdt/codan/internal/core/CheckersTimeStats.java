@@ -35,17 +35,25 @@ public class CheckersTimeStats {
 
 	private static class TimeRecord {
 		private long duration;
-		private long current;
+		// Start times by thread, checkers may run concurrently on different files.
+		private final Map<Thread, Long> current = new HashMap<>(2);
 		private int count;
 
 		public void start() {
-			current = System.currentTimeMillis();
+			current.put(Thread.currentThread(), System.currentTimeMillis());
 		}
 
 		public void stop() {
+			Long start = current.remove(Thread.currentThread());
+			if (start != null) {
+				count++;
+				duration += System.currentTimeMillis() - start;
+			}
+		}
+
+		public void add(long time) {
 			count++;
-			duration += System.currentTimeMillis() - current;
-			current = 0;
+			duration += time;
 		}
 
 		@Override
@@ -90,7 +98,7 @@ public class CheckersTimeStats {
 	 * @param id
 	 * @param counter
 	 */
-	public void checkerStart(String id, String counter) {
+	public synchronized void checkerStart(String id, String counter) {
 		if (enableStats) {
 			TimeRecord record = getTimeRecord(getKey(id, counter));
 			record.start();
@@ -105,7 +113,7 @@ public class CheckersTimeStats {
 	 * @param id
 	 * @param counter
 	 */
-	public void checkerStop(String id, String counter) {
+	public synchronized void checkerStop(String id, String counter) {
 		if (enableStats) {
 			getTimeRecord(getKey(id, counter)).stop();
 		}
@@ -118,6 +126,19 @@ public class CheckersTimeStats {
 		checkerStop(id, ELAPSED);
 	}
 
+	/**
+	 * Adds time measured by the caller for checker with given id, used when
+	 * several checkers share a single run.
+	 *
+	 * @param id - checker id
+	 * @param duration - elapsed time in milliseconds
+	 */
+	public synchronized void checkerTime(String id, long duration) {
+		if (enableStats) {
+			getTimeRecord(getKey(id, ELAPSED)).add(duration);
+		}
+	}
+
 	/**
 	 * Print checker stats to stdout if tracing enabled
 	 */
@@ -130,7 +151,7 @@ public class CheckersTimeStats {
 	/**
 	 *
 	 */
-	public void printStats() {
+	public synchronized void printStats() {
 		System.out.println("---"); //$NON-NLS-1$
 		String totalId = getKey(ALL, ELAPSED);
 		TimeRecord all = records.get(totalId);
@@ -147,7 +168,7 @@ public class CheckersTimeStats {
 	/**
 	 *
 	 */
-	public void reset() {
+	public synchronized void reset() {
 		records.clear();
 	}
 
@@ -14,10 +14,13 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core;
 
+import java.util.LinkedHashSet;
 import java.util.Map;
+import java.util.Set;
 
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.ICodanBuilder;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IResourceDelta;
@@ -44,6 +47,10 @@ public class CodanBuilder extends IncrementalProjectBuilder implements ICodanBui
 
 	private class CodanDeltaVisitor implements IResourceDeltaVisitor {
 		private IProgressMonitor monitor;
+		/** Added and changed files, to be analyzed after visiting the delta */
+		private final Set<IFile> files = new LinkedHashSet<>();
+		/** Files with added, changed or removed contents, their dependents have to be analyzed too */
+		private final Set<IFile> changedFiles = new LinkedHashSet<>();
 
 		public CodanDeltaVisitor(IProgressMonitor monitor) {
 			this.monitor = monitor;
@@ -55,14 +62,29 @@ public class CodanBuilder extends IncrementalProjectBuilder implements ICodanBui
 			switch (delta.getKind()) {
 			case IResourceDelta.ADDED:
 				// Handle added resource
-				processResourceDelta(resource, monitor);
+				if (resource instanceof IFile) {
+					files.add((IFile) resource);
+					changedFiles.add((IFile) resource);
+				} else {
+					processResourceDelta(resource, monitor);
+				}
 				break;
 			case IResourceDelta.REMOVED:
 				// Handle removed resource
+				if (resource instanceof IFile)
+					changedFiles.add((IFile) resource);
 				break;
 			case IResourceDelta.CHANGED:
 				// Handle changed resource
-				processResourceDelta(resource, monitor);
+				if (resource instanceof IFile) {
+					files.add((IFile) resource);
+					if ((delta.getFlags() & (IResourceDelta.CONTENT | IResourceDelta.REPLACED
+							| IResourceDelta.ENCODING)) != 0) {
+						changedFiles.add((IFile) resource);
+					}
+				} else {
+					processResourceDelta(resource, monitor);
+				}
 				break;
 			}
 			// Return true to continue visiting children.
@@ -117,8 +139,36 @@ public class CodanBuilder extends IncrementalProjectBuilder implements ICodanBui
 	}
 
 	protected void incrementalBuild(IResourceDelta delta, IProgressMonitor monitor) throws CoreException {
-		// The visitor does the work.
-		delta.accept(new CodanDeltaVisitor(monitor));
+		// The visitor processes the containers and collects the files.
+		CodanDeltaVisitor visitor = new CodanDeltaVisitor(monitor);
+		delta.accept(visitor);
+		// Files depending on the changed ones, e.g. including them, may be affected by the change.
+		Set<IFile> files = visitor.files;
+		files.addAll(IncrementalAnalysis.getInstance().getDependentFiles(visitor.changedFiles));
+		for (IFile file : files) {
+			if (monitor.isCanceled())
+				return;
+			if (file.isAccessible() && hasCodeAnalysisNature(file.getProject()))
+				processResourceDelta(file, monitor);
+		}
+	}
+
+	private boolean hasCodeAnalysisNature(IProject project) {
+		if (project.equals(getProject()))
+			return true;
+		try {
+			return project.isOpen() && project.hasNature(CodeAnalysisNature.NATURE_ID);
+		} catch (CoreException e) {
+			return false;
+		}
+	}
+
+	/**
+	 * Makes the next build analyze all files of the project again.
+	 */
+	@Override
+	protected void clean(IProgressMonitor monitor) throws CoreException {
+		IncrementalAnalysis.getInstance().invalidate(getProject());
 	}
 
 	@Override
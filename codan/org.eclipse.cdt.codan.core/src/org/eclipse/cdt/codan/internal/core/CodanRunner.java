@@ -14,12 +14,20 @@
  *******************************************************************************/
 package org.eclipse.cdt.codan.internal.core;
 
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
 import org.eclipse.cdt.codan.core.CodanCorePlugin;
 import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
 import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.ICheckerGroup;
 import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.core.model.IGroupedChecker;
 import org.eclipse.cdt.codan.core.model.IRunnableInEditorChecker;
 import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IFile;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
@@ -64,6 +72,14 @@ public class CodanRunner {
 
 	private static void processResource(IResource resource, Object model, CheckerLaunchMode checkerLaunchMode,
 			IProgressMonitor monitor) {
+		if (resource instanceof IContainer && (checkerLaunchMode == CheckerLaunchMode.RUN_ON_FULL_BUILD
+				|| checkerLaunchMode == CheckerLaunchMode.RUN_ON_DEMAND)) {
+			int threads = ParallelCodanRunner.getParallelism();
+			if (threads > 1) {
+				new ParallelCodanRunner(checkerLaunchMode, threads).run((IContainer) resource, monitor);
+				return;
+			}
+		}
 		CheckersRegistry chegistry = CheckersRegistry.getInstance();
 		int checkers = chegistry.getCheckersSize();
 		IResource[] children = null;
@@ -80,39 +96,8 @@ public class CodanRunner {
 		monitor.beginTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, resource.getFullPath().toString()),
 				checkers * (1 + numChildren * childWeight));
 		try {
-			CheckersTimeStats.getInstance().checkerStart(CheckersTimeStats.ALL);
-			ICheckerInvocationContext context = new CheckerInvocationContext(resource);
-			try {
-				for (IChecker checker : chegistry) {
-					if (monitor.isCanceled())
-						return;
-					if (chegistry.isCheckerEnabled(checker, resource, checkerLaunchMode)) {
-						synchronized (checker) {
-							try {
-								checker.before(resource);
-								CheckersTimeStats.getInstance().checkerStart(checker.getClass().getName());
-								if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
-									((IRunnableInEditorChecker) checker).processModel(model, context);
-								} else {
-									checker.processResource(resource, context);
-								}
-							} catch (OperationCanceledException e) {
-								return;
-							} catch (Throwable e) {
-								CodanCorePlugin.log(e);
-							} finally {
-								CheckersTimeStats.getInstance().checkerStop(checker.getClass().getName());
-								checker.after(resource);
-							}
-						}
-					}
-					monitor.worked(1);
-				}
-			} finally {
-				context.dispose();
-				CheckersTimeStats.getInstance().checkerStop(CheckersTimeStats.ALL);
-				//CheckersTimeStats.getInstance().printStats();
-			}
+			if (!runCheckers(resource, model, checkerLaunchMode, null, monitor))
+				return;
 
 			if (children != null && (checkerLaunchMode == CheckerLaunchMode.RUN_ON_FULL_BUILD
 					|| checkerLaunchMode == CheckerLaunchMode.RUN_ON_DEMAND)) {
@@ -126,4 +111,126 @@ public class CodanRunner {
 			monitor.done();
 		}
 	}
+
+	/**
+	 * Runs the enabled checkers on a single resource. Each checker is used by one thread at a time.
+	 * Checkers belonging to a {@link ICheckerGroup} are processed by their group after the other
+	 * checkers, provided that they allow multiple instances. When building, files that are up to
+	 * date according to {@link IncrementalAnalysis} are skipped. The other files are recorded as
+	 * analyzed once the checkers have reported their problems, see {@link PendingAnalysis}.
+	 *
+	 * @param resource - the resource to process
+	 * @param model - the model of given resource such as AST, used in "run as you type" mode
+	 * @param checkerLaunchMode - the checker launch mode
+	 * @param instances - the instances of the registered checkers to run, or <code>null</code> to
+	 *     run the registered checkers themselves
+	 * @param monitor - the progress monitor, one unit of work is reported per registered checker
+	 * @return <code>false</code> if the run was canceled
+	 */
+	static boolean runCheckers(IResource resource, Object model, CheckerLaunchMode checkerLaunchMode,
+			Map<IChecker, IChecker> instances, IProgressMonitor monitor) {
+		CheckersRegistry chegistry = CheckersRegistry.getInstance();
+		IncrementalAnalysis incrementalAnalysis = IncrementalAnalysis.getInstance();
+		String fingerprint = incrementalAnalysis.getFingerprint(resource, checkerLaunchMode);
+		if (fingerprint != null && incrementalAnalysis.isUpToDate((IFile) resource, checkerLaunchMode, fingerprint)) {
+			monitor.worked(chegistry.getCheckersSize());
+			return true;
+		}
+		if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE && resource instanceof IFile) {
+			// The markers now reflect the contents of the editor.
+			incrementalAnalysis.invalidate(resource);
+		}
+		CheckersTimeStats.getInstance().checkerStart(CheckersTimeStats.ALL);
+		ICheckerInvocationContext context = new CheckerInvocationContext(resource);
+		PendingAnalysis pendingAnalysis = null;
+		if (fingerprint != null) {
+			pendingAnalysis = new PendingAnalysis((IFile) resource, checkerLaunchMode, fingerprint);
+			context.add(pendingAnalysis);
+		}
+		Map<ICheckerGroup, List<IChecker>> groups = new LinkedHashMap<>();
+		try {
+			for (IChecker registeredChecker : chegistry) {
+				if (monitor.isCanceled())
+					return false;
+				if (chegistry.isCheckerEnabled(registeredChecker, resource, checkerLaunchMode)) {
+					IChecker checker = instances == null ? registeredChecker : instances.get(registeredChecker);
+					// A group holds the locks of its checkers while processing the whole resource.
+					// Checkers shared by all threads are run on their own to keep that time short.
+					ICheckerGroup group = checker instanceof IGroupedChecker
+							&& chegistry.allowsMultipleInstances(registeredChecker)
+									? ((IGroupedChecker) checker).getCheckerGroup()
+									: null;
+					if (group != null) {
+						groups.computeIfAbsent(group, g -> new ArrayList<>()).add(checker);
+						continue;
+					}
+					synchronized (checker) {
+						try {
+							checker.before(resource);
+							CheckersTimeStats.getInstance().checkerStart(checker.getClass().getName());
+							if (checkerLaunchMode == CheckerLaunchMode.RUN_AS_YOU_TYPE) {
+								((IRunnableInEditorChecker) checker).processModel(model, context);
+							} else {
+								checker.processResource(resource, context);
+							}
+						} catch (OperationCanceledException e) {
+							return false;
+						} catch (Throwable e) {
+							CodanCorePlugin.log(e);
+						} finally {
+							CheckersTimeStats.getInstance().checkerStop(checker.getClass().getName());
+							checker.after(resource);
+						}
+					}
+				}
+				monitor.worked(1);
+			}
+			for (Map.Entry<ICheckerGroup, List<IChecker>> entry : groups.entrySet()) {
+				if (monitor.isCanceled())
+					return false;
+				List<IChecker> checkers = entry.getValue();
+				if (!runGroup(entry.getKey(), checkers, 0, resource, model, context))
+					return false;
+				monitor.worked(checkers.size());
+			}
+			if (pendingAnalysis != null)
+				pendingAnalysis.ready();
+		} finally {
+			context.dispose();
+			CheckersTimeStats.getInstance().checkerStop(CheckersTimeStats.ALL);
+			//CheckersTimeStats.getInstance().printStats();
+		}
+		return true;
+	}
+
+	/**
+	 * Runs a group of checkers on a resource, holding the locks of all checkers of the group.
+	 * The locks are acquired in the order of the checkers in the registry.
+	 *
+	 * @param locked - the number of checkers whose locks are already held
+	 * @return <code>false</code> if the run was canceled
+	 */
+	private static boolean runGroup(ICheckerGroup group, List<IChecker> checkers, int locked, IResource resource,
+			Object model, ICheckerInvocationContext context) {
+		if (locked < checkers.size()) {
+			synchronized (checkers.get(locked)) {
+				return runGroup(group, checkers, locked + 1, resource, model, context);
+			}
+		}
+		try {
+			for (IChecker checker : checkers) {
+				checker.before(resource);
+			}
+			group.process(resource, model, checkers, context);
+		} catch (OperationCanceledException e) {
+			return false;
+		} catch (Throwable e) {
+			CodanCorePlugin.log(e);
+		} finally {
+			for (IChecker checker : checkers) {
+				checker.after(resource);
+			}
+		}
+		return true;
+	}
 }
@@ -0,0 +1,40 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.util.Collection;
+import java.util.Set;
+
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Provides the dependencies between files that determine which files have to be analyzed again
+ * after a change, see {@link IncrementalAnalysis}.
+ */
+public interface IAnalysisDependencyProvider {
+	/**
+	 * Adds the files whose analysis depends on the contents of any of the given files, for
+	 * example the files including them.
+	 * @param files the changed, added or removed files.
+	 * @param dependents the set to add the dependent files to.
+	 */
+	public void addDependentFiles(Collection<IFile> files, Set<IFile> dependents);
+
+	/**
+	 * Returns a fingerprint of everything the analysis of the given file depends on, such as
+	 * the contents of the file and of the files it includes. The fingerprint is digested before
+	 * it is stored, so it does not need to be short.
+	 * @param file the file to be analyzed.
+	 * @return the fingerprint, or {@code null} if it cannot be determined reliably, in which case
+	 * the file is always analyzed.
+	 */
+	public String getFingerprint(IFile file);
+}
@@ -0,0 +1,279 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.cdt.codan.core.model.IProblem;
+import org.eclipse.cdt.codan.core.model.IProblemProfile;
+import org.eclipse.cdt.codan.core.model.IProblemReporter;
+import org.eclipse.cdt.codan.core.param.IProblemPreference;
+import org.eclipse.core.resources.IFile;
+import org.eclipse.core.resources.IMarker;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.resources.ResourcesPlugin;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IConfigurationElement;
+import org.eclipse.core.runtime.IExtensionPoint;
+import org.eclipse.core.runtime.Platform;
+import org.eclipse.core.runtime.QualifiedName;
+import org.osgi.framework.Bundle;
+import org.osgi.framework.FrameworkUtil;
+
+/**
+ * Keeps track of the files that are up to date with respect to the analysis performed by
+ * the builder. After the checkers have run on a file, a fingerprint of the inputs of
+ * the analysis is stored with the file. The file is not analyzed again by the builder as long
+ * as the fingerprint stays the same, so that it keeps its markers. The fingerprint combines
+ * the fingerprints of the {@link IAnalysisDependencyProvider}s contributed through
+ * the <code>analysisDependencies</code> extension point with the problem profile of the file and
+ * the versions of the checkers.
+ * <p>
+ * The fingerprints also contain a generation number stored with the workspace root. Incrementing
+ * it invalidates the fingerprints of all files at once.
+ */
+public final class IncrementalAnalysis {
+	private static final String DEPENDENCY_PROVIDERS_EXTENSION_POINT_NAME = "analysisDependencies"; //$NON-NLS-1$
+	private static final String CLASS_ATTR = "class"; //$NON-NLS-1$
+	private static final QualifiedName FULL_BUILD_KEY = new QualifiedName(CodanCorePlugin.PLUGIN_ID,
+			"fingerprint.fullBuild"); //$NON-NLS-1$
+	private static final QualifiedName INC_BUILD_KEY = new QualifiedName(CodanCorePlugin.PLUGIN_ID,
+			"fingerprint.incBuild"); //$NON-NLS-1$
+	private static final QualifiedName GENERATION_KEY = new QualifiedName(CodanCorePlugin.PLUGIN_ID,
+			"fingerprint.generation"); //$NON-NLS-1$
+	private static IncrementalAnalysis instance;
+
+	private final List<IAnalysisDependencyProvider> providers = new ArrayList<>();
+	private volatile long generation;
+
+	private IncrementalAnalysis() {
+		readDependencyProviders();
+		generation = readGeneration();
+	}
+
+	/**
+	 * @return the singleton instance
+	 */
+	public static synchronized IncrementalAnalysis getInstance() {
+		if (instance == null)
+			instance = new IncrementalAnalysis();
+		return instance;
+	}
+
+	private void readDependencyProviders() {
+		IExtensionPoint ep = Platform.getExtensionRegistry().getExtensionPoint(CodanCorePlugin.PLUGIN_ID,
+				DEPENDENCY_PROVIDERS_EXTENSION_POINT_NAME);
+		if (ep == null)
+			return;
+		for (IConfigurationElement ce : ep.getConfigurationElements()) {
+			try {
+				providers.add((IAnalysisDependencyProvider) ce.createExecutableExtension(CLASS_ATTR));
+			} catch (CoreException e) {
+				CodanCorePlugin.log(e);
+			}
+		}
+	}
+
+	/**
+	 * Returns the files whose analysis depends on any of the given files, not including the given
+	 * files themselves.
+	 *
+	 * @param files - the changed, added or removed files
+	 */
+	public Set<IFile> getDependentFiles(Collection<IFile> files) {
+		Set<IFile> dependents = new LinkedHashSet<>();
+		if (files.isEmpty())
+			return dependents;
+		for (IAnalysisDependencyProvider provider : providers) {
+			try {
+				provider.addDependentFiles(files, dependents);
+			} catch (Throwable e) {
+				CodanCorePlugin.log(e);
+			}
+		}
+		dependents.removeAll(files);
+		return dependents;
+	}
+
+	/**
+	 * Returns the fingerprint of the inputs of the analysis of a resource, or <code>null</code>
+	 * if the resource has to be analyzed unconditionally. Only the builder skips files.
+	 *
+	 * @param resource - the resource to be analyzed
+	 * @param checkerLaunchMode - the checker launch mode
+	 */
+	public String getFingerprint(IResource resource, CheckerLaunchMode checkerLaunchMode) {
+		if (providers.isEmpty() || !(resource instanceof IFile) || getKey(checkerLaunchMode) == null)
+			return null;
+		StringBuilder fingerprint = new StringBuilder();
+		fingerprint.append(generation).append('/');
+		for (IAnalysisDependencyProvider provider : providers) {
+			String providerFingerprint;
+			try {
+				providerFingerprint = provider.getFingerprint((IFile) resource);
+			} catch (Throwable e) {
+				CodanCorePlugin.log(e);
+				return null;
+			}
+			if (providerFingerprint == null)
+				return null;
+			fingerprint.append(providerFingerprint).append('/');
+		}
+		// Problem profiles may be modified in place, so their fingerprint is not cached.
+		appendProfileFingerprint(CheckersRegistry.getInstance().getResourceProfile(resource), fingerprint);
+		return digest(fingerprint.toString());
+	}
+
+	/**
+	 * Checks whether the file was analyzed in the given launch mode with the same fingerprint.
+	 */
+	public boolean isUpToDate(IFile file, CheckerLaunchMode checkerLaunchMode, String fingerprint) {
+		QualifiedName key = getKey(checkerLaunchMode);
+		try {
+			Object stored = file.getSessionProperty(key);
+			if (stored == null)
+				stored = file.getPersistentProperty(key);
+			return fingerprint.equals(stored);
+		} catch (CoreException e) {
+			// The file no longer exists.
+			return false;
+		}
+	}
+
+	/**
+	 * Records that the file was analyzed in the given launch mode. The fingerprint survives
+	 * a restart only if all markers of the file do, so that transient markers get recreated.
+	 */
+	public void setAnalyzed(IFile file, CheckerLaunchMode checkerLaunchMode, String fingerprint) {
+		QualifiedName key = getKey(checkerLaunchMode);
+		try {
+			file.setSessionProperty(key, fingerprint);
+			String persistent = hasTransientMarkers(file) ? null : fingerprint;
+			String stored = file.getPersistentProperty(key);
+			if (persistent == null ? stored != null : !persistent.equals(stored))
+				file.setPersistentProperty(key, persistent);
+		} catch (CoreException e) {
+			// The file no longer exists.
+		}
+	}
+
+	/**
+	 * Forgets that the files contained in the given resource were analyzed, so that the builder
+	 * analyzes them again.
+	 */
+	public void invalidate(IResource resource) {
+		if (providers.isEmpty() || !resource.isAccessible())
+			return;
+		try {
+			resource.accept(r -> {
+				if (r instanceof IFile) {
+					for (QualifiedName key : new QualifiedName[] { FULL_BUILD_KEY, INC_BUILD_KEY }) {
+						r.setSessionProperty(key, null);
+						if (r.getPersistentProperty(key) != null)
+							r.setPersistentProperty(key, null);
+					}
+				}
+				return true;
+			});
+		} catch (CoreException e) {
+			CodanCorePlugin.log(e);
+		}
+	}
+
+	/**
+	 * Forgets that any file of the workspace was analyzed, without visiting the files.
+	 */
+	public synchronized void invalidateAll() {
+		if (providers.isEmpty())
+			return;
+		generation++;
+		try {
+			ResourcesPlugin.getWorkspace().getRoot().setPersistentProperty(GENERATION_KEY, Long.toString(generation));
+		} catch (CoreException e) {
+			CodanCorePlugin.log(e);
+		}
+	}
+
+	private static long readGeneration() {
+		try {
+			String stored = ResourcesPlugin.getWorkspace().getRoot().getPersistentProperty(GENERATION_KEY);
+			if (stored != null)
+				return Long.parseLong(stored);
+		} catch (CoreException | NumberFormatException e) {
+			CodanCorePlugin.log(e);
+		}
+		return 0;
+	}
+
+	private static QualifiedName getKey(CheckerLaunchMode checkerLaunchMode) {
+		switch (checkerLaunchMode) {
+		case RUN_ON_FULL_BUILD:
+			return FULL_BUILD_KEY;
+		case RUN_ON_INC_BUILD:
+			return INC_BUILD_KEY;
+		default:
+			return null;
+		}
+	}
+
+	/**
+	 * Checks for markers of subtypes of the generic marker type, which may be not persistent.
+	 */
+	private static boolean hasTransientMarkers(IFile file) throws CoreException {
+		for (IMarker marker : file.findMarkers(IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE, true,
+				IResource.DEPTH_ZERO)) {
+			if (!IProblemReporter.GENERIC_CODE_ANALYSIS_MARKER_TYPE.equals(marker.getType()))
+				return true;
+		}
+		return false;
+	}
+
+	private static void appendProfileFingerprint(IProblemProfile profile, StringBuilder fingerprint) {
+		for (IChecker checker : CheckersRegistry.getInstance()) {
+			fingerprint.append('\n').append(checker.getClass().getName());
+			Bundle bundle = FrameworkUtil.getBundle(checker.getClass());
+			if (bundle != null)
+				fingerprint.append(',').append(bundle.getVersion());
+		}
+		for (IProblem problem : profile.getProblems()) {
+			fingerprint.append('\n').append(problem.getId()).append(',').append(problem.isEnabled()).append(',')
+					.append(problem.getSeverity()).append(',').append(problem.getMarkerType()).append(',')
+					.append(problem.getMessagePattern());
+			IProblemPreference preference = problem.getPreference();
+			if (preference != null)
+				fingerprint.append(',').append(preference.exportValue());
+		}
+	}
+
+	private static String digest(String text) {
+		try {
+			byte[] digest = MessageDigest.getInstance("SHA-1").digest(text.getBytes(StandardCharsets.UTF_8)); //$NON-NLS-1$
+			StringBuilder buf = new StringBuilder(digest.length * 2);
+			for (byte b : digest) {
+				buf.append(Character.forDigit((b >> 4) & 0xF, 16)).append(Character.forDigit(b & 0xF, 16));
+			}
+			return buf.toString();
+		} catch (NoSuchAlgorithmException e) {
+			// Every Java platform supports SHA-1.
+			throw new IllegalStateException(e);
+		}
+	}
+}
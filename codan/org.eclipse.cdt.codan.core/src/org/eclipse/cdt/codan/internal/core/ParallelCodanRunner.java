@@ -0,0 +1,197 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.eclipse.cdt.codan.core.CodanCorePlugin;
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.IChecker;
+import org.eclipse.core.resources.IContainer;
+import org.eclipse.core.resources.IResource;
+import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IProgressMonitor;
+import org.eclipse.core.runtime.NullProgressMonitor;
+import org.eclipse.osgi.util.NLS;
+
+/**
+ * Runs the checkers on the resources of a container using a pool of worker threads. Each worker
+ * processes one resource at a time, so that the checkers running on a file share its AST and
+ * index lock. Every worker uses its own instances of the checkers that allow multiple instances, see
+ * {@link CheckersRegistry#getCheckerInstances(IChecker, int)}. The remaining checkers are shared
+ * by the workers and used by one worker at a time.
+ */
+final class ParallelCodanRunner {
+	/**
+	 * System property for the number of worker threads, defaults to half the number of processors
+	 * to leave room for the indexer and the UI.
+	 */
+	private static final String PARALLELISM_PROPERTY = "codan.parallelism"; //$NON-NLS-1$
+	private static final AtomicInteger threadCount = new AtomicInteger();
+
+	private final CheckerLaunchMode checkerLaunchMode;
+	private final int threads;
+
+	/**
+	 * @param checkerLaunchMode - the checker launch mode
+	 * @param threads - the maximum number of worker threads
+	 */
+	ParallelCodanRunner(CheckerLaunchMode checkerLaunchMode, int threads) {
+		this.checkerLaunchMode = checkerLaunchMode;
+		this.threads = threads;
+	}
+
+	/**
+	 * Returns the number of worker threads to use for running checkers on containers.
+	 */
+	static int getParallelism() {
+		int threads = Runtime.getRuntime().availableProcessors() / 2;
+		String value = System.getProperty(PARALLELISM_PROPERTY);
+		if (value != null) {
+			try {
+				threads = Integer.parseInt(value);
+			} catch (NumberFormatException e) {
+				CodanCorePlugin.log(e);
+			}
+		}
+		return Math.max(1, threads);
+	}
+
+	/**
+	 * Runs the checkers on the given container and on all resources within it.
+	 *
+	 * @param container - the container to process
+	 * @param monitor - the progress monitor
+	 */
+	void run(IContainer container, IProgressMonitor monitor) {
+		// The checkers run on the containers as well, like in a sequential run.
+		List<IResource> resources = new ArrayList<>();
+		try {
+			container.accept(resource -> {
+				resources.add(resource);
+				return true;
+			});
+		} catch (CoreException e) {
+			CodanCorePlugin.log(e);
+		}
+		monitor.beginTask(NLS.bind(Messages.CodanRunner_Code_analysis_on, container.getFullPath().toString()),
+				resources.size());
+		try {
+			int workers = Math.min(threads, resources.size());
+			if (workers <= 1) {
+				for (IResource resource : resources) {
+					if (!CodanRunner.runCheckers(resource, null, checkerLaunchMode, null, new NullProgressMonitor())
+							|| monitor.isCanceled()) {
+						return;
+					}
+					monitor.worked(1);
+				}
+				return;
+			}
+			runWorkers(resources, workers, monitor);
+		} finally {
+			monitor.done();
+		}
+	}
+
+	private void runWorkers(List<IResource> resources, int workers, IProgressMonitor monitor) {
+		List<Map<IChecker, IChecker>> instances = getCheckerInstances(workers);
+		// Only the calling thread reports progress, the workers observe cancellation through this monitor.
+		IProgressMonitor workerMonitor = new NullProgressMonitor();
+		AtomicInteger nextResource = new AtomicInteger();
+		BlockingQueue<IResource> processed = new LinkedBlockingQueue<>();
+		ExecutorService executor = Executors.newFixedThreadPool(workers, r -> {
+			Thread thread = new Thread(r, "Code Analysis Worker " + threadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+		List<Future<?>> futures = new ArrayList<>(workers);
+		try {
+			for (int i = 0; i < workers; i++) {
+				Map<IChecker, IChecker> workerInstances = instances.get(i);
+				futures.add(executor.submit(() -> {
+					int index;
+					while (!workerMonitor.isCanceled() && (index = nextResource.getAndIncrement()) < resources.size()) {
+						IResource resource = resources.get(index);
+						if (!CodanRunner.runCheckers(resource, null, checkerLaunchMode, workerInstances,
+								workerMonitor)) {
+							workerMonitor.setCanceled(true);
+						}
+						processed.add(resource);
+					}
+				}));
+			}
+			int done = 0;
+			while (done < resources.size() && !allDone(futures)) {
+				if (monitor.isCanceled())
+					workerMonitor.setCanceled(true);
+				try {
+					if (processed.poll(100, TimeUnit.MILLISECONDS) != null) {
+						monitor.worked(1);
+						done++;
+					}
+				} catch (InterruptedException e) {
+					workerMonitor.setCanceled(true);
+					Thread.currentThread().interrupt();
+					break;
+				}
+			}
+		} finally {
+			executor.shutdown();
+			for (Future<?> future : futures) {
+				try {
+					future.get();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				} catch (ExecutionException e) {
+					CodanCorePlugin.log(e.getCause());
+				}
+			}
+		}
+	}
+
+	/**
+	 * Returns for each worker the instances of the registered checkers it uses.
+	 */
+	private static List<Map<IChecker, IChecker>> getCheckerInstances(int workers) {
+		CheckersRegistry chegistry = CheckersRegistry.getInstance();
+		List<Map<IChecker, IChecker>> result = new ArrayList<>(workers);
+		for (int i = 0; i < workers; i++) {
+			result.add(new HashMap<>());
+		}
+		for (IChecker checker : chegistry) {
+			List<IChecker> instances = chegistry.getCheckerInstances(checker, workers);
+			for (int i = 0; i < workers; i++) {
+				result.get(i).put(checker, instances.get(i % instances.size()));
+			}
+		}
+		return result;
+	}
+
+	private static boolean allDone(List<Future<?>> futures) {
+		for (Future<?> future : futures) {
+			if (!future.isDone())
+				return false;
+		}
+		return true;
+	}
+}
@@ -0,0 +1,89 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core;
+
+import org.eclipse.cdt.codan.core.model.CheckerLaunchMode;
+import org.eclipse.cdt.codan.core.model.ICheckerInvocationContext;
+import org.eclipse.cdt.codan.core.model.ICodanDisposable;
+import org.eclipse.cdt.codan.core.model.IDeferredProblems;
+import org.eclipse.core.resources.IFile;
+
+/**
+ * Records a file as analyzed with {@link IncrementalAnalysis} once all checkers have reported
+ * their problems in it. The builder puts an instance into the {@link ICheckerInvocationContext}
+ * of each file it analyzes, checkers see it as {@link IDeferredProblems}. This class is thread-safe.
+ */
+public final class PendingAnalysis implements IDeferredProblems, ICodanDisposable {
+	private final IFile file;
+	private final CheckerLaunchMode checkerLaunchMode;
+	private final String fingerprint;
+	private int pending;
+	private boolean ready;
+	private boolean failed;
+
+	/**
+	 * @param file - the analyzed file
+	 * @param checkerLaunchMode - the checker launch mode
+	 * @param fingerprint - the fingerprint of the inputs of the analysis
+	 */
+	public PendingAnalysis(IFile file, CheckerLaunchMode checkerLaunchMode, String fingerprint) {
+		this.file = file;
+		this.checkerLaunchMode = checkerLaunchMode;
+		this.fingerprint = fingerprint;
+	}
+
+	/**
+	 * Delays recording the file until a matching call of {@link #complete(boolean)}.
+	 */
+	@Override
+	public synchronized void defer() {
+		pending++;
+	}
+
+	/**
+	 * Reports that problems deferred by {@link #defer()} have been reported.
+	 *
+	 * @param success - <code>false</code> if the file could not be checked, in which case it is
+	 *     not recorded as analyzed
+	 */
+	@Override
+	public void complete(boolean success) {
+		synchronized (this) {
+			pending--;
+			if (!success)
+				failed = true;
+			if (!isDone())
+				return;
+		}
+		IncrementalAnalysis.getInstance().setAnalyzed(file, checkerLaunchMode, fingerprint);
+	}
+
+	/**
+	 * Reports that all checkers have processed the file. Called by the runner.
+	 */
+	void ready() {
+		synchronized (this) {
+			ready = true;
+			if (!isDone())
+				return;
+		}
+		IncrementalAnalysis.getInstance().setAnalyzed(file, checkerLaunchMode, fingerprint);
+	}
+
+	private boolean isDone() {
+		return ready && pending == 0 && !failed;
+	}
+
+	@Override
+	public void dispose() {
+		// Deferred problems may be reported after the context has been disposed.
+	}
+}
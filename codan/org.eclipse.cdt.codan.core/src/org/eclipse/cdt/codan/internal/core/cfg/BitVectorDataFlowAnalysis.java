@@ -0,0 +1,223 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core.cfg;
+
+import java.util.Arrays;
+import java.util.BitSet;
+
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+
+/**
+ * Worklist solver for data flow problems whose facts are sets represented by bit vectors and
+ * whose transfer functions are described by sets of generated and killed facts, like reaching
+ * definitions, live variables or available expressions. The facts holding on entry and on exit
+ * of all nodes are stored in a few flat arrays allocated once per analysis.
+ * <p>
+ * Subclasses describe the effect of each node in {@link #initialize(int, IBasicBlock)} by calling
+ * {@link #gen(int, int)} and {@link #kill(int, int)}. The facts holding on entry of the start node
+ * of a forward analysis, or on exit of the nodes without successors of a backward analysis, are
+ * set with {@link #setBoundary(int)}.
+ */
+public abstract class BitVectorDataFlowAnalysis {
+	private final DataFlowGraph graph;
+	private final int size;
+	private final boolean forward;
+	private final boolean union;
+	private final int words;
+	private final long[] gen;
+	private final long[] kill;
+	/** Facts flowing into the transfer functions, on entry for forward analyses */
+	private final long[] in;
+	/** Facts flowing out of the transfer functions, on exit for forward analyses */
+	private final long[] out;
+	private final long[] boundary;
+	/** All facts */
+	private final long[] top;
+	private boolean solved;
+
+	/**
+	 * @param graph - the graph to analyze
+	 * @param size - the number of facts
+	 * @param forward - <code>true</code> if facts flow in the direction of the edges of the graph
+	 * @param union - <code>true</code> if the facts holding where control flow merges are the union
+	 *     of the facts coming from the merged paths, <code>false</code> for the intersection
+	 */
+	protected BitVectorDataFlowAnalysis(DataFlowGraph graph, int size, boolean forward, boolean union) {
+		this.graph = graph;
+		this.size = size;
+		this.forward = forward;
+		this.union = union;
+		words = (size + 63) >>> 6;
+		int length = graph.size() * words;
+		gen = new long[length];
+		kill = new long[length];
+		in = new long[length];
+		out = new long[length];
+		boundary = new long[words];
+		top = new long[words];
+		for (int fact = 0; fact < size; fact++) {
+			top[fact >>> 6] |= 1L << fact;
+		}
+	}
+
+	/**
+	 * Describes the effect of a node by calling {@link #gen(int, int)} and {@link #kill(int, int)}.
+	 * Called once for every node before the problem is solved.
+	 *
+	 * @param index - the index of the node in the graph
+	 * @param node - the node
+	 */
+	protected abstract void initialize(int index, IBasicBlock node);
+
+	/**
+	 * Marks a fact as generated by a node. Generated facts hold after the node regardless of
+	 * the facts killed by it.
+	 */
+	protected final void gen(int index, int fact) {
+		gen[index * words + (fact >>> 6)] |= 1L << fact;
+	}
+
+	/**
+	 * Marks a fact as killed by a node.
+	 */
+	protected final void kill(int index, int fact) {
+		kill[index * words + (fact >>> 6)] |= 1L << fact;
+	}
+
+	/**
+	 * Marks a fact as holding on entry of the start node of a forward analysis, or on exit of
+	 * the nodes without successors of a backward analysis.
+	 */
+	protected final void setBoundary(int fact) {
+		boundary[fact >>> 6] |= 1L << fact;
+	}
+
+	/**
+	 * @return the analyzed graph
+	 */
+	public final DataFlowGraph getGraph() {
+		return graph;
+	}
+
+	/**
+	 * Computes the facts holding on entry and on exit of every node. Does nothing if the problem
+	 * has already been solved.
+	 *
+	 * @return this analysis
+	 */
+	public final BitVectorDataFlowAnalysis solve() {
+		if (solved)
+			return this;
+		solved = true;
+		int n = graph.size();
+		if (!union) {
+			// Paths not explored yet do not restrict the intersection.
+			for (int base = 0; base < out.length; base += words) {
+				System.arraycopy(top, 0, out, base, words);
+			}
+		}
+		for (int i = 0; i < n; i++) {
+			initialize(i, graph.getNode(i));
+		}
+		// Circular queue of the nodes to update, initially in the order of the control flow.
+		int[] queue = new int[n];
+		boolean[] queued = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			queue[i] = forward ? i : n - 1 - i;
+			queued[i] = true;
+		}
+		int head = 0;
+		int count = n;
+		while (count > 0) {
+			int node = queue[head];
+			head = head + 1 == n ? 0 : head + 1;
+			count--;
+			queued[node] = false;
+
+			int base = node * words;
+			int inputs = forward ? graph.getPredecessorCount(node) : graph.getSuccessorCount(node);
+			if (forward ? node == 0 : inputs == 0) {
+				System.arraycopy(boundary, 0, in, base, words);
+			} else if (inputs == 0) {
+				// Dead code.
+				if (union) {
+					Arrays.fill(in, base, base + words, 0);
+				} else {
+					System.arraycopy(top, 0, in, base, words);
+				}
+			} else {
+				for (int i = 0; i < inputs; i++) {
+					int input = (forward ? graph.getPredecessor(node, i) : graph.getSuccessor(node, i)) * words;
+					for (int w = 0; w < words; w++) {
+						long value = out[input + w];
+						in[base + w] = i == 0 ? value : union ? in[base + w] | value : in[base + w] & value;
+					}
+				}
+			}
+
+			boolean changed = false;
+			for (int w = base; w < base + words; w++) {
+				long value = gen[w] | (in[w] & ~kill[w]);
+				if (value != out[w]) {
+					out[w] = value;
+					changed = true;
+				}
+			}
+			if (changed) {
+				int outputs = forward ? graph.getSuccessorCount(node) : graph.getPredecessorCount(node);
+				for (int i = 0; i < outputs; i++) {
+					int output = forward ? graph.getSuccessor(node, i) : graph.getPredecessor(node, i);
+					if (!queued[output]) {
+						queued[output] = true;
+						queue[(head + count) % n] = output;
+						count++;
+					}
+				}
+			}
+		}
+		return this;
+	}
+
+	/**
+	 * @return <code>true</code> if the fact holds on entry of the node with the given index
+	 */
+	public final boolean isSetOnEntry(int index, int fact) {
+		long[] values = forward ? in : out;
+		return (values[index * words + (fact >>> 6)] & (1L << fact)) != 0;
+	}
+
+	/**
+	 * @return <code>true</code> if the fact holds on exit of the node with the given index
+	 */
+	public final boolean isSetOnExit(int index, int fact) {
+		long[] values = forward ? out : in;
+		return (values[index * words + (fact >>> 6)] & (1L << fact)) != 0;
+	}
+
+	/**
+	 * @return the facts holding on entry of the node with the given index
+	 */
+	public final BitSet getEntry(int index) {
+		return toBitSet(forward ? in : out, index);
+	}
+
+	/**
+	 * @return the facts holding on exit of the node with the given index
+	 */
+	public final BitSet getExit(int index) {
+		return toBitSet(forward ? out : in, index);
+	}
+
+	private BitSet toBitSet(long[] values, int index) {
+		int base = index * words;
+		return BitSet.valueOf(Arrays.copyOfRange(values, base, base + words));
+	}
+}
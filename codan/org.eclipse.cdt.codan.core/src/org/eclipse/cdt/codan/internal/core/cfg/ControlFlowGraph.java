@@ -36,6 +36,8 @@ public class ControlFlowGraph implements IControlFlowGraph {
 	private List<IExitNode> exitNodes;
 	private List<IBasicBlock> deadNodes = new ArrayList<>();
 	private IStartNode start;
+	/** Nodes not reachable from the start node, computed on demand */
+	private Collection<IBasicBlock> allDeadNodes;
 
 	public ControlFlowGraph(IStartNode start, Collection<IExitNode> exitNodes) {
 		setExitNodes(exitNodes);
@@ -60,6 +62,7 @@ public class ControlFlowGraph implements IControlFlowGraph {
 
 	public void setUnconnectedNodes(Collection<IBasicBlock> nodes) {
 		this.deadNodes = Collections.unmodifiableList(new ArrayList<>(nodes));
+		allDeadNodes = null;
 	}
 
 	@Override
@@ -69,6 +72,7 @@ public class ControlFlowGraph implements IControlFlowGraph {
 
 	void setStartNode(IStartNode start) {
 		this.start = start;
+		allDeadNodes = null;
 	}
 
 	public void print(IBasicBlock node) {
@@ -127,9 +131,13 @@ public class ControlFlowGraph implements IControlFlowGraph {
 	}
 
 	public Collection<IBasicBlock> getDeadNodes() {
-		Collection<IBasicBlock> result = new LinkedHashSet<>();
-		getDeadNodes(result);
-		return result;
+		// Checkers query the dead nodes repeatedly, e.g. once per exit node.
+		if (allDeadNodes == null) {
+			Collection<IBasicBlock> result = new LinkedHashSet<>();
+			getDeadNodes(result);
+			allDeadNodes = Collections.unmodifiableCollection(result);
+		}
+		return allDeadNodes;
 	}
 
 	private void getDeadNodes(Collection<IBasicBlock> result) {
@@ -0,0 +1,212 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.codan.internal.core.cfg;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.codan.core.model.cfg.IBasicBlock;
+import org.eclipse.cdt.codan.core.model.cfg.IConnectorNode;
+import org.eclipse.cdt.codan.core.model.cfg.IControlFlowGraph;
+
+/**
+ * Dense numbering of the nodes of a control flow graph, with the edges between the nodes stored
+ * in arrays. This is the representation {@link BitVectorDataFlowAnalysis} works on, it can be
+ * shared by any number of analyses of the same graph.
+ * <p>
+ * The nodes reachable from the start node come first, in reverse postorder, so that the start
+ * node has index 0. They are followed by the nodes of dead code.
+ */
+public final class DataFlowGraph {
+	private static final int[] NO_EDGES = {};
+
+	private final IBasicBlock[] nodes;
+	private final Map<IBasicBlock, Integer> indices;
+	private final int reachable;
+	private final int[] successorOffsets;
+	private final int[] successors;
+	private final int[] predecessorOffsets;
+	private final int[] predecessors;
+
+	public DataFlowGraph(IControlFlowGraph graph) {
+		List<IBasicBlock> order = new ArrayList<>();
+		indices = new IdentityHashMap<>();
+		if (graph.getStartNode() != null)
+			addReachable(graph.getStartNode(), order);
+		reachable = order.size();
+		addDead(graph, order);
+		nodes = order.toArray(new IBasicBlock[order.size()]);
+
+		int n = nodes.length;
+		successorOffsets = new int[n + 1];
+		predecessorOffsets = new int[n + 1];
+		int edges = 0;
+		for (int i = 0; i < n; i++) {
+			for (IBasicBlock successor : nodes[i].getOutgoingNodes()) {
+				if (successor != null) {
+					edges++;
+					predecessorOffsets[indices.get(successor) + 1]++;
+				}
+			}
+			successorOffsets[i + 1] = edges;
+		}
+		for (int i = 0; i < n; i++) {
+			predecessorOffsets[i + 1] += predecessorOffsets[i];
+		}
+		successors = edges == 0 ? NO_EDGES : new int[edges];
+		predecessors = edges == 0 ? NO_EDGES : new int[edges];
+		int[] fill = Arrays.copyOf(predecessorOffsets, n);
+		int edge = 0;
+		for (int i = 0; i < n; i++) {
+			for (IBasicBlock successor : nodes[i].getOutgoingNodes()) {
+				if (successor != null) {
+					int s = indices.get(successor);
+					successors[edge++] = s;
+					predecessors[fill[s]++] = i;
+				}
+			}
+		}
+	}
+
+	/**
+	 * Numbers the nodes reachable from the given node in reverse postorder.
+	 */
+	private void addReachable(IBasicBlock start, List<IBasicBlock> order) {
+		// Nodes are numbered in postorder first and renumbered afterwards.
+		List<IBasicBlock> postorder = new ArrayList<>();
+		IBasicBlock[] stack = new IBasicBlock[16];
+		int[] nextChild = new int[16];
+		int depth = 1;
+		stack[0] = start;
+		indices.put(start, -1);
+		while (depth > 0) {
+			IBasicBlock node = stack[depth - 1];
+			IBasicBlock[] outgoing = node.getOutgoingNodes();
+			int child = nextChild[depth - 1];
+			while (child < outgoing.length && (outgoing[child] == null || indices.containsKey(outgoing[child]))) {
+				child++;
+			}
+			if (child < outgoing.length) {
+				nextChild[depth - 1] = child + 1;
+				if (depth == stack.length) {
+					stack = Arrays.copyOf(stack, depth * 2);
+					nextChild = Arrays.copyOf(nextChild, depth * 2);
+				}
+				indices.put(outgoing[child], -1);
+				stack[depth] = outgoing[child];
+				nextChild[depth] = 0;
+				depth++;
+			} else {
+				depth--;
+				postorder.add(node);
+			}
+		}
+		for (int i = postorder.size(); --i >= 0;) {
+			IBasicBlock node = postorder.get(i);
+			indices.put(node, order.size());
+			order.add(node);
+		}
+	}
+
+	/**
+	 * Numbers the nodes of dead code, the same way {@link ControlFlowGraph#getNodes()} finds them.
+	 */
+	private void addDead(IControlFlowGraph graph, List<IBasicBlock> order) {
+		Deque<IBasicBlock> stack = new ArrayDeque<>();
+		for (Iterator<IBasicBlock> iterator = graph.getUnconnectedNodeIterator(); iterator.hasNext();) {
+			stack.push(iterator.next());
+		}
+		for (int i = 0; i < order.size(); i++) {
+			if (order.get(i) instanceof IConnectorNode)
+				pushAll(order.get(i).getIncomingNodes(), stack);
+		}
+		while (!stack.isEmpty()) {
+			IBasicBlock node = stack.pop();
+			if (indices.containsKey(node))
+				continue;
+			indices.put(node, order.size());
+			order.add(node);
+			pushAll(node.getOutgoingNodes(), stack);
+			if (node instanceof IConnectorNode)
+				pushAll(node.getIncomingNodes(), stack);
+		}
+	}
+
+	private static void pushAll(IBasicBlock[] blocks, Deque<IBasicBlock> stack) {
+		for (int i = blocks.length; --i >= 0;) {
+			if (blocks[i] != null)
+				stack.push(blocks[i]);
+		}
+	}
+
+	/**
+	 * @return the number of nodes
+	 */
+	public int size() {
+		return nodes.length;
+	}
+
+	/**
+	 * @return the node with the given index
+	 */
+	public IBasicBlock getNode(int index) {
+		return nodes[index];
+	}
+
+	/**
+	 * @return the index of the given node, or -1 if it does not belong to the graph
+	 */
+	public int indexOf(IBasicBlock node) {
+		Integer index = indices.get(node);
+		return index == null ? -1 : index;
+	}
+
+	/**
+	 * @return <code>true</code> if the node with the given index is reachable from the start node
+	 */
+	public boolean isReachable(int index) {
+		return index < reachable;
+	}
+
+	/**
+	 * @return the number of successors of the node with the given index
+	 */
+	public int getSuccessorCount(int index) {
+		return successorOffsets[index + 1] - successorOffsets[index];
+	}
+
+	/**
+	 * @return the index of the i-th successor of the node with the given index
+	 */
+	public int getSuccessor(int index, int i) {
+		return successors[successorOffsets[index] + i];
+	}
+
+	/**
+	 * @return the number of predecessors of the node with the given index
+	 */
+	public int getPredecessorCount(int index) {
+		return predecessorOffsets[index + 1] - predecessorOffsets[index];
+	}
+
+	/**
+	 * @return the index of the i-th predecessor of the node with the given index
+	 */
+	public int getPredecessor(int index, int i) {
+		return predecessors[predecessorOffsets[index] + i];
+	}
+}
@@ -27,6 +27,7 @@ import org.eclipse.cdt.codan.core.model.IProblem;
 import org.eclipse.cdt.codan.core.model.IProblemLocation;
 import org.eclipse.cdt.codan.core.model.IProblemReporterPersistent;
 import org.eclipse.cdt.codan.core.model.IProblemReporterSessionPersistent;
+import org.eclipse.cdt.codan.internal.core.IncrementalAnalysis;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IResource;
 import org.eclipse.core.resources.IWorkspace;
@@ -99,6 +100,7 @@ public class CodanMarkerProblemReporter extends AbstractProblemReporter
 		} catch (CoreException ce) {
 			CodanCorePlugin.log(ce);
 		}
+		IncrementalAnalysis.getInstance().invalidate(file);
 	}
 
 	@Override
@@ -109,6 +111,7 @@ public class CodanMarkerProblemReporter extends AbstractProblemReporter
 		} catch (CoreException e) {
 			CodanCorePlugin.log(e);
 		}
+		IncrementalAnalysis.getInstance().invalidateAll();
 	}
 
 	@Override
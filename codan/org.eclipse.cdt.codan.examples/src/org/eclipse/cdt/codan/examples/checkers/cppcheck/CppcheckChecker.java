@@ -23,7 +23,7 @@ import org.eclipse.cdt.core.ProblemMarkerInfo;
 
 /**
  * Checker that invokes <a href="http://cppcheck.sourceforge.net/">Cppcheck</a> when a C/C++ file is
- * saved.
+ * saved. Files are checked in batches in the background.
  */
 public class CppcheckChecker extends AbstractExternalToolBasedChecker {
 	private static final String TOOL_NAME = Messages.CppcheckChecker_toolName;
@@ -53,6 +53,12 @@ public class CppcheckChecker extends AbstractExternalToolBasedChecker {
 		super(new ConfigurationSettings(TOOL_NAME, new File(EXECUTABLE_NAME), DEFAULT_ARGS));
 	}
 
+	@Override
+	protected boolean isBatchingEnabled() {
+		// Cppcheck accepts several files and prefixes every problem with the name of the file.
+		return true;
+	}
+
 	@Override
 	protected String[] getParserIDs() {
 		return new String[] { "org.eclipse.cdt.codan.checkers.externaltool.CppcheckChecker" }; //$NON-NLS-1$
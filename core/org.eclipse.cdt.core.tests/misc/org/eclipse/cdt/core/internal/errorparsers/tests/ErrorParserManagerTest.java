@@ -18,6 +18,7 @@ import java.io.ByteArrayInputStream;
 import java.io.FileInputStream;
 import java.io.IOException;
 import java.util.ArrayList;
+import java.util.List;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.ErrorParserManager;
@@ -335,4 +336,25 @@ public class ErrorParserManagerTest extends TestCase {
 		assertEquals("Workspace level marker", problemMarkerInfo.description);
 		assertTrue(problemMarkerInfo.file instanceof IWorkspaceRoot);
 	}
+
+	public void testErrorParserCosts() throws IOException {
+		String cwdLocator = "org.eclipse.cdt.core.CWDLocator";
+		String id = addErrorParserExtension("test5", TestParser2.class);
+		epManager = new ErrorParserManager(cProject.getProject(), markerGenerator, new String[] { cwdLocator, id });
+
+		output("errorT: one\n");
+		output("other\n");
+		end();
+		List<String> costs = epManager.getErrorParserCosts(10);
+		assertEquals(2, costs.size());
+		for (String cost : costs) {
+			if (cost.startsWith(cwdLocator + ": ")) {
+				assertTrue(cost, cost.endsWith(" ms for 2 lines, 0 consumed"));
+			} else {
+				assertTrue(cost, cost.startsWith(id + ": "));
+				assertTrue(cost, cost.endsWith(" ms for 2 lines, 1 consumed"));
+			}
+		}
+		assertEquals(1, epManager.getErrorParserCosts(1).size());
+	}
 }
@@ -29,6 +29,7 @@ import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.ResourceHelper;
 import org.eclipse.cdt.internal.errorparsers.ErrorParserExtensionManager;
 import org.eclipse.cdt.internal.errorparsers.GASErrorParser;
+import org.eclipse.cdt.internal.errorparsers.RegexPrefilter;
 import org.eclipse.core.resources.IMarker;
 import org.eclipse.core.resources.IProject;
 import org.eclipse.core.resources.IResource;
@@ -256,6 +257,40 @@ public class RegexErrorParserTests extends TestCase {
 		}
 	}
 
+	/**
+	 * Check that lines are not offered to patterns which cannot match them, also after
+	 * the patterns have been modified.
+	 *
+	 * @throws Exception...
+	 */
+	public void testRegexErrorParserPrefilter() throws Exception {
+		assertEquals(": error: ", RegexPrefilter.getRequiredLiteral("(.*?):(\\d+):(\\d+:)?: error: (.*)"));
+		assertEquals("ld", RegexPrefilter.getRequiredLiteral("(.*[/\\\\])?ld(\\.exe)?: (.*)"));
+		assertEquals("a.b", RegexPrefilter.getRequiredLiteral("xa?a\\.b\\d+c"));
+		assertEquals("b", RegexPrefilter.getRequiredLiteral("a?b"));
+		assertNull(RegexPrefilter.getRequiredLiteral("AAA|BBB"));
+		assertNull(RegexPrefilter.getRequiredLiteral("(?i)error"));
+		assertNull(RegexPrefilter.getRequiredLiteral("(.*)"));
+
+		RegexErrorParser regexErrorParser = new RegexErrorParser();
+		RegexErrorPattern pattern = new RegexErrorPattern("(.*)#(.*)#AAA", "$1", "$2", "AAA", null,
+				IMarkerGenerator.SEVERITY_ERROR_RESOURCE, true);
+		regexErrorParser.addPattern(pattern);
+
+		String fileName = "RegexErrorParser.c";
+		ResourceHelper.createFile(fProject, fileName);
+
+		errorList.clear();
+		ErrorParserManager epManager = new ErrorParserManager(fProject, markerGenerator, new String[0]);
+
+		assertTrue(regexErrorParser.processLine(fileName + "#10#AAA", epManager));
+		assertFalse(regexErrorParser.processLine(fileName + "#10#BBB", epManager));
+		pattern.setPattern("(.*)#(.*)#BBB");
+		assertFalse(regexErrorParser.processLine(fileName + "#10#AAA", epManager));
+		assertTrue(regexErrorParser.processLine(fileName + "#10#BBB", epManager));
+		assertEquals(2, errorList.size());
+	}
+
 	/**
 	 * Checks if compatibility with CCorePlugin methods from CDT 6.0 was not violated.
 	 *
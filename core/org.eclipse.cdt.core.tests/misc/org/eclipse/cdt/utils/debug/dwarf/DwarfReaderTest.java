@@ -0,0 +1,53 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.utils.debug.dwarf;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import org.eclipse.core.runtime.Path;
+
+import junit.framework.Test;
+import junit.framework.TestCase;
+import junit.framework.TestSuite;
+
+/**
+ * Tests for {@link DwarfReader}. The binaries are built by the Makefile in resources/elf/dwarf5.
+ */
+public class DwarfReaderTest extends TestCase {
+
+	public static Test suite() {
+		return new TestSuite(DwarfReaderTest.class);
+	}
+
+	private List<String> getSourceFileNames(String path) throws IOException {
+		List<String> names = new ArrayList<>();
+		for (String file : new DwarfReader(path).getSourceFiles()) {
+			names.add(new Path(file).lastSegment());
+		}
+		Collections.sort(names);
+		return names;
+	}
+
+	public void testSourceFilesOfDwarf5Binary() throws IOException {
+		// The header is only found in the line table of the unit.
+		List<String> names = getSourceFileNames("resources/elf/dwarf5/dwarf5");
+		assertEquals("[main.c, util.h]", names.toString());
+	}
+
+	public void testSourceFilesOfDwarf5SkeletonUnit() throws IOException {
+		// The binary only contains a skeleton unit referring to the line table.
+		List<String> names = getSourceFileNames("resources/elf/dwarf5/dwarf5_split");
+		assertEquals("[main.c, util.h]", names.toString());
+	}
+}
@@ -17,7 +17,10 @@ package org.eclipse.cdt.utils.elf;
 import java.io.FileInputStream;
 import java.io.IOException;
 
+import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.core.IBinaryParser.IBinaryFile;
+import org.eclipse.cdt.core.IBinaryParser.IBinaryObject;
+import org.eclipse.cdt.core.IBinaryParser.ISymbol;
 import org.eclipse.cdt.core.model.CModelException;
 import org.eclipse.cdt.utils.elf.parser.ElfBinaryExecutable;
 import org.eclipse.cdt.utils.elf.parser.ElfBinaryShared;
@@ -172,4 +175,31 @@ public class ElfParserTest extends TestCase {
 		IBinaryFile binary = elfParser.getBinary(readHints(path), path);
 		assertTrue("Binary should be a library", binary instanceof ElfBinaryShared);
 	}
+
+	public void testSymbolsOfUnchangedBinaryAreCached() throws CModelException, IOException {
+		IPath path = new Path("resources/exe/x86/o.g/exe_g");
+		IBinaryObject binary1 = (IBinaryObject) elfParser.getBinary(readHints(path), path);
+		IBinaryObject binary2 = (IBinaryObject) elfParser.getBinary(readHints(path), path);
+		ISymbol[] symbols = binary1.getSymbols();
+		assertTrue(symbols.length > 0);
+		ISymbol[] symbols2 = binary2.getSymbols();
+		assertEquals(symbols.length, symbols2.length);
+		for (int i = 0; i < symbols.length; i++) {
+			assertSame(binary1, symbols[i].getBinaryObject());
+			assertSame(binary2, symbols2[i].getBinaryObject());
+			assertEquals(symbols[i].getName(), symbols2[i].getName());
+			assertEquals(symbols[i].getAddress(), symbols2[i].getAddress());
+			assertEquals(symbols[i].getSize(), symbols2[i].getSize());
+		}
+
+		for (ISymbol symbol : symbols) {
+			if (symbol.getSize() > 1) {
+				IAddress last = symbol.getAddress().add(symbol.getSize() - 1);
+				ISymbol found = binary2.getSymbol(last);
+				assertNotNull(found);
+				assertTrue(found.getAddress().compareTo(last) <= 0);
+				assertTrue(found.getAddress().add(found.getSize()).compareTo(last) > 0);
+			}
+		}
+	}
 }
@@ -27,14 +27,20 @@ import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.core.testplugin.util.TestSourceReader;
 import org.eclipse.cdt.internal.core.model.ASTCache;
 import org.eclipse.cdt.internal.core.model.ASTCache.ASTRunnable;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBufferManager;
+import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.resources.IContainer;
 import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Path;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 
 import junit.framework.Test;
 import junit.framework.TestSuite;
@@ -148,6 +154,8 @@ public class ASTCacheTests extends BaseTestCase {
 		checkSingleThreadAccess();
 		checkAccessWithSequentialReconciler();
 		checkAccessWithConcurrentReconciler();
+		checkLastGoodAST();
+		checkStampOfRecentlyActiveElement();
 	}
 
 	private void checkActiveElement() throws Exception {
@@ -318,6 +326,83 @@ public class ASTCacheTests extends BaseTestCase {
 		}
 	}
 
+	private void checkLastGoodAST() throws Exception {
+		final ASTCache cache = new ASTCache();
+		cache.setActiveElement(fTU1);
+		cache.aboutToBeReconciled(fTU1, 1);
+		final IASTTranslationUnit ast1 = cache.createAST(fTU1, fIndex, null);
+		cache.reconciled(ast1, fTU1);
+
+		// Recently active elements keep their ASTs.
+		cache.setActiveElement(fTU2);
+		cache.setActiveElement(fTU1);
+		assertSame(ast1, getSharedAST(cache, fTU1, false));
+
+		// While an AST is computed for a modified document, the last good AST is served on request, only.
+		cache.aboutToBeReconciled(fTU1, 2);
+		assertTrue(cache.isReconciling(fTU1));
+		assertNull(getSharedAST(cache, fTU1, false));
+		assertSame(ast1, getSharedAST(cache, fTU1, true));
+		IASTTranslationUnit ast2 = cache.createAST(fTU1, fIndex, null);
+		cache.reconciled(ast2, fTU1);
+		assertSame(ast2, getSharedAST(cache, fTU1, false));
+		assertSame(ast2, getSharedAST(cache, fTU1, true));
+
+		// Without a pending reconcile, a modification of the document invalidates the AST.
+		cache.setModificationStamp(fTU1, 3);
+		assertNull(getSharedAST(cache, fTU1, false));
+		assertNull(getSharedAST(cache, fTU1, true));
+	}
+
+	private void checkStampOfRecentlyActiveElement() throws Exception {
+		ITextFileBufferManager manager = FileBuffers.getTextFileBufferManager();
+		IPath path = fTU1.getPath();
+		manager.connect(path, LocationKind.NORMALIZE, null);
+		try {
+			IDocument document = manager.getTextFileBuffer(path, LocationKind.NORMALIZE).getDocument();
+			ASTCache cache = new ASTCache();
+			cache.setActiveElement(fTU1);
+			cache.aboutToBeReconciled(fTU1, ((IDocumentExtension4) document).getModificationStamp());
+			IASTTranslationUnit ast = cache.createAST(fTU1, fIndex, null);
+			cache.reconciled(ast, fTU1);
+
+			cache.setActiveElement(fTU2);
+			assertSame(ast, getSharedAST(cache, fTU1, false));
+
+			// The document of an element that is no longer active is checked on every access.
+			document.replace(0, 0, " ");
+			assertNull(getSharedAST(cache, fTU1, false));
+
+			// An element that is reconciled while not active is stamped with its document.
+			cache.aboutToBeReconciled(fTU1);
+			final IASTTranslationUnit ast2 = cache.createAST(fTU1, fIndex, null);
+			cache.reconciled(ast2, fTU1);
+			assertSame(ast2, getSharedAST(cache, fTU1, false));
+
+			// While it is reconciled again, the last good AST is offered to runnables that ask for it.
+			document.replace(0, 0, " ");
+			cache.aboutToBeReconciled(fTU1);
+			cache.runOnLastGoodAST(fTU1, null, new ASTRunnable() {
+				@Override
+				public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+					assertSame(ast2, ast);
+					return Status.OK_STATUS;
+				}
+			});
+		} finally {
+			manager.disconnect(path, LocationKind.NORMALIZE, null);
+		}
+	}
+
+	private IASTTranslationUnit getSharedAST(ASTCache cache, ITranslationUnit tUnit, boolean lastGood) {
+		IASTTranslationUnit ast = lastGood ? cache.acquireLastGoodAST(tUnit, fIndex, null)
+				: cache.acquireSharedAST(tUnit, fIndex, false, null);
+		if (ast != null) {
+			cache.releaseSharedAST(ast);
+		}
+		return ast;
+	}
+
 	private void waitForAST(ASTCache cache, ITranslationUnit tUnit, ASTRunnable runnable) {
 		if (DEBUG)
 			System.out.println("waiting for " + tUnit.getElementName());
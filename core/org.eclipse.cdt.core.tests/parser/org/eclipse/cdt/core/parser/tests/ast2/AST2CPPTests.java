@@ -29,11 +29,14 @@ import static org.junit.Assert.assertNotEquals;
 
 import java.io.BufferedReader;
 import java.io.StringReader;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 
 import org.eclipse.cdt.core.dom.IName;
 import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
+import org.eclipse.cdt.core.dom.ast.ASTVisitor;
 import org.eclipse.cdt.core.dom.ast.EScopeKind;
 import org.eclipse.cdt.core.dom.ast.IASTArrayDeclarator;
 import org.eclipse.cdt.core.dom.ast.IASTAttribute;
@@ -13426,4 +13429,52 @@ public class AST2CPPTests extends AST2CPPTestBase {
 		ICPPASTExpression f = helper.assertNode("f[] = \"waldo\"", "\"waldo\"");
 		assertTrue(e.getEvaluation().isEquivalentTo(f.getEvaluation()));
 	}
+
+	//	void f(int a) {
+	//		a++;
+	//		if (a)
+	//			a = 1;
+	//	}
+	public void testLeaveExpressionStatement() throws Exception {
+		IASTTranslationUnit tu = parseAndCheckBindings();
+		final List<IASTStatement> visited = new ArrayList<>();
+		final List<IASTStatement> left = new ArrayList<>();
+		// A visitor of statements leaves every statement it visits, in reverse order of nesting.
+		tu.accept(new ASTVisitor() {
+			{
+				shouldVisitStatements = true;
+			}
+
+			@Override
+			public int visit(IASTStatement statement) {
+				visited.add(statement);
+				return PROCESS_CONTINUE;
+			}
+
+			@Override
+			public int leave(IASTStatement statement) {
+				left.add(statement);
+				return PROCESS_CONTINUE;
+			}
+		});
+		assertEquals(4, visited.size());
+		assertTrue(visited.get(1) instanceof IASTExpressionStatement);
+		assertTrue(visited.get(3) instanceof IASTExpressionStatement);
+		assertEquals(Arrays.asList(visited.get(1), visited.get(3), visited.get(2), visited.get(0)), left);
+
+		// A visitor of expressions only does not leave statements.
+		left.clear();
+		tu.accept(new ASTVisitor() {
+			{
+				shouldVisitExpressions = true;
+			}
+
+			@Override
+			public int leave(IASTStatement statement) {
+				left.add(statement);
+				return PROCESS_CONTINUE;
+			}
+		});
+		assertTrue(left.isEmpty());
+	}
 }
@@ -64,6 +64,13 @@ public class FunctionTests extends TestBase {
 		assertEvaluationEquals(55);
 	}
 
+	// constexpr int fib(int n) { return n < 2 ? n : fib(n - 1) + fib(n - 2); }
+
+	// constexpr int x = fib(25);
+	public void testRepeatedCallsWithSameArguments() throws Exception {
+		assertEvaluationEquals(75025);
+	}
+
 	// constexpr int helper(int n) {
 	//   int m = 5;
 	//   return m + n;
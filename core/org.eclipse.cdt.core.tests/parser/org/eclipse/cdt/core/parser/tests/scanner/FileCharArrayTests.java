@@ -66,6 +66,72 @@ public class FileCharArrayTests extends BaseTestCase {
 		testFile(false, LazyCharArray.CHUNK_SIZE * 3 + 1);
 	}
 
+	public void testAlternatingChunks() throws IOException {
+		final int charSize = LazyCharArray.CHUNK_SIZE * 3 + 1;
+		createFile(false, charSize);
+
+		AbstractCharArray charArray;
+		final FileInputStream inputStream = new FileInputStream(fFile);
+		try {
+			charArray = FileCharArray.create(fFile.getPath(), "utf-8", inputStream);
+		} finally {
+			inputStream.close();
+		}
+
+		// Jump between the chunks, such that the current chunk changes with every access.
+		for (int i = LazyCharArray.CHUNK_SIZE; i < charSize - 2 * LazyCharArray.CHUNK_SIZE; i++) {
+			assertEquals(i % 127, charArray.get(i));
+			assertEquals((i + LazyCharArray.CHUNK_SIZE) % 127, charArray.get(i + LazyCharArray.CHUNK_SIZE));
+			assertTrue(charArray.isValidOffset(i - LazyCharArray.CHUNK_SIZE));
+		}
+		((LazyCharArray) charArray).testClearData();
+		assertEquals(0, charArray.get(charSize));
+		assertTrue(charArray.isValidOffset(charSize - 1));
+		assertFalse(charArray.isValidOffset(charSize));
+		assertEquals((charSize - 1) % 127, charArray.get(charSize - 1));
+		assertEquals(1, charArray.get(1));
+	}
+
+	public void testConcurrentReaders() throws Exception {
+		final int charSize = LazyCharArray.CHUNK_SIZE * 4 + 1;
+		createFile(true, charSize);
+
+		final AbstractCharArray charArray;
+		final FileInputStream inputStream = new FileInputStream(fFile);
+		try {
+			charArray = FileCharArray.create(fFile.getPath(), "utf-8", inputStream);
+		} finally {
+			inputStream.close();
+		}
+		assertEquals(charSize, charArray.getLength());
+
+		// Each reader stays in its own chunk, such that the current chunk keeps changing.
+		final Throwable[] failure = new Throwable[1];
+		Thread[] readers = new Thread[4];
+		for (int t = 0; t < readers.length; t++) {
+			final int start = t * LazyCharArray.CHUNK_SIZE;
+			readers[t] = new Thread(() -> {
+				try {
+					for (int k = 0; k < 20; k++) {
+						for (int i = start; i < start + LazyCharArray.CHUNK_SIZE; i++) {
+							assertTrue(charArray.isValidOffset(i));
+							assertEquals(i % 127, charArray.get(i));
+						}
+					}
+				} catch (Throwable e) {
+					failure[0] = e;
+				}
+			});
+			readers[t].start();
+		}
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		if (failure[0] != null) {
+			throw new Exception(failure[0]);
+		}
+	}
+
 	private void testFile(boolean aligned, int charSize) throws IOException {
 		createFile(aligned, charSize);
 
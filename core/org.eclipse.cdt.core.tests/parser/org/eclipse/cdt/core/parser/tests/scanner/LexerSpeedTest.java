@@ -0,0 +1,117 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.core.parser.tests.scanner;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import org.eclipse.cdt.core.parser.IToken;
+import org.eclipse.cdt.internal.core.parser.scanner.AbstractCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.CharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.FileCharArray;
+import org.eclipse.cdt.internal.core.parser.scanner.ILexerLog;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer;
+import org.eclipse.cdt.internal.core.parser.scanner.Lexer.LexerOptions;
+import org.eclipse.cdt.internal.core.parser.scanner.LazyCharArray;
+
+/**
+ * Compares the speed of lexing a large generated header from a file backed {@link LazyCharArray}
+ * with lexing it from a {@link CharArray} holding the entire content.
+ */
+public class LexerSpeedTest {
+
+	public static void main(String[] args) {
+		try {
+			int lines = args.length > 0 ? Integer.parseInt(args[0]) : 200000;
+			new LexerSpeedTest().runTest(lines, 20);
+		} catch (Exception e) {
+			System.out.println(e);
+		}
+	}
+
+	public void test() throws Exception {
+		runTest(20000, 5);
+	}
+
+	private void runTest(int lines, int n) throws Exception {
+		File file = createHeader(lines);
+		try {
+			char[] content = new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8).toCharArray();
+			long fileTime = 0;
+			long arrayTime = 0;
+			for (int i = 0; i < n; ++i) {
+				long time = testLex(openFile(file));
+				if (i > 0)
+					fileTime += time;
+				time = testLex(new CharArray(content));
+				if (i > 0)
+					arrayTime += time;
+			}
+			if (n > 1) {
+				System.out.println("Average Time (file): " + (fileTime / (n - 1)) + " millisecs");
+				System.out.println("Average Time (char array): " + (arrayTime / (n - 1)) + " millisecs");
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+	private AbstractCharArray openFile(File file) throws IOException {
+		try (FileInputStream in = new FileInputStream(file)) {
+			return FileCharArray.create(file.getPath(), "UTF-8", in);
+		}
+	}
+
+	protected long testLex(AbstractCharArray input) throws Exception {
+		Lexer lexer = new Lexer(input, new LexerOptions(), ILexerLog.NULL, null);
+		long startTime = System.currentTimeMillis();
+		int count = 0;
+		while (lexer.nextToken().getType() != IToken.tEND_OF_INPUT) {
+			++count;
+		}
+		long totalTime = System.currentTimeMillis() - startTime;
+		System.out.println("Lexing took " + totalTime + " millisecs " + count + " tokens");
+		return totalTime;
+	}
+
+	private File createHeader(int lines) throws IOException {
+		File file = File.createTempFile("generated", ".h");
+		try (Writer out = new BufferedWriter(
+				new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+			out.write("#ifndef GENERATED_H\n#define GENERATED_H\n");
+			for (int i = 0; i < lines; i++) {
+				switch (i % 4) {
+				case 0:
+					out.write("/* Register " + i + " */\n");
+					break;
+				case 1:
+					out.write("#define REGISTER_" + i + "_OFFSET 0x" + Integer.toHexString(i) + "UL\n");
+					break;
+				case 2:
+					out.write("extern int register_" + i + "_read(const char *name, unsigned long mask);\n");
+					break;
+				default:
+					out.write("static const char register_" + i + "_name[] = \"REGISTER_" + i + "\"; // \u00b5\n");
+					break;
+				}
+			}
+			out.write("#endif\n");
+		}
+		return file;
+	}
+}
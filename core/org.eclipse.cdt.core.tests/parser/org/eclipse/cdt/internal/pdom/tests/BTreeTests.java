@@ -119,6 +119,54 @@ public class BTreeTests extends BaseTestCase {
 		}
 	}
 
+	/**
+	 * Test bulk loading of random records, followed by insertions and deletions.
+	 */
+	public void testBulkLoad() throws Exception {
+		Random random = new Random(4711);
+		int[] sizes = { 0, 1, 2, 3, 7, 15, 16, 17, 100, 1000, random.nextInt(50000) };
+		for (int size : sizes) {
+			final int degree = 2 + random.nextInt(11);
+			init(degree);
+			try {
+				SortedSet expected = new TreeSet();
+				List history = new ArrayList();
+				long[] records = new long[size];
+				for (int i = 0; i < size; i++) {
+					// Use a small range of values to get duplicates.
+					int value = random.nextInt(size * 2 + 1);
+					BTMockRecord btValue = new BTMockRecord(db, value);
+					records[i] = btValue.getRecord();
+					if (expected.add(value)) {
+						history.add(btValue);
+					}
+				}
+				btree.bulkLoad(records);
+				assertBTreeMatchesSortedSet("[Bulk load " + size + "] ", btree, expected);
+				assertBTreeInvariantsHold("[Bulk load " + size + "]");
+
+				for (int i = 0; i < size; i++) {
+					if (random.nextBoolean()) {
+						int value = random.nextInt(Integer.MAX_VALUE);
+						if (expected.add(value)) {
+							BTMockRecord btValue = new BTMockRecord(db, value);
+							history.add(btValue);
+							btree.insert(btValue.getRecord());
+						}
+					} else if (!history.isEmpty()) {
+						BTMockRecord btValue = (BTMockRecord) history.remove(random.nextInt(history.size()));
+						expected.remove(Integer.valueOf(btValue.intValue()));
+						btree.delete(btValue.getRecord());
+					}
+				}
+				assertBTreeMatchesSortedSet("[After bulk load " + size + "] ", btree, expected);
+				assertBTreeInvariantsHold("[After bulk load " + size + "]");
+			} finally {
+				finish();
+			}
+		}
+	}
+
 	/**
 	 * Insert/Delete a random number of records into/from the B-tree
 	 * @param seed the seed for obtaining the deterministic random testing
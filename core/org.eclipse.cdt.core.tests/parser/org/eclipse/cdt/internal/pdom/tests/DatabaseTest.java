@@ -22,6 +22,7 @@ import org.eclipse.cdt.core.testplugin.CTestPlugin;
 import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.CompressedChunkFile;
 import org.eclipse.cdt.internal.core.pdom.db.Database;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeComparator;
 import org.eclipse.cdt.internal.core.pdom.db.IBTreeVisitor;
@@ -147,6 +148,163 @@ public class DatabaseTest extends BaseTestCase {
 		assertEquals(mem2, mem1);
 	}
 
+	public void testMemoryMappedReads() throws Exception {
+		final int count = 3 * Database.CHUNK_SIZE / 8;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(8);
+			db.putLong(records[i], i * 31L);
+		}
+		db.flush();
+
+		Database mapped = new Database(db.getLocation(), new ChunkCache(Database.CHUNK_SIZE), 0, true);
+		try {
+			mapped.setMemoryMapped(true);
+			mapped.setLocked(true);
+			for (int i = 0; i < count; i++) {
+				assertEquals(i * 31L, mapped.getLong(records[i]));
+			}
+		} finally {
+			mapped.setExclusiveLock();
+			mapped.close();
+		}
+		assertFalse(mapped.isMemoryMapped());
+
+		// Closing released the mappings, so the file can be truncated.
+		db.clear(0);
+		db.flush();
+		assertEquals(Database.CHUNK_SIZE, db.getLocation().length());
+	}
+
+	public void testUnmapWhileReading() throws Exception {
+		final int count = 8 * Database.CHUNK_SIZE / 8;
+		final long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(8);
+			db.putLong(records[i], i * 23L);
+		}
+		db.flush();
+
+		final Database mapped = new Database(db.getLocation(), new ChunkCache(Database.CHUNK_SIZE), 0, true);
+		mapped.setLocked(true);
+		final Throwable[] failure = new Throwable[1];
+		Thread[] readers = new Thread[4];
+		try {
+			for (int t = 0; t < readers.length; t++) {
+				final int seed = t;
+				readers[t] = new Thread(() -> {
+					Random random = new Random(seed);
+					try {
+						for (int k = 0; k < 20000; k++) {
+							int i = random.nextInt(count);
+							assertEquals(i * 23L, mapped.getLong(records[i]));
+						}
+					} catch (Throwable e) {
+						failure[0] = e;
+					}
+				});
+				readers[t].start();
+			}
+			// Mappings are released while the readers may be copying out of them.
+			for (int k = 0; k < 100; k++) {
+				mapped.setMemoryMapped(true);
+				Thread.yield();
+				mapped.setMemoryMapped(false);
+			}
+			for (Thread reader : readers) {
+				reader.join();
+			}
+		} finally {
+			mapped.setExclusiveLock();
+			mapped.close();
+		}
+		if (failure[0] != null) {
+			throw new Exception(failure[0]);
+		}
+		db.clear(0);
+		db.flush();
+		assertEquals(Database.CHUNK_SIZE, db.getLocation().length());
+	}
+
+	public void testCompressedChunkFile() throws Exception {
+		final int count = 3 * Database.CHUNK_SIZE / 8;
+		long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(8);
+			db.putLong(records[i], i * 13L);
+		}
+		db.setVersion(42);
+		db.flush();
+
+		File compressed = getTestDir().append(getName() + System.currentTimeMillis() + ".cmp").toFile();
+		try {
+			CompressedChunkFile.compress(db.getLocation(), compressed);
+			assertTrue(compressed.length() < db.getLocation().length());
+
+			Database readOnly = new Database(compressed, new ChunkCache(Database.CHUNK_SIZE), 0, true);
+			readOnly.setLocked(true);
+			assertEquals(42, readOnly.getVersion());
+			for (int i = 0; i < count; i++) {
+				assertEquals(i * 13L, readOnly.getLong(records[i]));
+			}
+			readOnly.setExclusiveLock();
+			readOnly.close();
+
+			// Opening for writing restores the uncompressed format.
+			Database writable = new Database(compressed, new ChunkCache(), 0, false);
+			assertEquals(db.getLocation().length(), compressed.length());
+			writable.setExclusiveLock();
+			assertEquals(42, writable.getVersion());
+			for (int i = 0; i < count; i++) {
+				assertEquals(i * 13L, writable.getLong(records[i]));
+			}
+			writable.close();
+		} finally {
+			compressed.delete();
+		}
+	}
+
+	public void testConcurrentReadersWithSmallCache() throws Exception {
+		// Each segment of the cache holds at least one chunk, there are no more than 64 segments.
+		final int dataChunks = 4 * 64;
+		final int count = dataChunks * Database.CHUNK_SIZE / 8;
+		final long[] records = new long[count];
+		for (int i = 0; i < count; i++) {
+			records[i] = db.malloc(8);
+			db.putLong(records[i], i * 17L);
+		}
+		db.giveUpExclusiveLock(true);
+		db.getChunkCache().setMaxSize(4 * Database.CHUNK_SIZE);
+		// The readers must evict chunks all the time.
+		assertTrue(db.getChunkCache().getMaxSize() * 4 <= (long) dataChunks * Database.CHUNK_SIZE);
+		db.setLocked(true);
+
+		final Throwable[] failure = new Throwable[1];
+		Thread[] readers = new Thread[4];
+		for (int t = 0; t < readers.length; t++) {
+			final int seed = t;
+			readers[t] = new Thread(() -> {
+				Random random = new Random(seed);
+				try {
+					for (int k = 0; k < 10000; k++) {
+						int i = random.nextInt(count);
+						assertEquals(i * 17L, db.getLong(records[i]));
+					}
+				} catch (Throwable e) {
+					failure[0] = e;
+				}
+			});
+			readers[t].start();
+		}
+		for (Thread reader : readers) {
+			reader.join();
+		}
+		db.setExclusiveLock();
+		if (failure[0] != null) {
+			throw new Exception(failure[0]);
+		}
+	}
+
 	private static class FindVisitor implements IBTreeVisitor {
 		private Database db;
 		private String key;
@@ -232,6 +390,11 @@ public class DatabaseTest extends BaseTestCase {
 
 		assertCMP("a", EQ, "a", false);
 		assertCMP("a", EQ, "A", false);
+
+		// Strings that cannot be stored as bytes.
+		assertCMP("a\u0100", LT, "a\u0101", true);
+		assertCMP("a\u0100", GT, "A\u0100", true);
+		assertCMP("a\u0100", EQ, "A\u0100", false);
 	}
 
 	public void testLongStringComparison() throws CoreException {
@@ -278,6 +441,16 @@ public class DatabaseTest extends BaseTestCase {
 		IString aisc = db.newString(acs);
 		IString bisc = db.newString(bcs);
 
+		if (aiss instanceof ShortString) {
+			// Compares against the chunk, the characters are not yet cached.
+			assertSignEquals(expected, new ShortString(db, aiss.getRecord()).compare(bcs, caseSensitive));
+			assertSignEquals(expected, new ShortString(db, aiss.getRecord()).compare(b, caseSensitive));
+			assertSignEquals(expected, new ShortString(db, aiss.getRecord()).comparePrefix(bcs, caseSensitive));
+			if (!caseSensitive && expected != 0) {
+				assertSignEquals(expected, new ShortString(db, aiss.getRecord()).compareCompatibleWithIgnoreCase(bcs));
+			}
+		}
+
 		assertEquals(a.hashCode(), aiss.hashCode());
 		assertEquals(a.hashCode(), aisc.hashCode());
 		assertEquals(b.hashCode(), biss.hashCode());
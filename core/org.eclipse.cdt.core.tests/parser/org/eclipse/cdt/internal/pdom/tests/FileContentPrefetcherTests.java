@@ -0,0 +1,167 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.cdt.core.parser.FileContent;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.pdom.FileContentPrefetcher;
+
+import junit.framework.Test;
+
+/**
+ * Tests for {@link FileContentPrefetcher}.
+ */
+public class FileContentPrefetcherTests extends BaseTestCase {
+	private static final long TIMEOUT = 10000;
+
+	private ExecutorService fExecutor;
+
+	public static Test suite() {
+		return suite(FileContentPrefetcherTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		fExecutor = FileContentPrefetcher.createExecutor(3);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		fExecutor.shutdownNow();
+		super.tearDown();
+	}
+
+	private static FileContent read(Object tu) {
+		return FileContent.create((String) tu, ((String) tu).toCharArray());
+	}
+
+	private static List<Object> units(int count) {
+		List<Object> tus = new ArrayList<>();
+		for (int i = 0; i < count; i++) {
+			tus.add("file" + i + ".cpp");
+		}
+		return tus;
+	}
+
+	public void testContentsAreReturnedInOrder() throws Exception {
+		List<Object> tus = units(10);
+		FileContentPrefetcher prefetcher = new FileContentPrefetcher(FileContentPrefetcherTests::read, tus, fExecutor,
+				3);
+		try {
+			for (Object tu : tus) {
+				FileContent content = prefetcher.getCodeReader(tu);
+				assertNotNull(content);
+				assertEquals(tu, content.getFileLocation());
+			}
+		} finally {
+			prefetcher.dispose();
+		}
+	}
+
+	public void testSkippedUnitsAreDiscarded() throws Exception {
+		List<Object> tus = units(4);
+		FileContentPrefetcher prefetcher = new FileContentPrefetcher(FileContentPrefetcherTests::read, tus, fExecutor,
+				2);
+		try {
+			assertNotNull(prefetcher.getCodeReader(tus.get(2)));
+			// The preceding units have been dropped, the caller reads them itself.
+			assertNull(prefetcher.getCodeReader(tus.get(0)));
+			assertNull(prefetcher.getCodeReader(tus.get(1)));
+			assertNotNull(prefetcher.getCodeReader(tus.get(3)));
+		} finally {
+			prefetcher.dispose();
+		}
+	}
+
+	public void testReadAheadIsBounded() throws Exception {
+		AtomicInteger started = new AtomicInteger();
+		Function<Object, FileContent> reader = tu -> {
+			started.incrementAndGet();
+			return read(tu);
+		};
+		List<Object> tus = units(20);
+		// Two threads read at most four units ahead.
+		FileContentPrefetcher prefetcher = new FileContentPrefetcher(reader, tus, fExecutor, 2);
+		try {
+			waitFor(started, 4);
+			Thread.sleep(100);
+			assertEquals(4, started.get());
+
+			// Consuming a unit makes room for exactly one more.
+			assertNotNull(prefetcher.getCodeReader(tus.get(0)));
+			waitFor(started, 5);
+			Thread.sleep(100);
+			assertEquals(5, started.get());
+
+			for (Object tu : tus.subList(1, tus.size())) {
+				assertNotNull(prefetcher.getCodeReader(tu));
+			}
+			assertEquals(tus.size(), started.get());
+		} finally {
+			prefetcher.dispose();
+		}
+	}
+
+	private static void waitFor(AtomicInteger counter, int value) throws InterruptedException {
+		final long end = System.currentTimeMillis() + TIMEOUT;
+		while (counter.get() < value && System.currentTimeMillis() < end) {
+			Thread.sleep(10);
+		}
+	}
+
+	public void testFailedReadIsLeftToCaller() throws Exception {
+		List<Object> tus = Arrays.asList("a.cpp", "b.cpp", "c.cpp");
+		Function<Object, FileContent> reader = tu -> {
+			if (tu.equals("b.cpp"))
+				throw new IllegalStateException("Cannot read " + tu);
+			return read(tu);
+		};
+		FileContentPrefetcher prefetcher = new FileContentPrefetcher(reader, tus, fExecutor, 2);
+		try {
+			assertNotNull(prefetcher.getCodeReader("a.cpp"));
+			// The caller reads the file once more and handles the problem.
+			assertNull(prefetcher.getCodeReader("b.cpp"));
+			assertNotNull(prefetcher.getCodeReader("c.cpp"));
+		} finally {
+			prefetcher.dispose();
+		}
+	}
+
+	public void testExecutorIsSharedByPrefetchers() throws Exception {
+		List<Object> tus = units(6);
+		FileContentPrefetcher first = new FileContentPrefetcher(FileContentPrefetcherTests::read, tus.subList(0, 3),
+				fExecutor, 3);
+		try {
+			assertNotNull(first.getCodeReader(tus.get(0)));
+		} finally {
+			first.dispose();
+		}
+		// Disposing of a prefetcher keeps the worker threads for the next one.
+		assertFalse(fExecutor.isShutdown());
+		FileContentPrefetcher second = new FileContentPrefetcher(FileContentPrefetcherTests::read,
+				tus.subList(3, 6), fExecutor, 3);
+		try {
+			for (Object tu : tus.subList(3, 6)) {
+				assertNotNull(second.getCodeReader(tu));
+			}
+		} finally {
+			second.dispose();
+		}
+	}
+}
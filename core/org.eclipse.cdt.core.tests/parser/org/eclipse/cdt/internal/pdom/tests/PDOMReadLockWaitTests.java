@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import java.io.File;
+
+import org.eclipse.cdt.core.index.IIndexFileLocation;
+import org.eclipse.cdt.core.index.IIndexLocationConverter;
+import org.eclipse.cdt.core.model.LanguageManager;
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.pdom.PDOM;
+import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+
+import junit.framework.Test;
+
+/**
+ * Tests for the time readers wait for the lock of the PDOM, see {@link PDOM#getReadLockWaitTime()}.
+ */
+public class PDOMReadLockWaitTests extends BaseTestCase {
+	private static final long TIMEOUT = 10000;
+
+	private File pdomFile;
+	private PDOM pdom;
+
+	public static Test suite() {
+		return suite(PDOMReadLockWaitTests.class);
+	}
+
+	private static class MockIndexLocationConverter implements IIndexLocationConverter {
+		@Override
+		public IIndexFileLocation fromInternalFormat(String raw) {
+			return null;
+		}
+
+		@Override
+		public String toInternalFormat(IIndexFileLocation location) {
+			return null;
+		}
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+		pdomFile = File.createTempFile(getClass().getSimpleName() + '.' + Double.toString(Math.random()).substring(2),
+				null);
+		pdom = new WritablePDOM(pdomFile, new MockIndexLocationConverter(),
+				LanguageManager.getInstance().getPDOMLinkageFactoryMappings());
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		pdom.acquireWriteLock(null);
+		try {
+			pdom.close();
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		pdomFile.delete();
+		super.tearDown();
+	}
+
+	/**
+	 * Lets a reader wait for the write lock held by the calling thread for at least the given time.
+	 */
+	private void blockReader(long millis) throws Exception {
+		pdom.acquireWriteLock(null);
+		Thread reader = new Thread(() -> {
+			try {
+				pdom.acquireReadLock();
+				pdom.releaseReadLock();
+			} catch (InterruptedException e) {
+			}
+		});
+		try {
+			reader.start();
+			final long end = System.currentTimeMillis() + TIMEOUT;
+			while (reader.getState() != Thread.State.WAITING && System.currentTimeMillis() < end) {
+				Thread.sleep(1);
+			}
+			assertEquals(Thread.State.WAITING, reader.getState());
+			Thread.sleep(millis);
+		} finally {
+			pdom.releaseWriteLock();
+		}
+		reader.join(TIMEOUT);
+		assertFalse(reader.isAlive());
+	}
+
+	public void testUncontendedReadLock() throws Exception {
+		pdom.resetCacheCounters();
+		pdom.acquireReadLock();
+		pdom.releaseReadLock();
+		assertEquals(0, pdom.getReadLockWaitTime());
+	}
+
+	public void testWaitForWriterIsReported() throws Exception {
+		pdom.resetCacheCounters();
+		blockReader(50);
+		long first = pdom.getReadLockWaitTime();
+		assertTrue("Wait time " + first, first > 0);
+
+		// Wait times accumulate until the counters are reset.
+		blockReader(50);
+		long second = pdom.getReadLockWaitTime();
+		assertTrue("Wait times " + first + ", " + second, second > first);
+
+		pdom.acquireReadLock();
+		pdom.releaseReadLock();
+		assertEquals(second, pdom.getReadLockWaitTime());
+
+		pdom.resetCacheCounters();
+		assertEquals(0, pdom.getReadLockWaitTime());
+	}
+}
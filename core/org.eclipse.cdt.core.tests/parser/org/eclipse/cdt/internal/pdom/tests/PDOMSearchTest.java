@@ -293,6 +293,37 @@ public class PDOMSearchTest extends PDOMTestBase {
 		assertEquals(offset("main.cpp", "int var;") + 4, loc.getNodeOffset()); // character offset
 	}
 
+	/**
+	 * Wildcard patterns are answered through the name index, the results have to be the same as
+	 * when visiting all bindings.
+	 */
+	public void testWildcardSearchViaNameIndex() throws Exception {
+		String[] patterns = { ".*ass.*", "Class.*1", ".*space.*", "cla.*y", ".*ar" };
+		for (String p : patterns) {
+			for (int flags : new int[] { 0, Pattern.CASE_INSENSITIVE }) {
+				for (boolean isFullyQualified : new boolean[] { false, true }) {
+					IBinding[] viaIndex = pdom.findBindings(new Pattern[] { Pattern.compile(p, flags) },
+							isFullyQualified, INDEX_FILTER, NULL_MONITOR);
+					// Additional flags prevent the use of the name index.
+					IBinding[] viaVisit = pdom.findBindings(
+							new Pattern[] { Pattern.compile(p, flags | Pattern.UNICODE_CASE) }, isFullyQualified,
+							INDEX_FILTER, NULL_MONITOR);
+					String message = p + " " + flags + " " + isFullyQualified;
+					assertEquals(message, getQualifiedNames(viaVisit), getQualifiedNames(viaIndex));
+				}
+			}
+		}
+	}
+
+	private String getQualifiedNames(IBinding[] bindings) throws CoreException {
+		String[] names = new String[bindings.length];
+		for (int i = 0; i < bindings.length; i++) {
+			names[i] = getQualifiedName(bindings[i]);
+		}
+		Arrays.sort(names);
+		return Arrays.toString(names);
+	}
+
 	/**
 	 * Returns the fully qualified name for a given binding.
 	 */
@@ -0,0 +1,122 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.pdom.tests;
+
+import java.io.File;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import org.eclipse.cdt.core.testplugin.util.BaseTestCase;
+import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
+import org.eclipse.cdt.internal.core.pdom.db.Database;
+import org.eclipse.cdt.internal.core.pdom.db.TrigramIndex;
+import org.eclipse.core.runtime.CoreException;
+
+import junit.framework.Test;
+
+public class TrigramIndexTests extends BaseTestCase {
+	protected File dbFile;
+	protected Database db;
+	protected TrigramIndex index;
+	protected int rootRecord;
+
+	public static Test suite() {
+		return suite(TrigramIndexTests.class);
+	}
+
+	@Override
+	protected void setUp() throws Exception {
+		super.setUp();
+
+		dbFile = File.createTempFile("trigramindextest", "db");
+		db = new Database(dbFile, new ChunkCache(), 0, false);
+		db.setExclusiveLock();
+		rootRecord = Database.DATA_AREA;
+		index = new TrigramIndex(db, rootRecord);
+	}
+
+	@Override
+	protected void tearDown() throws Exception {
+		db.close();
+		dbFile.deleteOnExit();
+
+		super.tearDown();
+	}
+
+	private Set<String> findCandidates(TrigramIndex index, String... substrings) throws CoreException {
+		char[][] chars = new char[substrings.length][];
+		for (int i = 0; i < substrings.length; i++) {
+			chars[i] = substrings[i].toCharArray();
+		}
+		long[] records = index.findCandidates(chars);
+		if (records == null)
+			return null;
+
+		Set<String> result = new HashSet<>();
+		for (long record : records) {
+			assertTrue("Duplicate candidate", result.add(db.getString(record).getString()));
+		}
+		return result;
+	}
+
+	public void testSubstrings() throws Exception {
+		index.add("getFileName".toCharArray());
+		index.add("setFileName".toCharArray());
+		index.add("getFileName".toCharArray());
+		index.add("fileno".toCharArray());
+		index.add("fd".toCharArray());
+
+		assertEquals(new HashSet<>(Arrays.asList("getFileName", "setFileName", "fileno")),
+				findCandidates(index, "File"));
+		assertTrue(findCandidates(index, "getFile").contains("getFileName"));
+		assertFalse(findCandidates(index, "getFile").contains("fileno"));
+		assertTrue(findCandidates(index, "xyz").isEmpty());
+		assertNull(findCandidates(index, "fd"));
+		assertNull(findCandidates(index, "fd", "g"));
+		assertNull(findCandidates(index));
+
+		// The index is persistent.
+		TrigramIndex other = new TrigramIndex(db, rootRecord);
+		assertEquals(findCandidates(index, "name"), findCandidates(other, "name"));
+	}
+
+	public void testRandomNames() throws Exception {
+		Random random = new Random(4711);
+		Set<String> names = new HashSet<>();
+		String alphabet = "abcdeABCDE_1";
+		for (int i = 0; i < 3000; i++) {
+			StringBuilder name = new StringBuilder();
+			int length = 1 + random.nextInt(12);
+			for (int j = 0; j < length; j++) {
+				name.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			names.add(name.toString());
+			index.add(name.toString().toCharArray());
+		}
+
+		for (int i = 0; i < 200; i++) {
+			StringBuilder substring = new StringBuilder();
+			int length = 3 + random.nextInt(3);
+			for (int j = 0; j < length; j++) {
+				substring.append(alphabet.charAt(random.nextInt(alphabet.length())));
+			}
+			String lower = substring.toString().toLowerCase();
+			Set<String> candidates = findCandidates(index, substring.toString());
+			for (String name : names) {
+				if (name.toLowerCase().contains(lower)) {
+					assertTrue(name + " is missing for " + substring, candidates.contains(name));
+				}
+			}
+		}
+	}
+}
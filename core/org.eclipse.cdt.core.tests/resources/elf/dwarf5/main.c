@@ -0,0 +1,8 @@
+#include "util.h"
+
+int counter;
+
+void _start(void) {
+	for (;;)
+		counter = twice(counter);
+}
@@ -44,6 +44,7 @@ import org.eclipse.cdt.utils.FindProgramLocationTest;
 import org.eclipse.cdt.utils.StorableCdtVariablesTest;
 import org.eclipse.cdt.utils.UNCPathConverterTest;
 import org.eclipse.cdt.utils.WeakHashSetTest;
+import org.eclipse.cdt.utils.debug.dwarf.DwarfReaderTest;
 import org.eclipse.cdt.utils.elf.ElfParserTest;
 
 import junit.framework.JUnit4TestAdapter;
@@ -103,6 +104,7 @@ public class AutomatedIntegrationSuite extends TestSuite {
 		suite.addTest(UNCPathConverterTest.suite());
 		suite.addTest(TestScopeOfBuildConfigResourceChangesPreference.suite());
 		suite.addTest(ElfParserTest.suite());
+		suite.addTest(DwarfReaderTest.suite());
 
 		// Add in PDOM tests
 		suite.addTest(PDOMTests.suite());
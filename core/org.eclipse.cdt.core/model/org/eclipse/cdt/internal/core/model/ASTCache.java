@@ -15,6 +15,10 @@
  ******************************************************************************/
 package org.eclipse.cdt.internal.core.model;
 
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.index.IIndex;
@@ -23,7 +27,11 @@ import org.eclipse.cdt.core.model.ILanguage;
 import org.eclipse.cdt.core.model.ITranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.ASTTranslationUnit;
 import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.CPPSemantics;
+import org.eclipse.core.filebuffers.FileBuffers;
+import org.eclipse.core.filebuffers.ITextFileBuffer;
+import org.eclipse.core.filebuffers.LocationKind;
 import org.eclipse.core.runtime.CoreException;
+import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.ISafeRunnable;
 import org.eclipse.core.runtime.IStatus;
@@ -31,9 +39,18 @@ import org.eclipse.core.runtime.OperationCanceledException;
 import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.SafeRunner;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.IDocument;
+import org.eclipse.jface.text.IDocumentExtension4;
 
 /**
- * Provides a shared AST of a single translation unit at a time.
+ * Provides shared ASTs of the active translation unit and a few recently active ones.
+ * <p>
+ * The ASTs are versioned by the modification stamp of the document they were computed from.
+ * An AST is returned only if it was computed from the current version of the document. While
+ * a new AST is computed for a modified document, clients may explicitly ask for the previous AST
+ * instead of waiting for the new one, see
+ * {@link #acquireLastGoodAST(ITranslationUnit, IIndex, IProgressMonitor)} and
+ * {@link #runOnLastGoodAST(ITranslationUnit, IProgressMonitor, ASTRunnable)}.
  *
  * @since 4.0
  */
@@ -67,21 +84,46 @@ public class ASTCache {
 		IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) throws CoreException;
 	}
 
+	/**
+	 * The maximum number of translation units for which ASTs are cached. Besides the active
+	 * element the cache keeps the ASTs of recently active elements, e.g. the ones shown in
+	 * split editors.
+	 */
+	private static final int MAX_CACHED_ELEMENTS = 4;
+
+	/**
+	 * An AST of a translation unit and the version of the contents it was computed from.
+	 * When the contents changes, a new AST replaces the cached one. The AST itself is not
+	 * read-only, binding resolution fills in its state lazily. Clients therefore access it
+	 * exclusively, see {@link ASTCache#acquireSharedAST(ITranslationUnit, IIndex, boolean, IProgressMonitor)}.
+	 */
+	private static class Entry {
+		/** The cached AST if any */
+		IASTTranslationUnit fAST;
+		/**
+		 * The timestamp of the last index write access at the time
+		 * the AST got cached. A cached AST becomes invalid on any index
+		 * write access afterwards.
+		 */
+		long fLastWriteOnIndex;
+		/** The modification stamp of the document the AST was computed from */
+		long fASTModificationStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		/** The most recent modification stamp of the document */
+		long fModificationStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		/** The modification stamp of the document being reconciled */
+		long fReconciledModificationStamp = IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+		/** Indicates whether the AST is currently being computed */
+		boolean fIsReconciling;
+
+	}
+
 	private final int fParseMode;
 	private final Object fCacheMutex = new Object();
 
 	/** The active translation unit for which to cache the AST */
 	private ITranslationUnit fActiveTU;
-	/** The cached AST if any */
-	private IASTTranslationUnit fAST;
-	/**
-	 * The timestamp of the last index write access at the time
-	 * the AST got cached. A cached AST becomes invalid on any index
-	 * write access afterwards.
-	 */
-	private long fLastWriteOnIndex;
-	/** Indicates whether the AST is currently being computed */
-	private boolean fIsReconciling;
+	/** The cached entries in least recently used order */
+	private final Map<ITranslationUnit, Entry> fEntries = new LinkedHashMap<>(16, 0.75f, true);
 
 	/**
 	 * Create a new AST cache.
@@ -101,10 +143,12 @@ public class ASTCache {
 	 * @param tUnit				the translation unit
 	 * @param index				the index used to create the AST, needs to be read-locked
 	 * @param wait				if <code>true</code>, wait for AST to be computed (might compute a new AST)
+	 * @param acceptStale		if <code>true</code>, the AST of a previous version of the document is
+	 *                          returned while a new AST is being computed
 	 * @param progressMonitor	the progress monitor or <code>null</code>
 	 * @return					the AST or <code>null</code> if the AST is not available
 	 */
-	private IASTTranslationUnit getAST(ITranslationUnit tUnit, IIndex index, boolean wait,
+	private IASTTranslationUnit getAST(ITranslationUnit tUnit, IIndex index, boolean wait, boolean acceptStale,
 			IProgressMonitor progressMonitor) {
 		if (tUnit == null)
 			return null;
@@ -113,58 +157,59 @@ public class ASTCache {
 			if (progressMonitor != null && progressMonitor.isCanceled())
 				return null;
 
-			final boolean isActiveElement;
+			// The file buffers are not accessed while holding the mutex.
+			final long documentStamp = getDocumentModificationStamp(tUnit);
+			final boolean isCachedElement;
 			synchronized (fCacheMutex) {
-				isActiveElement = tUnit.equals(fActiveTU);
-				if (isActiveElement) {
-					if (fAST != null) {
-						// AST is cached
-						if (fLastWriteOnIndex < index.getLastWriteAccess()) {
-							// AST has been invalidated by index write access
-							disposeAST();
-						} else {
-							// cached AST is valid
-							if (DEBUG)
-								System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
-										+ toString(fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
-							return fAST;
-						}
-					}
-					// no cached AST
-					if (!wait) {
-						// no AST, no wait - we are done
+				Entry entry = fEntries.get(tUnit);
+				isCachedElement = entry != null || tUnit.equals(fActiveTU);
+				if (entry != null && entry.fAST != null) {
+					// AST is cached
+					if (entry.fLastWriteOnIndex < index.getLastWriteAccess()) {
+						// AST has been invalidated by index write access
+						disposeAST(entry, tUnit);
+					} else if (isUpToDate(entry, tUnit, documentStamp)) {
+						// cached AST is valid
 						if (DEBUG)
-							System.out.println(DEBUG_PREFIX + getThreadName() + "returning null (WAIT_NO) for: " //$NON-NLS-1$
-									+ tUnit.getElementName());
-						return null;
+							System.out.println(DEBUG_PREFIX + getThreadName() + "returning cached AST:" //$NON-NLS-1$
+									+ toString(entry.fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+						return entry.fAST;
+					} else if (!entry.fIsReconciling) {
+						// AST is out-dated and no new one is being computed
+						disposeAST(entry, tUnit);
+					} else if (acceptStale) {
+						// the last good AST has been asked for explicitly
+						if (DEBUG)
+							System.out.println(DEBUG_PREFIX + getThreadName() + "returning last good AST:" //$NON-NLS-1$
+									+ toString(entry.fAST) + " for: " + tUnit.getElementName()); //$NON-NLS-1$
+						return entry.fAST;
 					}
 				}
+				// no cached AST
+				if (!wait) {
+					// no AST, no wait - we are done
+					if (DEBUG)
+						System.out.println(DEBUG_PREFIX + getThreadName() + "returning null (WAIT_NO) for: " //$NON-NLS-1$
+								+ tUnit.getElementName());
+					return null;
+				}
 				// no cached AST, but wait
-				if (isActiveElement && isReconciling(tUnit)) {
+				if (entry != null && entry.fIsReconciling) {
 					try {
 						// Wait for AST
 						if (DEBUG)
 							System.out.println(
 									DEBUG_PREFIX + getThreadName() + "waiting for AST for: " + tUnit.getElementName()); //$NON-NLS-1$
 						fCacheMutex.wait();
-						// Check whether active element is still valid
-						if (fAST != null) {
-							if (DEBUG)
-								System.out.println(
-										DEBUG_PREFIX + getThreadName() + "...got AST for: " + tUnit.getElementName()); //$NON-NLS-1$
-							return fAST;
-						}
-						// try again
+						// Check the new AST against the current version of the document
 						continue;
 					} catch (InterruptedException e) {
 						return null; // thread has been interrupted don't compute AST
 					}
-				} else if (!wait) {
-					return null;
 				}
 			}
 
-			if (isActiveElement)
+			if (isCachedElement)
 				aboutToBeReconciled(tUnit);
 
 			if (DEBUG)
@@ -178,13 +223,14 @@ public class ASTCache {
 				else if (DEBUG && ast != null)
 					System.err.println(DEBUG_PREFIX + getThreadName() + "created AST for: " + tUnit.getElementName()); //$NON-NLS-1$
 			} finally {
-				if (isActiveElement) {
-					if (fAST != null) {
+				if (isCachedElement) {
+					IASTTranslationUnit cached = getCachedAST(tUnit);
+					if (cached != null) {
 						if (DEBUG)
 							System.out.println(DEBUG_PREFIX + getThreadName() + "Ignore created AST for " //$NON-NLS-1$
 									+ tUnit.getElementName() + "- AST from reconciler is newer"); //$NON-NLS-1$
 						// other reconciler was faster, still need to trigger notify
-						reconciled(fAST, tUnit);
+						reconciled(cached, tUnit);
 					} else
 						reconciled(ast, tUnit);
 				}
@@ -193,6 +239,49 @@ public class ASTCache {
 		}
 	}
 
+	private IASTTranslationUnit getCachedAST(ITranslationUnit tUnit) {
+		final long documentStamp = getDocumentModificationStamp(tUnit);
+		synchronized (fCacheMutex) {
+			Entry entry = fEntries.get(tUnit);
+			return entry == null || !isUpToDate(entry, tUnit, documentStamp) ? null : entry.fAST;
+		}
+	}
+
+	/**
+	 * Returns whether the AST of the entry was computed from the current version of the document.
+	 * The modification stamps of the active element are provided by the client, for other elements
+	 * the given stamp of the document in the file buffer is checked.
+	 *
+	 * @param documentStamp  the modification stamp of the document in the file buffer, obtained
+	 *     without holding the mutex, see {@link #getDocumentModificationStamp(ITranslationUnit)}
+	 */
+	private boolean isUpToDate(Entry entry, ITranslationUnit tUnit, long documentStamp) {
+		assert Thread.holdsLock(fCacheMutex);
+		if (!tUnit.equals(fActiveTU)) {
+			entry.fModificationStamp = documentStamp;
+		}
+		return entry.fASTModificationStamp == entry.fModificationStamp;
+	}
+
+	/**
+	 * Returns the modification stamp of the document of the translation unit in the file buffer,
+	 * or {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP} if the file is not open in a buffer.
+	 * Must not be called while holding the mutex, the file buffer manager has locks of its own.
+	 */
+	private static long getDocumentModificationStamp(ITranslationUnit tUnit) {
+		IPath path = tUnit.getPath();
+		if (path != null) {
+			ITextFileBuffer buffer = FileBuffers.getTextFileBufferManager().getTextFileBuffer(path,
+					LocationKind.NORMALIZE);
+			if (buffer != null) {
+				IDocument document = buffer.getDocument();
+				if (document instanceof IDocumentExtension4)
+					return ((IDocumentExtension4) document).getModificationStamp();
+			}
+		}
+		return IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP;
+	}
+
 	/**
 	 * Executes {@link ASTRunnable#runOnAST(ILanguage, IASTTranslationUnit)} with the AST
 	 * provided by this cache for the given translation unit. Handles acquiring
@@ -208,6 +297,26 @@ public class ASTCache {
 	 * @return the status returned by the ASTRunnable
 	 */
 	public IStatus runOnAST(ITranslationUnit tUnit, boolean wait, IProgressMonitor monitor, ASTRunnable astRunnable) {
+		return runOnAST(tUnit, wait, false, monitor, astRunnable);
+	}
+
+	/**
+	 * Executes {@link ASTRunnable#runOnAST(ILanguage, IASTTranslationUnit)} with the AST
+	 * provided by {@link #acquireLastGoodAST(ITranslationUnit, IIndex, IProgressMonitor)}
+	 * for the given translation unit, without waiting. Handles acquiring and releasing the index
+	 * read-lock for the client.
+	 *
+	 * @param tUnit  the translation unit
+	 * @param monitor  a progress monitor, may be <code>null</code>
+	 * @param astRunnable  the runnable taking the AST
+	 * @return the status returned by the ASTRunnable
+	 */
+	public IStatus runOnLastGoodAST(ITranslationUnit tUnit, IProgressMonitor monitor, ASTRunnable astRunnable) {
+		return runOnAST(tUnit, false, true, monitor, astRunnable);
+	}
+
+	private IStatus runOnAST(ITranslationUnit tUnit, boolean wait, boolean lastGood, IProgressMonitor monitor,
+			ASTRunnable astRunnable) {
 		IIndex index;
 		try {
 			index = CCorePlugin.getIndexManager().getIndex(tUnit.getCProject(),
@@ -220,7 +329,8 @@ public class ASTCache {
 		}
 
 		try {
-			IASTTranslationUnit ast = acquireSharedAST(tUnit, index, wait, monitor);
+			IASTTranslationUnit ast = lastGood ? acquireLastGoodAST(tUnit, index, monitor)
+					: acquireSharedAST(tUnit, index, wait, monitor);
 			ILanguage lang = (tUnit instanceof TranslationUnit) ? ((TranslationUnit) tUnit).getLanguageOfContext()
 					: tUnit.getLanguage();
 			if (ast == null) {
@@ -262,7 +372,7 @@ public class ASTCache {
 	 */
 	public final IASTTranslationUnit acquireSharedAST(ITranslationUnit tUnit, IIndex index, boolean wait,
 			IProgressMonitor progressMonitor) {
-		IASTTranslationUnit ast = getAST(tUnit, index, wait, progressMonitor);
+		IASTTranslationUnit ast = getAST(tUnit, index, wait, false, progressMonitor);
 		if (ast != null) {
 			try {
 				if (wait) {
@@ -279,6 +389,32 @@ public class ASTCache {
 		return ast;
 	}
 
+	/**
+	 * Returns the cached AST for the given translation unit without waiting. While a new AST is
+	 * being computed for a modified document, the AST of the previous version of the document is
+	 * returned. The offsets in such an AST may not match the current contents of the document.
+	 * Otherwise the method behaves like
+	 * {@link #acquireSharedAST(ITranslationUnit, IIndex, boolean, IProgressMonitor)} without waiting.
+	 * The AST has to be released by calling {@link #releaseSharedAST(IASTTranslationUnit)}.
+	 *
+	 * @param tUnit				the translation unit
+	 * @param index				the index used to create the AST, needs to be read-locked
+	 * @param progressMonitor	the progress monitor or <code>null</code>
+	 * @return					the AST or <code>null</code> if no AST is available
+	 */
+	public final IASTTranslationUnit acquireLastGoodAST(ITranslationUnit tUnit, IIndex index,
+			IProgressMonitor progressMonitor) {
+		IASTTranslationUnit ast = getAST(tUnit, index, false, true, progressMonitor);
+		try {
+			if (ast != null && !((ASTTranslationUnit) ast).tryBeginExclusiveAccess(0)) {
+				return null;
+			}
+		} catch (InterruptedException e) {
+			throw new OperationCanceledException();
+		}
+		return ast;
+	}
+
 	/**
 	 * Releases a shared AST previously acquired by calling
 	 * {@link #acquireSharedAST(ITranslationUnit, IIndex, boolean, IProgressMonitor)}.
@@ -294,45 +430,124 @@ public class ASTCache {
 	/**
 	 * Caches the given AST for the given translation unit.
 	 *
+	 * @param entry  the entry of the translation unit
 	 * @param ast    the AST
 	 * @param tUnit  the translation unit
 	 */
-	private void cache(IASTTranslationUnit ast, ITranslationUnit tUnit) {
+	private void cache(Entry entry, IASTTranslationUnit ast, ITranslationUnit tUnit) {
 		assert Thread.holdsLock(fCacheMutex);
-		if (fActiveTU != null && !fActiveTU.equals(tUnit)) {
-			if (DEBUG && tUnit != null) // don't report call from disposeAST()
-				System.out.println(DEBUG_PREFIX + getThreadName() + "don't cache AST for inactive: " + toString(tUnit)); //$NON-NLS-1$
-			return;
-		}
-
-		if (DEBUG && (tUnit != null || ast != null)) // don't report call from disposeAST()
+		if (DEBUG && ast != null)
 			System.out.println(
 					DEBUG_PREFIX + getThreadName() + "caching AST: " + toString(ast) + " for: " + toString(tUnit)); //$NON-NLS-1$ //$NON-NLS-2$
 
-		if (fAST != null)
-			disposeAST();
-
-		fAST = ast;
-		fLastWriteOnIndex = fAST == null ? 0 : fAST.getIndex().getLastWriteAccess();
+		entry.fAST = ast;
+		entry.fLastWriteOnIndex = ast == null ? 0 : ast.getIndex().getLastWriteAccess();
+		entry.fASTModificationStamp = ast == null ? IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+				: entry.fReconciledModificationStamp;
 
 		// Signal AST change
 		fCacheMutex.notifyAll();
 	}
 
 	/**
-	 * Disposes the cached AST.
+	 * Returns the entry for the given translation unit, creates it if necessary. When the
+	 * cache is full, the least recently used entry that is not the active element is evicted,
+	 * entries without an AST go first.
+	 */
+	private Entry getOrCreateEntry(ITranslationUnit tUnit) {
+		assert Thread.holdsLock(fCacheMutex);
+		Entry entry = fEntries.get(tUnit);
+		if (entry == null) {
+			if (fEntries.size() >= MAX_CACHED_ELEMENTS) {
+				if (!evictEldest(true))
+					evictEldest(false);
+			}
+			entry = new Entry();
+			fEntries.put(tUnit, entry);
+		}
+		return entry;
+	}
+
+	private boolean evictEldest(boolean withoutASTOnly) {
+		for (Iterator<Map.Entry<ITranslationUnit, Entry>> it = fEntries.entrySet().iterator(); it.hasNext();) {
+			Map.Entry<ITranslationUnit, Entry> eldest = it.next();
+			Entry entry = eldest.getValue();
+			if (!eldest.getKey().equals(fActiveTU) && !entry.fIsReconciling
+					&& (!withoutASTOnly || entry.fAST == null)) {
+				if (DEBUG)
+					System.out.println(DEBUG_PREFIX + getThreadName() + "evicting AST for: " //$NON-NLS-1$
+							+ toString(eldest.getKey()));
+				it.remove();
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * Disposes the cached AST of the active element.
 	 */
 	public void disposeAST() {
 		synchronized (fCacheMutex) {
-			if (fAST == null)
-				return;
+			if (fActiveTU != null)
+				disposeAST(fActiveTU);
+		}
+	}
 
-			if (DEBUG)
-				System.out.println(DEBUG_PREFIX + getThreadName() + "disposing AST: " + toString(fAST) + " for: " //$NON-NLS-1$//$NON-NLS-2$
-						+ toString(fActiveTU));
+	/**
+	 * Disposes the cached AST of the given translation unit.
+	 *
+	 * @param tUnit  the translation unit
+	 */
+	public void disposeAST(ITranslationUnit tUnit) {
+		synchronized (fCacheMutex) {
+			Entry entry = fEntries.get(tUnit);
+			if (entry != null)
+				disposeAST(entry, tUnit);
+		}
+	}
 
-			fAST = null;
-			cache(null, null);
+	private void disposeAST(Entry entry, ITranslationUnit tUnit) {
+		assert Thread.holdsLock(fCacheMutex);
+		if (entry.fAST == null)
+			return;
+
+		if (DEBUG)
+			System.out.println(DEBUG_PREFIX + getThreadName() + "disposing AST: " + toString(entry.fAST) + " for: " //$NON-NLS-1$//$NON-NLS-2$
+					+ toString(tUnit));
+
+		cache(entry, null, tUnit);
+	}
+
+	/**
+	 * Disposes all cached ASTs.
+	 */
+	public void disposeAllASTs() {
+		synchronized (fCacheMutex) {
+			if (DEBUG && !fEntries.isEmpty())
+				System.out.println(DEBUG_PREFIX + getThreadName() + "disposing all ASTs"); //$NON-NLS-1$
+			fEntries.clear();
+			fCacheMutex.notifyAll();
+		}
+	}
+
+	/**
+	 * Informs about the current modification stamp of the document of the given translation
+	 * unit. The cached AST is disposed, unless it has been computed from the same version of
+	 * the document or a new AST is being computed.
+	 *
+	 * @param tUnit  the translation unit
+	 * @param modificationStamp  the modification stamp of the document, or
+	 *     {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 */
+	public void setModificationStamp(ITranslationUnit tUnit, long modificationStamp) {
+		synchronized (fCacheMutex) {
+			Entry entry = fEntries.get(tUnit);
+			if (entry == null || entry.fModificationStamp == modificationStamp)
+				return;
+			entry.fModificationStamp = modificationStamp;
+			if (entry.fASTModificationStamp != modificationStamp && !entry.fIsReconciling)
+				disposeAST(entry, tUnit);
 		}
 	}
 
@@ -378,6 +593,7 @@ public class ASTCache {
 
 	/**
 	 * Set the given translation unit as active element to cache an AST for.
+	 * The ASTs of previously active elements are kept, as long as there is space.
 	 *
 	 * @param tUnit  the translation unit
 	 */
@@ -386,9 +602,9 @@ public class ASTCache {
 			return;
 		}
 		synchronized (fCacheMutex) {
-			fIsReconciling = false;
 			fActiveTU = tUnit;
-			cache(null, tUnit);
+			if (tUnit != null)
+				getOrCreateEntry(tUnit);
 		}
 		if (DEBUG)
 			System.out.println(DEBUG_PREFIX + getThreadName() + "active element is: " + toString(tUnit)); //$NON-NLS-1$
@@ -408,7 +624,8 @@ public class ASTCache {
 
 	/**
 	 * Informs that reconciling (computation of the AST) for the given element
-	 * is about to be started.
+	 * is about to be started. The modification stamp of an element other than the active one
+	 * is taken from its document in the file buffer.
 	 *
 	 * @param tUnit  the translation unit
 	 */
@@ -416,16 +633,41 @@ public class ASTCache {
 		if (tUnit == null)
 			return;
 
+		final long documentStamp = getDocumentModificationStamp(tUnit);
 		synchronized (fCacheMutex) {
-			if (fActiveTU == null || !fActiveTU.equals(tUnit)) {
-				return;
+			long modificationStamp = documentStamp;
+			if (tUnit.equals(fActiveTU)) {
+				// The modification stamps of the active element are provided by the client.
+				Entry entry = fEntries.get(tUnit);
+				modificationStamp = entry == null ? IDocumentExtension4.UNKNOWN_MODIFICATION_STAMP
+						: entry.fModificationStamp;
 			}
+			aboutToBeReconciled(tUnit, modificationStamp);
+		}
+	}
 
+	/**
+	 * Informs that reconciling (computation of the AST) for the given element is about
+	 * to be started. If the contents of the document is unchanged, the cached AST remains
+	 * available to clients until the new AST is computed. Otherwise it is available only as
+	 * the last good AST.
+	 *
+	 * @param tUnit  the translation unit
+	 * @param modificationStamp  the modification stamp of the document being reconciled, or
+	 *     {@link IDocumentExtension4#UNKNOWN_MODIFICATION_STAMP}
+	 */
+	public void aboutToBeReconciled(ITranslationUnit tUnit, long modificationStamp) {
+		if (tUnit == null)
+			return;
+
+		synchronized (fCacheMutex) {
 			if (DEBUG)
 				System.out.println(DEBUG_PREFIX + getThreadName() + "about to reconcile: " + toString(tUnit)); //$NON-NLS-1$
 
-			fIsReconciling = true;
-			cache(null, tUnit);
+			Entry entry = getOrCreateEntry(tUnit);
+			entry.fIsReconciling = true;
+			entry.fModificationStamp = modificationStamp;
+			entry.fReconciledModificationStamp = modificationStamp;
 		}
 	}
 
@@ -437,7 +679,8 @@ public class ASTCache {
 	 */
 	public void reconciled(IASTTranslationUnit ast, ITranslationUnit tUnit) {
 		synchronized (fCacheMutex) {
-			if (tUnit == null || !tUnit.equals(fActiveTU)) {
+			Entry entry = tUnit == null ? null : fEntries.get(tUnit);
+			if (entry == null) {
 				if (DEBUG)
 					System.out.println(DEBUG_PREFIX + getThreadName() + "ignoring AST of out-dated element"); //$NON-NLS-1$
 				return;
@@ -446,8 +689,8 @@ public class ASTCache {
 				System.out.println(
 						DEBUG_PREFIX + getThreadName() + "reconciled: " + toString(tUnit) + ", AST: " + toString(ast)); //$NON-NLS-1$ //$NON-NLS-2$
 
-			fIsReconciling = false;
-			cache(ast, tUnit);
+			entry.fIsReconciling = false;
+			cache(entry, ast, tUnit);
 		}
 	}
 
@@ -460,10 +703,11 @@ public class ASTCache {
 	 */
 	public boolean isReconciling(ITranslationUnit tUnit) {
 		synchronized (fCacheMutex) {
-			if (fActiveTU == null || tUnit == null) {
+			if (tUnit == null) {
 				return false;
 			}
-			return fIsReconciling && (fActiveTU.equals(tUnit));
+			Entry entry = fEntries.get(tUnit);
+			return entry != null && entry.fIsReconciling;
 		}
 	}
 
@@ -80,7 +80,7 @@ public class CPPASTExpressionStatement extends CPPASTAttributeOwner
 		if (expression != null && !expression.accept(action))
 			return false;
 
-		if (action.shouldVisitExpressions) {
+		if (action.shouldVisitStatements) {
 			switch (action.leave(this)) {
 			case ASTVisitor.PROCESS_ABORT:
 				return false;
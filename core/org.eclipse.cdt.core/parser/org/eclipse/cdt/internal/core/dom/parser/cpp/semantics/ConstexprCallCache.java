@@ -0,0 +1,173 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.dom.parser.cpp.semantics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.eclipse.cdt.core.dom.ast.ASTTypeUtil;
+import org.eclipse.cdt.core.dom.ast.IASTNode;
+import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
+import org.eclipse.cdt.core.dom.ast.IValue;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPFunction;
+import org.eclipse.cdt.internal.core.dom.parser.CompositeValue;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.ICPPEvaluation;
+
+/**
+ * Caches the results of constexpr function calls with constant scalar arguments, and records the
+ * number of evaluation steps spent in each constexpr function of a translation unit.
+ * <p>
+ * There is one cache per translation unit. Results of calls to functions stored in the index are
+ * not persisted: a result depends on the bodies of all functions called during the evaluation,
+ * any of which may change with the next index update.
+ */
+public final class ConstexprCallCache {
+	private static final int MAX_RESULTS = 10000;
+
+	private static final class CallKey {
+		final ICPPFunction fFunction;
+		final Number[] fArguments;
+		final int fHashCode;
+
+		CallKey(ICPPFunction function, Number[] arguments) {
+			fFunction = function;
+			fArguments = arguments;
+			fHashCode = function.hashCode() * 31 + Arrays.hashCode(arguments);
+		}
+
+		@Override
+		public int hashCode() {
+			return fHashCode;
+		}
+
+		@Override
+		public boolean equals(Object obj) {
+			if (!(obj instanceof CallKey))
+				return false;
+			CallKey other = (CallKey) obj;
+			return fHashCode == other.fHashCode && fFunction.equals(other.fFunction)
+					&& Arrays.equals(fArguments, other.fArguments);
+		}
+	}
+
+	private final Map<CallKey, ICPPEvaluation> fResults = new LinkedHashMap<CallKey, ICPPEvaluation>(16, 0.75f,
+			true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<CallKey, ICPPEvaluation> eldest) {
+			return size() > MAX_RESULTS;
+		}
+	};
+	// Number of calls and evaluation steps by function.
+	private final Map<ICPPFunction, long[]> fProfile = new HashMap<>();
+
+	/**
+	 * Returns the cache of the translation unit of the current lookup point, or <code>null</code>.
+	 */
+	static ConstexprCallCache get() {
+		IASTNode lookupPoint = CPPSemantics.getCurrentLookupPoint();
+		if (lookupPoint != null) {
+			IASTTranslationUnit tu = lookupPoint.getTranslationUnit();
+			if (tu instanceof CPPASTTranslationUnit) {
+				return ((CPPASTTranslationUnit) tu).getConstexprCallCache();
+			}
+		}
+		return null;
+	}
+
+	/**
+	 * Returns the numbers of the values of the arguments, or <code>null</code> if any of
+	 * the arguments is not a constant scalar value.
+	 *
+	 * @param arguments the arguments of a function call, the function itself is at index 0.
+	 */
+	static Number[] getArgumentValues(ICPPEvaluation[] arguments) {
+		Number[] result = new Number[arguments.length - 1];
+		for (int i = 1; i < arguments.length; i++) {
+			if (!(arguments[i] instanceof EvalFixed))
+				return null;
+			Number value = getNumber(arguments[i].getValue());
+			if (value == null)
+				return null;
+			result[i - 1] = value;
+		}
+		return result;
+	}
+
+	private static Number getNumber(IValue value) {
+		if (value == null || value instanceof CompositeValue || value.getEvaluation() != null)
+			return null;
+		return value.numberValue();
+	}
+
+	/**
+	 * Returns the cached result of calling the function with the given argument values,
+	 * or <code>null</code>.
+	 */
+	synchronized ICPPEvaluation getResult(ICPPFunction function, Number[] arguments) {
+		return fResults.get(new CallKey(function, arguments));
+	}
+
+	/**
+	 * Caches the result of calling the function with the given argument values, provided that
+	 * it is a constant scalar value.
+	 */
+	synchronized void putResult(ICPPFunction function, Number[] arguments, ICPPEvaluation result) {
+		if (result == null || result == EvalFixed.INCOMPLETE)
+			return;
+		IValue value = result.getValue();
+		if (getNumber(value) == null)
+			return;
+		if (!(result instanceof EvalFixed)) {
+			// Don't keep the evaluation that computed the value.
+			result = new EvalFixed(result.getType(), result.getValueCategory(), value);
+		}
+		fResults.put(new CallKey(function, arguments), result);
+	}
+
+	/**
+	 * Records the evaluation steps spent in a call to the function, including the steps spent
+	 * in the functions called by it.
+	 */
+	synchronized void recordCall(ICPPFunction function, int steps) {
+		long[] profile = fProfile.get(function);
+		if (profile == null) {
+			profile = new long[2];
+			fProfile.put(function, profile);
+		}
+		profile[0]++;
+		profile[1] += steps;
+	}
+
+	/**
+	 * Returns the constexpr functions that consumed the most evaluation steps in the translation
+	 * unit, one line per function, most expensive first. Steps spent in nested calls count for
+	 * the calling function, as well.
+	 */
+	public synchronized List<String> getMostExpensiveFunctions(int maxFunctions) {
+		List<Map.Entry<ICPPFunction, long[]>> entries = new ArrayList<>(fProfile.entrySet());
+		entries.sort((e1, e2) -> Long.compare(e2.getValue()[1], e1.getValue()[1]));
+
+		List<String> result = new ArrayList<>();
+		for (Map.Entry<ICPPFunction, long[]> entry : entries) {
+			if (result.size() == maxFunctions)
+				break;
+			long[] profile = entry.getValue();
+			result.add(ASTTypeUtil.getQualifiedName(entry.getKey()) + ": " + profile[1] + " steps in " //$NON-NLS-1$ //$NON-NLS-2$
+					+ profile[0] + " calls"); //$NON-NLS-1$
+		}
+		return result;
+	}
+}
@@ -333,6 +333,29 @@ public final class EvalFunctionCall extends CPPDependentEvaluation {
 		if (!function.isConstexpr())
 			return EvalFixed.INCOMPLETE;
 
+		// Calls of free functions with constant scalar arguments always have the same result.
+		// Member functions, including the call operators of closures, also depend on the object.
+		ConstexprCallCache cache = ConstexprCallCache.get();
+		Number[] argumentValues = null;
+		if (cache != null && !(function instanceof ICPPMethod && !((ICPPMethod) function).isStatic())) {
+			argumentValues = ConstexprCallCache.getArgumentValues(fArguments);
+			if (argumentValues != null) {
+				ICPPEvaluation result = cache.getResult(function, argumentValues);
+				if (result != null)
+					return result;
+			}
+		}
+		int steps = context.getStepsPerformed();
+		ICPPEvaluation result = evaluateFunctionBody(function, context);
+		if (cache != null) {
+			cache.recordCall(function, context.getStepsPerformed() - steps);
+			if (argumentValues != null)
+				cache.putResult(function, argumentValues, result);
+		}
+		return result;
+	}
+
+	private ICPPEvaluation evaluateFunctionBody(ICPPFunction function, ConstexprEvaluationContext context) {
 		ActivationRecord record = createActivationRecord(function.getParameters(), fArguments, getImplicitThis());
 		ICPPExecution bodyExec = CPPFunction.getFunctionBodyExecution(function);
 		if (bodyExec == null) {
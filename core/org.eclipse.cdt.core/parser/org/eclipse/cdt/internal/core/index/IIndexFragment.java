@@ -299,7 +299,7 @@ public interface IIndexFragment {
 	public String getProperty(String propertyName) throws CoreException;
 
 	/**
-	 * Resets the counters for cache-hits and cache-misses.
+	 * Resets the counters for cache-hits, cache-misses and the read lock wait time.
 	 */
 	void resetCacheCounters();
 
@@ -313,6 +313,12 @@ public interface IIndexFragment {
 	 */
 	long getCacheMisses();
 
+	/**
+	 * Returns the time in milliseconds readers were blocked by a write lock on this fragment
+	 * since last reset of counters.
+	 */
+	long getReadLockWaitTime();
+
 	/**
 	 * Creates an empty file set for this fragment
 	 * @since 5.0
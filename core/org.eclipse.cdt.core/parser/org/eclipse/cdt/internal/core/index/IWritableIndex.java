@@ -156,6 +156,12 @@ public interface IWritableIndex extends IIndex {
 	 */
 	long getCacheMisses();
 
+	/**
+	 * Returns the time in milliseconds readers were blocked by write locks since last reset
+	 * of counters.
+	 */
+	long getReadLockWaitTime();
+
 	/**
 	 * Returns the primary writable fragment, or <code>null</code> if there is
 	 * no writable fragment.
@@ -24,6 +24,9 @@ import org.eclipse.cdt.internal.core.pdom.YieldableIndexLock;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IProgressMonitor;
 
+/**
+ * Index with the PDOM of the project as its only writable fragment.
+ */
 public class WritableCIndex extends CIndex implements IWritableIndex {
 	private boolean fIsWriteLocked;
 	private Object fThread;
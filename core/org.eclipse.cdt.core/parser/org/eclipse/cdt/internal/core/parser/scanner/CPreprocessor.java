@@ -1795,6 +1795,9 @@ public class CPreprocessor implements ILexerLog, IScanner, IAdaptable {
 		}
 	}
 
+	/**
+	 * Replays a header found in the index, the index being the cache of preprocessed headers.
+	 */
 	private void processInclusionFromIndex(int offset, InternalFileContent fi, boolean updateContext) {
 		List<IIndexMacro> mdefs = fi.getMacroDefinitions();
 		for (IIndexMacro macro : mdefs) {
@@ -42,12 +42,31 @@ public abstract class LazyCharArray extends AbstractCharArray {
 		}
 	}
 
+	/**
+	 * A chunk together with its data. Instances are immutable, such that readers on different
+	 * threads never see the data of one chunk paired with another chunk.
+	 */
+	private static final class CurrentChunk {
+		final Chunk fChunk;
+		final char[] fChars;
+
+		CurrentChunk(Chunk chunk, char[] chars) {
+			fChunk = chunk;
+			fChars = chars;
+		}
+
+		boolean contains(int offset) {
+			return offset >= fChunk.fCharOffset && offset < fChunk.fCharEndOffset;
+		}
+	}
+
 	private int fLength = -1;
 	private List<Chunk> fChunks = new ArrayList<>();
 	private StreamHasher fHasher;
 	private long fHash64;
-	// Make a reference to the currently used char[], such that it is not collected.
-	private char[] fCurrentChars;
+	// Make a reference to the currently used char[], such that it is not collected. Also allows
+	// for accessing it without looking up the chunk.
+	private CurrentChunk fCurrent;
 
 	protected LazyCharArray() {
 		fHasher = new StreamHasher();
@@ -72,6 +91,10 @@ public abstract class LazyCharArray extends AbstractCharArray {
 		if (fLength >= 0)
 			return offset < fLength;
 
+		final CurrentChunk current = fCurrent;
+		if (current != null && current.contains(offset))
+			return true;
+
 		return getChunkForOffset(offset) != null;
 	}
 
@@ -87,7 +110,12 @@ public abstract class LazyCharArray extends AbstractCharArray {
 
 	@Override
 	public final char get(int offset) {
-		Chunk chunk = getChunkForOffset(offset);
+		// Fast path for the lexer, which mostly reads sequentially from the same chunk.
+		final CurrentChunk current = fCurrent;
+		if (current != null && current.contains(offset)) {
+			return current.fChars[offset - current.fChunk.fCharOffset];
+		}
+		final Chunk chunk = getChunkForOffset(offset);
 		if (chunk != null) {
 			return getChunkData(chunk)[offset - chunk.fCharOffset];
 		}
@@ -168,8 +196,9 @@ public abstract class LazyCharArray extends AbstractCharArray {
 	 * Creates a new chunk.
 	 */
 	protected Chunk newChunk(long sourceOffset, long sourceEndOffset, int charOffset, char[] chars) {
-		fCurrentChars = chars;
-		return new Chunk(sourceOffset, sourceEndOffset, charOffset, chars);
+		final Chunk chunk = new Chunk(sourceOffset, sourceEndOffset, charOffset, chars);
+		fCurrent = new CurrentChunk(chunk, chars);
+		return chunk;
 	}
 
 	/**
@@ -178,13 +207,18 @@ public abstract class LazyCharArray extends AbstractCharArray {
 	protected abstract Chunk nextChunk();
 
 	private char[] getChunkData(Chunk chunk) {
+		final CurrentChunk current = fCurrent;
+		if (current != null && current.fChunk == chunk)
+			return current.fChars;
+
 		char[] data = chunk.fCharsReference.get();
 		if (data == null) {
 			data = new char[chunk.fCharEndOffset - chunk.fCharOffset];
 			rereadChunkData(chunk, data);
 			chunk.fCharsReference = new SoftReference<>(data);
 		}
-		return fCurrentChars = data;
+		fCurrent = new CurrentChunk(chunk, data);
+		return data;
 	}
 
 	/**
@@ -200,7 +234,6 @@ public abstract class LazyCharArray extends AbstractCharArray {
 		for (Chunk chunk : fChunks) {
 			chunk.fCharsReference = new SoftReference<>(null);
 		}
-		if (fCurrentChars != null)
-			fCurrentChars = null;
+		fCurrent = null;
 	}
 }
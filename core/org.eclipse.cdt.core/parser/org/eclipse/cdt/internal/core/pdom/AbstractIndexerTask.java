@@ -33,6 +33,7 @@ import java.util.LinkedList;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
 import java.util.regex.Matcher;
 import java.util.regex.Pattern;
 
@@ -64,6 +65,8 @@ import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.IncludeExportPatterns;
 import org.eclipse.cdt.core.parser.IncludeFileContentProvider;
 import org.eclipse.cdt.internal.core.dom.IIncludeFileResolutionHeuristics;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.CPPASTTranslationUnit;
+import org.eclipse.cdt.internal.core.dom.parser.cpp.semantics.ConstexprCallCache;
 import org.eclipse.cdt.internal.core.index.FileContentKey;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentFile;
@@ -339,6 +342,8 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private long fIncludedFileSizeLimit;
 	private InternalFileContentProvider fCodeReaderFactory;
 	private int fSwallowOutOfMemoryError = 5;
+	private int fParallelism = 1;
+	private ExecutorService fPrefetchExecutor;
 	/**
 	 * A queue of urgent indexing tasks that contribute additional files to this task.
 	 * The files from the urgent tasks are indexed before all not yet processed files.
@@ -398,6 +403,15 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		fPragmaPrivatePattern = pattern;
 	}
 
+	/**
+	 * Sets the number of threads used for reading source files ahead of the parser. The parsing
+	 * itself and the writing to the index always happen on the thread running the task.
+	 * A value of one disables reading ahead.
+	 */
+	public final void setParallelism(int threads) {
+		fParallelism = Math.max(1, threads);
+	}
+
 	/**
 	 * @see IPDOMIndexerTask#acceptUrgentTask(IPDOMIndexerTask)
 	 */
@@ -626,8 +640,13 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				logException(e);
 			} finally {
 				fIndex.releaseReadLock();
+				fStatistics.fReadLockWaitTime = (int) fIndex.getReadLockWaitTime();
 			}
 		} finally {
+			if (fPrefetchExecutor != null) {
+				fPrefetchExecutor.shutdownNow();
+				fPrefetchExecutor = null;
+			}
 			synchronized (this) {
 				fTaskCompleted = true;
 			}
@@ -897,17 +916,26 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 				continue;
 
 			// First parse the required sources.
-			for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
-				IIndexFileLocation ifl = it.next();
-				LocationTask locTask = map.find(ifl);
-				if (locTask == null || locTask.isCompleted()) {
-					it.remove();
-				} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
-					if (hasUrgentTasks())
-						return;
-					final Object tu = locTask.fTu;
-					final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
-					parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, progress.split(1));
+			final FileContentPrefetcher prefetcher = createPrefetcher(map, filesAtPriority);
+			try {
+				for (Iterator<IIndexFileLocation> it = filesAtPriority.iterator(); it.hasNext();) {
+					IIndexFileLocation ifl = it.next();
+					LocationTask locTask = map.find(ifl);
+					if (locTask == null || locTask.isCompleted()) {
+						it.remove();
+					} else if (locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+						if (hasUrgentTasks())
+							return;
+						final Object tu = locTask.fTu;
+						final IScannerInfo scannerInfo = getScannerInfo(linkageID, tu);
+						final FileContent codeReader = prefetcher == null ? null : prefetcher.getCodeReader(tu);
+						parseFile(tu, getLanguage(tu, linkageID), ifl, scannerInfo, null, codeReader,
+								progress.split(1));
+					}
+				}
+			} finally {
+				if (prefetcher != null) {
+					prefetcher.dispose();
 				}
 			}
 
@@ -979,6 +1007,27 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 		}
 	}
 
+	/**
+	 * Creates a prefetcher for the required sources among the given files, or returns {@code null}
+	 * if reading ahead is disabled or not worthwhile.
+	 */
+	private FileContentPrefetcher createPrefetcher(LinkageTask map, List<IIndexFileLocation> files) {
+		if (fParallelism <= 1)
+			return null;
+		List<Object> tus = new ArrayList<>();
+		for (IIndexFileLocation ifl : files) {
+			LocationTask locTask = map.find(ifl);
+			if (locTask != null && !locTask.isCompleted() && locTask.fKind == UpdateKind.REQUIRED_SOURCE) {
+				tus.add(locTask.fTu);
+			}
+		}
+		if (tus.size() < 2)
+			return null;
+		if (fPrefetchExecutor == null)
+			fPrefetchExecutor = FileContentPrefetcher.createExecutor(fParallelism);
+		return new FileContentPrefetcher(fResolver::getCodeReader, tus, fPrefetchExecutor, fParallelism);
+	}
+
 	private void parseVersionInContext(int linkageID, LinkageTask map, IIndexFileLocation ifl,
 			final FileVersionTask versionTask, Object tu, LinkedHashSet<IIndexFile> safeGuard, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
@@ -1086,6 +1135,17 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 	private DependsOnOutdatedFileException parseFile(Object tu, AbstractLanguage lang, IIndexFileLocation ifl,
 			IScannerInfo scanInfo, FileContext ctx, IProgressMonitor monitor)
 			throws CoreException, InterruptedException {
+		return parseFile(tu, lang, ifl, scanInfo, ctx, null, monitor);
+	}
+
+	/**
+	 * Parses the given translation unit and writes it to the index.
+	 * @param codeReader the contents of the translation unit if they have been read already,
+	 *     or {@code null}.
+	 */
+	private DependsOnOutdatedFileException parseFile(Object tu, AbstractLanguage lang, IIndexFileLocation ifl,
+			IScannerInfo scanInfo, FileContext ctx, FileContent codeReader, IProgressMonitor monitor)
+			throws CoreException, InterruptedException {
 		SubMonitor progress = SubMonitor.convert(monitor, 21);
 		boolean resultCacheCleared = false;
 		IPath path = getLabel(ifl);
@@ -1096,7 +1156,9 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			}
 			progress.subTask(
 					getMessage(MessageKind.parsingFileTask, path.lastSegment(), path.removeLastSegments(1).toString()));
-			FileContent codeReader = fResolver.getCodeReader(tu);
+			if (codeReader == null) {
+				codeReader = fResolver.getCodeReader(tu);
+			}
 
 			long start = System.currentTimeMillis();
 			IASTTranslationUnit ast = createAST(lang, codeReader, scanInfo, fASTOptions, ctx, progress.split(10));
@@ -1110,6 +1172,12 @@ public abstract class AbstractIndexerTask extends PDOMWriter {
 			if (fShowActivity) {
 				long time = System.currentTimeMillis() - start;
 				trace("Indexer: processed " + path.toOSString() + " [" + time + " ms]"); //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+				if (ast instanceof CPPASTTranslationUnit) {
+					ConstexprCallCache constexprCalls = ((CPPASTTranslationUnit) ast).getConstexprCallCache();
+					for (String function : constexprCalls.getMostExpensiveFunctions(5)) {
+						trace("Indexer:    constexpr " + function); //$NON-NLS-1$
+					}
+				}
 			}
 		} catch (OperationCanceledException e) {
 		} catch (RuntimeException e) {
@@ -0,0 +1,120 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import org.eclipse.cdt.core.parser.FileContent;
+
+/**
+ * Reads the contents of translation units ahead of the indexer on a pool of worker threads.
+ * The pool is created by {@link #createExecutor(int)} and may be shared by the prefetchers
+ * of consecutive lists of translation units.
+ * The indexer thread keeps parsing and writing the translation units one at a time and in the
+ * original order, but no longer waits for reading, decoding and hashing of the next source file.
+ * <p>
+ * At most {@code lookahead} file contents are held in memory at any time.
+ */
+public final class FileContentPrefetcher {
+	private static final AtomicInteger sThreadCount = new AtomicInteger();
+
+	private final Function<Object, FileContent> fReader;
+	private final ExecutorService fExecutor;
+	private final int fLookahead;
+	private final Iterator<Object> fPending;
+	private final Map<Object, Future<FileContent>> fSubmitted = new LinkedHashMap<>();
+
+	/**
+	 * @param reader reads the contents of a translation unit
+	 * @param tus the translation units in the order in which they will be requested
+	 * @param executor the worker threads, see {@link #createExecutor(int)}
+	 * @param threads the number of worker threads
+	 */
+	public FileContentPrefetcher(Function<Object, FileContent> reader, List<Object> tus, ExecutorService executor,
+			int threads) {
+		fReader = reader;
+		fLookahead = 2 * threads;
+		fPending = tus.iterator();
+		fExecutor = executor;
+		fillQueue();
+	}
+
+	/**
+	 * Creates the worker threads for prefetchers, to be shut down by the caller when no longer
+	 * needed.
+	 */
+	public static ExecutorService createExecutor(int threads) {
+		return Executors.newFixedThreadPool(threads, r -> {
+			Thread thread = new Thread(r, "C/C++ Indexer Prefetch " + sThreadCount.incrementAndGet()); //$NON-NLS-1$
+			thread.setDaemon(true);
+			return thread;
+		});
+	}
+
+	/**
+	 * Returns the contents of the given translation unit, or {@code null} if the contents were not
+	 * prefetched or could not be read. In the latter case the caller is expected to read the
+	 * translation unit itself, and to report any problem in doing so.
+	 */
+	public FileContent getCodeReader(Object tu) throws InterruptedException {
+		Future<FileContent> future = null;
+		if (fSubmitted.containsKey(tu)) {
+			// Translation units preceding the requested one have been skipped by the indexer.
+			for (Iterator<Map.Entry<Object, Future<FileContent>>> it = fSubmitted.entrySet().iterator(); it
+					.hasNext();) {
+				Map.Entry<Object, Future<FileContent>> entry = it.next();
+				it.remove();
+				if (entry.getKey().equals(tu)) {
+					future = entry.getValue();
+					break;
+				}
+				entry.getValue().cancel(false);
+			}
+		}
+		fillQueue();
+		if (future == null)
+			return null;
+		try {
+			return future.get();
+		} catch (ExecutionException e) {
+			// Let the caller read the file once more and report the problem.
+			return null;
+		}
+	}
+
+	private void fillQueue() {
+		while (fSubmitted.size() < fLookahead && fPending.hasNext()) {
+			final Object tu = fPending.next();
+			if (!fSubmitted.containsKey(tu)) {
+				fSubmitted.put(tu, fExecutor.submit(() -> fReader.apply(tu)));
+			}
+		}
+	}
+
+	/**
+	 * Discards all prefetched contents. The worker threads are left to the next prefetcher.
+	 */
+	public void dispose() {
+		for (Future<FileContent> future : fSubmitted.values()) {
+			future.cancel(false);
+		}
+		fSubmitted.clear();
+	}
+}
@@ -18,6 +18,10 @@ public class IndexerStatistics {
 	public int fResolutionTime;
 	public int fParsingTime;
 	public int fAddToIndexTime;
+	/** Time the indexer waited for the write lock, in milliseconds. */
+	public int fWriteLockWaitTime;
+	/** Time readers were blocked by write locks while the indexer ran, in milliseconds. */
+	public int fReadLockWaitTime;
 	public int fErrorCount;
 	public int fReferenceCount = 0;
 	public int fDeclarationCount = 0;
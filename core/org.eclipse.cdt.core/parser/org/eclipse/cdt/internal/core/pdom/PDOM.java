@@ -66,6 +66,8 @@ import org.eclipse.cdt.core.index.IndexFilter;
 import org.eclipse.cdt.core.parser.ISignificantMacros;
 import org.eclipse.cdt.core.parser.util.ArrayUtil;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
+import org.eclipse.cdt.core.parser.util.IContentAssistMatcher;
+import org.eclipse.cdt.core.parser.util.SegmentMatcher;
 import org.eclipse.cdt.internal.core.dom.Linkage;
 import org.eclipse.cdt.internal.core.index.IIndexCBindingConstants;
 import org.eclipse.cdt.internal.core.index.IIndexFragment;
@@ -75,6 +77,7 @@ import org.eclipse.cdt.internal.core.index.IIndexFragmentFileSet;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentInclude;
 import org.eclipse.cdt.internal.core.index.IIndexFragmentName;
 import org.eclipse.cdt.internal.core.index.IIndexScope;
+import org.eclipse.cdt.internal.core.parser.util.ContentAssistMatcherFactory;
 import org.eclipse.cdt.internal.core.pdom.db.BTree;
 import org.eclipse.cdt.internal.core.pdom.db.ChunkCache;
 import org.eclipse.cdt.internal.core.pdom.db.DBProperties;
@@ -302,10 +305,13 @@ public class PDOM extends PlatformObject implements IPDOM {
 	 *
 	 *  CDT 9.9 development (version not supported on the 9.8.x branch)
 	 *  215.0 - Corruption due to wrong record size in field/variable template partial specialization, bug 549028.
+	 *
+	 *  CDT 10.0 development (version not supported on the 9.11.x branch)
+	 *  216.0 - Trigram index for the names of the bindings of a linkage.
 	 */
-	private static final int MIN_SUPPORTED_VERSION = version(215, 0);
-	private static final int MAX_SUPPORTED_VERSION = version(215, Short.MAX_VALUE);
-	private static final int DEFAULT_VERSION = version(215, 0);
+	private static final int MIN_SUPPORTED_VERSION = version(216, 0);
+	private static final int MAX_SUPPORTED_VERSION = version(216, Short.MAX_VALUE);
+	private static final int DEFAULT_VERSION = version(216, 0);
 
 	private static int version(int major, int minor) {
 		return (major << 16) + minor;
@@ -807,6 +813,17 @@ public class PDOM extends PlatformObject implements IPDOM {
 			if (prefix != null) {
 				return findBindingsForPrefix(prefix, isFullyQualified, caseSensitive, filter, monitor);
 			}
+
+			if (patterns.length == 1) {
+				char[][] substrings = extractSubstrings(patterns[0]);
+				if (substrings != null) {
+					IIndexFragmentBinding[] result = findBindingsViaNameIndex(patterns[0], substrings,
+							isFullyQualified, filter, monitor);
+					if (result != null) {
+						return result;
+					}
+				}
+			}
 		}
 
 		BindingFinder finder = new BindingFinder(patterns, isFullyQualified, filter, monitor);
@@ -879,6 +896,83 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return null;
 	}
 
+	/**
+	 * Returns the literal substrings that every string matching the pattern contains, or
+	 * <code>null</code> if the pattern uses constructs other than literals and wildcards.
+	 */
+	private char[][] extractSubstrings(Pattern pattern) {
+		List<char[]> result = new ArrayList<>();
+		String p = pattern.pattern();
+		StringBuilder literal = new StringBuilder();
+		for (int i = 0; i < p.length(); i++) {
+			char c = p.charAt(i);
+			switch (c) {
+			case '\\':
+				if (++i == p.length() || Character.isLetterOrDigit(p.charAt(i)))
+					return null;
+				literal.append(p.charAt(i));
+				break;
+			case '.':
+				if (i + 1 < p.length() && "*+?".indexOf(p.charAt(i + 1)) >= 0) //$NON-NLS-1$
+					i++;
+				if (literal.length() > 0) {
+					result.add(literal.toString().toCharArray());
+					literal.setLength(0);
+				}
+				break;
+			case '*':
+			case '+':
+			case '?':
+			case '{':
+			case '}':
+			case '[':
+			case ']':
+			case '(':
+			case ')':
+			case '|':
+			case '^':
+			case '$':
+				return null;
+			default:
+				literal.append(c);
+			}
+		}
+		if (literal.length() > 0) {
+			result.add(literal.toString().toCharArray());
+		}
+		return result.toArray(new char[result.size()][]);
+	}
+
+	/**
+	 * Finds the bindings matching the pattern by verifying the candidates of the name index,
+	 * returns <code>null</code> if the index cannot narrow the search.
+	 */
+	private IIndexFragmentBinding[] findBindingsViaNameIndex(Pattern pattern, char[][] substrings,
+			boolean isFullyQualified, IndexFilter filter, IProgressMonitor monitor) throws CoreException {
+		List<IIndexFragmentBinding> result = new ArrayList<>();
+		try {
+			for (PDOMLinkage linkage : getLinkageList()) {
+				if (filter.acceptLinkage(linkage)) {
+					long[] candidates = linkage.getNameIndex().findCandidates(substrings);
+					if (candidates == null)
+						return null;
+
+					for (int i = 0; i < candidates.length; i++) {
+						if (i % CANCELLATION_CHECK_INTERVAL == 0 && monitor.isCanceled())
+							return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+						char[] name = db.getString(candidates[i]).getChars();
+						if (pattern.matcher(new String(name)).matches()) {
+							collectBindings(linkage, name, isFullyQualified, true, filter, monitor, result);
+						}
+					}
+				}
+			}
+		} catch (OperationCanceledException e) {
+			return IIndexFragmentBinding.EMPTY_INDEX_BINDING_ARRAY;
+		}
+		return result.toArray(new IIndexFragmentBinding[result.size()]);
+	}
+
 	@Override
 	public IIndexFragmentBinding[] findMacroContainers(Pattern pattern, IndexFilter filter, IProgressMonitor monitor)
 			throws CoreException {
@@ -999,17 +1093,24 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private long lastWriteAccess = 0;
 	private long lastReadAccess = 0;
 	private long timeWriteLockAcquired;
+	private long readLockWaitTime; // In nanoseconds, guarded by mutex.
 
 	@Override
 	public void acquireReadLock() throws InterruptedException {
 		long t = sDEBUG_LOCKS ? System.nanoTime() : 0;
 		synchronized (mutex) {
 			++waitingReaders;
+			long waitStart = 0;
 			try {
-				while (lockCount < 0)
+				while (lockCount < 0) {
+					if (waitStart == 0)
+						waitStart = System.nanoTime();
 					mutex.wait();
+				}
 			} finally {
 				--waitingReaders;
+				if (waitStart != 0)
+					readLockWaitTime += System.nanoTime() - waitStart;
 			}
 			++lockCount;
 			db.setLocked(true);
@@ -1366,6 +1467,18 @@ public class PDOM extends PlatformObject implements IPDOM {
 	private IIndexFragmentBinding[] findBindingsForPrefixOrContentAssist(char[] prefix, boolean filescope,
 			boolean isContentAssist, boolean caseSensitive, IndexFilter filter, IProgressMonitor monitor)
 			throws CoreException {
+		if (isContentAssist) {
+			IContentAssistMatcher matcher = ContentAssistMatcherFactory.getInstance().createMatcher(prefix);
+			if (matcher.matchRequiredAfterBinarySearch()) {
+				// The binary search only narrows by the first segment, try the segments of camel case patterns.
+				IIndexFragmentBinding[] result = findBindingsForContentAssistViaNameIndex(matcher,
+						extractSegments(prefix), filescope, filter, monitor);
+				if (result != null) {
+					return result;
+				}
+			}
+		}
+
 		ArrayList<IIndexFragmentBinding> result = new ArrayList<>();
 		for (PDOMLinkage linkage : getLinkageList()) {
 			if (filter.acceptLinkage(linkage)) {
@@ -1392,6 +1505,50 @@ public class PDOM extends PlatformObject implements IPDOM {
 		return result.toArray(new IIndexFragmentBinding[result.size()]);
 	}
 
+	/**
+	 * Returns the segments of a camel case pattern, as defined by the {@link SegmentMatcher}. Each segment
+	 * is a substring of every name matching the pattern.
+	 */
+	private char[][] extractSegments(char[] pattern) {
+		List<char[]> result = new ArrayList<>();
+		int start = 0;
+		for (int i = 0; i <= pattern.length; i++) {
+			if (i == pattern.length || !Character.isLetterOrDigit(pattern[i]) || Character.isUpperCase(pattern[i])
+					|| (i > start && Character.isDigit(pattern[i]) != Character.isDigit(pattern[i - 1]))) {
+				if (i > start) {
+					result.add(CharArrayUtils.extract(pattern, start, i - start));
+				}
+				start = i < pattern.length && Character.isLetterOrDigit(pattern[i]) ? i : i + 1;
+			}
+		}
+		return result.toArray(new char[result.size()][]);
+	}
+
+	private IIndexFragmentBinding[] findBindingsForContentAssistViaNameIndex(IContentAssistMatcher matcher,
+			char[][] segments, boolean filescope, IndexFilter filter, IProgressMonitor monitor) throws CoreException {
+		List<IIndexFragmentBinding> result = new ArrayList<>();
+		try {
+			for (PDOMLinkage linkage : getLinkageList()) {
+				if (filter.acceptLinkage(linkage)) {
+					long[] candidates = linkage.getNameIndex().findCandidates(segments);
+					if (candidates == null)
+						return null;
+
+					for (int i = 0; i < candidates.length; i++) {
+						if (i % CANCELLATION_CHECK_INTERVAL == 0 && monitor != null && monitor.isCanceled())
+							throw new OperationCanceledException();
+						char[] name = db.getString(candidates[i]).getChars();
+						if (matcher.match(name)) {
+							collectBindings(linkage, name, filescope, true, filter, monitor, result);
+						}
+					}
+				}
+			}
+		} catch (OperationCanceledException e) {
+		}
+		return result.toArray(new IIndexFragmentBinding[result.size()]);
+	}
+
 	@Override
 	public IIndexFragmentBinding[] findBindings(char[] name, boolean filescope, IndexFilter filter,
 			IProgressMonitor monitor) throws CoreException {
@@ -1404,39 +1561,43 @@ public class PDOM extends PlatformObject implements IPDOM {
 		try {
 			for (PDOMLinkage linkage : getLinkageList()) {
 				if (filter.acceptLinkage(linkage)) {
-					if (isCaseSensitive) {
-						PDOMBinding[] bindings = linkage.getBindingsViaCache(name, monitor);
-						for (PDOMBinding binding : bindings) {
-							if (filter.acceptBinding(binding)) {
-								result.add(binding);
-							}
-						}
-					}
+					collectBindings(linkage, name, filescope, isCaseSensitive, filter, monitor, result);
+				}
+			}
+		} catch (OperationCanceledException e) {
+		}
+		return result.toArray(new IIndexFragmentBinding[result.size()]);
+	}
 
-					if (!isCaseSensitive || !filescope) {
-						BindingCollector visitor = new BindingCollector(linkage, name, filter, false, false,
-								isCaseSensitive);
-						visitor.setMonitor(monitor);
+	private void collectBindings(PDOMLinkage linkage, char[] name, boolean filescope, boolean isCaseSensitive,
+			IndexFilter filter, IProgressMonitor monitor, List<IIndexFragmentBinding> result) throws CoreException {
+		if (isCaseSensitive) {
+			PDOMBinding[] bindings = linkage.getBindingsViaCache(name, monitor);
+			for (PDOMBinding binding : bindings) {
+				if (filter.acceptBinding(binding)) {
+					result.add(binding);
+				}
+			}
+		}
 
-						if (!isCaseSensitive)
-							linkage.accept(visitor);
+		if (!isCaseSensitive || !filescope) {
+			BindingCollector visitor = new BindingCollector(linkage, name, filter, false, false, isCaseSensitive);
+			visitor.setMonitor(monitor);
 
-						if (!filescope) {
-							// Avoid adding unscoped enumerator items twice
-							visitor.setSkipGlobalEnumerators(true);
-							linkage.getNestedBindingsIndex().accept(visitor);
-						}
+			if (!isCaseSensitive)
+				linkage.accept(visitor);
 
-						PDOMBinding[] bindings = visitor.getBindings();
-						for (PDOMBinding binding : bindings) {
-							result.add(binding);
-						}
-					}
-				}
+			if (!filescope) {
+				// Avoid adding unscoped enumerator items twice
+				visitor.setSkipGlobalEnumerators(true);
+				linkage.getNestedBindingsIndex().accept(visitor);
+			}
+
+			PDOMBinding[] bindings = visitor.getBindings();
+			for (PDOMBinding binding : bindings) {
+				result.add(binding);
 			}
-		} catch (OperationCanceledException e) {
 		}
-		return result.toArray(new IIndexFragmentBinding[result.size()]);
 	}
 
 	public IIndexFragmentBinding[] findMacroContainers(char[] prefix, boolean isPrefix, boolean isCaseSensitive,
@@ -1534,6 +1695,16 @@ public class PDOM extends PlatformObject implements IPDOM {
 	@Override
 	public void resetCacheCounters() {
 		db.resetCacheCounters();
+		synchronized (mutex) {
+			readLockWaitTime = 0;
+		}
+	}
+
+	@Override
+	public long getReadLockWaitTime() {
+		synchronized (mutex) {
+			return readLockWaitTime / 1000000;
+		}
 	}
 
 	protected void flush() throws CoreException {
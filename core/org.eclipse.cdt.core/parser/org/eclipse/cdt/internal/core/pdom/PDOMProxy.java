@@ -169,6 +169,14 @@ public class PDOMProxy implements IPDOM {
 		return 0;
 	}
 
+	@Override
+	public synchronized long getReadLockWaitTime() {
+		if (fDelegate != null)
+			return fDelegate.getReadLockWaitTime();
+
+		return 0;
+	}
+
 	@Deprecated
 	@Override
 	public synchronized IIndexFragmentFile getFile(int linkageID, IIndexFileLocation location) throws CoreException {
@@ -359,10 +359,14 @@ public abstract class PDOMWriter implements IPDOMASTProcessor {
 							fileInAST.fileContentKey.getLocation().getURI().getPath()), th));
 				}
 				fStatistics.fAddToIndexTime += lock.getCumulativeLockTime();
+				fStatistics.fWriteLockWaitTime += lock.getCumulativeWaitTime();
 			}
 		}
 	}
 
+	/**
+	 * Resolves the names of the AST serially, resolution modifies the AST and its caches.
+	 */
 	private void resolveNames(Data data, IProgressMonitor monitor) {
 		long start = System.currentTimeMillis();
 		Set<ICPPInternalDeclaredVariable> variables = new HashSet<>();
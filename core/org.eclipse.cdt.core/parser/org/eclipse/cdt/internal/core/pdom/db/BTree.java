@@ -202,6 +202,97 @@ public class BTree {
 		}
 	}
 
+	/**
+	 * Fills an empty b-tree with the given records. The records are sorted and the tree is built
+	 * bottom-up with nearly full nodes, which is much faster than inserting the records one
+	 * by one and results in a smaller tree. Of records that compare equal only the first one is
+	 * added, as it would be the case with {@link #insert(long)}.
+	 *
+	 * @param records offsets of the records, the array is sorted in place
+	 * @throws IllegalStateException if the b-tree is not empty
+	 */
+	public void bulkLoad(long[] records) throws CoreException {
+		if (getRoot() != 0)
+			throw new IllegalStateException("B-tree is not empty"); //$NON-NLS-1$
+
+		int count = sortUnique(records);
+		if (count == 0)
+			return;
+
+		// Build the leaves, then repeatedly the level above from the separating records.
+		long[] keys = records;
+		long[] nodes = null;
+		while (true) {
+			final int nodeCount = (count + MAX_RECORDS + 1) / (MAX_RECORDS + 1);
+			final long[] newNodes = new long[nodeCount];
+			final long[] separators = new long[nodeCount - 1];
+			// Spread the records evenly, this keeps every node above the minimum fill.
+			final int keysPerNode = (count - (nodeCount - 1)) / nodeCount;
+			int extraKeys = (count - (nodeCount - 1)) % nodeCount;
+			int k = 0;
+			for (int n = 0; n < nodeCount; n++) {
+				final long node = allocateNode();
+				final Chunk chunk = db.getChunk(node);
+				final int size = keysPerNode + (extraKeys-- > 0 ? 1 : 0);
+				for (int i = 0; i < size; i++) {
+					if (nodes != null)
+						putChild(chunk, node, i, nodes[k]);
+					putRecord(chunk, node, i, keys[k++]);
+				}
+				if (nodes != null)
+					putChild(chunk, node, size, nodes[k]);
+				if (n < nodeCount - 1)
+					separators[n] = keys[k++];
+				newNodes[n] = node;
+			}
+			if (nodeCount == 1) {
+				db.putRecPtr(rootPointer, newNodes[0]);
+				return;
+			}
+			keys = separators;
+			nodes = newNodes;
+			count = separators.length;
+		}
+	}
+
+	/**
+	 * Sorts the records according to the comparator of this tree and drops records that compare
+	 * equal to a preceding record.
+	 * @return the number of remaining records, which are stored at the beginning of the array
+	 */
+	private int sortUnique(long[] records) throws CoreException {
+		if (records.length == 0)
+			return 0;
+		mergeSort(records, records.clone(), 0, records.length);
+		int count = 1;
+		for (int i = 1; i < records.length; i++) {
+			if (cmp.compare(records[count - 1], records[i]) != 0) {
+				records[count++] = records[i];
+			}
+		}
+		return count;
+	}
+
+	/**
+	 * Stable sort of <code>dest[from..to)</code>, <code>src</code> holds a copy of the same range.
+	 */
+	private void mergeSort(long[] dest, long[] src, int from, int to) throws CoreException {
+		if (to - from < 2)
+			return;
+		final int middle = (from + to) >>> 1;
+		mergeSort(src, dest, from, middle);
+		mergeSort(src, dest, middle, to);
+		int i = from;
+		int j = middle;
+		for (int k = from; k < to; k++) {
+			if (j >= to || (i < middle && cmp.compare(src[i], src[j]) <= 0)) {
+				dest[k] = src[i++];
+			} else {
+				dest[k] = src[j++];
+			}
+		}
+	}
+
 	private void firstInsert(long record) throws CoreException {
 		// Create the node and save it as root.
 		long root = allocateNode();
@@ -33,7 +33,7 @@ final class Chunk {
 	boolean fCacheHitFlag;
 	boolean fDirty;
 	boolean fLocked; // locked chunks must not be released from cache.
-	int fCacheIndex = -1;
+	volatile int fCacheIndex = -1; // written by the cache, read by the database.
 
 	Chunk(Database db, int sequenceNumber) {
 		fDatabase = db;
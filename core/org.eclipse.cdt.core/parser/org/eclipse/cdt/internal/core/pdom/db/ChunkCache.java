@@ -13,12 +13,136 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Cache of chunks shared by databases. The cache is divided into a fixed number of segments,
+ * each of which runs the CLOCK algorithm on its own page table under its own lock. A chunk is
+ * always assigned to the same segment, so readers of different chunks rarely contend.
+ * <p>
+ * Evicting a chunk only removes it from the page table. The caller of {@link #add(Chunk, boolean)}
+ * must hand the returned chunk to {@link Database#releaseChunk(Chunk)} after it gave up the lock of
+ * its own database, this way the lock of a database is never requested while a segment is locked.
+ */
 public final class ChunkCache {
+	private static final int MAX_SEGMENTS = 64;
+
 	private static ChunkCache sSharedInstance = new ChunkCache();
 
-	private Chunk[] fPageTable;
-	private boolean fTableIsFull;
-	private int fPointer;
+	private static final class Segment {
+		Chunk[] fPageTable;
+		boolean fTableIsFull;
+		int fPointer;
+
+		Segment(int length) {
+			fPageTable = new Chunk[length];
+		}
+
+		/**
+		 * Adds the chunk to the page table and returns the chunk that had to be evicted to
+		 * make room for it, or {@code null}.
+		 */
+		synchronized Chunk add(Chunk chunk, boolean locked) {
+			if (locked) {
+				chunk.fLocked = true;
+			}
+			if (chunk.fCacheIndex >= 0) {
+				chunk.fCacheHitFlag = true;
+				return null;
+			}
+			Chunk evicted = null;
+			if (fTableIsFull) {
+				evicted = evictChunk();
+				chunk.fCacheIndex = fPointer;
+				fPageTable[fPointer] = chunk;
+			} else {
+				chunk.fCacheIndex = fPointer;
+				fPageTable[fPointer] = chunk;
+
+				fPointer++;
+				if (fPointer == fPageTable.length) {
+					fPointer = 0;
+					fTableIsFull = true;
+				}
+			}
+			return evicted;
+		}
+
+		/**
+		 * Evicts a chunk from the page table. After this method returns, {@link #fPointer} will
+		 * contain the index of the evicted chunk within the page table.
+		 */
+		private Chunk evictChunk() {
+			/*
+			 * Use the CLOCK algorithm to determine which chunk to evict.
+			 * i.e., if the chunk in the current slot of the page table has been
+			 * recently referenced (i.e. the reference flag is set), unset the
+			 * reference flag and move to the next slot.  Otherwise, evict the
+			 * chunk in the current slot.
+			 */
+			while (true) {
+				Chunk chunk = fPageTable[fPointer];
+				if (chunk.fCacheHitFlag) {
+					chunk.fCacheHitFlag = false;
+					fPointer = (fPointer + 1) % fPageTable.length;
+				} else {
+					chunk.fCacheIndex = -1;
+					fPageTable[fPointer] = null;
+					return chunk;
+				}
+			}
+		}
+
+		synchronized void remove(Chunk chunk) {
+			final int idx = chunk.fCacheIndex;
+			if (idx >= 0) {
+				if (fTableIsFull) {
+					fPointer = fPageTable.length - 1;
+					fTableIsFull = false;
+				} else {
+					fPointer--;
+				}
+				chunk.fCacheIndex = -1;
+				final Chunk move = fPageTable[fPointer];
+				fPageTable[idx] = move;
+				move.fCacheIndex = idx;
+				fPageTable[fPointer] = null;
+			}
+		}
+
+		synchronized int length() {
+			return fPageTable.length;
+		}
+
+		/**
+		 * Changes the page table to hold at most <code>newLength</code> chunks, the chunks
+		 * evicted in the process are added to the given list.
+		 */
+		synchronized void setLength(int newLength, List<Chunk> evicted) {
+			final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
+			if (newLength > oldLength) {
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
+				fTableIsFull = false;
+				fPointer = oldLength;
+				fPageTable = newTable;
+			} else {
+				for (int i = newLength; i < oldLength; i++) {
+					final Chunk chunk = fPageTable[i];
+					chunk.fCacheIndex = -1;
+					evicted.add(chunk);
+				}
+				Chunk[] newTable = new Chunk[newLength];
+				System.arraycopy(fPageTable, 0, newTable, 0, newLength);
+				fTableIsFull = true;
+				fPointer = 0;
+				fPageTable = newTable;
+			}
+		}
+	}
+
+	private final Segment[] fSegments;
 
 	public static ChunkCache getSharedInstance() {
 		return sSharedInstance;
@@ -29,82 +153,45 @@ public final class ChunkCache {
 	}
 
 	public ChunkCache(long maxSize) {
-		fPageTable = new Chunk[computeLength(maxSize)];
+		final int length = computeLength(maxSize);
+		final int segmentCount = computeSegmentCount(length);
+		fSegments = new Segment[segmentCount];
+		for (int i = 0; i < segmentCount; i++) {
+			fSegments[i] = new Segment(segmentLength(length, i));
+		}
 	}
 
-	public synchronized void add(Chunk chunk, boolean locked) {
-		if (locked) {
-			chunk.fLocked = true;
-		}
-		if (chunk.fCacheIndex >= 0) {
-			chunk.fCacheHitFlag = true;
-			return;
-		}
-		if (fTableIsFull) {
-			evictChunk();
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-		} else {
-			chunk.fCacheIndex = fPointer;
-			fPageTable[fPointer] = chunk;
-
-			fPointer++;
-			if (fPointer == fPageTable.length) {
-				fPointer = 0;
-				fTableIsFull = true;
-			}
-		}
+	private Segment getSegment(Chunk chunk) {
+		int h = System.identityHashCode(chunk.fDatabase) * 31 + chunk.fSequenceNumber;
+		h ^= h >>> 16;
+		return fSegments[h & (fSegments.length - 1)];
 	}
 
 	/**
-	 * Evicts a chunk from the page table and the chunk table.
-	 * After this method returns, {@link #fPointer}  will contain
-	 * the index of the evicted chunk within the page table.
+	 * Adds the chunk to the cache, or marks it as recently used if it already is cached.
+	 * @param chunk the chunk to add
+	 * @param locked whether the chunk must be locked, i.e. must not be released by its database
+	 * @return the chunk that was evicted from the cache to make room for the new one, or
+	 *     {@code null}. The evicted chunk must be passed to {@link Database#releaseChunk(Chunk)}
+	 *     when the caller no longer holds the lock of a database.
 	 */
-	private void evictChunk() {
-		/*
-		 * Use the CLOCK algorithm to determine which chunk to evict.
-		 * i.e., if the chunk in the current slot of the page table has been
-		 * recently referenced (i.e. the reference flag is set), unset the
-		 * reference flag and move to the next slot.  Otherwise, evict the
-		 * chunk in the current slot.
-		 */
-		while (true) {
-			Chunk chunk = fPageTable[fPointer];
-			if (chunk.fCacheHitFlag) {
-				chunk.fCacheHitFlag = false;
-				fPointer = (fPointer + 1) % fPageTable.length;
-			} else {
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-				fPageTable[fPointer] = null;
-				return;
-			}
-		}
+	public Chunk add(Chunk chunk, boolean locked) {
+		return getSegment(chunk).add(chunk, locked);
 	}
 
-	public synchronized void remove(Chunk chunk) {
-		final int idx = chunk.fCacheIndex;
-		if (idx >= 0) {
-			if (fTableIsFull) {
-				fPointer = fPageTable.length - 1;
-				fTableIsFull = false;
-			} else {
-				fPointer--;
-			}
-			chunk.fCacheIndex = -1;
-			final Chunk move = fPageTable[fPointer];
-			fPageTable[idx] = move;
-			move.fCacheIndex = idx;
-			fPageTable[fPointer] = null;
-		}
+	public void remove(Chunk chunk) {
+		getSegment(chunk).remove(chunk);
 	}
 
 	/**
 	 * Returns the maximum size of the chunk cache in bytes.
 	 */
-	public synchronized long getMaxSize() {
-		return (long) fPageTable.length * Database.CHUNK_SIZE;
+	public long getMaxSize() {
+		long length = 0;
+		for (Segment segment : fSegments) {
+			length += segment.length();
+		}
+		return length * Database.CHUNK_SIZE;
 	}
 
 	/**
@@ -112,30 +199,33 @@ public final class ChunkCache {
 	 * maximum total memory of <code>maxSize</code>.
 	 * @param maxSize the total size of the chunks in bytes.
 	 */
-	public synchronized void setMaxSize(long maxSize) {
-		final int newLength = computeLength(maxSize);
-		final int oldLength = fTableIsFull ? fPageTable.length : fPointer;
-		if (newLength > oldLength) {
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, oldLength);
-			fTableIsFull = false;
-			fPointer = oldLength;
-			fPageTable = newTable;
-		} else {
-			for (int i = newLength; i < oldLength; i++) {
-				final Chunk chunk = fPageTable[i];
-				chunk.fDatabase.releaseChunk(chunk);
-				chunk.fCacheIndex = -1;
-			}
-			Chunk[] newTable = new Chunk[newLength];
-			System.arraycopy(fPageTable, 0, newTable, 0, newLength);
-			fTableIsFull = true;
-			fPointer = 0;
-			fPageTable = newTable;
+	public void setMaxSize(long maxSize) {
+		final int length = computeLength(maxSize);
+		List<Chunk> evicted = new ArrayList<>();
+		for (int i = 0; i < fSegments.length; i++) {
+			fSegments[i].setLength(segmentLength(length, i), evicted);
+		}
+		for (Chunk chunk : evicted) {
+			chunk.fDatabase.releaseChunk(chunk);
+		}
+	}
+
+	private int segmentLength(int length, int segmentIndex) {
+		final int n = fSegments.length;
+		return Math.max(1, length / n + (segmentIndex < length % n ? 1 : 0));
+	}
+
+	private static int computeSegmentCount(int length) {
+		int count = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4);
+		count = Math.min(count, MAX_SEGMENTS);
+		// Keep segments large enough for CLOCK to be meaningful.
+		while (count > 1 && length / count < 64) {
+			count >>= 1;
 		}
+		return count;
 	}
 
-	private int computeLength(long maxSize) {
+	private static int computeLength(long maxSize) {
 		long maxLength = Math.min(maxSize / Database.CHUNK_SIZE, Integer.MAX_VALUE);
 		return Math.max(1, (int) maxLength);
 	}
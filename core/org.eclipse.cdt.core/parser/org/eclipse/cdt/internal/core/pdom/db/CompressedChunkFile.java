@@ -0,0 +1,213 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Compressed on-disk format of a database, used for databases that are distributed and opened
+ * read-only. Every chunk is deflated on its own, such that a single chunk can be read and inflated
+ * into the buffer of a {@link Chunk} without touching the rest of the file.
+ * <p>
+ * Layout: magic number, format version, number of chunks, a table with the file offsets of the
+ * compressed chunks (plus the end offset of the last one), followed by the compressed chunks.
+ * The version of the PDOM itself is stored in the header chunk, like for uncompressed databases.
+ * The magic number is negative and therefore cannot be mistaken for the PDOM version stored at
+ * the beginning of an uncompressed database.
+ */
+public final class CompressedChunkFile {
+	private static final int MAGIC = 0xCDC0DB00;
+	private static final int FORMAT_VERSION = 1;
+	private static final int HEADER_SIZE = 3 * Database.INT_SIZE;
+
+	private final long[] fOffsets;
+
+	/**
+	 * Reads the offset table of a compressed database.
+	 */
+	CompressedChunkFile(FileChannel channel) throws IOException {
+		ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+		readFully(channel, header, 0);
+		header.flip();
+		if (header.getInt() != MAGIC)
+			throw new IOException("Not a compressed database"); //$NON-NLS-1$
+		final int version = header.getInt();
+		if (version != FORMAT_VERSION)
+			throw new IOException("Unsupported format version of compressed database: " + version); //$NON-NLS-1$
+		final int chunkCount = header.getInt();
+		if (chunkCount < 0)
+			throw new IOException("Corrupted compressed database"); //$NON-NLS-1$
+
+		ByteBuffer table = ByteBuffer.allocate((chunkCount + 1) * Long.BYTES);
+		readFully(channel, table, HEADER_SIZE);
+		table.flip();
+		fOffsets = new long[chunkCount + 1];
+		for (int i = 0; i < fOffsets.length; i++) {
+			fOffsets[i] = table.getLong();
+		}
+	}
+
+	/**
+	 * Returns the number of chunks of the uncompressed database.
+	 */
+	int getChunkCount() {
+		return fOffsets.length - 1;
+	}
+
+	/**
+	 * Reads and inflates the chunk at the given position of the uncompressed database.
+	 */
+	void read(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+		assert position % Database.CHUNK_SIZE == 0 && buf.hasArray();
+		final long index = position / Database.CHUNK_SIZE;
+		if (index >= getChunkCount())
+			return;
+
+		final int i = (int) index;
+		final int length = (int) (fOffsets[i + 1] - fOffsets[i]);
+		ByteBuffer compressed = ByteBuffer.allocate(length);
+		readFully(channel, compressed, fOffsets[i]);
+
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(compressed.array(), 0, length);
+			int offset = buf.arrayOffset() + buf.position();
+			int remaining = buf.remaining();
+			while (remaining > 0 && !inflater.finished()) {
+				int n = inflater.inflate(buf.array(), offset, remaining);
+				if (n == 0 && (inflater.needsInput() || inflater.needsDictionary()))
+					throw new IOException("Corrupted chunk " + i + " in compressed database"); //$NON-NLS-1$ //$NON-NLS-2$
+				offset += n;
+				remaining -= n;
+			}
+			buf.position(buf.limit());
+		} catch (DataFormatException e) {
+			throw new IOException(e);
+		} finally {
+			inflater.end();
+		}
+	}
+
+	/**
+	 * Checks whether the file behind the given channel is a compressed database.
+	 */
+	static boolean isCompressed(FileChannel channel) throws IOException {
+		if (channel.size() < HEADER_SIZE)
+			return false;
+		ByteBuffer magic = ByteBuffer.allocate(Database.INT_SIZE);
+		readFully(channel, magic, 0);
+		magic.flip();
+		return magic.getInt() == MAGIC;
+	}
+
+	/**
+	 * Writes a compressed copy of the database at <code>source</code> to <code>target</code>.
+	 * The source database must not be modified while it is compressed.
+	 */
+	public static void compress(File source, File target) throws IOException {
+		try (RandomAccessFile in = new RandomAccessFile(source, "r"); //$NON-NLS-1$
+				RandomAccessFile out = new RandomAccessFile(target, "rw")) { //$NON-NLS-1$
+			final FileChannel from = in.getChannel();
+			final FileChannel to = out.getChannel();
+			if (isCompressed(from))
+				throw new IOException("Database is already compressed"); //$NON-NLS-1$
+			final int chunkCount = (int) (from.size() / Database.CHUNK_SIZE);
+			final long[] offsets = new long[chunkCount + 1];
+			final long tableEnd = HEADER_SIZE + (long) offsets.length * Long.BYTES;
+			to.truncate(0);
+
+			// The compressed chunks are streamed, the header and offset table are written last.
+			final byte[] chunk = new byte[Database.CHUNK_SIZE];
+			final byte[] compressed = new byte[Database.CHUNK_SIZE];
+			Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+			try {
+				to.position(tableEnd);
+				OutputStream data = new BufferedOutputStream(Channels.newOutputStream(to), 16 * Database.CHUNK_SIZE);
+				long position = tableEnd;
+				for (int i = 0; i < chunkCount; i++) {
+					readFully(from, ByteBuffer.wrap(chunk), (long) i * Database.CHUNK_SIZE);
+					deflater.reset();
+					deflater.setInput(chunk);
+					deflater.finish();
+					offsets[i] = position;
+					while (!deflater.finished()) {
+						int n = deflater.deflate(compressed);
+						data.write(compressed, 0, n);
+						position += n;
+					}
+				}
+				offsets[chunkCount] = position;
+				data.flush();
+			} finally {
+				deflater.end();
+			}
+
+			ByteBuffer header = ByteBuffer.allocate((int) tableEnd);
+			header.putInt(MAGIC);
+			header.putInt(FORMAT_VERSION);
+			header.putInt(chunkCount);
+			for (long offset : offsets) {
+				header.putLong(offset);
+			}
+			header.flip();
+			while (header.hasRemaining()) {
+				to.write(header, header.position());
+			}
+		}
+	}
+
+	/**
+	 * Replaces the compressed database at the given location with its uncompressed form.
+	 */
+	static void decompress(File location) throws IOException {
+		File tmp = new File(location.getParentFile(), location.getName() + ".tmp"); //$NON-NLS-1$
+		try (RandomAccessFile in = new RandomAccessFile(location, "r"); //$NON-NLS-1$
+				RandomAccessFile out = new RandomAccessFile(tmp, "rw")) { //$NON-NLS-1$
+			final FileChannel from = in.getChannel();
+			final FileChannel to = out.getChannel();
+			to.truncate(0);
+			CompressedChunkFile file = new CompressedChunkFile(from);
+			final byte[] chunk = new byte[Database.CHUNK_SIZE];
+			for (int i = 0; i < file.getChunkCount(); i++) {
+				final long position = (long) i * Database.CHUNK_SIZE;
+				ByteBuffer buf = ByteBuffer.wrap(chunk);
+				file.read(from, buf, position);
+				buf.flip();
+				while (buf.hasRemaining()) {
+					to.write(buf, position + buf.position());
+				}
+			}
+		}
+		Files.move(tmp.toPath(), location.toPath(), StandardCopyOption.REPLACE_EXISTING);
+	}
+
+	private static void readFully(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+		while (buf.hasRemaining()) {
+			int n = channel.read(buf, position);
+			if (n < 0)
+				throw new EOFException();
+			position += n;
+		}
+	}
+}
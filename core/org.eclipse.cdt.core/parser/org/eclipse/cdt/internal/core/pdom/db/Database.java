@@ -21,16 +21,11 @@ import java.io.File;
 import java.io.FileNotFoundException;
 import java.io.IOException;
 import java.io.RandomAccessFile;
-import java.lang.ref.Reference;
-import java.lang.ref.ReferenceQueue;
-import java.lang.ref.SoftReference;
 import java.nio.ByteBuffer;
 import java.nio.channels.ClosedByInterruptException;
 import java.nio.channels.ClosedChannelException;
 import java.nio.channels.FileChannel;
 import java.util.ArrayList;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.core.runtime.CoreException;
@@ -99,9 +94,18 @@ public class Database {
 	private static final int BLOCK_PREV_OFFSET = BLOCK_HEADER_SIZE;
 	private static final int BLOCK_NEXT_OFFSET = BLOCK_HEADER_SIZE + INT_SIZE;
 
+	/**
+	 * When set, chunks are read through memory-mapped segments of the database file rather than
+	 * via positional reads, see {@link MappedFileSegments}. This is an opt-in I/O optimization
+	 * only, chunks are still copied into the heap and held by the {@link ChunkCache}.
+	 */
+	private static final boolean MAP_FILE = Boolean.getBoolean("org.eclipse.cdt.core.parser.pdom.mmap"); //$NON-NLS-1$
+
 	private final File fLocation;
 	private final boolean fReadOnly;
 	private RandomAccessFile fFile;
+	private volatile MappedFileSegments fMappedSegments;
+	private CompressedChunkFile fCompressedFile;
 	private boolean fExclusiveLock; // Necessary for any write operation.
 	private boolean fLocked; // Necessary for any operation.
 	private boolean fIsMarkedIncomplete;
@@ -112,29 +116,19 @@ public class Database {
 	private int fChunksUsed;
 	private int fChunksAllocated;
 	private ChunkCache fCache;
+	/** Protects {@link #fChunks}, the cache uses its own locks. */
+	private final Object fChunksLock = new Object();
 
 	private long malloced;
 	private long freed;
 	private long cacheHits;
 	private long cacheMisses;
 
-	/** Soft reference wrapper to keep track of the record for disposed strings. */
-	private static class SoftStringRef extends SoftReference<IString> {
-		private final long record;
+	/** Number of strings kept in the {@link #stringCache}. */
+	private static final int STRING_CACHE_SIZE = 1 << 14;
 
-		public SoftStringRef(IString referent, ReferenceQueue<? super IString> q) {
-			super(referent, q);
-			record = referent.getRecord();
-		}
-
-		public long getRecord() {
-			return record;
-		}
-	}
-
-	// a cache for strings which is used for btree lookups; soft refs ensure garbage collection
-	private final Map<Long, Reference<IString>> stringCache = new ConcurrentHashMap<>();
-	private final ReferenceQueue<IString> stringDisposal = new ReferenceQueue<>();
+	// A cache for strings which is used for btree lookups.
+	private final StringCache stringCache = new StringCache(STRING_CACHE_SIZE);
 
 	/**
 	 * Construct a new Database object, creating a backing file if necessary.
@@ -149,9 +143,23 @@ public class Database {
 			fLocation = location;
 			fReadOnly = openReadOnly;
 			fCache = cache;
+			if (MAP_FILE && MappedFileSegments.isSupported()) {
+				fMappedSegments = new MappedFileSegments();
+			}
 			openFile();
+			if (CompressedChunkFile.isCompressed(fFile.getChannel())) {
+				if (openReadOnly) {
+					fCompressedFile = new CompressedChunkFile(fFile.getChannel());
+				} else {
+					// Writable databases are always stored uncompressed.
+					fFile.close();
+					CompressedChunkFile.decompress(location);
+					openFile();
+				}
+			}
 
-			int nChunksOnDisk = (int) (fFile.length() / CHUNK_SIZE);
+			int nChunksOnDisk = fCompressedFile != null ? fCompressedFile.getChunkCount()
+					: (int) (fFile.length() / CHUNK_SIZE);
 			fHeaderChunk = new Chunk(this, 0);
 			fHeaderChunk.fLocked = true; // Never makes it into the cache, needed to satisfy assertions.
 			if (nChunksOnDisk <= 0) {
@@ -177,7 +185,13 @@ public class Database {
 		int retries = 0;
 		do {
 			try {
-				fFile.getChannel().read(buf, position);
+				final FileChannel channel = fFile.getChannel();
+				final MappedFileSegments mappedSegments = fMappedSegments;
+				if (fCompressedFile != null) {
+					fCompressedFile.read(channel, buf, position);
+				} else if (mappedSegments == null || !mappedSegments.read(channel, buf, position)) {
+					channel.read(buf, position);
+				}
 				return;
 			} catch (ClosedChannelException e) {
 				// Bug 219834 file may have be closed by interrupting a thread during an I/O operation.
@@ -249,7 +263,13 @@ public class Database {
 		fChunksUsed = fChunksAllocated = fChunks.length;
 		try {
 			fHeaderChunk.flush(); // Zero out header chunk.
-			fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
+			final MappedFileSegments mappedSegments = fMappedSegments;
+			if (mappedSegments != null) {
+				// Mapped regions must not survive truncation.
+				mappedSegments.truncate(fFile.getChannel(), CHUNK_SIZE);
+			} else {
+				fFile.getChannel().truncate(CHUNK_SIZE); // Truncate database.
+			}
 		} catch (IOException e) {
 			CCorePlugin.log(e);
 		}
@@ -274,7 +294,7 @@ public class Database {
 	}
 
 	private void removeChunksFromCache() {
-		synchronized (fCache) {
+		synchronized (fChunksLock) {
 			for (int i = 1; i < fChunks.length; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null) {
@@ -296,24 +316,38 @@ public class Database {
 		long long_index = offset / CHUNK_SIZE;
 		assert long_index < Integer.MAX_VALUE;
 
-		synchronized (fCache) {
+		final Chunk chunk;
+		final Chunk evicted;
+		synchronized (fChunksLock) {
 			assert fLocked;
 			final int index = (int) long_index;
 			if (index < 0 || index >= fChunks.length) {
 				databaseCorruptionDetected();
 			}
-			Chunk chunk = fChunks[index];
-			if (chunk == null) {
+			Chunk c = fChunks[index];
+			if (c == null) {
 				cacheMisses++;
-				chunk = new Chunk(this, index);
-				chunk.read();
+				c = new Chunk(this, index);
+				c.read();
 				// Put the chunk in fChunks after it was read successfully.
-				fChunks[index] = chunk;
+				fChunks[index] = c;
 			} else {
 				cacheHits++;
 			}
-			fCache.add(chunk, fExclusiveLock);
-			return chunk;
+			evicted = fCache.add(c, fExclusiveLock);
+			chunk = c;
+		}
+		releaseEvictedChunk(evicted);
+		return chunk;
+	}
+
+	/**
+	 * Releases a chunk that was evicted from the cache by adding one of our chunks. Must be called
+	 * without holding {@link #fChunksLock}, the evicted chunk may belong to another database.
+	 */
+	private static void releaseEvictedChunk(Chunk evicted) {
+		if (evicted != null) {
+			evicted.fDatabase.releaseChunk(evicted);
 		}
 	}
 
@@ -376,7 +410,9 @@ public class Database {
 
 	private long createNewChunk() throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		final long address;
+		final Chunk evicted;
+		synchronized (fChunksLock) {
 			final int newChunkIndex = fChunksUsed; // fChunks.length;
 
 			final Chunk chunk = new Chunk(this, newChunkIndex);
@@ -393,23 +429,24 @@ public class Database {
 			fChunksUsed += 1;
 			fChunks[newChunkIndex] = chunk;
 
-			fCache.add(chunk, true);
-			long address = (long) newChunkIndex * CHUNK_SIZE;
-
-			/*
-			 * Non-dense pointers are at most 31 bits dense pointers are at most 35 bits Check the sizes here
-			 * and throw an exception if the address is too large. By throwing the CoreException with the
-			 * special status, the indexing operation should be stopped. This is desired since generally, once
-			 * the max size is exceeded, there are lots of errors.
-			 */
-			if (address >= MAX_DB_SIZE) {
-				Object bindings[] = { this.getLocation().getAbsolutePath(), MAX_DB_SIZE };
-				throw new CoreException(
-						new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, CCorePlugin.STATUS_PDOM_TOO_LARGE,
-								NLS.bind(CCorePlugin.getResourceString("pdom.DatabaseTooLarge"), bindings), null)); //$NON-NLS-1$
-			}
-			return address;
+			evicted = fCache.add(chunk, true);
+			address = (long) newChunkIndex * CHUNK_SIZE;
 		}
+		releaseEvictedChunk(evicted);
+
+		/*
+		 * Non-dense pointers are at most 31 bits dense pointers are at most 35 bits Check the sizes here
+		 * and throw an exception if the address is too large. By throwing the CoreException with the
+		 * special status, the indexing operation should be stopped. This is desired since generally, once
+		 * the max size is exceeded, there are lots of errors.
+		 */
+		if (address >= MAX_DB_SIZE) {
+			Object bindings[] = { this.getLocation().getAbsolutePath(), MAX_DB_SIZE };
+			throw new CoreException(
+					new Status(IStatus.ERROR, CCorePlugin.PLUGIN_ID, CCorePlugin.STATUS_PDOM_TOO_LARGE,
+							NLS.bind(CCorePlugin.getResourceString("pdom.DatabaseTooLarge"), bindings), null)); //$NON-NLS-1$
+		}
+		return address;
 	}
 
 	/**
@@ -417,7 +454,9 @@ public class Database {
 	 */
 	private long createNewChunks(int numChunks) throws CoreException {
 		assert fExclusiveLock;
-		synchronized (fCache) {
+		final Chunk evicted;
+		final long address;
+		synchronized (fChunksLock) {
 			final int oldLen = fChunks.length;
 			Chunk[] newchunks = new Chunk[oldLen + numChunks];
 			System.arraycopy(fChunks, 0, newchunks, 0, oldLen);
@@ -428,11 +467,13 @@ public class Database {
 			chunk.fDirty = true;
 			newchunks[oldLen + numChunks - 1] = chunk;
 			fChunks = newchunks;
-			fCache.add(chunk, true);
+			evicted = fCache.add(chunk, true);
 			fChunksAllocated = oldLen + numChunks;
 			fChunksUsed = oldLen + numChunks;
-			return (long) (oldLen + numChunks - 1) * CHUNK_SIZE;
+			address = (long) (oldLen + numChunks - 1) * CHUNK_SIZE;
 		}
+		releaseEvictedChunk(evicted);
+		return address;
 	}
 
 	private long getFirstBlock(int blocksize) throws CoreException {
@@ -608,12 +649,9 @@ public class Database {
 	}
 
 	public IString getString(long offset) throws CoreException {
-		final Reference<IString> cachedStringReference = stringCache.get(offset);
-		if (cachedStringReference != null) {
-			final IString cachedString = cachedStringReference.get();
-			if (cachedString != null) {
-				return cachedString; // string already cached, no need to re-retrieve it :-)
-			}
+		final IString cachedString = stringCache.get(offset);
+		if (cachedString != null) {
+			return cachedString; // string already cached, no need to re-retrieve it :-)
 		}
 		final int l = getInt(offset);
 		int bytelen = l < 0 ? -l : 2 * l;
@@ -624,16 +662,7 @@ public class Database {
 	}
 
 	private IString addStringToCache(IString string) {
-		// add string to cache
-		stringCache.put(string.getRecord(), new SoftStringRef(string, stringDisposal));
-		// also remove keys from cache list upon garbage collection
-		if (stringDisposal != null) {
-			Reference<? extends IString> disposedRef = stringDisposal.poll();
-			while (disposedRef instanceof SoftStringRef) {
-				stringCache.remove(((SoftStringRef) disposedRef).getRecord());
-				disposedRef = stringDisposal.poll();
-			}
-		}
+		stringCache.put(string);
 		return string;
 	}
 
@@ -661,7 +690,9 @@ public class Database {
 	/**
 	 * Closes the database.
 	 * <p>
-	 * The behavior of any further calls to the Database is undefined
+	 * The behavior of any further calls to the Database is undefined. In particular the mappings
+	 * of the file are released and memory-mapped reads are turned off for this instance, a database
+	 * that is opened again has to be created anew.
 	 * @throws CoreException
 	 */
 	public void close() throws CoreException {
@@ -674,6 +705,7 @@ public class Database {
 		fHeaderChunk.fDirty = false;
 		fChunks = new Chunk[] { null };
 		fChunksUsed = fChunksAllocated = fChunks.length;
+		setMemoryMapped(false);
 		try {
 			fFile.close();
 		} catch (IOException e) {
@@ -682,6 +714,32 @@ public class Database {
 		clearStringCache();
 	}
 
+	/**
+	 * Enables or disables reading chunks through memory-mapped segments of the database file.
+	 * The default is controlled by the {@code org.eclipse.cdt.core.parser.pdom.mmap} system property.
+	 * The file is not mapped if the virtual machine does not allow releasing mappings explicitly.
+	 * This method is public for testing purposes only.
+	 */
+	public void setMemoryMapped(boolean mapped) {
+		synchronized (fChunksLock) {
+			if (!mapped) {
+				MappedFileSegments mappedSegments = fMappedSegments;
+				fMappedSegments = null;
+				if (mappedSegments != null)
+					mappedSegments.dispose();
+			} else if (fMappedSegments == null && MappedFileSegments.isSupported()) {
+				fMappedSegments = new MappedFileSegments();
+			}
+		}
+	}
+
+	/**
+	 * Returns whether chunks are read through memory-mapped segments of the database file.
+	 */
+	public boolean isMemoryMapped() {
+		return fMappedSegments != null;
+	}
+
 	/**
 	 * This method is public for testing purposes only.
 	 */
@@ -690,11 +748,17 @@ public class Database {
 	}
 
 	/**
-	 * Called from any thread via the cache, protected by {@link #fCache}.
+	 * Called from any thread after the chunk was evicted from the cache. The chunk may have been
+	 * added to the cache again in the meantime, in which case it is kept.
 	 */
 	void releaseChunk(final Chunk chunk) {
-		if (!chunk.fLocked) {
-			fChunks[chunk.fSequenceNumber] = null;
+		synchronized (fChunksLock) {
+			if (!chunk.fLocked && chunk.fCacheIndex < 0) {
+				final int index = chunk.fSequenceNumber;
+				if (index < fChunks.length && fChunks[index] == chunk) {
+					fChunks[index] = null;
+				}
+			}
 		}
 	}
 
@@ -723,7 +787,7 @@ public class Database {
 		if (fExclusiveLock) {
 			try {
 				ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-				synchronized (fCache) {
+				synchronized (fChunksLock) {
 					for (int i = 1; i < fChunksUsed; i++) {
 						Chunk chunk = fChunks[i];
 						if (chunk != null) {
@@ -771,7 +835,7 @@ public class Database {
 
 		// Be careful as other readers may access chunks concurrently.
 		ArrayList<Chunk> dirtyChunks = new ArrayList<>();
-		synchronized (fCache) {
+		synchronized (fChunksLock) {
 			for (int i = 1; i < fChunksUsed; i++) {
 				Chunk chunk = fChunks[i];
 				if (chunk != null && chunk.fDirty) {
@@ -789,12 +853,10 @@ public class Database {
 
 	private void clearStringCache() {
 		stringCache.clear();
-		while (stringDisposal.poll() != null) {
-		}
 	}
 
 	private void flushAndUnlockChunks(final ArrayList<Chunk> dirtyChunks, boolean isComplete) throws CoreException {
-		assert !Thread.holdsLock(fCache);
+		assert !Thread.holdsLock(fChunksLock);
 		synchronized (fHeaderChunk) {
 			final boolean haveDirtyChunks = !dirtyChunks.isEmpty();
 			if (haveDirtyChunks || fHeaderChunk.fDirty) {
@@ -808,7 +870,7 @@ public class Database {
 				}
 
 				// Only after the chunks are flushed we may unlock and release them.
-				synchronized (fCache) {
+				synchronized (fChunksLock) {
 					for (Chunk chunk : dirtyChunks) {
 						chunk.fLocked = false;
 						if (chunk.fCacheIndex < 0) {
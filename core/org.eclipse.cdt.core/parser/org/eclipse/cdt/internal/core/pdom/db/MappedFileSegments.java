@@ -0,0 +1,231 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.FileChannel.MapMode;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import org.eclipse.cdt.core.CCorePlugin;
+
+/**
+ * Read access to the database file through a sequence of read-only memory-mapped segments.
+ * Reading a chunk then becomes a copy out of the operating system's page cache instead of a
+ * positional read system call, which keeps cache misses in the {@link ChunkCache} cheap.
+ * Chunks are not served from the mapped buffers, the memory used by the cache does not change.
+ * <p>
+ * Segments are mapped lazily and never extend past the end of the file, a segment that was
+ * mapped before the file has grown is remapped on demand. Writes continue to go through the
+ * file channel, mapped views of the same file observe them.
+ * <p>
+ * Mappings are released explicitly when they are replaced or cleared, rather than when the
+ * buffers are garbage collected, so that the file can be truncated or deleted right away on
+ * platforms that do not allow this for mapped files. Reads and releases exclude each other, since
+ * accessing a released mapping crashes the virtual machine. The same holds for truncating the
+ * file, which is done through {@link #truncate(FileChannel, long)}, and once the segments are
+ * disposed no new mapping is created. Where mappings cannot be released explicitly, see
+ * {@link #isSupported()}, the file is not mapped at all. Should releasing a mapping fail later on,
+ * the failure is logged once and all instances fall back to positional reads.
+ */
+final class MappedFileSegments {
+	/** Size of a single mapped segment, a multiple of {@link Database#CHUNK_SIZE}. */
+	static final int SEGMENT_SIZE = 64 * 1024 * 1024;
+
+	/** Releases a mapped buffer, {@code null} if not supported by the virtual machine. */
+	private static final Unmapper UNMAPPER = createUnmapper();
+	/** Set when releasing a mapping has failed, no mappings are created after that. */
+	private static volatile boolean sUnmapFailed;
+
+	private interface Unmapper {
+		void unmap(ByteBuffer buffer) throws Exception;
+	}
+
+	private final ReadWriteLock fLock = new ReentrantReadWriteLock();
+	private MappedByteBuffer[] fSegments = new MappedByteBuffer[0];
+	private boolean fDisposed;
+
+	private static Unmapper createUnmapper() {
+		Unmapper unmapper = null;
+		try {
+			// Java 9 and later.
+			Class<?> unsafeClass = Class.forName("sun.misc.Unsafe"); //$NON-NLS-1$
+			Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class); //$NON-NLS-1$
+			Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe"); //$NON-NLS-1$
+			theUnsafe.setAccessible(true);
+			Object unsafe = theUnsafe.get(null);
+			unmapper = buffer -> invokeCleaner.invoke(unsafe, buffer);
+		} catch (Exception | LinkageError e) {
+			// Not available, try the Java 8 way.
+		}
+		if (unmapper == null) {
+			try {
+				Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner"); //$NON-NLS-1$ //$NON-NLS-2$
+				Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean"); //$NON-NLS-1$ //$NON-NLS-2$
+				unmapper = buffer -> {
+					Object bufferCleaner = cleaner.invoke(buffer);
+					if (bufferCleaner != null)
+						clean.invoke(bufferCleaner);
+				};
+			} catch (Exception | LinkageError e) {
+				return null;
+			}
+		}
+		try {
+			// Looking up the methods may succeed while invoking them is not permitted, try it out.
+			unmapper.unmap(ByteBuffer.allocateDirect(1));
+			return unmapper;
+		} catch (Exception | LinkageError e) {
+			return null;
+		}
+	}
+
+	/**
+	 * Returns whether mappings can be released explicitly, memory-mapped reads must not be used
+	 * otherwise.
+	 */
+	static boolean isSupported() {
+		return UNMAPPER != null && !sUnmapFailed;
+	}
+
+	/**
+	 * Copies the bytes at the given file position into the remaining space of the buffer.
+	 * Returns {@code false} if the requested region lies beyond the end of the file, in which case
+	 * the buffer is left untouched.
+	 */
+	boolean read(FileChannel channel, ByteBuffer buf, long position) throws IOException {
+		final int length = buf.remaining();
+		final int index = (int) (position / SEGMENT_SIZE);
+		final int offset = (int) (position % SEGMENT_SIZE);
+		if (offset + length > SEGMENT_SIZE) {
+			return false; // Chunks never straddle segments, other reads are not worth the effort.
+		}
+		fLock.readLock().lock();
+		try {
+			if (fDisposed)
+				return false;
+			MappedByteBuffer segment = getSegment(index);
+			if (segment != null && segment.capacity() >= offset + length) {
+				copy(segment, buf, offset, length);
+				return true;
+			}
+		} finally {
+			fLock.readLock().unlock();
+		}
+		fLock.writeLock().lock();
+		try {
+			if (fDisposed || !isSupported())
+				return false;
+			MappedByteBuffer segment = mapSegment(channel, index, offset + length);
+			if (segment == null)
+				return false;
+			copy(segment, buf, offset, length);
+			return true;
+		} finally {
+			fLock.writeLock().unlock();
+		}
+	}
+
+	private static void copy(MappedByteBuffer segment, ByteBuffer buf, int offset, int length) {
+		ByteBuffer src = segment.duplicate();
+		src.position(offset);
+		src.limit(offset + length);
+		buf.put(src);
+	}
+
+	private MappedByteBuffer getSegment(int index) {
+		final MappedByteBuffer[] segments = fSegments;
+		return index < segments.length ? segments[index] : null;
+	}
+
+	/**
+	 * Maps the segment with the given index, must be called with the write lock held.
+	 */
+	private MappedByteBuffer mapSegment(FileChannel channel, int index, int minCapacity) throws IOException {
+		MappedByteBuffer segment = getSegment(index);
+		if (segment != null && segment.capacity() >= minCapacity)
+			return segment;
+
+		final long start = (long) index * SEGMENT_SIZE;
+		final long size = Math.min(SEGMENT_SIZE, channel.size() - start);
+		if (size < minCapacity)
+			return null;
+
+		// A read-only mapping never extends the file, see FileChannel.map().
+		MappedByteBuffer newSegment = channel.map(MapMode.READ_ONLY, start, size);
+		if (index >= fSegments.length) {
+			MappedByteBuffer[] newSegments = new MappedByteBuffer[index + 1];
+			System.arraycopy(fSegments, 0, newSegments, 0, fSegments.length);
+			fSegments = newSegments;
+		}
+		fSegments[index] = newSegment;
+		if (segment != null) {
+			// The file has grown past the previous mapping of the segment.
+			unmap(segment);
+		}
+		return newSegment;
+	}
+
+	/**
+	 * Releases all mappings and truncates the file to the given size. Readers cannot map the file
+	 * between the two steps.
+	 */
+	void truncate(FileChannel channel, long size) throws IOException {
+		fLock.writeLock().lock();
+		try {
+			unmapAll();
+			channel.truncate(size);
+		} finally {
+			fLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Releases all mappings for good, must be called before the file is closed. Subsequent reads
+	 * return {@code false}, including those of readers that have obtained this object before.
+	 */
+	void dispose() {
+		fLock.writeLock().lock();
+		try {
+			fDisposed = true;
+			unmapAll();
+		} finally {
+			fLock.writeLock().unlock();
+		}
+	}
+
+	/**
+	 * Releases all mappings, must be called with the write lock held.
+	 */
+	private void unmapAll() {
+		for (MappedByteBuffer segment : fSegments) {
+			if (segment != null)
+				unmap(segment);
+		}
+		fSegments = new MappedByteBuffer[0];
+	}
+
+	private static void unmap(MappedByteBuffer segment) {
+		if (sUnmapFailed)
+			return; // The mapping is released when the buffer is garbage collected.
+		try {
+			UNMAPPER.unmap(segment);
+		} catch (Exception | LinkageError e) {
+			sUnmapFailed = true;
+			CCorePlugin.log(e);
+		}
+	}
+}
@@ -15,6 +15,8 @@
  *******************************************************************************/
 package org.eclipse.cdt.internal.core.pdom.db;
 
+import java.nio.CharBuffer;
+
 import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.parser.util.CharArrayUtils;
 import org.eclipse.core.runtime.CoreException;
@@ -37,6 +39,11 @@ public class ShortString implements IString {
 
 	public static final int MAX_BYTE_LENGTH = Database.MAX_MALLOC_SIZE - CHARS;
 
+	/** The ways of comparing the characters of strings. */
+	private enum Comparison {
+		SENSITIVE, INSENSITIVE, COMPATIBLE_WITH_IGNORE_CASE
+	}
+
 	public ShortString(Database db, long offset) {
 		this.db = db;
 		this.record = offset;
@@ -168,7 +175,57 @@ public class ShortString implements IString {
 
 	@Override
 	public int compare(char[] other, boolean caseSensitive) throws CoreException {
-		return compare(getChars(), other, caseSensitive);
+		final char[] chars = cachedChars;
+		if (chars != null)
+			return compare(chars, other, caseSensitive);
+
+		return compareChunk(CharBuffer.wrap(other), caseSensitive ? Comparison.SENSITIVE : Comparison.INSENSITIVE,
+				false);
+	}
+
+	/**
+	 * Compares the characters in the chunk containing this string with the given ones, rather
+	 * than materializing the characters of this string.
+	 * @param prefix whether to check only if the given characters are a prefix of this string
+	 */
+	private int compareChunk(CharSequence other, Comparison comparison, boolean prefix) throws CoreException {
+		final Chunk chunk = db.getChunk(record);
+		final int l = chunk.getInt(record + LENGTH);
+		final int length = Math.abs(l);
+		final int otherLength = other.length();
+		final int n = Math.min(length, otherLength);
+		int sensitiveCmp = 0;
+		for (int i = 0; i < n; i++) {
+			final char c1 = charAt(chunk, l, i);
+			final char c2 = other.charAt(i);
+			if (c1 != c2) {
+				int cmp = compareChars(c1, c2, comparison == Comparison.SENSITIVE);
+				if (cmp != 0)
+					return cmp;
+
+				if (sensitiveCmp == 0 && comparison == Comparison.COMPATIBLE_WITH_IGNORE_CASE) {
+					sensitiveCmp = c1 < c2 ? -1 : 1;
+				}
+			}
+		}
+		if (prefix)
+			return length < otherLength ? -1 : 0;
+
+		int cmp = length - otherLength;
+		if (cmp != 0)
+			return cmp;
+
+		return sensitiveCmp;
+	}
+
+	/**
+	 * Returns the character at the given index from the chunk containing this string.
+	 * @param l the length field of this string, negative for strings stored as bytes
+	 */
+	private char charAt(Chunk chunk, int l, int index) {
+		if (l < 0)
+			return (char) (chunk.getByte(record + CHARS + index) & 0xff);
+		return chunk.getChar(record + CHARS + 2 * index);
 	}
 
 	@Override
@@ -178,7 +235,11 @@ public class ShortString implements IString {
 
 	@Override
 	public int compare(String other, boolean caseSensitive) throws CoreException {
-		return compare(getChars(), other.toCharArray(), caseSensitive);
+		final char[] chars = cachedChars;
+		if (chars != null)
+			return compare(chars, other.toCharArray(), caseSensitive);
+
+		return compareChunk(other, caseSensitive ? Comparison.SENSITIVE : Comparison.INSENSITIVE, false);
 	}
 
 	@Override
@@ -188,7 +249,11 @@ public class ShortString implements IString {
 
 	@Override
 	public int compareCompatibleWithIgnoreCase(char[] other) throws CoreException {
-		return compareCompatibleWithIgnoreCase(getChars(), other);
+		final char[] chars = cachedChars;
+		if (chars != null)
+			return compareCompatibleWithIgnoreCase(chars, other);
+
+		return compareChunk(CharBuffer.wrap(other), Comparison.COMPATIBLE_WITH_IGNORE_CASE, false);
 	}
 
 	public static int compareCompatibleWithIgnoreCase(final char[] chars, char[] other) {
@@ -221,7 +286,12 @@ public class ShortString implements IString {
 
 	@Override
 	public int comparePrefix(char[] other, boolean caseSensitive) throws CoreException {
-		return comparePrefix(getChars(), other, caseSensitive);
+		final char[] chars = cachedChars;
+		if (chars != null)
+			return comparePrefix(chars, other, caseSensitive);
+
+		return compareChunk(CharBuffer.wrap(other), caseSensitive ? Comparison.SENSITIVE : Comparison.INSENSITIVE,
+				true);
 	}
 
 	public static int comparePrefix(final char[] chars, char[] other, boolean caseSensitive) {
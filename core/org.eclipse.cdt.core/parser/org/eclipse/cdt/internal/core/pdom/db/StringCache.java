@@ -0,0 +1,71 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.Arrays;
+
+/**
+ * Bounded cache of the strings of a database, keyed by their record.
+ * <p>
+ * The cache is direct-mapped: every record has exactly one slot, a string replaces the string
+ * that occupied its slot before. Strings know their own record, hence no keys need to be stored
+ * and lookups do not box the record. Reading and writing a slot is atomic and the strings are
+ * immutable, so the cache can be used by concurrent readers without locking.
+ */
+final class StringCache {
+	private final IString[] fTable;
+	private final int fMask;
+
+	/**
+	 * @param size the number of slots, must be a power of two
+	 */
+	StringCache(int size) {
+		assert Integer.bitCount(size) == 1;
+		fTable = new IString[size];
+		fMask = size - 1;
+	}
+
+	private int index(long record) {
+		// Records are aligned to the block size, the lower bits carry no information.
+		long h = record >>> Database.BLOCK_SIZE_DELTA_BITS;
+		h ^= h >>> 17;
+		return (int) (h * 0x9E3779B9L >>> 16) & fMask;
+	}
+
+	/**
+	 * Returns the cached string for the record, or <code>null</code>.
+	 */
+	IString get(long record) {
+		final IString string = fTable[index(record)];
+		if (string != null && string.getRecord() == record)
+			return string;
+		return null;
+	}
+
+	void put(IString string) {
+		fTable[index(string.getRecord())] = string;
+	}
+
+	/**
+	 * Evicts the string for the record, if it is cached.
+	 */
+	void remove(long record) {
+		final int idx = index(record);
+		final IString string = fTable[idx];
+		if (string != null && string.getRecord() == record) {
+			fTable[idx] = null;
+		}
+	}
+
+	void clear() {
+		Arrays.fill(fTable, null);
+	}
+}
@@ -0,0 +1,245 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.core.pdom.db;
+
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+import org.eclipse.core.runtime.CoreException;
+
+/**
+ * A persistent index from the trigrams (sequences of three characters) of strings to the strings
+ * containing them. It allows for finding the candidates for a substring, wildcard or camel case
+ * search without visiting all strings.
+ * <p>
+ * Each string is stored only once. Strings shorter than three characters are not stored, they
+ * cannot contain a trigram. Trigrams are computed from the lower case characters of the strings,
+ * such that the index can be used for case sensitive and case insensitive searches. Strings are
+ * never removed from the index, candidates have to be verified by the caller.
+ * <p>
+ * The index uses two b-trees: one for the strings, sorted case sensitively, and one for the
+ * postings of the trigrams, sorted by trigram. A posting is a linked list of blocks with the
+ * records of the strings containing its trigram, the block sizes grow with the size of the list.
+ */
+public class TrigramIndex {
+	/** Size of the record required for the roots of the b-trees. */
+	public static final int RECORD_SIZE = 2 * Database.PTR_SIZE;
+
+	private static final int NAMES = 0;
+	private static final int POSTINGS = Database.PTR_SIZE;
+
+	// Posting: the trigram, the first block and the total number of strings.
+	private static final int POSTING_TRIGRAM = 0;
+	private static final int POSTING_HEAD = 8;
+	private static final int POSTING_SIZE = 8 + Database.PTR_SIZE;
+	private static final int POSTING_RECORD_SIZE = POSTING_SIZE + Database.INT_SIZE;
+
+	// Block: the next (older) block, the number of used slots and the capacity.
+	private static final int BLOCK_NEXT = 0;
+	private static final int BLOCK_COUNT = Database.PTR_SIZE;
+	private static final int BLOCK_CAPACITY = BLOCK_COUNT + 2;
+	private static final int BLOCK_ENTRIES = BLOCK_CAPACITY + 2;
+	private static final int MIN_BLOCK_CAPACITY = 4;
+	private static final int MAX_BLOCK_CAPACITY = (Database.MAX_MALLOC_SIZE - BLOCK_ENTRIES) / Database.PTR_SIZE;
+	private static final int MAX_CACHED_POSTINGS = 4096;
+
+	private final Database fDatabase;
+	private final BTree fNames;
+	private final BTree fPostings;
+	// The most recently used posting records by trigram, used while adding strings only.
+	private Map<Long, Long> fPostingCache;
+
+	public TrigramIndex(final Database db, long record) {
+		fDatabase = db;
+		fNames = new BTree(db, record + NAMES, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				return db.getString(record1).compare(db.getString(record2), true);
+			}
+		});
+		fPostings = new BTree(db, record + POSTINGS, new IBTreeComparator() {
+			@Override
+			public int compare(long record1, long record2) throws CoreException {
+				return Long.compare(db.getLong(record1 + POSTING_TRIGRAM), db.getLong(record2 + POSTING_TRIGRAM));
+			}
+		});
+	}
+
+	/**
+	 * Adds a string to the index, unless it is already contained or too short.
+	 */
+	public void add(char[] chars) throws CoreException {
+		if (chars == null || chars.length < 3 || findString(chars) != 0)
+			return;
+
+		final long string = fDatabase.newString(chars).getRecord();
+		fNames.insert(string);
+
+		final long[] trigrams = getTrigrams(chars);
+		long previous = -1;
+		for (long trigram : trigrams) {
+			// The trigrams are sorted, skip duplicates.
+			if (trigram != previous) {
+				addToPosting(getOrCreatePosting(trigram), string);
+				previous = trigram;
+			}
+		}
+	}
+
+	/**
+	 * Returns the records of the strings that may contain all of the given substrings, ignoring
+	 * case, or <code>null</code> if none of the substrings is long enough to narrow the search.
+	 * The result is a superset of the matching strings, the caller has to verify the candidates.
+	 */
+	public long[] findCandidates(char[][] substrings) throws CoreException {
+		// Use the smallest posting, the candidates need to be verified anyway.
+		long best = 0;
+		int bestSize = Integer.MAX_VALUE;
+		boolean usable = false;
+		for (char[] substring : substrings) {
+			if (substring.length < 3)
+				continue;
+			usable = true;
+			for (long trigram : getTrigrams(substring)) {
+				final long posting = findPosting(trigram);
+				if (posting == 0)
+					return new long[0];
+				final int size = fDatabase.getInt(posting + POSTING_SIZE);
+				if (size < bestSize) {
+					best = posting;
+					bestSize = size;
+				}
+			}
+		}
+		if (!usable)
+			return null;
+
+		final long[] result = new long[bestSize];
+		int i = 0;
+		for (long block = fDatabase.getRecPtr(best + POSTING_HEAD); block != 0; block = fDatabase
+				.getRecPtr(block + BLOCK_NEXT)) {
+			final int count = fDatabase.getShort(block + BLOCK_COUNT);
+			for (int j = 0; j < count; j++) {
+				result[i++] = fDatabase.getRecPtr(block + BLOCK_ENTRIES + j * Database.PTR_SIZE);
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Returns the trigrams of the given characters, sorted and including duplicates.
+	 */
+	static long[] getTrigrams(char[] chars) {
+		final int count = chars.length - 2;
+		if (count <= 0)
+			return new long[0];
+
+		final long[] result = new long[count];
+		long c0 = Character.toLowerCase(chars[0]);
+		long c1 = Character.toLowerCase(chars[1]);
+		for (int i = 0; i < count; i++) {
+			final long c2 = Character.toLowerCase(chars[i + 2]);
+			result[i] = c0 << 32 | c1 << 16 | c2;
+			c0 = c1;
+			c1 = c2;
+		}
+		Arrays.sort(result);
+		return result;
+	}
+
+	private long findString(final char[] chars) throws CoreException {
+		final long[] result = { 0 };
+		fNames.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return fDatabase.getString(record).compare(chars, true);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
+	private long findPosting(final long trigram) throws CoreException {
+		final long[] result = { 0 };
+		fPostings.accept(new IBTreeVisitor() {
+			@Override
+			public int compare(long record) throws CoreException {
+				return Long.compare(fDatabase.getLong(record + POSTING_TRIGRAM), trigram);
+			}
+
+			@Override
+			public boolean visit(long record) throws CoreException {
+				result[0] = record;
+				return false;
+			}
+		});
+		return result[0];
+	}
+
+	private long getOrCreatePosting(long trigram) throws CoreException {
+		if (fPostingCache == null) {
+			fPostingCache = new LinkedHashMap<Long, Long>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<Long, Long> eldest) {
+					return size() > MAX_CACHED_POSTINGS;
+				}
+			};
+		}
+
+		final Long key = trigram;
+		Long posting = fPostingCache.get(key);
+		if (posting == null) {
+			long record = findPosting(trigram);
+			if (record == 0) {
+				record = fDatabase.malloc(POSTING_RECORD_SIZE);
+				fDatabase.putLong(record + POSTING_TRIGRAM, trigram);
+				fPostings.insert(record);
+			}
+			posting = record;
+			fPostingCache.put(key, posting);
+		}
+		return posting;
+	}
+
+	private void addToPosting(long posting, long string) throws CoreException {
+		final int size = fDatabase.getInt(posting + POSTING_SIZE);
+		long block = fDatabase.getRecPtr(posting + POSTING_HEAD);
+		int count = 0;
+		if (block != 0) {
+			count = fDatabase.getShort(block + BLOCK_COUNT);
+			final int capacity = fDatabase.getShort(block + BLOCK_CAPACITY);
+			if (count == capacity) {
+				block = newBlock(block, Math.min(capacity * 2, MAX_BLOCK_CAPACITY));
+				fDatabase.putRecPtr(posting + POSTING_HEAD, block);
+				count = 0;
+			}
+		} else {
+			block = newBlock(0, MIN_BLOCK_CAPACITY);
+			fDatabase.putRecPtr(posting + POSTING_HEAD, block);
+		}
+		fDatabase.putRecPtr(block + BLOCK_ENTRIES + count * Database.PTR_SIZE, string);
+		fDatabase.putShort(block + BLOCK_COUNT, (short) (count + 1));
+		fDatabase.putInt(posting + POSTING_SIZE, size + 1);
+	}
+
+	private long newBlock(long next, int capacity) throws CoreException {
+		final long block = fDatabase.malloc(BLOCK_ENTRIES + capacity * Database.PTR_SIZE);
+		fDatabase.putRecPtr(block + BLOCK_NEXT, next);
+		fDatabase.putShort(block + BLOCK_CAPACITY, (short) capacity);
+		return block;
+	}
+}
@@ -60,6 +60,7 @@ public abstract class PDOMBinding extends PDOMNamedNode implements IPDOMBinding
 
 	protected PDOMBinding(PDOMLinkage linkage, PDOMNode parent, char[] name) throws CoreException {
 		super(linkage, parent, name);
+		linkage.addToNameIndex(name);
 	}
 
 	public PDOMBinding(PDOMLinkage linkage, long record) {
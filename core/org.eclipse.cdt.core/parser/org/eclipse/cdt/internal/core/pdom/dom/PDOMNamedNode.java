@@ -102,6 +102,9 @@ public abstract class PDOMNamedNode extends PDOMNode {
 			name.delete();
 			final Database db = getDB();
 			db.putRecPtr(record + NAME, db.newString(nameCharArray).getRecord());
+			if (this instanceof PDOMBinding) {
+				getLinkage().addToNameIndex(nameCharArray);
+			}
 		}
 		fName = nameCharArray;
 	}
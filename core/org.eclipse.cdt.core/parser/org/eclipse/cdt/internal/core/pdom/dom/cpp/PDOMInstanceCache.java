@@ -28,6 +28,9 @@ import org.eclipse.cdt.internal.core.pdom.dom.PDOMNamedNode;
 import org.eclipse.cdt.internal.core.pdom.dom.PDOMNode;
 import org.eclipse.core.runtime.CoreException;
 
+/**
+ * Instances of a template stored in the PDOM, shared between the ASTs of one read lock.
+ */
 public class PDOMInstanceCache {
 
 	public static PDOMInstanceCache getCache(PDOMBinding binding) {
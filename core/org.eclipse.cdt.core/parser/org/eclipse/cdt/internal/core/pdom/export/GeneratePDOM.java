@@ -16,6 +16,9 @@
 package org.eclipse.cdt.internal.core.pdom.export;
 
 import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
 import java.util.Map;
 
 import org.eclipse.cdt.core.CCorePlugin;
@@ -26,6 +29,7 @@ import org.eclipse.cdt.core.model.ICProject;
 import org.eclipse.cdt.core.model.LanguageManager;
 import org.eclipse.cdt.internal.core.CCoreInternals;
 import org.eclipse.cdt.internal.core.pdom.WritablePDOM;
+import org.eclipse.cdt.internal.core.pdom.db.CompressedChunkFile;
 import org.eclipse.cdt.internal.core.pdom.indexer.IndexerPreferences;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IStatus;
@@ -50,6 +54,7 @@ public class GeneratePDOM {
 	protected String indexerID;
 	protected boolean deleteOnExit;
 	protected boolean checkIndexStatus;
+	protected boolean compress;
 
 	/**
 	 * Runnable to export a PDOM.
@@ -80,6 +85,15 @@ public class GeneratePDOM {
 		this.deleteOnExit = deleteOnExit;
 	}
 
+	/**
+	 * When set, the exported PDOM is stored in the compressed format, see
+	 * {@link CompressedChunkFile}. Compressed PDOMs can be used as read-only indexes directly,
+	 * they are decompressed when opened for writing. By default this is not set.
+	 */
+	public void setCompress(boolean compress) {
+		this.compress = compress;
+	}
+
 	/**
 	 * Executes the PDOM generation
 	 * @return {@link IStatus#OK} if the generated content is complete, {@link IStatus#ERROR} otherwise.
@@ -148,6 +162,9 @@ public class GeneratePDOM {
 			} finally {
 				exportedPDOM.releaseWriteLock();
 			}
+			if (compress) {
+				compressPDOM();
+			}
 		} catch (InterruptedException ie) {
 			String msg = MessageFormat.format(Messages.GeneratePDOM_GenericGenerationFailed,
 					new Object[] { ie.getMessage() });
@@ -161,6 +178,17 @@ public class GeneratePDOM {
 		return new Status(IStatus.OK, CCorePlugin.PLUGIN_ID, Messages.GeneratePDOM_Success);
 	}
 
+	private void compressPDOM() throws CoreException {
+		File tmp = new File(targetLocation.getParentFile(), targetLocation.getName() + ".tmp"); //$NON-NLS-1$
+		try {
+			CompressedChunkFile.compress(targetLocation, tmp);
+			Files.move(tmp.toPath(), targetLocation.toPath(), StandardCopyOption.REPLACE_EXISTING);
+		} catch (IOException e) {
+			tmp.delete();
+			throw new CoreException(CCorePlugin.createStatus(e.getMessage(), e));
+		}
+	}
+
 	private void fail(String message) throws CoreException {
 		GeneratePDOMApplication.fail(message);
 	}
@@ -23,6 +23,7 @@ import java.io.IOException;
 import java.io.OutputStream;
 import java.net.URI;
 import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
@@ -47,6 +48,7 @@ import org.eclipse.core.resources.ResourcesPlugin;
 import org.eclipse.core.runtime.CoreException;
 import org.eclipse.core.runtime.IPath;
 import org.eclipse.core.runtime.Path;
+import org.eclipse.core.runtime.Platform;
 import org.eclipse.core.runtime.URIUtil;
 import org.osgi.service.prefs.BackingStoreException;
 
@@ -80,6 +82,10 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 
 	private static final Pattern ANSI_ESCAPE_RE = Pattern.compile("\\e\\[[\\d;]*[^\\d;]"); //$NON-NLS-1$
 
+	private static final boolean TRACE_COSTS = Boolean
+			.parseBoolean(Platform.getDebugOption(CCorePlugin.PLUGIN_ID + "/debug/errorparsers")); //$NON-NLS-1$
+	private static final int TRACED_ERROR_PARSERS = 10;
+
 	private int nOpens;
 	private int lineCounter = 0;
 
@@ -90,6 +96,8 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 	private final IMarkerGenerator fMarkerGenerator;
 
 	private Map<String, IErrorParser[]> fErrorParsers;
+	// Per error parser id: nanoseconds spent, lines offered, lines consumed.
+	private final Map<String, long[]> fErrorParserCosts = new HashMap<>();
 	private final List<ProblemMarkerInfo> fErrors;
 
 	private final Vector<URI> fDirectoryStack;
@@ -333,13 +341,19 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 		 * If the tool outputs colored text, it will contain ANSI escape
 		 * sequences. Remove them, since they can confuse the error parsers.
 		 */
-		String lineTrimmed = ANSI_ESCAPE_RE.matcher(line).replaceAll("").trim(); //$NON-NLS-1$
+		String lineTrimmed = line.indexOf('\u001b') < 0 ? line.trim()
+				: ANSI_ESCAPE_RE.matcher(line).replaceAll("").trim(); //$NON-NLS-1$
 		lineCounter++;
 
 		ProblemMarkerInfo marker = null;
 
-		outer: for (IErrorParser[] parsers : fErrorParsers.values()) {
-			for (IErrorParser parser : parsers) {
+		outer: for (Map.Entry<String, IErrorParser[]> entry : fErrorParsers.entrySet()) {
+			long[] cost = fErrorParserCosts.get(entry.getKey());
+			if (cost == null) {
+				cost = new long[3];
+				fErrorParserCosts.put(entry.getKey(), cost);
+			}
+			for (IErrorParser parser : entry.getValue()) {
 				IErrorParser curr = parser;
 				if (parser instanceof ErrorParserNamedWrapper) {
 					curr = ((ErrorParserNamedWrapper) parser).getErrorParser();
@@ -362,6 +376,7 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 				}
 
 				boolean consume = false;
+				long start = System.nanoTime();
 				// Protect against rough parsers who may accidentally
 				// throw an exception on a line they can't handle.
 				// It should not stop parsing of the rest of output.
@@ -376,6 +391,8 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 					String message = "Errorparser " + id + " failed parsing line [" + lineToParse + "]";
 					CCorePlugin.log(message, e);
 				} finally {
+					cost[0] += System.nanoTime() - start;
+					cost[1]++;
 					if (fErrors.size() > 0) {
 						if (marker == null) {
 							marker = fErrors.get(0);
@@ -385,6 +402,7 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 				}
 
 				if (consume) {
+					cost[2]++;
 					break outer;
 				}
 			}
@@ -699,26 +717,29 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 	// parsers (processLine method).
 	// If flush is true rest of line is checked by error parsers.
 	private void checkLine(boolean flush) {
-		String buffer = currentLine.toString();
-		int i = 0;
-		while ((i = buffer.indexOf('\n')) != -1) {
-			String line = buffer.substring(0, i);
+		// Lines are extracted in place, the consumed part of the buffer is removed once.
+		int start = 0;
+		int i;
+		while ((i = currentLine.indexOf("\n", start)) != -1) { //$NON-NLS-1$
+			int end = i;
 			// get rid of any trailing '\r'
-			if (line.endsWith("\r")) { //$NON-NLS-1$
-				line = line.substring(0, line.length() - 1);
+			if (end > start && currentLine.charAt(end - 1) == '\r') {
+				end--;
 			}
+			String line = currentLine.substring(start, end);
 			processLine(line);
 			previousLine = line;
-			buffer = buffer.substring(i + 1); // skip the \n and advance
+			start = i + 1; // skip the \n and advance
 		}
-		currentLine.setLength(0);
 		if (flush) {
-			if (buffer.length() > 0) {
-				processLine(buffer);
-				previousLine = buffer;
+			if (start < currentLine.length()) {
+				String line = currentLine.substring(start);
+				processLine(line);
+				previousLine = line;
 			}
+			currentLine.setLength(0);
 		} else {
-			currentLine.append(buffer);
+			currentLine.delete(0, start);
 		}
 	}
 
@@ -911,6 +932,35 @@ public class ErrorParserManager extends OutputStream implements IConsoleParser,
 				}
 			}
 		}
+		if (TRACE_COSTS) {
+			String project = fProject != null ? fProject.getName() : ""; //$NON-NLS-1$
+			for (String cost : getErrorParserCosts(TRACED_ERROR_PARSERS)) {
+				System.out.println("Error parser costs for " + project + ": " + cost); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+	}
+
+	/**
+	 * Returns the time spent by the error parsers processing the lines of output, most expensive
+	 * error parser first.
+	 *
+	 * @param maxErrorParsers the maximum number of error parsers to report.
+	 * @return descriptions of the costs of the error parsers.
+	 * @since 6.11
+	 */
+	public List<String> getErrorParserCosts(int maxErrorParsers) {
+		List<Map.Entry<String, long[]>> entries = new ArrayList<>(fErrorParserCosts.entrySet());
+		entries.sort((e1, e2) -> Long.compare(e2.getValue()[0], e1.getValue()[0]));
+
+		List<String> result = new ArrayList<>();
+		for (Map.Entry<String, long[]> entry : entries) {
+			if (result.size() == maxErrorParsers)
+				break;
+			long[] cost = entry.getValue();
+			result.add(entry.getKey() + ": " + cost[0] / 1000000 + " ms for " + cost[1] + " lines, " //$NON-NLS-1$ //$NON-NLS-2$ //$NON-NLS-3$
+					+ cost[2] + " consumed"); //$NON-NLS-1$
+		}
+		return result;
 	}
 
 	/**
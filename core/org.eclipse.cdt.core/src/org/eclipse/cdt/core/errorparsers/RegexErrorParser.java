@@ -21,6 +21,7 @@ import org.eclipse.cdt.core.CCorePlugin;
 import org.eclipse.cdt.core.ErrorParserManager;
 import org.eclipse.cdt.core.IErrorParser;
 import org.eclipse.cdt.core.IErrorParserNamed;
+import org.eclipse.cdt.internal.errorparsers.RegexPrefilter;
 
 /**
  * {@code RegexerrorParser} is an error parser designed to use regular expressions in order
@@ -38,6 +39,9 @@ public class RegexErrorParser implements IErrorParserNamed {
 	private String fId;
 	private String fName;
 	private final List<RegexErrorPattern> fPatterns = new ArrayList<>();
+	// Rules out patterns that cannot match a line, computed lazily from the regular expressions
+	// of the patterns.
+	private volatile RegexPrefilter fPrefilter;
 
 	/**
 	 * Default constructor will initialize the error parser with the name of the class
@@ -145,7 +149,11 @@ public class RegexErrorParser implements IErrorParserNamed {
 	 */
 	@Override
 	public boolean processLine(String line, ErrorParserManager epManager) {
-		for (RegexErrorPattern pattern : fPatterns)
+		boolean[] candidates = getPrefilter().getCandidates(line);
+		for (int i = 0; i < candidates.length; i++) {
+			if (!candidates[i])
+				continue;
+			RegexErrorPattern pattern = fPatterns.get(i);
 			try {
 				if (pattern.processLine(line, epManager))
 					return true;
@@ -153,10 +161,38 @@ public class RegexErrorParser implements IErrorParserNamed {
 				String message = "Error parsing line [" + line + "]"; //$NON-NLS-1$//$NON-NLS-2$
 				CCorePlugin.log(message, e);
 			}
+		}
 
 		return false;
 	}
 
+	/**
+	 * Returns the prefilter for the current patterns. Patterns may be modified after they were
+	 * added, therefore the regular expressions are compared with the ones the prefilter was
+	 * computed for. Subclasses of {@link RegexErrorPattern} may match lines differently, they
+	 * are never ruled out.
+	 * <p>
+	 * Error parsers may be shared between builds running in parallel. The prefilter is immutable
+	 * and replaced as a whole, so concurrent callers see either the old or the new one.
+	 */
+	private RegexPrefilter getPrefilter() {
+		int size = fPatterns.size();
+		String[] regexes = new String[size];
+		for (int i = 0; i < size; i++) {
+			regexes[i] = getPrefilterRegex(fPatterns.get(i));
+		}
+		RegexPrefilter prefilter = fPrefilter;
+		if (prefilter == null || !prefilter.isComputedFor(regexes)) {
+			prefilter = new RegexPrefilter(regexes);
+			fPrefilter = prefilter;
+		}
+		return prefilter;
+	}
+
+	private static String getPrefilterRegex(RegexErrorPattern pattern) {
+		return pattern.getClass() == RegexErrorPattern.class ? pattern.getPattern() : null;
+	}
+
 	@Override
 	public boolean equals(Object o) {
 		if (o instanceof RegexErrorParser) {
@@ -0,0 +1,256 @@
+/*******************************************************************************
+ * Copyright (c) 2020 Eclipse CDT Project and others.
+ *
+ * This program and the accompanying materials
+ * are made available under the terms of the Eclipse Public License 2.0
+ * which accompanies this distribution, and is available at
+ * https://www.eclipse.org/legal/epl-2.0/
+ *
+ * SPDX-License-Identifier: EPL-2.0
+ *******************************************************************************/
+package org.eclipse.cdt.internal.errorparsers;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Cheaply rules out regular expressions that cannot match a line of output. For every regular
+ * expression a literal is determined that each match has to contain, lines not containing
+ * the literal need not be offered to the regular expression. Each distinct literal is
+ * searched for at most once per line. Instances are immutable and may be shared between threads.
+ */
+public final class RegexPrefilter {
+	private final String[] fRegexes;
+	private final String[] fLiterals;
+	// Index into fLiterals for each regular expression, or -1.
+	private final int[] fLiteralIndex;
+
+	/**
+	 * @param regexes the regular expressions, <code>null</code> for the ones that must not be
+	 *     ruled out.
+	 */
+	public RegexPrefilter(String[] regexes) {
+		fRegexes = regexes.clone();
+		List<String> literals = new ArrayList<>();
+		fLiteralIndex = new int[regexes.length];
+		for (int i = 0; i < regexes.length; i++) {
+			String literal = regexes[i] == null ? null : getRequiredLiteral(regexes[i]);
+			if (literal == null) {
+				fLiteralIndex[i] = -1;
+			} else {
+				int index = literals.indexOf(literal);
+				if (index < 0) {
+					index = literals.size();
+					literals.add(literal);
+				}
+				fLiteralIndex[i] = index;
+			}
+		}
+		fLiterals = literals.toArray(new String[literals.size()]);
+	}
+
+	/**
+	 * Returns whether the prefilter was computed for the given regular expressions.
+	 */
+	public boolean isComputedFor(String[] regexes) {
+		return Arrays.equals(fRegexes, regexes);
+	}
+
+	/**
+	 * Returns for each regular expression whether it may match the given line.
+	 */
+	public boolean[] getCandidates(String line) {
+		boolean[] candidates = new boolean[fLiteralIndex.length];
+		// 0: not yet searched, 1: contained, 2: not contained
+		byte[] contained = new byte[fLiterals.length];
+		for (int i = 0; i < fLiteralIndex.length; i++) {
+			int index = fLiteralIndex[i];
+			if (index < 0) {
+				candidates[i] = true;
+			} else {
+				if (contained[index] == 0)
+					contained[index] = (byte) (line.indexOf(fLiterals[index]) >= 0 ? 1 : 2);
+				candidates[i] = contained[index] == 1;
+			}
+		}
+		return candidates;
+	}
+
+	/**
+	 * Returns the longest literal string that every match of the given regular expression
+	 * contains, or <code>null</code> if no such literal can be determined. The analysis is
+	 * conservative, only literal characters outside of groups and character classes are
+	 * considered.
+	 */
+	public static String getRequiredLiteral(String regex) {
+		String longest = ""; //$NON-NLS-1$
+		StringBuilder run = new StringBuilder();
+		int length = regex.length();
+		int i = 0;
+		while (i < length) {
+			char c = regex.charAt(i);
+			boolean isLiteral = false;
+			switch (c) {
+			case '\\':
+				if (i + 1 >= length)
+					return null;
+				char escaped = regex.charAt(i + 1);
+				if (Character.isLetterOrDigit(escaped)) {
+					if (escaped == 'Q')
+						return null;
+					i = skipEscape(regex, i);
+				} else {
+					c = escaped;
+					i += 2;
+					isLiteral = true;
+				}
+				break;
+			case '[':
+				i = skipCharacterClass(regex, i);
+				break;
+			case '(':
+				if (regex.startsWith("(?", i) && i + 2 < length //$NON-NLS-1$
+						&& "idmsuxU-".indexOf(regex.charAt(i + 2)) >= 0) { //$NON-NLS-1$
+					// Embedded flags may change the meaning of literals.
+					return null;
+				}
+				i = skipGroup(regex, i);
+				break;
+			case '|':
+			case ')':
+				return null;
+			case '.':
+			case '^':
+			case '$':
+			case '?':
+			case '*':
+			case '+':
+			case '{':
+				i++;
+				break;
+			default:
+				i++;
+				isLiteral = true;
+				break;
+			}
+			if (i < 0)
+				return null;
+
+			// Check for a quantifier applying to the atom.
+			char quantifier = i < length ? regex.charAt(i) : 0;
+			boolean isOptional = quantifier == '?' || quantifier == '*' || quantifier == '{';
+			if (isLiteral && !isOptional)
+				run.append(c);
+			if (!isLiteral || isOptional || quantifier == '+') {
+				if (run.length() > longest.length())
+					longest = run.toString();
+				run.setLength(0);
+			}
+			if (quantifier == '{') {
+				i = regex.indexOf('}', i);
+				if (i < 0)
+					return null;
+				i++;
+			} else if (quantifier == '?' || quantifier == '*' || quantifier == '+') {
+				i++;
+			} else {
+				continue;
+			}
+			// Reluctant or possessive quantifier.
+			if (i < length && (regex.charAt(i) == '?' || regex.charAt(i) == '+'))
+				i++;
+		}
+		if (run.length() > longest.length())
+			longest = run.toString();
+		return longest.isEmpty() ? null : longest;
+	}
+
+	/**
+	 * Returns the index after the escape sequence starting with a backslash at the given index,
+	 * or -1.
+	 */
+	private static int skipEscape(String regex, int i) {
+		int length = regex.length();
+		char c = regex.charAt(i + 1);
+		i += 2;
+		switch (c) {
+		case 'p':
+		case 'P':
+		case 'x':
+		case 'N':
+			if (i < length && regex.charAt(i) == '{') {
+				int end = regex.indexOf('}', i);
+				return end < 0 ? -1 : end + 1;
+			}
+			return c == 'x' ? i + 2 : i + 1;
+		case 'k':
+			if (i < length && regex.charAt(i) == '<') {
+				int end = regex.indexOf('>', i);
+				return end < 0 ? -1 : end + 1;
+			}
+			return -1;
+		case 'u':
+			return i + 4;
+		case 'c':
+			return i + 1;
+		default:
+			while (Character.isDigit(c) && i < length && Character.isDigit(regex.charAt(i)))
+				i++;
+			return i;
+		}
+	}
+
+	/**
+	 * Returns the index after the character class starting at the given index, or -1.
+	 */
+	private static int skipCharacterClass(String regex, int i) {
+		int length = regex.length();
+		i++;
+		if (i < length && regex.charAt(i) == '^')
+			i++;
+		if (i < length && regex.charAt(i) == ']')
+			i++;
+		while (i < length) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i += 2;
+			} else if (c == '[') {
+				i = skipCharacterClass(regex, i);
+				if (i < 0)
+					return -1;
+			} else if (c == ']') {
+				return i + 1;
+			} else {
+				i++;
+			}
+		}
+		return -1;
+	}
+
+	/**
+	 * Returns the index after the group starting at the given index, or -1.
+	 */
+	private static int skipGroup(String regex, int i) {
+		int length = regex.length();
+		int depth = 0;
+		while (i < length) {
+			char c = regex.charAt(i);
+			if (c == '\\') {
+				i += 2;
+			} else if (c == '[') {
+				i = skipCharacterClass(regex, i);
+				if (i < 0)
+					return -1;
+			} else {
+				if (c == '(') {
+					depth++;
+				} else if (c == ')' && --depth == 0) {
+					return i + 1;
+				}
+				i++;
+			}
+		}
+		return -1;
+	}
+}
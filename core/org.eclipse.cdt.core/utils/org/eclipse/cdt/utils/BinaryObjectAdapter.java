@@ -28,6 +28,64 @@ public abstract class BinaryObjectAdapter extends BinaryFile implements IBinaryO
 
 	protected static final ISymbol[] NO_SYMBOLS = new ISymbol[0];
 
+	/**
+	 * Address index for an array of symbols sorted by their start addresses. A segment tree
+	 * stores the maximum end address for ranges of symbols, the last symbol up to a given
+	 * position that ends after an address is found in logarithmic time.
+	 */
+	private static class SymbolAddressIndex {
+		final ISymbol[] fSymbols;
+		// Number of leaves, a power of two.
+		private final int fLeaves;
+		// Node 1 is the root, the children of node n are 2n and 2n+1, the leaves start at fLeaves.
+		// Nodes without symbols are null.
+		private final IAddress[] fMaxEnds;
+
+		SymbolAddressIndex(ISymbol[] symbols) {
+			fSymbols = symbols;
+			int leaves = 1;
+			while (leaves < symbols.length) {
+				leaves *= 2;
+			}
+			fLeaves = leaves;
+			fMaxEnds = new IAddress[2 * leaves];
+			for (int i = 0; i < symbols.length; i++) {
+				fMaxEnds[leaves + i] = symbols[i].getAddress().add(symbols[i].getSize());
+			}
+			for (int n = leaves - 1; n > 0; n--) {
+				fMaxEnds[n] = max(fMaxEnds[2 * n], fMaxEnds[2 * n + 1]);
+			}
+		}
+
+		private static IAddress max(IAddress a, IAddress b) {
+			if (a == null)
+				return b;
+			if (b == null)
+				return a;
+			return a.compareTo(b) >= 0 ? a : b;
+		}
+
+		/**
+		 * Returns the index of the last symbol at or before the given index that ends after
+		 * the address, or -1.
+		 */
+		int findLastEndingAfter(int last, IAddress addr) {
+			return findLastEndingAfter(1, 0, fLeaves - 1, last, addr);
+		}
+
+		private int findLastEndingAfter(int node, int lo, int hi, int last, IAddress addr) {
+			if (lo > last || fMaxEnds[node] == null || addr.compareTo(fMaxEnds[node]) >= 0)
+				return -1;
+			if (lo == hi)
+				return lo;
+			int mid = (lo + hi) >>> 1;
+			int result = findLastEndingAfter(2 * node + 1, mid + 1, hi, last, addr);
+			return result >= 0 ? result : findLastEndingAfter(2 * node, lo, mid, last, addr);
+		}
+	}
+
+	private volatile SymbolAddressIndex fAddressIndex;
+
 	public class BinaryObjectInfo {
 		public long bss;
 		public long data;
@@ -59,11 +117,15 @@ public abstract class BinaryObjectAdapter extends BinaryFile implements IBinaryO
 			return null;
 		}
 		insertion = -insertion - 1;
-		ISymbol symbol = syms[insertion - 1];
-		if (addr.compareTo(symbol.getAddress().add(symbol.getSize())) < 0) {
-			return syms[insertion - 1];
+		SymbolAddressIndex index = fAddressIndex;
+		if (index == null || index.fSymbols != syms) {
+			index = new SymbolAddressIndex(syms);
+			fAddressIndex = index;
 		}
-		return null;
+		// The symbols before the insertion point start at or before the address, the innermost
+		// one containing it is the last of them that ends after the address.
+		int i = index.findLastEndingAfter(insertion - 1, addr);
+		return i >= 0 ? syms[i] : null;
 	}
 
 	/**
@@ -51,6 +51,8 @@ public class Dwarf {
 	final static String DWARF_DEBUG_LOC = ".debug_loc"; //$NON-NLS-1$
 	final static String DWARF_DEBUG_PUBNAMES = ".debug_pubnames"; //$NON-NLS-1$
 	final static String DWARF_DEBUG_STR = ".debug_str"; //$NON-NLS-1$
+	final static String DWARF_DEBUG_LINE_STR = ".debug_line_str"; //$NON-NLS-1$
+	final static String DWARF_DEBUG_STR_OFFSETS = ".debug_str_offsets"; //$NON-NLS-1$
 	final static String DWARF_DEBUG_FUNCNAMES = ".debug_funcnames"; //$NON-NLS-1$
 	final static String DWARF_DEBUG_TYPENAMES = ".debug_typenames"; //$NON-NLS-1$
 	final static String DWARF_DEBUG_VARNAMES = ".debug_varnames"; //$NON-NLS-1$
@@ -64,7 +66,7 @@ public class Dwarf {
 	final static String[] DWARF_SCNNAMES = { DWARF_DEBUG_INFO, DWARF_DEBUG_ABBREV, DWARF_DEBUG_ARANGES,
 			DWARF_DEBUG_LINE, DWARF_DEBUG_FRAME, DWARF_EH_FRAME, DWARF_DEBUG_LOC, DWARF_DEBUG_PUBNAMES, DWARF_DEBUG_STR,
 			DWARF_DEBUG_FUNCNAMES, DWARF_DEBUG_TYPENAMES, DWARF_DEBUG_VARNAMES, DWARF_DEBUG_WEAKNAMES,
-			DWARF_DEBUG_MACINFO };
+			DWARF_DEBUG_MACINFO, DWARF_DEBUG_LINE_STR, DWARF_DEBUG_STR_OFFSETS };
 
 	final static String[] DWARF_ALT_SCNNAMES = { DWARF_DEBUG_INFO, DWARF_DEBUG_TYPES, DWARF_DEBUG_MACRO,
 			DWARF_DEBUG_STR, };
@@ -72,6 +74,7 @@ public class Dwarf {
 	class CompilationUnitHeader {
 		long length;
 		short version;
+		byte unitType;
 		int abbreviationOffset;
 		byte addressSize;
 		byte offsetSize;
@@ -81,6 +84,8 @@ public class Dwarf {
 			StringBuilder sb = new StringBuilder();
 			sb.append("Length: ").append(length).append('\n'); //$NON-NLS-1$
 			sb.append("Version: ").append(version).append('\n'); //$NON-NLS-1$
+			if (version >= 5)
+				sb.append("Unit type: ").append(unitType).append('\n'); //$NON-NLS-1$
 			sb.append("Abbreviation: ").append(abbreviationOffset).append('\n'); //$NON-NLS-1$
 			sb.append("Address size: ").append(addressSize).append('\n'); //$NON-NLS-1$
 			sb.append("Offset size: ").append(offsetSize).append('\n'); //$NON-NLS-1$
@@ -109,6 +114,8 @@ public class Dwarf {
 		long name;
 		/* unsigned */
 		long form;
+		// The value of a DW_FORM_implicit_const attribute, which is stored in the abbreviation.
+		long implicitConst;
 
 		Attribute(long n, long f) {
 			name = n;
@@ -475,13 +482,31 @@ public class Dwarf {
 					InitialLengthValue sectionLength = readInitialLengthField(data);
 					header.length = sectionLength.length;
 					header.offsetSize = sectionLength.offsetSize;
+					// The length does not include the length field itself.
+					int unitEnd = data.position() + (int) header.length;
 
 					header.version = read_2_bytes(data);
-					if (header.offsetSize == 8)
-						header.abbreviationOffset = (int) read_8_bytes(data);
-					else
-						header.abbreviationOffset = read_4_bytes(data);
-					header.addressSize = data.get();
+					if (header.version >= 5) {
+						// DWARF 5 adds the unit type and swaps address size and abbreviation offset.
+						header.unitType = data.get();
+						header.addressSize = data.get();
+						header.abbreviationOffset = readOffset(data, header);
+						switch (header.unitType) {
+						case DwarfConstants.DW_UT_skeleton:
+						case DwarfConstants.DW_UT_split_compile:
+							// dwo_id
+							data.position(data.position() + 8);
+							break;
+						case DwarfConstants.DW_UT_type:
+						case DwarfConstants.DW_UT_split_type:
+							// type_signature and type_offset
+							data.position(data.position() + 8 + header.offsetSize);
+							break;
+						}
+					} else {
+						header.abbreviationOffset = readOffset(data, header);
+						header.addressSize = data.get();
+					}
 
 					if (printEnabled) {
 						System.out.println("Compilation Unit @ " + Long.toHexString(data.position())); //$NON-NLS-1$
@@ -490,13 +515,11 @@ public class Dwarf {
 
 					// read the abbrev section.
 					Map<Long, AbbreviationEntry> abbrevs = parseDebugAbbreviation(header);
-					// A 4-byte or 12-byte unsigned integer representing the length of the .debug_info
-					// contribution for that compilation unit, not including the length field itself.
 					ByteBuffer entryBuffer = data.slice();
-					entryBuffer.limit(((int) header.length) - (header.offsetSize == 8 ? 11 : 7));
+					entryBuffer.limit(unitEnd - data.position());
 					parseDebugInfoEntry(requestor, entryBuffer, abbrevs, header);
 
-					data.position(data.position() + ((int) header.length) - (header.offsetSize == 8 ? 11 : 7));
+					data.position(unitEnd);
 
 					if (printEnabled)
 						System.out.println();
@@ -507,6 +530,15 @@ public class Dwarf {
 		}
 	}
 
+	/**
+	 * Reads a section offset, which is 4 or 8 bytes long depending on the format of the unit.
+	 */
+	int readOffset(ByteBuffer data, CompilationUnitHeader header) throws IOException {
+		if (header.offsetSize == 8)
+			return (int) read_8_bytes(data);
+		return read_4_bytes(data);
+	}
+
 	/**
 	 *
 	 */
@@ -574,7 +606,10 @@ public class Dwarf {
 						name = read_unsigned_leb128(data);
 						form = read_unsigned_leb128(data);
 						if (name != 0) {
-							entry.attributes.add(new Attribute(name, form));
+							Attribute attr = new Attribute(name, form);
+							if (form == DwarfConstants.DW_FORM_implicit_const)
+								attr.implicitConst = read_signed_leb128(data);
+							entry.attributes.add(attr);
 						}
 						if (printEnabled)
 							System.out.println("\t\t " + Long.toHexString(name) + " " + Long.toHexString(form)); //$NON-NLS-1$ //$NON-NLS-2$
@@ -597,7 +632,7 @@ public class Dwarf {
 				try {
 					for (int i = 0; i < len; i++) {
 						Attribute attr = entry.attributes.get(i);
-						Object obj = readAttribute((int) attr.form, in, header);
+						Object obj = readAttribute(attr, in, header);
 						list.add(new AttributeValue(attr, obj));
 					}
 				} catch (IOException e) {
@@ -610,6 +645,67 @@ public class Dwarf {
 
 	int oldForm = 0;
 
+	/**
+	 * Reads the value of the given attribute of a debugging information entry.
+	 */
+	Object readAttribute(Attribute attr, ByteBuffer in, CompilationUnitHeader header) throws IOException {
+		if (attr.form == DwarfConstants.DW_FORM_implicit_const)
+			return Long.valueOf(attr.implicitConst);
+		return readAttribute((int) attr.form, in, header);
+	}
+
+	/**
+	 * Returns whether the value of the given form is an index into the string offsets table of
+	 * the unit, see {@link #readIndexedString(long, long, CompilationUnitHeader)}.
+	 */
+	static boolean isStringIndexForm(long form) {
+		switch ((int) form) {
+		case DwarfConstants.DW_FORM_strx:
+		case DwarfConstants.DW_FORM_strx1:
+		case DwarfConstants.DW_FORM_strx2:
+		case DwarfConstants.DW_FORM_strx3:
+		case DwarfConstants.DW_FORM_strx4:
+		case DwarfConstants.DW_FORM_GNU_str_index:
+			return true;
+		}
+		return false;
+	}
+
+	/**
+	 * Reads the string with the given index in the string offsets table of a unit.
+	 *
+	 * @param strOffsetsBase the value of DW_AT_str_offsets_base of the unit, or -1 if not present.
+	 */
+	String readIndexedString(long index, long strOffsetsBase, CompilationUnitHeader header) throws IOException {
+		ByteBuffer offsets = dwarfSections.get(DWARF_DEBUG_STR_OFFSETS);
+		if (offsets == null)
+			return ""; //$NON-NLS-1$
+		if (strOffsetsBase < 0) {
+			// Without the attribute, assume the table follows the header of the first contribution.
+			strOffsetsBase = header.offsetSize == 8 ? 16 : 8;
+		}
+		long position = strOffsetsBase + index * header.offsetSize;
+		if (index < 0 || position + header.offsetSize > offsets.capacity())
+			return ""; //$NON-NLS-1$
+		offsets.position((int) position);
+		long offset;
+		if (header.offsetSize == 8)
+			offset = read_8_bytes(offsets);
+		else
+			offset = read_4_bytes(offsets) & 0xffffffffL;
+		return readString(dwarfSections.get(DWARF_DEBUG_STR), offset);
+	}
+
+	/**
+	 * Reads the null-terminated string at the given offset of a string section.
+	 */
+	String readString(ByteBuffer data, long offset) {
+		if (data == null || offset < 0 || offset > data.capacity())
+			return ""; //$NON-NLS-1$
+		data.position((int) offset);
+		return readString(data);
+	}
+
 	Object readAttribute(int form, ByteBuffer in, CompilationUnitHeader header) throws IOException {
 		Object obj = null;
 		switch (form) {
@@ -700,23 +796,18 @@ public class Dwarf {
 			else
 				offset = read_4_bytes(in) & 0xffffffffL;
 
-			ByteBuffer data = dwarfSections.get(DWARF_DEBUG_STR);
-			if (data == null) {
-				obj = ""; //$NON-NLS-1$
-			} else if (offset < 0 || offset > data.capacity()) {
-				obj = ""; //$NON-NLS-1$
-			} else {
-				StringBuilder sb = new StringBuilder();
-				data.position((int) offset);
-				while (data.hasRemaining()) {
-					byte c = data.get();
-					if (c == 0) {
-						break;
-					}
-					sb.append((char) c);
-				}
-				obj = sb.toString();
-			}
+			obj = readString(dwarfSections.get(DWARF_DEBUG_STR), offset);
+		}
+			break;
+
+		case DwarfConstants.DW_FORM_line_strp: {
+			long offset;
+			if (header.offsetSize == 8)
+				offset = read_8_bytes(in);
+			else
+				offset = read_4_bytes(in) & 0xffffffffL;
+
+			obj = readString(dwarfSections.get(DWARF_DEBUG_LINE_STR), offset);
 		}
 			break;
 
@@ -727,23 +818,7 @@ public class Dwarf {
 			else
 				offset = read_4_bytes(in) & 0xffffffffL;
 
-			ByteBuffer data = dwarfAltSections.get(DWARF_DEBUG_STR);
-			if (data == null) {
-				obj = ""; //$NON-NLS-1$
-			} else if (offset < 0 || offset > data.capacity()) {
-				obj = ""; //$NON-NLS-1$
-			} else {
-				StringBuilder sb = new StringBuilder();
-				data.position((int) offset);
-				while (data.hasRemaining()) {
-					byte c = data.get();
-					if (c == 0) {
-						break;
-					}
-					sb.append((char) c);
-				}
-				obj = sb.toString();
-			}
+			obj = readString(dwarfAltSections.get(DWARF_DEBUG_STR), offset);
 		}
 			break;
 
@@ -797,6 +872,56 @@ public class Dwarf {
 			obj = Long.valueOf(read_8_bytes(in));
 			break;
 
+		// Indices into the string, address, location list and range list tables of the unit.
+		// The caller resolves them, since the table bases may only be known after the entry is read.
+		case DwarfConstants.DW_FORM_strx:
+		case DwarfConstants.DW_FORM_addrx:
+		case DwarfConstants.DW_FORM_loclistx:
+		case DwarfConstants.DW_FORM_rnglistx:
+		case DwarfConstants.DW_FORM_GNU_str_index:
+		case DwarfConstants.DW_FORM_GNU_addr_index:
+			obj = Long.valueOf(read_unsigned_leb128(in));
+			break;
+		case DwarfConstants.DW_FORM_strx1:
+		case DwarfConstants.DW_FORM_addrx1:
+			obj = Long.valueOf(in.get() & 0xff);
+			break;
+		case DwarfConstants.DW_FORM_strx2:
+		case DwarfConstants.DW_FORM_addrx2:
+			obj = Long.valueOf(read_2_bytes(in) & 0xffff);
+			break;
+		case DwarfConstants.DW_FORM_strx3:
+		case DwarfConstants.DW_FORM_addrx3: {
+			int b0 = in.get() & 0xff;
+			int b1 = in.get() & 0xff;
+			int b2 = in.get() & 0xff;
+			obj = Long.valueOf(isLE ? (b2 << 16) | (b1 << 8) | b0 : (b0 << 16) | (b1 << 8) | b2);
+		}
+			break;
+		case DwarfConstants.DW_FORM_strx4:
+		case DwarfConstants.DW_FORM_addrx4:
+			obj = Long.valueOf(read_4_bytes(in) & 0xffffffffL);
+			break;
+
+		case DwarfConstants.DW_FORM_strp_sup:
+			if (header.offsetSize == 8)
+				obj = Long.valueOf(read_8_bytes(in));
+			else
+				obj = Long.valueOf(read_4_bytes(in) & 0xffffffffL);
+			break;
+		case DwarfConstants.DW_FORM_ref_sup4:
+			obj = Long.valueOf(read_4_bytes(in) & 0xffffffffL);
+			break;
+		case DwarfConstants.DW_FORM_ref_sup8:
+			obj = Long.valueOf(read_8_bytes(in));
+			break;
+		case DwarfConstants.DW_FORM_data16: {
+			byte[] value = new byte[16];
+			in.get(value);
+			obj = value;
+		}
+			break;
+
 		default:
 			if (printEnabled) {
 				System.out.println("Default for " + form); //$NON-NLS-1$
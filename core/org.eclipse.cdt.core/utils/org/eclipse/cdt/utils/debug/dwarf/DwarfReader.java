@@ -45,14 +45,16 @@ import org.eclipse.core.runtime.Path;
 
 /**
  * Light-weight parser of Dwarf2 data which is intended for getting only
- * source files that contribute to the given executable.
+ * source files that contribute to the given executable. Only the unit entries of
+ * the .debug_info section are decoded, DWARF versions 2 to 5 are supported.
  */
 public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptionsFinder {
 
 	// These are sections that need be parsed to get the source file list.
 	final static String[] DWARF_SectionsToParse = { DWARF_DEBUG_INFO, DWARF_DEBUG_LINE, DWARF_DEBUG_ABBREV,
 			DWARF_DEBUG_STR, // this is optional. Some compilers don't generate it.
-			DWARF_DEBUG_MACRO, };
+			DWARF_DEBUG_MACRO, DWARF_DEBUG_LINE_STR, DWARF_DEBUG_STR_OFFSETS, // these are DWARF 5 only.
+	};
 
 	final static String[] DWARF_ALT_SectionsToParse = { DWARF_DEBUG_STR, DWARF_DEBUG_MACRO };
 
@@ -62,7 +64,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 	private String[] m_fileNames = null;
 	private boolean m_parsed = false;
 	private boolean m_macros_parsed = false;
-	private final ArrayList<Integer> m_parsedLineTableOffsets = new ArrayList<>();
+	private final Set<Integer> m_parsedLineTableOffsets = new HashSet<>();
 	private long m_parsedLineTableSize = 0;
 
 	public DwarfReader(String file) throws IOException {
@@ -329,58 +331,7 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 					return;
 				}
 
-				short version = read_2_bytes(data);
-				// Skip the following till "opcode_base"
-				short skip_bytes = 8;
-				if (version >= 4)
-					skip_bytes += 1; // see maximum_operations_per_instruction
-				if (dwarf64Bit)
-					skip_bytes += 4; // see prologue length for 64-bit DWARF format
-				data.position(data.position() + skip_bytes);
-				int opcode_base = data.get();
-				data.position(data.position() + opcode_base - 1);
-
-				// Read in directories.
-				//
-				ArrayList<String> dirList = new ArrayList<>();
-
-				// Put the compilation directory of the CU as the first dir
-				dirList.add(cuCompDir);
-
-				String str, fileName;
-
-				while (true) {
-					str = readString(data);
-					if (str.length() == 0)
-						break;
-					// If the directory is relative, append it to the CU dir
-					IPath dir = new Path(str);
-					if (!dir.isAbsolute())
-						dir = new Path(cuCompDir).append(str);
-					dirList.add(dir.toString());
-				}
-
-				// Read file names
-				//
-				long leb128;
-				while (true) {
-					fileName = readString(data);
-					if (fileName.length() == 0) // no more file entry
-						break;
-
-					// dir index
-					leb128 = read_unsigned_leb128(data);
-
-					addSourceFile(dirList.get((int) leb128), fileName);
-
-					// Skip the followings
-					//
-					// modification time
-					leb128 = read_unsigned_leb128(data);
-
-					// file size in bytes
-					leb128 = read_unsigned_leb128(data);
-				}
+				parseLineTableHeader(data, dwarf64Bit, cuCompDir);
 			} catch (IOException e) {
 				e.printStackTrace();
 			}
@@ -459,11 +410,11 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 					long ltLength = dwarf64Bit ? read_8_bytes(data) : read_4_bytes(data);
 
 					int dwarfVer = read_2_bytes(data);
-					int minInstLengh = data.get(data.position() + (dwarf64Bit ? 8 : 4));
+					// ver 5 has address_size and segment_selector_size before the header length.
+					int minInstLengh = data.get(data.position() + (dwarf64Bit ? 8 : 4) + (dwarfVer >= 5 ? 2 : 0));
 
 					boolean dataValid = ltLength > minHeaderSize && ltLength < 16 * 64 * 1024 && // One source file has that much line data ?
-							dwarfVer > 0 && dwarfVer < 5 && // ver 5 is still draft at present.
-							minInstLengh > 0 && minInstLengh <= 8;
+							dwarfVer > 0 && dwarfVer <= 5 && minInstLengh > 0 && minInstLengh <= 8;
 
 					if (!dataValid) // padding exists !
 						lineTableStart = (lineTableStart + 3) & ~0x3;
@@ -475,60 +426,169 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 					// current line table has already been parsed, skip it.
 					continue;
 
-				short version = read_2_bytes(data);
+				// The TAG_comp_dir from CU is not known here.
+				parseLineTableHeader(data, dwarf64Bit, null);
+			}
+		} catch (IOException e) {
+			e.printStackTrace();
+			return;
+		}
+	}
+
+	/*
+	 * Read the line table header following the "length" field(s) and add the
+	 * source files listed in it to our "m_fileCollection".
+	 *
+	 * cuCompDir is the compilation directory of the CU owning the line table,
+	 * relative directories are taken relative to it. If null, the directories
+	 * are taken as they are.
+	 */
+	private void parseLineTableHeader(ByteBuffer data, boolean dwarf64Bit, String cuCompDir) throws IOException {
+		short version = read_2_bytes(data);
+		if (version >= 5) {
+			parseLineTableHeaderV5(data, dwarf64Bit, version, cuCompDir);
+			return;
+		}
+
+		// Skip following fields till "opcode_base"
+		short skip_bytes = 8;
+		if (version >= 4)
+			skip_bytes += 1; // see maximum_operations_per_instruction
+		if (dwarf64Bit)
+			skip_bytes += 4; // see prologue length for 64-bit DWARF format
+		data.position(data.position() + skip_bytes);
+		int opcode_base = data.get();
+		data.position(data.position() + opcode_base - 1);
+
+		// Read in directories.
+		//
+		ArrayList<String> dirList = new ArrayList<>();
 
-				// Skip following fields till "opcode_base"
-				short skip_bytes = 8;
-				if (version >= 4)
-					skip_bytes += 1; // see maximum_operations_per_instruction
-				if (dwarf64Bit)
-					skip_bytes += 4; // see prologue length for 64-bit DWARF format
-				data.position(data.position() + skip_bytes);
-				int opcode_base = data.get();
-				data.position(data.position() + opcode_base - 1);
+		String str, fileName;
 
-				// Read in directories.
-				//
-				ArrayList<String> dirList = new ArrayList<>();
+		// Put the compilation directory of the CU as the first dir.
+		dirList.add(cuCompDir != null ? cuCompDir : ""); //$NON-NLS-1$
 
-				String str, fileName;
+		while (true) {
+			str = readString(data);
+			if (str.length() == 0)
+				break;
+			dirList.add(getLineTableDirectory(cuCompDir, str));
+		}
 
-				// first dir should be TAG_comp_dir from CU, which we don't have here.
-				dirList.add(""); //$NON-NLS-1$
+		// Read file names
+		//
+		long leb128;
+		while (true) {
+			fileName = readString(data);
+			if (fileName.length() == 0) // no more file entry
+				break;
 
-				while (true) {
-					str = readString(data);
-					if (str.length() == 0)
-						break;
-					dirList.add(str);
-				}
+			// dir index. Note "0" is reserved for compilation directory.
+			leb128 = read_unsigned_leb128(data);
 
-				// Read file names
-				//
-				long leb128;
-				while (true) {
-					fileName = readString(data);
-					if (fileName.length() == 0) // no more file entry
-						break;
+			addSourceFile(dirList.get((int) leb128), fileName);
 
-					// dir index. Note "0" is reserved for compilation directory.
-					leb128 = read_unsigned_leb128(data);
+			// Skip the followings
+			//
+			// modification time
+			leb128 = read_unsigned_leb128(data);
 
-					addSourceFile(dirList.get((int) leb128), fileName);
+			// file size in bytes
+			leb128 = read_unsigned_leb128(data);
+		}
+	}
 
-					// Skip the followings
-					//
-					// modification time
-					leb128 = read_unsigned_leb128(data);
+	/*
+	 * Read the DWARF 5 line table header following the "version" field.
+	 *
+	 *  address_size:				1
+	 *  segment_selector_size:		1
+	 *  header_length:				4/8 bytes
+	 *  minimum_instruction_length:	1
+	 *  maximum_operations_per_instruction: 1
+	 *  default_is_stmt:			1
+	 *  line_base:					1
+	 *  line_range:					1
+	 *  opcode_base:				1
+	 *  standard_opcode_lengths:	(value of opcode_base - 1)
+	 *  directory_entry_format_count, directory_entry_format, directories_count, directories
+	 *  file_name_entry_format_count, file_name_entry_format, file_names_count, file_names
+	 *
+	 * Unlike before, the directory with index 0 is the compilation directory and
+	 * the file with index 0 is the primary source file, both are listed explicitly.
+	 */
+	private void parseLineTableHeaderV5(ByteBuffer data, boolean dwarf64Bit, short version, String cuCompDir)
+			throws IOException {
+		// Entries are encoded like attributes of a unit with the same format.
+		CompilationUnitHeader header = new CompilationUnitHeader();
+		header.version = version;
+		header.offsetSize = (byte) (dwarf64Bit ? 8 : 4);
+		header.addressSize = data.get();
+		data.position(data.position() + 1 + header.offsetSize + 5);
+		int opcode_base = data.get();
+		data.position(data.position() + opcode_base - 1);
+
+		ArrayList<String> dirList = new ArrayList<>();
+		long[] format = readLineTableEntryFormat(data);
+		long count = read_unsigned_leb128(data);
+		for (long i = 0; i < count; i++) {
+			String dir = null;
+			for (int j = 0; j < format.length; j += 2) {
+				Object value = readAttribute((int) format[j + 1], data, header);
+				if (format[j] == DwarfConstants.DW_LNCT_path && value instanceof String)
+					dir = (String) value;
+			}
+			if (dir == null)
+				dir = ""; //$NON-NLS-1$
+			if (i == 0 && cuCompDir != null && cuCompDir.length() > 0)
+				dirList.add(cuCompDir);
+			else
+				dirList.add(getLineTableDirectory(cuCompDir, dir));
+		}
 
-					// file size in bytes
-					leb128 = read_unsigned_leb128(data);
+		format = readLineTableEntryFormat(data);
+		count = read_unsigned_leb128(data);
+		for (long i = 0; i < count; i++) {
+			String fileName = null;
+			int dirIndex = 0;
+			for (int j = 0; j < format.length; j += 2) {
+				Object value = readAttribute((int) format[j + 1], data, header);
+				if (format[j] == DwarfConstants.DW_LNCT_path && value instanceof String) {
+					fileName = (String) value;
+				} else if (format[j] == DwarfConstants.DW_LNCT_directory_index && value instanceof Number) {
+					// data1 and data2 values are read as signed numbers
+					dirIndex = value instanceof Byte ? ((Byte) value).intValue() & 0xff
+							: value instanceof Short ? ((Short) value).intValue() & 0xffff
+									: ((Number) value).intValue();
 				}
 			}
-		} catch (IOException e) {
-			e.printStackTrace();
-			return;
+			if (dirIndex >= 0 && dirIndex < dirList.size())
+				addSourceFile(dirList.get(dirIndex), fileName);
+		}
+	}
+
+	/*
+	 * Read an entry format of a DWARF 5 line table header, which is a list of
+	 * pairs of content type and form.
+	 */
+	private long[] readLineTableEntryFormat(ByteBuffer data) throws IOException {
+		int count = data.get() & 0xff;
+		long[] format = new long[2 * count];
+		for (int i = 0; i < format.length; i++) {
+			format[i] = read_unsigned_leb128(data);
 		}
+		return format;
+	}
+
+	// If the directory is relative, append it to the CU dir.
+	private String getLineTableDirectory(String cuCompDir, String dir) {
+		if (cuCompDir == null)
+			return dir;
+		IPath path = new Path(dir);
+		if (!path.isAbsolute())
+			path = new Path(cuCompDir).append(dir);
+		return path.toString();
 	}
 
 	@Override
@@ -593,13 +653,82 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 		return fullName;
 	}
 
-	// Override parent: only handle TAG_Compile_Unit.
+	// Override parent: only decode the unit entry, which is the first entry of the unit.
+	// The remaining entries are skipped without being decoded, parseDebugInfo() continues
+	// with the next unit.
+	@Override
+	void parseDebugInfoEntry(IDebugEntryRequestor requestor, ByteBuffer in, Map<Long, AbbreviationEntry> abbrevs,
+			CompilationUnitHeader header) throws IOException {
+		if (!in.hasRemaining())
+			return;
+		AbbreviationEntry entry = abbrevs.get(Long.valueOf(read_unsigned_leb128(in)));
+		if (entry == null || !isUnitTag(entry.tag))
+			return;
+
+		String cuName, cuCompDir;
+		int stmtList = -1;
+		// Indices of strings in the string offsets table, resolved once its base is known.
+		long cuNameIndex = -1, cuCompDirIndex = -1;
+		long strOffsetsBase = -1;
+
+		cuName = cuCompDir = ""; //$NON-NLS-1$
+
+		try {
+			for (Attribute attr : entry.attributes) {
+				Object value = readAttribute(attr, in, header);
+				boolean isStringIndex = isStringIndexForm(attr.form) && value instanceof Number;
+				switch ((int) attr.name) {
+				case DwarfConstants.DW_AT_name:
+					if (isStringIndex)
+						cuNameIndex = ((Number) value).longValue();
+					else if (value instanceof String)
+						cuName = (String) value;
+					break;
+				case DwarfConstants.DW_AT_comp_dir:
+					if (isStringIndex)
+						cuCompDirIndex = ((Number) value).longValue();
+					else if (value instanceof String)
+						cuCompDir = (String) value;
+					break;
+				case DwarfConstants.DW_AT_stmt_list:
+					if (value instanceof Number)
+						stmtList = ((Number) value).intValue();
+					break;
+				case DwarfConstants.DW_AT_str_offsets_base:
+					if (value instanceof Number)
+						strOffsetsBase = ((Number) value).longValue();
+					break;
+				default:
+					break;
+				}
+			}
+		} catch (IOException e) {
+			CCorePlugin.log(e);
+		}
+
+		if (cuNameIndex >= 0)
+			cuName = readIndexedString(cuNameIndex, strOffsetsBase, header);
+		if (cuCompDirIndex >= 0)
+			cuCompDir = readIndexedString(cuCompDirIndex, strOffsetsBase, header);
+		processCompileUnit(cuName, cuCompDir, stmtList);
+	}
+
+	// Partial units are imported by other units, skeleton units hold the line table of
+	// split units.
+	private static boolean isUnitTag(long tag) {
+		return tag == DwarfConstants.DW_TAG_compile_unit || tag == DwarfConstants.DW_TAG_partial_unit
+				|| tag == DwarfConstants.DW_TAG_skeleton_unit;
+	}
+
+	// Override parent: only handle the unit entries.
 	@Override
 	void processDebugInfoEntry(IDebugEntryRequestor requestor, AbbreviationEntry entry,
 			List<Dwarf.AttributeValue> list) {
 		int tag = (int) entry.tag;
 		switch (tag) {
 		case DwarfConstants.DW_TAG_compile_unit:
+		case DwarfConstants.DW_TAG_partial_unit:
+		case DwarfConstants.DW_TAG_skeleton_unit:
 			processCompileUnit(requestor, list);
 			break;
 		default:
@@ -639,6 +768,10 @@ public class DwarfReader extends Dwarf implements ISymbolReader, ICompileOptions
 			}
 		}
 
+		processCompileUnit(cuName, cuCompDir, stmtList);
+	}
+
+	private void processCompileUnit(String cuName, String cuCompDir, int stmtList) {
 		addSourceFileWithStmt(cuCompDir, cuName, stmtList);
 		if (stmtList > -1) // this CU has "stmt_list" attribute
 			parseSourceInCULineInfo(cuCompDir, stmtList);
@@ -21,6 +21,7 @@ import static org.eclipse.cdt.internal.core.ByteUtils.makeShort;
 import java.io.EOFException;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import java.nio.channels.FileChannel.MapMode;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -57,6 +58,9 @@ public class Elf {
 	private Symbol[] dynsym_symbols;
 	private Section dynsym_sym;
 	private boolean sections_mapped; // Have sections been mapped? Used to clean up properly in Elf.Dispose.
+	// String table most recently used to compute symbol names, mapped rather than read.
+	private Section symbol_strtab_section;
+	private ByteBuffer symbol_strtab;
 
 	protected String EMPTY_STRING = ""; //$NON-NLS-1$
 
@@ -406,6 +410,40 @@ public class Elf {
 		return str.toString();
 	}
 
+	/**
+	 * Symbol names are computed for all symbols of a table, the string table is mapped once
+	 * rather than seeking to each of the names. Only the pages holding names that are asked
+	 * for are read.
+	 */
+	private String symbol_name_from_elf_section(Elf.Section section, long index) throws IOException {
+		if (section != symbol_strtab_section) {
+			symbol_strtab = null;
+			if (section.sh_size > 0 && section.sh_size <= Integer.MAX_VALUE && section.sh_offset >= 0
+					&& section.sh_size <= efile.length() - section.sh_offset) {
+				section.makeSureNotCompressed();
+				sections_mapped = true;
+				symbol_strtab = efile.getChannel().map(MapMode.READ_ONLY, section.sh_offset, section.sh_size);
+			}
+			symbol_strtab_section = section;
+		}
+		if (symbol_strtab == null) {
+			return string_from_elf_section(section, (int) index);
+		}
+		int limit = symbol_strtab.limit();
+		if (index < 0 || index >= limit) {
+			return EMPTY_STRING;
+		}
+		// Same decoding as string_from_elf_section
+		StringBuilder str = new StringBuilder();
+		for (int i = (int) index; i < limit; i++) {
+			byte b = symbol_strtab.get(i);
+			if (b == 0)
+				break;
+			str.append((char) b);
+		}
+		return str.toString();
+	}
+
 	public class Symbol implements Comparable<Object> {
 
 		/* Symbol bindings */
@@ -473,7 +511,7 @@ public class Elf {
 				try {
 					Section sections[] = getSections();
 					Section symstr = sections[(int) sym_section.sh_link];
-					name = string_from_elf_section(symstr, (int) st_name);
+					name = symbol_name_from_elf_section(symstr, st_name);
 				} catch (IOException e) {
 					return EMPTY_STRING;
 				}
@@ -972,6 +1010,8 @@ public class Elf {
 			if (efile != null) {
 				efile.close();
 				efile = null;
+				symbol_strtab_section = null;
+				symbol_strtab = null;
 
 				// ensure the mappings get cleaned up
 				if (sections_mapped)
@@ -1079,39 +1119,61 @@ public class Elf {
 	}
 
 	private Symbol[] loadSymbolsBySection(Section section) throws IOException {
-		int numSyms = 1;
-		if (section.sh_entsize != 0) {
-			numSyms = (int) section.sh_size / (int) section.sh_entsize;
-		}
 		section.makeSureNotCompressed();
+		if (section.sh_entsize == 0) {
+			return new Symbol[0];
+		}
+		// Entries must be large enough to hold a symbol, and the table must be inside of the file.
+		int minEntsize = ehdr.e_ident[ELFhdr.EI_CLASS] == ELFhdr.ELFCLASS64 ? 24 : 16;
+		if (section.sh_entsize < minEntsize || section.sh_entsize > Integer.MAX_VALUE) {
+			throw new IOException("Invalid symbol table entry size: " + section.sh_entsize); //$NON-NLS-1$
+		}
+		if (section.sh_offset < 0 || section.sh_size < 0 || section.sh_size > efile.length() - section.sh_offset) {
+			throw new IOException("Symbol table exceeds file: " + section.toString()); //$NON-NLS-1$
+		}
+		int entsize = (int) section.sh_entsize;
+		long numSymsLong = section.sh_size / entsize;
+		long tableSize = numSymsLong * entsize;
+		if (tableSize > Integer.MAX_VALUE) {
+			throw new IOException("Symbol table too large: " + section.toString()); //$NON-NLS-1$
+		}
+		int numSyms = (int) numSymsLong;
 		ArrayList<Symbol> symList = new ArrayList<>(numSyms);
-		long offset = section.sh_offset;
-		for (int c = 0; c < numSyms; offset += section.sh_entsize, c++) {
-			efile.seek(offset);
+		// Read the symbol table in one go, rather than reading each of the fields from the file.
+		ByteBuffer data = ByteBuffer.allocate((int) tableSize);
+		efile.seek(section.sh_offset);
+		efile.readFully(data.array());
+		data.order(ehdr.e_ident[ELFhdr.EI_DATA] == ELFhdr.ELFDATA2LSB ? ByteOrder.LITTLE_ENDIAN
+				: ByteOrder.BIG_ENDIAN);
+		for (int c = 0; c < numSyms; c++) {
+			data.position(c * entsize);
 			Symbol symbol = new Symbol(section);
 			switch (ehdr.e_ident[ELFhdr.EI_CLASS]) {
 			case ELFhdr.ELFCLASS32: {
 				byte[] addrArray = new byte[ELF32_ADDR_SIZE];
 
-				symbol.st_name = efile.readIntE();
-				efile.readFullyE(addrArray);
+				symbol.st_name = data.getInt() & 0xffffffffL;
+				getFullyE(data, addrArray);
 				symbol.st_value = new Addr32(addrArray);
-				symbol.st_size = efile.readIntE();
-				symbol.st_info = efile.readByte();
-				symbol.st_other = efile.readByte();
-				symbol.st_shndx = efile.readShortE();
+				symbol.st_size = data.getInt() & 0xffffffffL;
+				symbol.st_info = data.get();
+				symbol.st_other = data.get();
+				symbol.st_shndx = data.getShort();
 			}
 				break;
 			case ELFhdr.ELFCLASS64: {
 				byte[] addrArray = new byte[ELF64_ADDR_SIZE];
 
-				symbol.st_name = efile.readIntE();
-				symbol.st_info = efile.readByte();
-				symbol.st_other = efile.readByte();
-				symbol.st_shndx = efile.readShortE();
-				efile.readFullyE(addrArray);
+				symbol.st_name = data.getInt() & 0xffffffffL;
+				symbol.st_info = data.get();
+				symbol.st_other = data.get();
+				symbol.st_shndx = data.getShort();
+				getFullyE(data, addrArray);
 				symbol.st_value = new Addr64(addrArray);
-				symbol.st_size = readUnsignedLong(efile);
+				symbol.st_size = data.getLong();
+				if (symbol.st_size < 0) {
+					throw new IOException("Invalid size " + Long.toHexString(symbol.st_size) + " of symbol " + c); //$NON-NLS-1$ //$NON-NLS-2$
+				}
 			}
 				break;
 			case ELFhdr.ELFCLASSNONE:
@@ -1127,6 +1189,20 @@ public class Elf {
 		return results;
 	}
 
+	/**
+	 * Reads bytes in big endian order, like {@link ERandomAccessFile#readFullyE(byte[])}.
+	 */
+	private static void getFullyE(ByteBuffer data, byte[] bytes) {
+		data.get(bytes);
+		if (data.order() == ByteOrder.LITTLE_ENDIAN) {
+			for (int i = 0; i < (bytes.length / 2); i++) {
+				byte tmp = bytes[i];
+				bytes[i] = bytes[bytes.length - i - 1];
+				bytes[bytes.length - i - 1] = tmp;
+			}
+		}
+	}
+
 	public void loadSymbols() throws IOException {
 		if (symbols == null) {
 			Section section[] = getSections(Section.SHT_SYMTAB);
@@ -1179,7 +1255,7 @@ public class Elf {
 		SymbolComparator symbol_comparator = new SymbolComparator();
 
 		int ndx = Arrays.binarySearch(symbols, vma, symbol_comparator);
-		if (ndx > 0)
+		if (ndx >= 0)
 			return symbols[ndx];
 		if (ndx == -1) {
 			return null;
@@ -14,12 +14,19 @@
 package org.eclipse.cdt.utils.elf.parser;
 
 import java.io.ByteArrayInputStream;
+import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
+import java.lang.ref.SoftReference;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
+import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.core.IAddressFactory;
 import org.eclipse.cdt.core.IBinaryParser;
 import org.eclipse.cdt.core.IBinaryParser.IBinaryFile;
@@ -37,6 +44,51 @@ import org.eclipse.core.runtime.IPath;
  * ElfBinaryObject
  */
 public class ElfBinaryObject extends BinaryObjectAdapter {
+	/**
+	 * Symbols of recently loaded binaries. The binary objects are recreated whenever the
+	 * C model is refreshed, the cache avoids reading the symbols of unchanged binaries again.
+	 * Only the data of the symbols is cached, each binary object creates its own symbols.
+	 */
+	private static final int MAX_CACHED_SYMBOL_TABLES = 16;
+	private static final Map<String, CachedSymbols> symbolCache = new LinkedHashMap<String, CachedSymbols>(16,
+			0.75f, true) {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, CachedSymbols> eldest) {
+			return size() > MAX_CACHED_SYMBOL_TABLES;
+		}
+	};
+
+	private static class CachedSymbols {
+		final long lastModified;
+		final long length;
+		final SoftReference<SymbolData[]> symbols;
+
+		CachedSymbols(long lastModified, long length, SymbolData[] symbols) {
+			this.lastModified = lastModified;
+			this.length = length;
+			this.symbols = new SoftReference<>(symbols);
+		}
+	}
+
+	private static class SymbolData {
+		final String name;
+		final int type;
+		final IAddress addr;
+		final long size;
+		final IPath sourceFile;
+		final int startLine;
+		final int endLine;
+
+		SymbolData(ISymbol symbol) {
+			name = symbol.getName();
+			type = symbol.getType();
+			addr = symbol.getAddress();
+			size = symbol.getSize();
+			sourceFile = symbol.getFilename();
+			startLine = symbol.getStartLine();
+			endLine = symbol.getEndLine();
+		}
+	}
 
 	private BinaryObjectInfo info;
 	private ISymbol[] symbols;
@@ -81,15 +133,93 @@ public class ElfBinaryObject extends BinaryObjectAdapter {
 	public ISymbol[] getSymbols() {
 		// Call the hasChanged first, to initialize the timestamp
 		if (hasChanged() || symbols == null) {
-			try {
-				loadAll();
-			} catch (IOException e) {
-				symbols = NO_SYMBOLS;
+			File file = getPath().toFile();
+			long lastModified = file.lastModified();
+			long length = file.length();
+			symbols = getCachedSymbols(lastModified, length);
+			if (symbols == null) {
+				try {
+					loadAll();
+					putCachedSymbols(lastModified, length, symbols);
+				} catch (IOException e) {
+					symbols = NO_SYMBOLS;
+				}
 			}
 		}
 		return symbols;
 	}
 
+	/**
+	 * The symbols depend on the file and on the kind of binary object, which determines
+	 * how they are loaded. Binary objects defined elsewhere may create their own kind of
+	 * symbols, their symbols are not cached.
+	 */
+	private String getSymbolCacheKey() {
+		if (header != null) {
+			// Members of archives are small, no need to cache them.
+			return null;
+		}
+		if (getClass().getPackage() != ElfBinaryObject.class.getPackage()) {
+			return null;
+		}
+		return getClass().getName() + ':' + getBinaryParser().getClass().getName() + ':' + getSymbolConfiguration()
+				+ ':' + getPath().toOSString();
+	}
+
+	/**
+	 * Returns the configuration of the binary parser the symbols depend on, symbols loaded with
+	 * a different configuration are not reused.
+	 */
+	String getSymbolConfiguration() {
+		return ""; //$NON-NLS-1$
+	}
+
+	private ISymbol[] getCachedSymbols(long lastModified, long length) {
+		String key = getSymbolCacheKey();
+		if (key == null || lastModified == 0) {
+			return null;
+		}
+		SymbolData[] data = null;
+		synchronized (symbolCache) {
+			CachedSymbols cached = symbolCache.get(key);
+			if (cached != null && cached.lastModified == lastModified && cached.length == length) {
+				data = cached.symbols.get();
+			}
+		}
+		if (data == null) {
+			return null;
+		}
+		// The data is sorted already.
+		ISymbol[] result = new ISymbol[data.length];
+		for (int i = 0; i < data.length; i++) {
+			SymbolData d = data[i];
+			result[i] = createSymbol(d.name, d.type, d.addr, d.size, d.sourceFile, d.startLine, d.endLine);
+		}
+		return result;
+	}
+
+	private void putCachedSymbols(long lastModified, long length, ISymbol[] symbols) {
+		String key = getSymbolCacheKey();
+		if (key == null || lastModified == 0) {
+			return;
+		}
+		SymbolData[] data = new SymbolData[symbols.length];
+		for (int i = 0; i < symbols.length; i++) {
+			data[i] = new SymbolData(symbols[i]);
+		}
+		synchronized (symbolCache) {
+			symbolCache.put(key, new CachedSymbols(lastModified, length, data));
+		}
+	}
+
+	/**
+	 * Creates a symbol of this binary object from cached data.
+	 */
+	Symbol createSymbol(String name, int type, IAddress addr, long size, IPath sourceFile, int startLine,
+			int endLine) {
+		return new Symbol(this, name, type, addr, size, sourceFile, startLine, endLine);
+	}
+
 	@Override
 	protected BinaryObjectInfo getBinaryObjectInfo() {
 		// Call the hasChanged first, to initialize the timestamp
@@ -172,20 +302,25 @@ public class ElfBinaryObject extends BinaryObjectAdapter {
 	}
 
 	protected void addSymbols(Elf.Symbol[] array, int type, List<Symbol> list) {
+		Set<IAddress> addresses = null;
+		if (type == ISymbol.FUNCTION) {
+			addresses = new HashSet<>();
+			for (Symbol s : list) {
+				addresses.add(s.getAddress());
+			}
+		}
 		for (org.eclipse.cdt.utils.elf.Elf.Symbol element : array) {
 			// Multiple function symbol entries for the same address are generated
 			// do not add duplicate symbols with 0 size to the list
 			boolean duplicateAddressFound = false;
 			if (type == ISymbol.FUNCTION && element.st_size == 0) {
-				for (Symbol s : list) {
-					if (s.getAddress().equals(element.st_value)) {
-						duplicateAddressFound = true;
-						break;
-					}
-				}
+				duplicateAddressFound = addresses.contains(element.st_value);
 			}
-			if (!duplicateAddressFound)
+			if (!duplicateAddressFound) {
 				list.add(new Symbol(this, element.toString(), type, element.st_value, element.st_size));
+				if (addresses != null)
+					addresses.add(element.st_value);
+			}
 		}
 	}
 
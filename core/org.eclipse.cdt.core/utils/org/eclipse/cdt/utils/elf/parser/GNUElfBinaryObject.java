@@ -20,6 +20,8 @@ import java.util.List;
 
 import org.eclipse.cdt.core.IAddress;
 import org.eclipse.cdt.core.IBinaryParser;
+import org.eclipse.cdt.core.ICExtension;
+import org.eclipse.cdt.core.settings.model.ICConfigExtensionReference;
 import org.eclipse.cdt.utils.AR.ARHeader;
 import org.eclipse.cdt.utils.Addr2line;
 import org.eclipse.cdt.utils.CPPFilt;
@@ -160,6 +162,25 @@ public class GNUElfBinaryObject extends ElfBinaryObject {
 		}
 	}
 
+	@Override
+	String getSymbolConfiguration() {
+		// The names are demangled with c++filt and the source locations come from addr2line.
+		IBinaryParser parser = getBinaryParser();
+		if (parser instanceof ICExtension) {
+			ICConfigExtensionReference ref = ((ICExtension) parser).getConfigExtensionReference();
+			if (ref != null) {
+				return ref.getExtensionData("c++filt") + ':' + ref.getExtensionData("addr2line"); //$NON-NLS-1$ //$NON-NLS-2$
+			}
+		}
+		return super.getSymbolConfiguration();
+	}
+
+	@Override
+	Symbol createSymbol(String name, int type, IAddress addr, long size, IPath sourceFile, int startLine,
+			int endLine) {
+		return new GNUSymbol(this, name, type, addr, size, sourceFile, startLine, endLine);
+	}
+
 	@Override
 	protected void addSymbols(Elf.Symbol[] array, int type, List<Symbol> list) {
 		for (org.eclipse.cdt.utils.elf.Elf.Symbol element : array) {
@@ -32,6 +32,7 @@ import org.eclipse.core.resources.IFile;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.NullProgressMonitor;
 import org.eclipse.core.runtime.Status;
+import org.eclipse.jface.text.IDocument;
 import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.hyperlink.IHyperlink;
@@ -240,6 +241,17 @@ public class HyperlinkTest extends TestCase {
 		//assertHyperlink(CPP_CODE.indexOf("+ p"), CPP_CODE.indexOf("+ p"), 1);
 	}
 
+	public void testHyperlinksCppWhileReconciling() throws Exception {
+		setUpEditor(CPP_FILE_NAME_1, CPP_CODE, true);
+		IDocument document = EditorTestHelper.getSourceViewer(editor).getDocument();
+		document.replace(CPP_CODE.length(), 0, "\n");
+		// The AST of the previous version of the document is used while the new one is being built.
+		editor.aboutToBeReconciled();
+
+		assertHyperlink(CPP_CODE.indexOf("~Point()") + 1, CPP_CODE.indexOf("~Point()"), "~Point".length());
+		assertHyperlink(CPP_CODE.indexOf("+ p"), CPP_CODE.indexOf("+ p"), 1);
+	}
+
 	public void testHyperlinksCKeywords() throws Exception {
 		setUpEditor(C_FILE_NAME_1, C_CODE_1, true);
 
@@ -18,8 +18,10 @@ package org.eclipse.cdt.ui.tests.text;
 import java.io.File;
 import java.io.FileOutputStream;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
+import java.util.IdentityHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Set;
@@ -199,6 +201,20 @@ public class SemanticHighlightingTest extends TestCase {
 		return document.getPositions(positionCategory);
 	}
 
+	private String getPreferenceKey(Position position) {
+		assertTrue(position instanceof HighlightedPosition);
+		RGB color = ((HighlightedPosition) position).getHighlighting().getTextAttribute().getForeground().getRGB();
+		return fColorToPreferenceKeyMap.get(color);
+	}
+
+	private Position findPosition(Position[] positions, int offset, int length) {
+		for (Position p : positions) {
+			if (p.getOffset() == offset && p.getLength() == length)
+				return p;
+		}
+		return null;
+	}
+
 	private void doMakeAssertions() throws Exception {
 		IDocument document = fSourceViewer.getDocument();
 		int lines = document.getNumberOfLines();
@@ -815,4 +831,57 @@ public class SemanticHighlightingTest extends TestCase {
 	public void testOverloadedOperatorStar_539535() throws Exception {
 		makeAssertions();
 	}
+
+	//	int global;
+	//	void first() {
+	//		int a = 0;
+	//	}
+	//	void second(int p) {
+	//		global = p;
+	//	}
+	public void testEditOfFunctionBody() throws Exception {
+		setup(true, new HashSet<String>());
+		try {
+			IDocument document = fSourceViewer.getDocument();
+			String code = document.get();
+			int bodyOfSecond = code.indexOf("global = p;");
+			int endOfFirst = code.indexOf("}");
+			Map<Position, Integer> offsetsOutside = new IdentityHashMap<>();
+			for (Position p : getSemanticHighlightingPositions()) {
+				if (p.getOffset() > endOfFirst)
+					offsetsOutside.put(p, p.getOffset());
+			}
+			assertNotNull(findPosition(getSemanticHighlightingPositions(), bodyOfSecond, "global".length()));
+
+			// Add a statement to the body of the first function.
+			String inserted = "\tglobal = a;\n";
+			int insertionOffset = code.indexOf("\t}");
+			document.replace(insertionOffset, 0, inserted);
+			assertTrue(EditorTestHelper.joinReconciler(fSourceViewer, 0, 10000, 100));
+
+			// The positions outside of the edited function are kept and shifted.
+			Position[] positions = getSemanticHighlightingPositions();
+			Set<Position> current = Collections.newSetFromMap(new IdentityHashMap<Position, Boolean>());
+			for (Position p : positions) {
+				current.add(p);
+			}
+			assertFalse(offsetsOutside.isEmpty());
+			for (Map.Entry<Position, Integer> entry : offsetsOutside.entrySet()) {
+				Position p = entry.getKey();
+				assertTrue(current.contains(p));
+				assertFalse(p.isDeleted());
+				assertEquals(entry.getValue() + inserted.length(), p.getOffset());
+			}
+
+			// The positions of the new statement are added.
+			Position global = findPosition(positions, insertionOffset + 1, "global".length());
+			assertNotNull(global);
+			assertEquals(SemanticHighlightings.GLOBAL_VARIABLE, getPreferenceKey(global));
+			Position local = findPosition(positions, insertionOffset + "\tglobal = ".length(), 1);
+			assertNotNull(local);
+			assertEquals(SemanticHighlightings.LOCAL_VARIABLE, getPreferenceKey(local));
+		} finally {
+			teardown();
+		}
+	}
 }
@@ -91,6 +91,16 @@ public final class ASTProvider {
 	 */
 	public static final WAIT_FLAG WAIT_NO = new WAIT_FLAG("don't wait"); //$NON-NLS-1$
 
+	/**
+	 * Wait flag indicating that a client requesting an AST
+	 * only wants the already available shared AST, and accepts the AST of a previous
+	 * version of the document while a new AST is being computed. The offsets in such
+	 * an AST may not match the current contents of the document.
+	 * <p>
+	 * No AST will be created by the AST provider.
+	 */
+	public static final WAIT_FLAG WAIT_LAST_GOOD = new WAIT_FLAG("last good"); //$NON-NLS-1$
+
 	/** Full parse mode (no PDOM) */
 	public static int PARSE_MODE_FULL = 0;
 	/** Fast parse mode (use PDOM) */
@@ -117,6 +127,14 @@ public final class ASTProvider {
 			if (isActiveEditor(ref)) {
 				activeEditorChanged(null);
 			}
+			if (isCEditor(ref)) {
+				IWorkbenchPart part = ref.getPart(false);
+				if (part != null) {
+					ITranslationUnitHolder provider = part.getAdapter(ITranslationUnitHolder.class);
+					if (provider != null && provider.getTranslationUnit() != null)
+						fCache.disposeAST(provider.getTranslationUnit());
+				}
+			}
 		}
 
 		@Override
@@ -264,8 +282,18 @@ public final class ASTProvider {
 		if (cElement == null)
 			return;
 		Assert.isTrue(cElement instanceof ITranslationUnit);
-		fCache.aboutToBeReconciled((ITranslationUnit) cElement);
-		updateModificationStamp();
+		ITranslationUnit tu = (ITranslationUnit) cElement;
+		if (fCache.isActiveElement(tu)) {
+			updateModificationStamp();
+			long timeStamp;
+			synchronized (this) {
+				timeStamp = fTimeStamp;
+			}
+			fCache.aboutToBeReconciled(tu, timeStamp);
+		} else {
+			// The cache looks up the stamp of the document in the file buffer.
+			fCache.aboutToBeReconciled(tu);
+		}
 	}
 
 	private boolean updateModificationStamp() {
@@ -306,6 +334,7 @@ public final class ASTProvider {
 			fActivationListener = null;
 		}
 		fCache.setActiveElement(null);
+		fCache.disposeAllASTs();
 	}
 
 	/**
@@ -335,6 +364,8 @@ public final class ASTProvider {
 		final ITranslationUnit tu = (ITranslationUnit) cElement;
 		if (!prepareForUsingCache(tu, waitFlag))
 			return Status.CANCEL_STATUS;
+		if (waitFlag == WAIT_LAST_GOOD)
+			return fCache.runOnLastGoodAST(tu, monitor, astRunnable);
 		return fCache.runOnAST(tu, waitFlag != WAIT_NO, monitor, astRunnable);
 	}
 
@@ -358,6 +389,8 @@ public final class ASTProvider {
 			IProgressMonitor monitor) {
 		if (!prepareForUsingCache(tu, waitFlag))
 			return null;
+		if (waitFlag == WAIT_LAST_GOOD)
+			return fCache.acquireLastGoodAST(tu, index, monitor);
 		return fCache.acquireSharedAST(tu, index, waitFlag != WAIT_NO, monitor);
 	}
 
@@ -392,7 +425,11 @@ public final class ASTProvider {
 			return false;
 		}
 		if (isActive && updateModificationStamp()) {
-			fCache.disposeAST();
+			long timeStamp;
+			synchronized (this) {
+				timeStamp = fTimeStamp;
+			}
+			fCache.setModificationStamp(tu, timeStamp);
 		}
 		return true;
 	}
@@ -73,43 +73,17 @@ public class CElementHyperlinkDetector extends AbstractHyperlinkDetector {
 			return null;
 		}
 
-		final IRegion[] hyperlinkRegion = { null };
 		// Do not wait for AST if it's not available yet. Waiting for AST would block the UI thread
 		// for the duration of the parsing.
-		IStatus status = ASTProvider.getASTProvider().runOnAST(workingCopy, ASTProvider.WAIT_NO, null,
-				new ASTRunnable() {
-					@Override
-					public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
-						if (ast == null)
-							return Status.CANCEL_STATUS;
-
-						IASTNode linkASTNode = getLinkASTNode(document, ast, region);
-
-						IASTNodeLocation linkLocation = null;
-						if (linkASTNode != null) {
-							if (linkASTNode instanceof IASTName) {
-								IASTName astName = (IASTName) linkASTNode;
-								IASTImageLocation imageLocation = astName.getImageLocation();
-								if (imageLocation != null) {
-									linkLocation = imageLocation;
-								}
-							}
-							if (linkLocation == null) {
-								linkLocation = linkASTNode.getFileLocation();
-							}
-						}
-
-						if (linkLocation == null) {
-							// Consider a fallback way of finding the hyperlink
-							// (see http://bugs.eclipse.org/bugs/show_bug.cgi?id=333050).
-							return Status.CANCEL_STATUS;
-						}
-
-						hyperlinkRegion[0] = new Region(linkLocation.getNodeOffset(), linkLocation.getNodeLength());
-						return Status.OK_STATUS;
-					}
-				});
+		LinkRegionFinder finder = new LinkRegionFinder(document, region, false);
+		IStatus status = ASTProvider.getASTProvider().runOnAST(workingCopy, ASTProvider.WAIT_NO, null, finder);
+		if (!finder.fHasAST) {
+			// While the document is being reconciled, the previous AST may still provide the link.
+			finder = new LinkRegionFinder(document, region, true);
+			status = ASTProvider.getASTProvider().runOnAST(workingCopy, ASTProvider.WAIT_LAST_GOOD, null, finder);
+		}
 
+		final IRegion[] hyperlinkRegion = { finder.fLinkRegion };
 		if (status == Status.CANCEL_STATUS) {
 			// AST was not available yet or didn't help us to find the hyperlink, try to compute
 			// the hyperlink without it.
@@ -151,6 +125,68 @@ public class CElementHyperlinkDetector extends AbstractHyperlinkDetector {
 		return new IHyperlink[] { new CElementHyperlink(hyperlinkRegion[0], openAction) };
 	}
 
+	/**
+	 * Finds the region of the hyperlink in the AST. The AST of a previous version of the document
+	 * is used only if the text of the link is unchanged.
+	 */
+	private static class LinkRegionFinder implements ASTRunnable {
+		private final IDocument fDocument;
+		private final IRegion fRegion;
+		private final boolean fLastGood;
+		boolean fHasAST;
+		IRegion fLinkRegion;
+
+		LinkRegionFinder(IDocument document, IRegion region, boolean lastGood) {
+			fDocument = document;
+			fRegion = region;
+			fLastGood = lastGood;
+		}
+
+		@Override
+		public IStatus runOnAST(ILanguage lang, IASTTranslationUnit ast) {
+			if (ast == null)
+				return Status.CANCEL_STATUS;
+			fHasAST = true;
+
+			IASTNode linkASTNode = getLinkASTNode(fDocument, ast, fRegion);
+
+			IASTNodeLocation linkLocation = null;
+			if (linkASTNode != null) {
+				if (linkASTNode instanceof IASTName) {
+					IASTName astName = (IASTName) linkASTNode;
+					IASTImageLocation imageLocation = astName.getImageLocation();
+					if (imageLocation != null) {
+						linkLocation = imageLocation;
+					}
+				}
+				if (linkLocation == null) {
+					linkLocation = linkASTNode.getFileLocation();
+				}
+			}
+
+			if (linkLocation == null) {
+				// Consider a fallback way of finding the hyperlink
+				// (see http://bugs.eclipse.org/bugs/show_bug.cgi?id=333050).
+				return Status.CANCEL_STATUS;
+			}
+
+			if (fLastGood && !isUnchanged(linkASTNode, linkLocation))
+				return Status.CANCEL_STATUS;
+
+			fLinkRegion = new Region(linkLocation.getNodeOffset(), linkLocation.getNodeLength());
+			return Status.OK_STATUS;
+		}
+
+		private boolean isUnchanged(IASTNode node, IASTNodeLocation location) {
+			String expected = location instanceof IASTImageLocation ? node.toString() : node.getRawSignature();
+			try {
+				return expected.equals(fDocument.get(location.getNodeOffset(), location.getNodeLength()));
+			} catch (BadLocationException e) {
+				return false;
+			}
+		}
+	}
+
 	private static IASTNode getLinkASTNode(IDocument document, IASTTranslationUnit ast, IRegion region) {
 		final int offset = region.getOffset();
 		final int length = Math.max(1, region.getLength());
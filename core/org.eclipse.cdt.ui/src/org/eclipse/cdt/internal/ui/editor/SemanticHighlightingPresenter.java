@@ -18,6 +18,7 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
 
+import org.eclipse.cdt.internal.core.PositionTracker;
 import org.eclipse.cdt.internal.ui.editor.SemanticHighlightingManager.HighlightedPosition;
 import org.eclipse.cdt.internal.ui.editor.SemanticHighlightingManager.HighlightingStyle;
 import org.eclipse.cdt.internal.ui.text.CPresentationReconciler;
@@ -224,6 +225,27 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		}
 	}
 
+	/**
+	 * The changes of the document since the semantic highlighting was last reconciled.
+	 */
+	static class DocumentEdits {
+		/** Maps offsets of the last reconciled version of the document to the current version */
+		final PositionTracker fTracker;
+		/** The region covering all changes in the current version of the document, or <code>null</code> */
+		final IRegion fRegion;
+		/** <code>true</code> iff the changes may affect preprocessing */
+		final boolean fAffectsPreprocessor;
+		/** The number of changes */
+		final int fCount;
+
+		DocumentEdits(PositionTracker tracker, IRegion region, boolean affectsPreprocessor, int count) {
+			fTracker = tracker;
+			fRegion = region;
+			fAffectsPreprocessor = affectsPreprocessor;
+			fCount = count;
+		}
+	}
+
 	/** Position updater */
 	private IPositionUpdater fPositionUpdater = new HighlightingPositionUpdater(getPositionCategory());
 
@@ -240,6 +262,19 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	/** <code>true</code> iff the current reconcile is canceled. */
 	private boolean fIsCanceled = false;
 
+	/** Tracks the changes of the document since the last reconcile */
+	private PositionTracker fEditTracker = new PositionTracker();
+	/** Start of the region covering the changes, or <code>-1</code> */
+	private int fEditStart = -1;
+	/** End of the region covering the changes, or <code>-1</code> */
+	private int fEditEnd = -1;
+	/** <code>true</code> iff the changes may affect preprocessing */
+	private boolean fEditAffectsPreprocessor;
+	/** The number of changes */
+	private int fEditCount;
+	/** Lock for the tracking of changes */
+	private final Object fEditLock = new Object();
+
 	/**
 	 * Creates and returns a new highlighted position with the given offset, length and highlighting.
 	 * <p>
@@ -270,6 +305,29 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		}
 	}
 
+	/**
+	 * Adds the current positions starting in the given region to the given list.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 *
+	 * @param list The list
+	 * @param region The region
+	 */
+	public void addAllPositions(List<? super HighlightedPosition> list, IRegion region) {
+		int end = region.getOffset() + region.getLength();
+		synchronized (fPositionLock) {
+			for (int i = computeIndexAtOffset(fPositions, region.getOffset()), n = fPositions.size(); i < n; i++) {
+				HighlightedPosition position = fPositions.get(i);
+				if (position == null)
+					continue;
+				if (position.getOffset() >= end)
+					break;
+				list.add(position);
+			}
+		}
+	}
+
 	/**
 	 * Create a text presentation in the background.
 	 * <p>
@@ -578,10 +636,83 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 	@Override
 	public void documentAboutToBeChanged(DocumentEvent event) {
 		setCanceled(true);
+		try {
+			String removedText = event.getDocument().get(event.getOffset(), event.getLength());
+			if (affectsPreprocessor(removedText)) {
+				synchronized (fEditLock) {
+					fEditAffectsPreprocessor = true;
+				}
+			}
+		} catch (BadLocationException e) {
+			// Should not happen
+			CUIPlugin.log(e);
+		}
 	}
 
 	@Override
 	public void documentChanged(DocumentEvent event) {
+		int offset = event.getOffset();
+		int oldLength = event.getLength();
+		String text = event.getText();
+		int newLength = text != null ? text.length() : 0;
+		synchronized (fEditLock) {
+			fEditTracker.delete(offset, oldLength);
+			fEditTracker.insert(offset, newLength);
+			if (fEditStart < 0) {
+				fEditStart = offset;
+				fEditEnd = offset + newLength;
+			} else {
+				fEditEnd = fEditEnd >= offset + oldLength ? fEditEnd + newLength - oldLength : offset + newLength;
+				fEditStart = Math.min(fEditStart, offset);
+			}
+			if (text != null && affectsPreprocessor(text))
+				fEditAffectsPreprocessor = true;
+			fEditCount++;
+		}
+	}
+
+	/**
+	 * Checks whether changing the given text may affect preprocessor directives.
+	 */
+	private static boolean affectsPreprocessor(String text) {
+		return text.indexOf('#') >= 0 || text.indexOf('\\') >= 0;
+	}
+
+	/**
+	 * Returns the changes of the document since the last call to {@link #editsReconciled(DocumentEdits)}.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 */
+	DocumentEdits getEdits() {
+		synchronized (fEditLock) {
+			IRegion region = fEditStart < 0 ? null : new Region(fEditStart, fEditEnd - fEditStart);
+			return new DocumentEdits(fEditTracker, region, fEditAffectsPreprocessor, fEditCount);
+		}
+	}
+
+	/**
+	 * Informs that the semantic highlighting reflects the given changes. Has no effect
+	 * if the document has been changed since the changes were obtained.
+	 * <p>
+	 * NOTE: Called from background thread.
+	 * </p>
+	 */
+	void editsReconciled(DocumentEdits edits) {
+		synchronized (fEditLock) {
+			if (edits.fTracker == fEditTracker && edits.fCount == fEditCount)
+				resetEdits();
+		}
+	}
+
+	private void resetEdits() {
+		synchronized (fEditLock) {
+			fEditTracker = new PositionTracker();
+			fEditStart = -1;
+			fEditEnd = -1;
+			fEditAffectsPreprocessor = false;
+			fEditCount = 0;
+		}
 	}
 
 	/**
@@ -728,6 +859,7 @@ public class SemanticHighlightingPresenter implements ITextPresentationListener,
 		synchronized (fPositionLock) {
 			fPositions.clear();
 		}
+		resetEdits();
 	}
 
 	/**
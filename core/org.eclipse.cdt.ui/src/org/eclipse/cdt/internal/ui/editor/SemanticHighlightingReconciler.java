@@ -21,9 +21,12 @@ import java.util.Comparator;
 import java.util.List;
 
 import org.eclipse.cdt.core.dom.ast.ASTVisitor;
+import org.eclipse.cdt.core.dom.ast.IASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTDeclaration;
 import org.eclipse.cdt.core.dom.ast.IASTDeclarator;
 import org.eclipse.cdt.core.dom.ast.IASTExpression;
+import org.eclipse.cdt.core.dom.ast.IASTFileLocation;
+import org.eclipse.cdt.core.dom.ast.IASTFunctionDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTImageLocation;
 import org.eclipse.cdt.core.dom.ast.IASTMacroExpansionLocation;
 import org.eclipse.cdt.core.dom.ast.IASTName;
@@ -31,9 +34,12 @@ import org.eclipse.cdt.core.dom.ast.IASTNode;
 import org.eclipse.cdt.core.dom.ast.IASTNodeLocation;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroDefinition;
 import org.eclipse.cdt.core.dom.ast.IASTPreprocessorMacroExpansion;
+import org.eclipse.cdt.core.dom.ast.IASTPreprocessorStatement;
+import org.eclipse.cdt.core.dom.ast.IASTSimpleDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.IASTStatement;
 import org.eclipse.cdt.core.dom.ast.IASTTranslationUnit;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTClassVirtSpecifier;
+import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTDeclSpecifier;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTNamespaceDefinition;
 import org.eclipse.cdt.core.dom.ast.cpp.ICPPASTVirtSpecifier;
 import org.eclipse.cdt.core.model.ICElement;
@@ -44,13 +50,16 @@ import org.eclipse.cdt.internal.core.model.ASTCache;
 import org.eclipse.cdt.internal.core.parser.scanner.ASTPreprocessorName;
 import org.eclipse.cdt.internal.ui.editor.SemanticHighlightingManager.HighlightedPosition;
 import org.eclipse.cdt.internal.ui.editor.SemanticHighlightingManager.HighlightingStyle;
+import org.eclipse.cdt.internal.ui.editor.SemanticHighlightingPresenter.DocumentEdits;
 import org.eclipse.cdt.internal.ui.text.ICReconcilingListener;
 import org.eclipse.cdt.ui.CUIPlugin;
 import org.eclipse.core.runtime.IProgressMonitor;
 import org.eclipse.core.runtime.IStatus;
 import org.eclipse.core.runtime.Status;
 import org.eclipse.core.runtime.jobs.Job;
+import org.eclipse.jface.text.IRegion;
 import org.eclipse.jface.text.Position;
+import org.eclipse.jface.text.Region;
 import org.eclipse.jface.text.TextPresentation;
 import org.eclipse.jface.text.source.ISourceViewer;
 import org.eclipse.swt.widgets.Display;
@@ -118,10 +127,23 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 
 		@Override
 		public int visit(IASTTranslationUnit tu) {
+			visitPreprocessorNodes(tu, null);
+
+			// Visit ordinary code.
+			return super.visit(tu);
+		}
+
+		/**
+		 * Visits the macro definitions and expansions of the translation unit file.
+		 *
+		 * @param tu the translation unit
+		 * @param region the region to restrict the visit to, or <code>null</code>
+		 */
+		void visitPreprocessorNodes(IASTTranslationUnit tu, IRegion region) {
 			// Visit macro definitions.
 			IASTPreprocessorMacroDefinition[] macroDefs = tu.getMacroDefinitions();
 			for (IASTPreprocessorMacroDefinition macroDef : macroDefs) {
-				if (macroDef.isPartOfTranslationUnitFile()) {
+				if (macroDef.isPartOfTranslationUnitFile() && isInRegion(macroDef, region)) {
 					visitNode(macroDef.getName());
 				}
 			}
@@ -129,7 +151,7 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 			// Visit macro expansions.
 			IASTPreprocessorMacroExpansion[] macroExps = tu.getMacroExpansions();
 			for (IASTPreprocessorMacroExpansion macroExp : macroExps) {
-				if (macroExp.isPartOfTranslationUnitFile()) {
+				if (macroExp.isPartOfTranslationUnitFile() && isInRegion(macroExp, region)) {
 					IASTName macroRef = macroExp.getMacroReference();
 					visitNode(macroRef);
 					IASTName[] nestedMacroRefs = macroExp.getNestedMacroReferences();
@@ -138,9 +160,16 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 					}
 				}
 			}
+		}
 
-			// Visit ordinary code.
-			return super.visit(tu);
+		private boolean isInRegion(IASTNode node, IRegion region) {
+			if (region == null)
+				return true;
+			IASTFileLocation location = node.getFileLocation();
+			if (location == null)
+				return false;
+			int offset = location.getNodeOffset();
+			return offset >= region.getOffset() && offset < region.getOffset() + region.getLength();
 		}
 
 		@Override
@@ -335,6 +364,43 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 		}
 	}
 
+	/**
+	 * Collects the function definitions of the translation unit file, without descending into
+	 * function bodies.
+	 */
+	private static class FunctionDefinitionCollector extends ASTVisitor {
+		final List<IASTFunctionDefinition> fDefinitions = new ArrayList<>();
+
+		FunctionDefinitionCollector() {
+			shouldVisitDeclarations = true;
+		}
+
+		@Override
+		public int visit(IASTDeclaration declaration) {
+			if (!declaration.isPartOfTranslationUnitFile()) {
+				return PROCESS_SKIP;
+			}
+			if (declaration instanceof IASTFunctionDefinition) {
+				fDefinitions.add((IASTFunctionDefinition) declaration);
+				return PROCESS_SKIP;
+			}
+			return PROCESS_CONTINUE;
+		}
+
+		/**
+		 * Returns the start and end offsets of the function definitions.
+		 */
+		int[] getRanges() {
+			int[] ranges = new int[fDefinitions.size() * 2];
+			for (int i = 0; i < fDefinitions.size(); i++) {
+				IASTFileLocation location = fDefinitions.get(i).getFileLocation();
+				ranges[2 * i] = location.getNodeOffset();
+				ranges[2 * i + 1] = location.getNodeOffset() + location.getNodeLength();
+			}
+			return ranges;
+		}
+	}
+
 	/** The C editor this semantic highlighting reconciler is installed on */
 	private CEditor fEditor;
 	/** The semantic highlighting presenter */
@@ -379,9 +445,21 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 	 */
 	private HighlightingStyle[] fJobHighlightings;
 
+	/**
+	 * The changes of the document the AST of the pending reconcile is going to reflect,
+	 * obtained before the AST is computed.
+	 */
+	private volatile DocumentEdits fPendingEdits;
+	/**
+	 * The ranges of the function definitions at the time of the last reconcile, or
+	 * <code>null</code> if the changes since then are not tracked. Background thread only.
+	 */
+	private int[] fFunctionRanges;
+
 	@Override
 	public void aboutToBeReconciled() {
-		// Do nothing
+		SemanticHighlightingPresenter presenter = fPresenter;
+		fPendingEdits = presenter != null ? presenter.getEdits() : null;
 	}
 
 	@Override
@@ -407,10 +485,28 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 
 			PositionCollector collector = new PositionCollector();
 
-			startReconcilingPositions();
+			// When all changes are confined to a function body, only that function needs to be
+			// highlighted again. The AST still covers the entire file, the savings are limited
+			// to resolving the names of the other functions and updating their positions.
+			DocumentEdits edits = fPendingEdits;
+			fPendingEdits = null;
+			FunctionDefinitionCollector functions = new FunctionDefinitionCollector();
+			ast.accept(functions);
+			int[] functionRanges = functions.getRanges();
+			IASTFunctionDefinition editedFunction = null;
+			IRegion region = null;
+			if (!force && edits != null) {
+				editedFunction = getEditedFunction(ast, functions.fDefinitions, functionRanges, edits);
+				if (editedFunction != null) {
+					IASTFileLocation location = editedFunction.getFileLocation();
+					region = new Region(location.getNodeOffset(), location.getNodeLength());
+				}
+			}
+
+			startReconcilingPositions(region);
 
 			if (!fJobPresenter.isCanceled())
-				reconcilePositions(ast, collector);
+				reconcilePositions(ast, editedFunction, region, collector);
 
 			TextPresentation textPresentation = null;
 			if (!fJobPresenter.isCanceled())
@@ -420,6 +516,16 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 				updatePresentation(textPresentation, fAddedPositions, fRemovedPositions);
 
 			stopReconcilingPositions();
+
+			if (!fJobPresenter.isCanceled()) {
+				if (edits != null) {
+					fFunctionRanges = functionRanges;
+					fJobPresenter.editsReconciled(edits);
+				} else {
+					// The changes are not known relative to this AST.
+					fFunctionRanges = null;
+				}
+			}
 		} finally {
 			fJobPresenter = null;
 			fJobSemanticHighlightings = null;
@@ -438,16 +544,114 @@ public class SemanticHighlightingReconciler implements ICReconcilingListener {
 		fNOfRemovedPositions = fRemovedPositions.size();
 	}
 
+	/**
+	 * Starts reconciling the positions in the given region.
+	 *
+	 * @param region the region, or <code>null</code> to reconcile all positions
+	 */
+	private void startReconcilingPositions(IRegion region) {
+		if (region == null) {
+			startReconcilingPositions();
+		} else {
+			fJobPresenter.addAllPositions(fRemovedPositions, region);
+			fNOfRemovedPositions = fRemovedPositions.size();
+		}
+	}
+
+	/**
+	 * Returns the function definition whose body contains all changes of the document since
+	 * the last reconcile, provided that the changes cannot affect the highlighting outside of
+	 * the function definition. Returns <code>null</code> otherwise.
+	 */
+	private IASTFunctionDefinition getEditedFunction(IASTTranslationUnit ast, List<IASTFunctionDefinition> functions,
+			int[] functionRanges, DocumentEdits edits) {
+		int[] oldRanges = fFunctionRanges;
+		IRegion editedRegion = edits.fRegion;
+		if (oldRanges == null || editedRegion == null || edits.fAffectsPreprocessor
+				|| oldRanges.length != functionRanges.length) {
+			return null;
+		}
+		int start = editedRegion.getOffset();
+		int end = start + editedRegion.getLength();
+		IASTFunctionDefinition result = null;
+		for (int i = 0; i < functionRanges.length; i += 2) {
+			// All other function definitions have to be unchanged.
+			if (edits.fTracker.currentOffset(oldRanges[i]) != functionRanges[i]
+					|| edits.fTracker.currentOffset(oldRanges[i + 1]) != functionRanges[i + 1]) {
+				return null;
+			}
+			if (functionRanges[i] < start && end < functionRanges[i + 1])
+				result = functions.get(i / 2);
+		}
+		if (result == null || !isInBody(result, start, end) || mayAffectCallers(result))
+			return null;
+
+		// Preprocessor directives affect the code that follows them.
+		for (IASTPreprocessorStatement statement : ast.getAllPreprocessorStatements()) {
+			if (statement.isPartOfTranslationUnitFile()) {
+				IASTFileLocation location = statement.getFileLocation();
+				if (location != null && location.getNodeOffset() <= end
+						&& start <= location.getNodeOffset() + location.getNodeLength()) {
+					return null;
+				}
+			}
+		}
+		return result;
+	}
+
+	/**
+	 * Checks whether the given region is located between the braces of the body of the
+	 * given function.
+	 */
+	private static boolean isInBody(IASTFunctionDefinition function, int start, int end) {
+		IASTStatement body = function.getBody();
+		if (body == null)
+			return false;
+		IASTNodeLocation[] locations = body.getNodeLocations();
+		if (locations.length == 0 || !(locations[0] instanceof IASTFileLocation)
+				|| !(locations[locations.length - 1] instanceof IASTFileLocation)) {
+			// The braces are the result of a macro expansion.
+			return false;
+		}
+		IASTFileLocation location = body.getFileLocation();
+		return location != null && location.getNodeOffset() < start
+				&& end < location.getNodeOffset() + location.getNodeLength();
+	}
+
+	/**
+	 * Checks whether the body of the given function can affect the meaning of the code using
+	 * the function, i.e. whether the return type is deduced from the body or the function can be
+	 * evaluated at compile time.
+	 */
+	private static boolean mayAffectCallers(IASTFunctionDefinition function) {
+		IASTDeclSpecifier declSpec = function.getDeclSpecifier();
+		if (declSpec instanceof ICPPASTDeclSpecifier && ((ICPPASTDeclSpecifier) declSpec).isConstexpr())
+			return true;
+		if (declSpec instanceof IASTSimpleDeclSpecifier) {
+			int type = ((IASTSimpleDeclSpecifier) declSpec).getType();
+			return type == IASTSimpleDeclSpecifier.t_auto || type == IASTSimpleDeclSpecifier.t_decltype_auto;
+		}
+		return false;
+	}
+
 	/**
 	 * Reconciles positions based on the AST.
 	 *
 	 * @param ast the AST
+	 * @param function the function definition to restrict the reconcile to, or <code>null</code>
+	 * @param region the region of the function definition, or <code>null</code>
 	 * @param visitor the AST visitor
 	 */
-	private void reconcilePositions(IASTTranslationUnit ast, PositionCollector visitor) {
+	private void reconcilePositions(IASTTranslationUnit ast, IASTFunctionDefinition function, IRegion region,
+			PositionCollector visitor) {
 		try {
 			CPPSemantics.pushLookupPoint(ast);
-			ast.accept(visitor);
+			if (function == null) {
+				ast.accept(visitor);
+			} else {
+				visitor.visitPreprocessorNodes(ast, region);
+				function.accept(visitor);
+			}
 		} finally {
 			CPPSemantics.popLookupPoint();
 		}